@@ -0,0 +1,29 @@
+package com.galaxyrun.engine;
+
+/**
+ * IDs of the collision layers used by the HitDetector. Every Sprite
+ * subclass is in exactly one layer. Sprites that collide with other
+ * layers declare them as a bitmask built with `mask()`.
+ */
+public final class CollisionLayers {
+    public static final int ALIEN = 0;
+    public static final int ALIEN_BULLET = 1;
+    public static final int ASTEROID = 2;
+    public static final int BULLET = 3;
+    public static final int COIN = 4;
+    public static final int OBSTACLE = 5;
+    public static final int SPACESHIP = 6;
+    public static final int NUM_LAYERS = 7;
+
+    private CollisionLayers() {
+    }
+
+    // Returns a bitmask with the bit of each of the given layers set.
+    public static int mask(int... layers) {
+        int mask = 0;
+        for (int layer : layers) {
+            mask |= 1 << layer;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,48 @@
+package com.galaxyrun.engine;
+
+import com.galaxyrun.sprite.Sprite;
+
+import java.util.ArrayList;
+
+/**
+ * List of collisions found by the HitDetector. The CollisionTuples are
+ * reused when the list is cleared, so the list doesn't allocate once it
+ * has grown to the most collisions seen in one tick.
+ */
+public class CollisionList {
+    // All CollisionTuples ever created. The first `size` are in use.
+    private final ArrayList<HitDetector.CollisionTuple> tuples = new ArrayList<>();
+    private int size;
+
+    public void add(Sprite sprite1, Sprite sprite2) {
+        if (size == tuples.size()) {
+            tuples.add(new HitDetector.CollisionTuple(sprite1, sprite2));
+        } else {
+            HitDetector.CollisionTuple tuple = tuples.get(size);
+            tuple.sprite1 = sprite1;
+            tuple.sprite2 = sprite2;
+        }
+        size++;
+    }
+
+    public HitDetector.CollisionTuple get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+        return tuples.get(index);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        // Drop references so that cleared sprites aren't kept alive
+        for (int i = 0; i < size; i++) {
+            HitDetector.CollisionTuple tuple = tuples.get(i);
+            tuple.sprite1 = null;
+            tuple.sprite2 = null;
+        }
+        size = 0;
+    }
+}
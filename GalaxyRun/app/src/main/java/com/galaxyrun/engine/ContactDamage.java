@@ -0,0 +1,48 @@
+package com.galaxyrun.engine;
+
+/**
+ * Turns contact that lasts for several ticks into damage at a fixed rate,
+ * so that how much damage contact does doesn't depend on the length of a
+ * tick.
+ *
+ * Each thing in contact does `damagePerHit`, `hitsPerSec` times a second.
+ * The first hit lands as soon as contact begins, as it did when the game
+ * applied damage once per frame. Contact time that doesn't add up to a
+ * whole hit is carried over to the next tick.
+ */
+public class ContactDamage {
+    private final int damagePerHit;
+    private final double msPerHit;
+    // Contact time (ms, summed over everything in contact) not yet turned into hits.
+    private double owedMs;
+    private boolean inContact;
+
+    public ContactDamage(int damagePerHit, double hitsPerSec) {
+        if (hitsPerSec <= 0) {
+            throw new IllegalArgumentException("Hits per second must be positive; was " + hitsPerSec);
+        }
+        this.damagePerHit = damagePerHit;
+        msPerHit = 1000 / hitsPerSec;
+    }
+
+    /*
+    Call once per tick of `msPerTick`, with the number of things in contact
+    during it (possibly 0). Returns the damage to apply for the tick.
+     */
+    public int update(int numContacts, long msPerTick) {
+        if (numContacts == 0) {
+            inContact = false;
+            owedMs = 0;
+            return 0;
+        }
+        if (!inContact) {
+            // Contact just began: each thing hits straight away.
+            inContact = true;
+            owedMs = numContacts * msPerHit;
+        }
+        owedMs += numContacts * msPerTick;
+        int numHits = (int) (owedMs / msPerHit);
+        owedMs -= numHits * msPerHit;
+        return numHits * damagePerHit;
+    }
+}
@@ -0,0 +1,56 @@
+package com.galaxyrun.engine;
+
+/**
+ * Decides how many fixed-length ticks to simulate each frame.
+ *
+ * Each frame, call `advance()` with the real time that has passed. It
+ * returns the number of ticks to run, and keeps the time left over for the
+ * next frame. `getInterpolation()` then says how far the rendered frame is
+ * between the previous tick and the most recent one.
+ */
+public class FixedTimestep {
+    private final long msPerTick;
+    // Most ticks to run in a single frame. Time beyond that is dropped, so
+    // that after a long stall (e.g. a GC pause) we don't spend the next
+    // frames catching up and fall further and further behind.
+    private final int maxTicksPerFrame;
+    // Real time that has passed but hasn't been simulated yet
+    private long accumulatedMs;
+
+    public FixedTimestep(long msPerTick, int maxTicksPerFrame) {
+        if (msPerTick <= 0 || maxTicksPerFrame <= 0) {
+            throw new IllegalArgumentException(
+                    "msPerTick and maxTicksPerFrame must be positive");
+        }
+        this.msPerTick = msPerTick;
+        this.maxTicksPerFrame = maxTicksPerFrame;
+    }
+
+    /*
+    Adds `elapsedMs` of real time and returns the number of ticks to run.
+     */
+    public int advance(long elapsedMs) {
+        accumulatedMs += Math.max(elapsedMs, 0);
+        int numTicks = (int) Math.min(accumulatedMs / msPerTick, maxTicksPerFrame);
+        accumulatedMs -= numTicks * msPerTick;
+        if (accumulatedMs >= msPerTick) {
+            // Over budget: drop the time we can't catch up on.
+            accumulatedMs %= msPerTick;
+        }
+        return numTicks;
+    }
+
+    // Fraction of a tick (0 to 1) that has passed since the most recent tick.
+    public double getInterpolation() {
+        return accumulatedMs / (double) msPerTick;
+    }
+
+    // Forgets any accumulated time, e.g. after resuming from a pause.
+    public void reset() {
+        accumulatedMs = 0;
+    }
+
+    public long getMsPerTick() {
+        return msPerTick;
+    }
+}
@@ -1,10 +1,12 @@
 package com.galaxyrun.engine;
 
-import android.content.Context;
-
+import com.galaxyrun.engine.map.ChunkLibrary;
 import com.galaxyrun.engine.map.Map;
 import com.galaxyrun.helper.BitmapCache;
 import com.galaxyrun.helper.FontCache;
+import com.galaxyrun.platform.Platform;
+import com.galaxyrun.sprite.SpritePools;
+import com.galaxyrun.util.RandomStreams;
 
 import java.util.Random;
 
@@ -13,11 +15,17 @@ import java.util.Random;
  */
 
 public class GameContext {
-    public final Context appContext;
+    // The system the game is running on
+    public final Platform platform;
     public final boolean inDebugMode;
     public final BitmapCache bitmapCache;
     public final FontCache fontCache;
     public final AnimFactory animFactory;  // TODO: remove (unnecessary)
+    // Random seeds for the session, derived from the seed the context was
+    // created with. Each game splits its own streams from these.
+    public final RandomStreams randomStreams;
+    // Random numbers for sprites. Reseeded from the game's SPRITES stream at
+    // the start of each game.
     public final Random rand;
     public final int gameWidthPx;
     public final int gameHeightPx;
@@ -25,29 +33,38 @@ public class GameContext {
     public final int screenHeightPx;
     // Width of a (square) tile in the game
     public final int tileWidthPx;
+    // Reusable sprites. Use these to create short-lived sprites.
+    public final SpritePools spritePools;
+    // Pre-generated chunks of the map. Null if the platform doesn't have them.
+    public final ChunkLibrary chunkLibrary;
 
     public GameContext(
-            Context appContext,
+            Platform platform,
             boolean inDebugMode,
             BitmapCache bitmapCache,
             FontCache fontCache,
             AnimFactory animCache,
-            Random rand,
+            long seed,
             int gameWidthPx,
             int gameHeightPx,
             int screenWidthPx,
             int screenHeightPx
     ) {
-        this.appContext = appContext;
+        this.platform = platform;
         this.inDebugMode = inDebugMode;
         this.bitmapCache = bitmapCache;
         this.fontCache = fontCache;
         this.animFactory = animCache;
-        this.rand = rand;
+        randomStreams = new RandomStreams(seed);
+        rand = new Random(randomStreams.getSeed(RandomStreams.Stream.SPRITES));
         this.gameWidthPx = gameWidthPx;
         this.gameHeightPx = gameHeightPx;
         this.screenWidthPx = screenWidthPx;
         this.screenHeightPx = screenHeightPx;
         tileWidthPx = gameHeightPx / Map.NUM_ROWS;
+        // Note: pooled sprites are created with this GameContext, but not
+        // until the game is running, by which time it is fully constructed.
+        spritePools = new SpritePools(this);
+        chunkLibrary = ChunkLibrary.load(platform);
     }
 }
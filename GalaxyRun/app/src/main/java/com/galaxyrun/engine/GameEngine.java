@@ -1,10 +1,5 @@
 package com.galaxyrun.engine;
 
-import android.hardware.Sensor;
-import android.hardware.SensorEvent;
-import android.util.Log;
-import android.view.MotionEvent;
-
 import com.galaxyrun.engine.background.Background;
 import com.galaxyrun.engine.controller.ControlState;
 import com.galaxyrun.engine.external.ExternalInput;
@@ -12,22 +7,28 @@ import com.galaxyrun.engine.external.GameUpdateMessage;
 import com.galaxyrun.engine.external.MotionInput;
 import com.galaxyrun.engine.external.SensorInput;
 import com.galaxyrun.engine.controller.TiltController;
+import com.galaxyrun.engine.controller.TiltState;
 import com.galaxyrun.engine.ui.GameUI;
 import com.galaxyrun.engine.ui.UIInputId;
 import com.galaxyrun.helper.BitmapData;
 import com.galaxyrun.helper.BitmapID;
-import com.galaxyrun.engine.draw.DrawInstruction;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.engine.map.Map;
+import com.galaxyrun.engine.map.TileLayer;
 import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.LogSink;
 import com.galaxyrun.sprite.Spaceship;
 import com.galaxyrun.sprite.Sprite;
 import com.galaxyrun.sprite.SpriteState;
 import com.galaxyrun.stats.GameTimer;
 import com.galaxyrun.util.FastQueue;
+import com.galaxyrun.util.RandomStreams;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.Random;
 
 /**
  * Core game logic.
@@ -46,27 +47,94 @@ public class GameEngine implements IGameStateReceiver {
     private boolean isPaused;
     private boolean isMuted;
 
+    // Number of games started, including the current one. Used to give each
+    // game its own random streams.
+    private long numGamesStarted;
+
     // Tracks game duration (non-paused)  TODO: handle pause() and resume()
     // Note: game difficulty is purely time-based.
     private GameTimer gameTimer;
     // The player's spaceship
     private Spaceship spaceship;
     // All other sprites
-    private List<Sprite> sprites;
+    private ArrayList<Sprite> sprites;
     // Used to process gyroscope input in order to control the spaceship.
     private final TiltController tiltController = new TiltController();
-
-    public GameEngine(GameContext gameContext) {
+    // Length of each tick of game logic
+    private final long msPerTick;
+    // Events and sounds created by ticks since the previous render
+    private final FastQueue<EventID> pendingEvents = new FastQueue<>();
+    private final FastQueue<SoundID> pendingSounds = new FastQueue<>();
+
+    // Per-tick state. These are cleared and reused every tick so that a
+    // steady-state tick doesn't allocate.
+    private final FastQueue<Sprite> createdSprites = new FastQueue<>();
+    private final FastQueue<EventID> createdEvents = new FastQueue<>();
+    private final FastQueue<SoundID> createdSounds = new FastQueue<>();
+    private final UpdateContext updateContext;
+    // Controls most recently given to the spaceship. Only replaced when
+    // they change.
+    private ControlState controlState;
+
+    // Whether `render()` should reuse GameUpdateMessages rather than
+    // creating a new one each frame.
+    private boolean reuseUpdateMessages;
+    // Messages used by `render()` when `reuseUpdateMessages` is set. Frames
+    // alternate between them.
+    private final GameUpdateMessage[] updateMessages = new GameUpdateMessage[] {
+            new GameUpdateMessage(),
+            new GameUpdateMessage()
+    };
+    // Draw buffers for `updateMessages`, used unless the caller provides one.
+    private final DrawCommandBuffer[] drawBuffers = new DrawCommandBuffer[] {
+            new DrawCommandBuffer(),
+            new DrawCommandBuffer()
+    };
+    private int nextUpdateMessage;
+    // Number of draw commands in the previous frame. Used to size new
+    // DrawCommandBuffers when messages aren't reused.
+    private int prevNumDrawCommands;
+
+    public GameEngine(GameContext gameContext, long msPerTick) {
         this.gameContext = gameContext;
+        this.msPerTick = msPerTick;
+        updateContext = new UpdateContext(null, GameState.WAITING_FOR_START,
+                0, 0, 0, 0, false, false, null,
+                createdSprites, createdEvents, createdSounds);
         initGameObjects();
     }
 
+    /*
+    Set whether `render()` should reuse its GameUpdateMessages. When set,
+    two messages are used in alternation: a message is cleared and
+    overwritten two calls to `render()` after it was returned, so the
+    caller must be finished with it by then.
+     */
+    public void setReuseUpdateMessages(boolean reuseUpdateMessages) {
+        this.reuseUpdateMessages = reuseUpdateMessages;
+    }
+
+    /*
+    Stops the engine's background work, such as generating chunks. The
+    engine can't be used afterwards.
+     */
+    public void release() {
+        map.release();
+    }
+
     private void initGameObjects() {
-        Log.d("GameEngine", "Initializing game objects");
+        GameLog.d("GameEngine", "Initializing game objects");
+        // Each game gets its own seeds, so the same session seed always
+        // plays out the same way.
+        RandomStreams gameStreams = gameContext.randomStreams.split(numGamesStarted++);
+        if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+            GameLog.d("GameEngine", "Game seed is " + gameStreams.getSeed());
+        }
+        gameContext.rand.setSeed(gameStreams.getSeed(RandomStreams.Stream.SPRITES));
         // Init GameStateMachine and set ourselves to receive callbacks.
         stateMachine = new GameStateMachine(gameContext, this);
 
-        gameTimer = new GameTimer();
+        gameTimer = new GameTimer(gameContext.platform.getClock(), msPerTick);
         score = 0;
 
         // Move spaceship just off the left of the screen, centered vertically
@@ -77,46 +145,51 @@ public class GameEngine implements IGameStateReceiver {
                 gameContext.gameHeightPx / 2.0 - shipData.getHeight() / 2.0
         );
 
-        sprites = new LinkedList<>();
+        sprites = new ArrayList<>();
         sprites.add(spaceship);
+        controlState = null;
 
         // TODO: rename `GameGenerator`?
-        map = new Map(gameContext);
+        map = new Map(gameContext, gameStreams.getSeed(RandomStreams.Stream.MAP));
         // TODO: rename `GameBackground`?
-        background = new Background(gameContext);
+        background = new Background(
+                gameContext, new Random(gameStreams.getSeed(RandomStreams.Stream.BACKGROUND)));
         ui = new GameUI(gameContext);
-        hitDetector = HitDetector.MakeDefaultHitDetector();
-        Log.d("GameEngine", "Finished initializing game objects");
+        hitDetector = HitDetector.MakeDefaultHitDetector(gameContext);
+        GameLog.d("GameEngine", "Finished initializing game objects");
     }
 
     /*
     Destroy current game state and start a new game.
      */
     private void restart() {
+        map.release();
+        for (int i = 0; i < sprites.size(); i++) {
+            gameContext.spritePools.recycle(sprites.get(i));
+        }
         initGameObjects();
         // TODO: this is fishy
         stateMachine.startGame();
     }
 
     /*
-    Update all game logic.
+    Run one tick of game logic. Each tick advances the game by `msPerTick`.
      */
-    public GameUpdateMessage update(List<ExternalInput> inputs) {
-        // Create queues for this update
-        FastQueue<Sprite> createdSprites = new FastQueue<>();
-        FastQueue<EventID> createdEvents = new FastQueue<>();
-        FastQueue<SoundID> createdSounds = new FastQueue<>();
+    public void tick(List<ExternalInput> inputs) {
+        createdSprites.clear();
+        createdEvents.clear();
+        createdSounds.clear();
 
         processExternalInput(inputs);
         processUIInput();
-        for (SoundID sound : ui.pollAllSounds()) {
-            createdSounds.push(sound);
+        Queue<SoundID> uiSounds = ui.pollAllSounds();
+        while (!uiSounds.isEmpty()) {
+            createdSounds.push(uiSounds.poll());
         }
 
         // Note: we take GameTime *after* processing input because the input
         // may restart the game
-        GameTime gameTime = gameTimer.recordUpdate();
-        hitDetector.clear();
+        GameTime gameTime = gameTimer.recordTick();
         // Calculate the current game state. This will call the appropriate callbacks.
         stateMachine.updateState(spaceship);
 
@@ -124,7 +197,7 @@ public class GameEngine implements IGameStateReceiver {
         map.update(gameTime, createdSprites);
         // TODO: add createdSprites to be processed in this update.
 
-        UpdateContext updateContext = new UpdateContext(
+        updateContext.set(
                 gameTime,
                 stateMachine.getCurrState(),
                 map.getDifficulty(),
@@ -133,59 +206,79 @@ public class GameEngine implements IGameStateReceiver {
                 spaceship.getHealth(),
                 isPaused,
                 isMuted,
-                spaceship,
-                createdSprites,
-                createdEvents,
-                createdSounds
+                spaceship
         );
 
 //        map.spawnNewSprites(updateContext);
 
-        // Update sprites, removing any that should be "terminated"
+        // Update sprites, removing any that should be "terminated".
+        // Surviving sprites are compacted towards the front of the list.
         // TODO: break these into separate for-loops
-        Iterator<Sprite> it_sprites = sprites.iterator();
-        while (it_sprites.hasNext()) {
-            Sprite sprite = it_sprites.next();
+        int numKept = 0;
+        for (int i = 0; i < sprites.size(); i++) {
+            Sprite sprite = sprites.get(i);
             // sprite.update(updateContext);
             // TODO: this should be done after updating actions.
             if (sprite.getState() == SpriteState.TERMINATED) {
-                it_sprites.remove();
+                hitDetector.removeSprite(sprite);
+                gameContext.spritePools.recycle(sprite);
                 continue;
             }
 
+            sprite.savePrevPosition();
             sprite.updateSpeeds(updateContext);
             sprite.move(updateContext);
             sprite.updateActions(updateContext);
             sprite.updateAnimations(updateContext);
 
-            hitDetector.addSprite(sprite);
+            hitDetector.updateSprite(sprite);
+            sprites.set(numKept++, sprite);
+        }
+        for (int i = sprites.size() - 1; i >= numKept; i--) {
+            sprites.remove(i);
         }
 
         // Handle collisions, passing the health of each as the damage
-        // applied to the other.
-        List<HitDetector.CollisionTuple> collisions = hitDetector.determineCollisions();
-        for (HitDetector.CollisionTuple collision : collisions) {
+        // applied to the other. One sprite of each pair is left with no
+        // health, so a collision is settled in the tick it happens,
+        // whatever the tick length.
+        CollisionList collisions = hitDetector.determineCollisions();
+        for (int i = 0; i < collisions.size(); i++) {
+            HitDetector.CollisionTuple collision = collisions.get(i);
             int sprite_health = collision.sprite1.getHealth();
             int other_health = collision.sprite2.getHealth();
             collision.sprite1.handleCollision(collision.sprite2, other_health, updateContext);
             collision.sprite2.handleCollision(collision.sprite1, sprite_health, updateContext);
         }
+        // Obstacles are tiles in the Map's TileLayer rather than sprites, so
+        // check them separately. Contact with them does damage at a rate per
+        // second (see ContactDamage).
+        TileLayer tileLayer = map.getTileLayer();
+        for (int i = 0; i < sprites.size(); i++) {
+            Sprite sprite = sprites.get(i);
+            if (hitDetector.collidesWith(sprite.getCollisionLayer(), CollisionLayers.OBSTACLE)) {
+                tileLayer.handleCollisions(sprite, updateContext);
+            }
+        }
 
         // Add all created sprites
-        for (Sprite sprite : createdSprites) {
-            Log.d("GameEngine", String.format("Adding sprite of type %s", sprite.getClass().getSimpleName()));
+        for (int i = 0; i < createdSprites.getSize(); i++) {
+            Sprite sprite = createdSprites.get(i);
+            if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+                GameLog.d("GameEngine", String.format("Adding sprite of type %s", sprite.getClass().getSimpleName()));
+            }
             sprites.add(sprite);
         }
 
         // Give points for being alive
         if (stateMachine.getCurrState() == GameState.PLAYING) {
-//            Log.d("GameEngine", "scorepersec = " + calcScorePerSecond(updateContext.difficulty));
+//            GameLog.d("GameEngine", "scorepersec = " + calcScorePerSecond(updateContext.difficulty));
             score += gameTime.msSincePrevUpdate / 1000.0 * calcScorePerSecond(updateContext.difficulty);
         }
         // Give points for any collected coins
         // TODO: more sophisticated event handling
-        for (EventID event : createdEvents) {
-            if (event == EventID.COIN_COLLECTED) {
+        for (int i = 0; i < createdEvents.getSize(); i++) {
+            if (createdEvents.get(i) == EventID.COIN_COLLECTED) {
                 score += GameConstants.COIN_VALUE;
             }
         }
@@ -193,25 +286,83 @@ public class GameEngine implements IGameStateReceiver {
         background.update(updateContext);
         ui.update(updateContext);
 
-        // Collect DrawInstructions. Draw Background first, then sprites, then UI.
-        FastQueue<DrawInstruction> drawQueue = new FastQueue<>();
-        background.getDrawInstructions(drawQueue);
+        // Hold on to events and sounds until the next render
+        for (int i = 0; i < createdEvents.getSize(); i++) {
+            pendingEvents.push(createdEvents.get(i));
+        }
+        for (int i = 0; i < createdSounds.getSize(); i++) {
+            pendingSounds.push(createdSounds.get(i));
+        }
+    }
+
+    /*
+    Collect everything needed to draw a frame. `interpolation` (0 to 1) is
+    how far the frame is between the previous tick and the most recent one:
+    the background, obstacles and sprites are drawn that far along their
+    movement during the most recent tick. Also returns the events and sounds
+    created since the previous render.
+     */
+    public GameUpdateMessage render(double interpolation) {
+        return render(interpolation, null);
+    }
+
+    /*
+    Like `render(interpolation)`, but records the frame into `drawBuffer`,
+    which is cleared first and becomes the message's draw commands. If
+    `drawBuffer` is null, a buffer is provided as usual. Either way the
+    buffer is finished (read-only) when this returns.
+     */
+    public GameUpdateMessage render(double interpolation, DrawCommandBuffer drawBuffer) {
+        GameUpdateMessage message;
+        if (reuseUpdateMessages) {
+            message = updateMessages[nextUpdateMessage];
+            if (drawBuffer == null) {
+                drawBuffer = drawBuffers[nextUpdateMessage];
+            }
+            nextUpdateMessage = (nextUpdateMessage + 1) % updateMessages.length;
+            message.reset(drawBuffer);
+        } else {
+            if (drawBuffer == null) {
+                drawBuffer = new DrawCommandBuffer(prevNumDrawCommands);
+            }
+            drawBuffer.clear();
+            message = new GameUpdateMessage(
+                    drawBuffer,
+                    new FastQueue<>(),
+                    new FastQueue<>(),
+                    false
+            );
+        }
+
+        // Record draw calls. Draw Background first, then obstacles, then
+        // sprites, then UI.
+        background.getDrawInstructions(drawBuffer, interpolation);
+        map.getTileLayer().getDrawInstructions(drawBuffer, interpolation);
         // TODO: don't draw terminated sprites
-        for (Sprite sprite : sprites) {
-            sprite.getDrawInstructions(drawQueue);
+        for (int i = 0; i < sprites.size(); i++) {
+            Sprite sprite = sprites.get(i);
+            sprite.getDrawInstructions(drawBuffer, interpolation);
             if (gameContext.inDebugMode) {
                 // Draw hitboxes for debugging purposes.
-                drawQueue.push(sprite.drawHitbox());
+                sprite.drawHitbox(drawBuffer);
             }
         }
-        ui.getDrawInstructions(drawQueue);
-
-        return new GameUpdateMessage(
-                drawQueue,
-                createdEvents,
-                createdSounds,
-                isMuted
-        );
+        ui.getDrawInstructions(drawBuffer);
+        // The frame is now a snapshot: it only holds copied values, so it can
+        // be drawn on another thread while the next ticks run.
+        drawBuffer.finish();
+        prevNumDrawCommands = drawBuffer.getSize();
+
+        for (int i = 0; i < pendingEvents.getSize(); i++) {
+            message.getEvents().push(pendingEvents.get(i));
+        }
+        for (int i = 0; i < pendingSounds.getSize(); i++) {
+            message.getSounds().push(pendingSounds.get(i));
+        }
+        pendingEvents.clear();
+        pendingSounds.clear();
+        message.isMuted = isMuted;
+        return message;
     }
 
     private double calcScorePerSecond(double difficulty) {
@@ -247,6 +398,10 @@ public class GameEngine implements IGameStateReceiver {
     @Override
     public void enterGameOverState() {
         gameTimer.pause();
+        if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+            GameLog.d("GameEngine", "Sprite pools:\n" + gameContext.spritePools);
+            GameLog.d("GameEngine", map.getChunkQueue().toString());
+        }
     }
 
     private void setPaused(boolean shouldPause) {
@@ -269,7 +424,8 @@ public class GameEngine implements IGameStateReceiver {
     }
 
     private void processExternalInput(List<ExternalInput> inputs) {
-        for (ExternalInput input : inputs) {
+        for (int i = 0; i < inputs.size(); i++) {
+            ExternalInput input = inputs.get(i);
             switch (input.inputId) {
                 case START_GAME: {
                     stateMachine.startGame();
@@ -280,13 +436,12 @@ public class GameEngine implements IGameStateReceiver {
                     break;
                 }
                 case MOTION: {
-                    MotionEvent e = ((MotionInput) input).motion;
-                    ui.inputMotionEvent(e);
+                    ui.inputMotionEvent((MotionInput) input);
                     break;
                 }
                 case SENSOR: {
-                    SensorEvent e = ((SensorInput) input).event;
-                    if (e.sensor.getType() == Sensor.TYPE_GYROSCOPE) {
+                    SensorInput e = (SensorInput) input;
+                    if (e.sensorType == SensorInput.SensorType.GYROSCOPE) {
                         tiltController.inputGyroscopeEvent(e);
                     }
                     break;
@@ -300,7 +455,9 @@ public class GameEngine implements IGameStateReceiver {
 
     private void processUIInput() {
         boolean isShooting = false;
-        for (UIInputId input : ui.pollAllInput()) {
+        Queue<UIInputId> uiInput = ui.pollAllInput();
+        while (!uiInput.isEmpty()) {
+            UIInputId input = uiInput.poll();
             switch (input) {
                 case PAUSE: {
                     setPaused(true);
@@ -333,7 +490,13 @@ public class GameEngine implements IGameStateReceiver {
         }
         // TODO: use the gameContext time. The fact that we don't have it here indicates
         //  something strange with the overarching logic.
-        spaceship.setControls(new ControlState(
-                tiltController.calculateState(System.currentTimeMillis()), isShooting));
+        TiltState tiltState = tiltController.calculateState(
+                gameContext.platform.getClock().currentTimeMillis());
+        if (controlState == null || controlState.direction != tiltState.direction
+                || controlState.magnitude != tiltState.magnitude
+                || controlState.isShooting != isShooting) {
+            controlState = new ControlState(tiltState, isShooting);
+        }
+        spaceship.setControls(controlState);
     }
 }
@@ -10,6 +10,7 @@ import android.util.Log;
 import android.view.MotionEvent;
 
 import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.engine.external.ExternalInput;
 import com.galaxyrun.engine.external.GameUpdateMessage;
 import com.galaxyrun.engine.external.MotionInput;
@@ -21,12 +22,17 @@ import com.galaxyrun.engine.ui.GameUI;
 import com.galaxyrun.helper.BitmapCache;
 import com.galaxyrun.helper.FontCache;
 import com.galaxyrun.helper.FpsCalculator;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.Platform;
+import com.galaxyrun.platform.android.AndroidInput;
+import com.galaxyrun.platform.android.AndroidLogSink;
+import com.galaxyrun.platform.android.AndroidPlatform;
+import com.galaxyrun.util.FrameMailbox;
 import com.galaxyrun.util.Pair;
 import com.galaxyrun.view.GameView;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import galaxyrun.R;
@@ -58,8 +64,24 @@ public class GameRunner extends HandlerThread {
     private MediaPlayer songPlayer;
     private static final float MUSIC_VOLUME = 0.25f;
 
+    // Rate at which frames are drawn.
     private static final double TARGET_FPS = 30.0;
-    private static final int MS_PER_UPDATE = (int) (1000.0 / TARGET_FPS);
+    private static final int MS_PER_FRAME = (int) (1000.0 / TARGET_FPS);
+    // Rate at which game logic runs, independent of the frame rate.
+    // Rounds down to 16ms per tick.
+    private static final int TICKS_PER_SECOND = 60;
+    private static final int MS_PER_TICK = 1000 / TICKS_PER_SECOND;
+    // Most ticks to run before drawing a frame. If we fall further behind
+    // than this (e.g. due to a long GC pause), the game slows down instead.
+    private static final int MAX_TICKS_PER_FRAME = 5;
+    // Decides how many ticks to run each frame.
+    private final FixedTimestep mTimestep;
+    // Time at which the previous frame ran, or NO_PREV_FRAME if the next
+    // frame is the first since starting or resuming.
+    private volatile long mPrevFrameMs;
+    private static final long NO_PREV_FRAME = -1;
+    // Inputs passed to each tick. Only used on the worker thread.
+    private final List<ExternalInput> mQueuedInputs = new ArrayList<>();
 
     public GameRunner(
             Context appContext,
@@ -67,6 +89,7 @@ public class GameRunner extends HandlerThread {
             boolean inDebugMode
     ) {
         super("GameRunner");
+        GameLog.setSink(new AndroidLogSink());
         mGameView = gameView;
         mResponseHandler = new Handler();
         soundPlayer = new SoundPlayer(appContext);
@@ -76,7 +99,9 @@ public class GameRunner extends HandlerThread {
 
         externalInputQueue = new ConcurrentLinkedQueue<>();
         mGameContext = makeGameContext(appContext, gameView, inDebugMode);
-        mGameEngine = new GameEngine(mGameContext);
+        mGameEngine = new GameEngine(mGameContext, MS_PER_TICK);
+        mTimestep = new FixedTimestep(MS_PER_TICK, MAX_TICKS_PER_FRAME);
+        mPrevFrameMs = NO_PREV_FRAME;
         mFpsCalculator = new FpsCalculator(30);
 
         // Start the update thread and kick off the first prepareHandler() call.
@@ -96,19 +121,25 @@ public class GameRunner extends HandlerThread {
         int gameWidthPx = gameDimensions.first;
         int gameHeightPx = gameDimensions.second;
 
-        BitmapCache bitmapCache = new BitmapCache(appContext, gameWidthPx, gameHeightPx);
-        FontCache fontCache = new FontCache(appContext, Typeface.MONOSPACE);
+        Platform platform = new AndroidPlatform(appContext, Typeface.MONOSPACE);
+        BitmapCache bitmapCache = new BitmapCache(platform, gameWidthPx, gameHeightPx);
+        bitmapCache.loadAtlases();
+        FontCache fontCache = new FontCache(platform);
         // TODO: rename "AnimationFactory"
         AnimFactory animFactory = new AnimFactory(bitmapCache);
 
+        // Log the seed, so that a session can be replayed with it.
+        long seed = System.currentTimeMillis();
+        Log.d("GameRunner", "Session seed is " + seed);
+
         // TODO: Have a struct for game width/height and screen width/height?
         return new GameContext(
-                appContext,
+                platform,
                 inDebugMode,
                 bitmapCache,
                 fontCache,
                 animFactory,
-                new Random(System.currentTimeMillis()),
+                seed,
                 gameWidthPx,
                 gameHeightPx,
                 gameView.getWidth(),
@@ -136,6 +167,8 @@ public class GameRunner extends HandlerThread {
     public void onResume() {
         mGameView.startThread();
         isThreadPaused = false;
+        // Don't try to simulate the time spent paused
+        mPrevFrameMs = NO_PREV_FRAME;
         queueUpdate();
     }
 
@@ -143,32 +176,52 @@ public class GameRunner extends HandlerThread {
      * Destroys allocated resources.
      */
     public void finish() {
+        mGameEngine.release();
         soundPlayer.release();
         songPlayer.release();
         songPlayer = null;
     }
 
     public void inputMotionEvent(MotionEvent e) {
-        externalInputQueue.add(new MotionInput(e));
+        MotionInput input = AndroidInput.toMotionInput(e);
+        if (input != null) {
+            externalInputQueue.add(input);
+        }
     }
 
     public void inputSensorEvent(SensorEvent e) {
-        externalInputQueue.add(new SensorInput(e));
+        externalInputQueue.add(AndroidInput.toSensorInput(e));
     }
 
     public void prepareHandler() {
-        // Run a game update.
+        // Run a frame: as many ticks of game logic as needed to catch up
+        // with real time, then draw.
         mWorkerHandler = new Handler(getLooper(), msg -> {
             long updateTime = System.currentTimeMillis();
+            if (mPrevFrameMs == NO_PREV_FRAME) {
+                mTimestep.reset();
+                mPrevFrameMs = updateTime;
+            }
+            int numTicks = mTimestep.advance(updateTime - mPrevFrameMs);
+            mPrevFrameMs = updateTime;
 
-            // Poll all events that have been received since the previous update.
-            List<ExternalInput> queuedInputs = new LinkedList<>();
-            while (!externalInputQueue.isEmpty()) {
-                ExternalInput input = externalInputQueue.poll();
-                queuedInputs.add(input);
+            for (int i = 0; i < numTicks; i++) {
+                // Poll all events that have been received since the previous tick.
+                // If this frame runs no ticks, they stay queued for the next one.
+                mQueuedInputs.clear();
+                while (!externalInputQueue.isEmpty()) {
+                    ExternalInput input = externalInputQueue.poll();
+                    mQueuedInputs.add(input);
+                }
+                mGameEngine.tick(mQueuedInputs);
             }
 
-            final GameUpdateMessage updateMessage = mGameEngine.update(queuedInputs);
+            // Record the frame straight into the GameView's back buffer and
+            // hand it to the drawing thread.
+            FrameMailbox<DrawCommandBuffer> frames = mGameView.getFrameMailbox();
+            final GameUpdateMessage updateMessage =
+                    mGameEngine.render(mTimestep.getInterpolation(), frames.getBackBuffer());
+            frames.publish();
 
             // Report results
             mResponseHandler.post(() -> {
@@ -195,16 +248,13 @@ public class GameRunner extends HandlerThread {
                         soundPlayer.playSound(sound);
                     }
                 }
-
-                // Send draw instructions to GameView to be drawn.
-                mGameView.queueDrawFrame(updateMessage.getDrawInstructions());
             });
 
             // Queue next update
             if (!isThreadPaused) {
-                // Calculate when the next update should occur in order to
+                // Calculate when the next frame should occur in order to
                 // achieve TARGET_FPS.
-                long nextUpdate = updateTime + MS_PER_UPDATE;
+                long nextUpdate = updateTime + MS_PER_FRAME;
                 long currTime = System.currentTimeMillis();
                 if (currTime < nextUpdate) {
                     try {
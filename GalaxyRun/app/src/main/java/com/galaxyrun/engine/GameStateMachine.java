@@ -1,7 +1,6 @@
 package com.galaxyrun.engine;
 
-import android.util.Log;
-
+import com.galaxyrun.platform.GameLog;
 import com.galaxyrun.sprite.Spaceship;
 import com.galaxyrun.sprite.SpriteState;
 
@@ -50,7 +49,7 @@ public class GameStateMachine {
         GameState shouldState = calcState(player);
         if (shouldState != currState) {
             currState = shouldState;
-            Log.d("GameEngine", "Setting state to " + shouldState.name());
+            GameLog.d("GameEngine", "Setting state to " + shouldState.name());
             switch (shouldState) {
                 case WAITING_FOR_START:
                     callbackReceiver.enterWaitingState();
@@ -2,15 +2,21 @@ package com.galaxyrun.engine;
 
 /**
  * Basically a struct to store a couple values related to game timing.
+ * The GameTimer updates a single instance every tick, so don't hold on
+ * to it between ticks.
  */
 
 public class GameTime {
-    public final long currTimeMs;
-    public final long msSincePrevUpdate;
-    public final double secSincePrevUpdate;
-    public final long runTimeMs;
+    public long currTimeMs;
+    public long msSincePrevUpdate;
+    public double secSincePrevUpdate;
+    public long runTimeMs;
 
     public GameTime(long currTimeMs, long msSincePrevUpdate, long runTimeMs) {
+        set(currTimeMs, msSincePrevUpdate, runTimeMs);
+    }
+
+    public void set(long currTimeMs, long msSincePrevUpdate, long runTimeMs) {
         this.currTimeMs = currTimeMs;
         this.msSincePrevUpdate = msSincePrevUpdate;
         this.secSincePrevUpdate = msSincePrevUpdate / 1000.0;
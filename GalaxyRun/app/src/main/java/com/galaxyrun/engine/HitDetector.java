@@ -1,26 +1,23 @@
 package com.galaxyrun.engine;
 
-import com.galaxyrun.sprite.Alien;
-import com.galaxyrun.sprite.AlienBullet;
-import com.galaxyrun.sprite.Asteroid;
 import com.galaxyrun.sprite.Bullet;
-import com.galaxyrun.sprite.Coin;
-import com.galaxyrun.sprite.Obstacle;
 import com.galaxyrun.sprite.Spaceship;
 import com.galaxyrun.sprite.Sprite;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 
 /**
  * Super-simple layer-based collision detection.
+ * Each sprite is in one of the `CollisionLayers`, and each layer has a
+ * bitmask of the layers it collides with. The pairs of layers to check are
+ * worked out once, when the HitDetector is created.
+ * Each layer's sprites are stored in a SpatialHash, so a sprite is only
+ * checked against sprites in nearby cells of the layers it collides with.
+ * Sprites stay in the HitDetector between ticks: call `updateSprite()`
+ * after a sprite moves, and `removeSprite()` once it is terminated.
  * TODO: this isn't the right way. Sprites should be able to decide themselves
- *   how to react to collisions with other Sprites. Rather than reducing
- *   collision checks this way, we should implement some kind of bucket-
- *   based checking
+ *   how to react to collisions with other Sprites.
  */
 public class HitDetector {
     // Stores the references of two sprites that are in collision
@@ -34,116 +31,117 @@ public class HitDetector {
     }
 
     public static class CollisionLayer {
-        public String layerName;
-        public String[] collidingLayers;
+        // One of `CollisionLayers`
+        public final int layerId;
+        // Bitmask of the layers that this layer collides with
+        public final int collidesWith;
 
-        public CollisionLayer(String layerName, String[] collidingLayers) {
-            this.layerName = layerName;
-            this.collidingLayers = collidingLayers;
+        public CollisionLayer(int layerId, int collidesWith) {
+            this.layerId = layerId;
+            this.collidesWith = collidesWith;
         }
     }
 
-    // TODO: NAMING IS HORRIBLE
-    // Configured CollisionLayers
-    private HashMap<String, CollisionLayer> layers;
-    // Existing Sprites, mapped to the corresponding layer
-    private HashMap<String, List<Sprite>> sprites;
+    // Existing Sprites, indexed by layer ID
+    private final SpatialHash[] sprites;
+    // Returned by `determineCollisions()`. Reused every tick.
+    private final CollisionList collisions = new CollisionList();
+    // Bitmask of the layers that each layer collides with, indexed by layer ID
+    private final int[] collidesWith = new int[CollisionLayers.NUM_LAYERS];
+    // Pairs of layers to check against each other. The i-th pair is
+    // (pairFirst[i], pairSecond[i]).
+    private final int[] pairFirst;
+    private final int[] pairSecond;
 
-    public HitDetector(List<CollisionLayer> collisionLayers) {
-        layers = new HashMap<>();
-        sprites = new HashMap<>();
+    public HitDetector(List<CollisionLayer> collisionLayers, GameContext gameContext) {
+        sprites = new SpatialHash[CollisionLayers.NUM_LAYERS];
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = makeSpatialHash(gameContext);
+        }
+
+        int numPairs = 0;
         for (CollisionLayer layer : collisionLayers) {
-            layers.put(layer.layerName, layer);
-            sprites.put(layer.layerName, new ArrayList<>());
+            numPairs += Integer.bitCount(layer.collidesWith);
+            collidesWith[layer.layerId] |= layer.collidesWith;
+        }
+        pairFirst = new int[numPairs];
+        pairSecond = new int[numPairs];
+        int pair = 0;
+        for (CollisionLayer layer : collisionLayers) {
+            for (int other = 0; other < CollisionLayers.NUM_LAYERS; other++) {
+                if ((layer.collidesWith & (1 << other)) != 0) {
+                    pairFirst[pair] = layer.layerId;
+                    pairSecond[pair] = other;
+                    pair++;
+                }
+            }
         }
     }
 
-    public void addSprite(Sprite sprite) {
-        sprites.get(sprite.getClass().getSimpleName()).add(sprite);
+    /*
+    Create a SpatialHash with one cell per tile. It extends a couple of tiles
+    past the game area, where sprites spawn and leave the screen.
+     */
+    private static SpatialHash makeSpatialHash(GameContext gameContext) {
+        int tileWidthPx = gameContext.tileWidthPx;
+        return new SpatialHash(
+                tileWidthPx,
+                -2 * tileWidthPx,
+                -tileWidthPx,
+                gameContext.gameWidthPx + 2 * tileWidthPx,
+                gameContext.gameHeightPx + tileWidthPx
+        );
     }
 
-    public List<CollisionTuple> determineCollisions() {
-        List<CollisionTuple> collisions = new LinkedList<>();
-        for (CollisionLayer layerDef : layers.values()) {
-            for (String collidingLayer : layerDef.collidingLayers) {
-                checkCollisionsBtwnLayers(
-                        layerDef.layerName,
-                        collidingLayer,
-                        collisions
-                );
-            }
-        }
-        return collisions;
+    // Adds the sprite, or updates its position if it has already been added.
+    public void updateSprite(Sprite sprite) {
+        sprites[sprite.getCollisionLayer()].update(sprite);
+    }
+
+    public void removeSprite(Sprite sprite) {
+        sprites[sprite.getCollisionLayer()].remove(sprite);
     }
 
-    public void clear() {
-        for (String layerName : layers.keySet()) {
-            sprites.get(layerName).clear();
+    // Returns whether sprites in layer `layerId` collide with layer `otherLayerId`.
+    public boolean collidesWith(int layerId, int otherLayerId) {
+        return (collidesWith[layerId] & (1 << otherLayerId)) != 0;
+    }
+
+    /*
+    Finds all pairs of colliding sprites. Note that the same CollisionList
+    is cleared and returned each time.
+     */
+    public CollisionList determineCollisions() {
+        collisions.clear();
+        for (int i = 0; i < pairFirst.length; i++) {
+            checkCollisionsBtwnLayers(pairFirst[i], pairSecond[i], collisions);
         }
+        return collisions;
     }
 
     private void checkCollisionsBtwnLayers(
-            String layerOne,
-            String layerTwo,
-            List<CollisionTuple> collisionsList
+            int layerOne,
+            int layerTwo,
+            CollisionList collisionsList
     ) {
-        List<Sprite> spritesLayerOne = sprites.get(layerOne);
-        List<Sprite> spritesLayerTwo = sprites.get(layerTwo);
-
-        for (Sprite l1Sprite : spritesLayerOne) {
-            if (l1Sprite.canCollide()) {
-                for (Sprite l2Sprite : spritesLayerTwo) {
-                    if (l2Sprite.canCollide() && l1Sprite.collidesWith(l2Sprite)) {
-                        collisionsList.add(new CollisionTuple(
-                                l1Sprite,
-                                l2Sprite
-                        ));
-                    }
-                }
-            }
+        SpatialHash spritesLayerOne = sprites[layerOne];
+        SpatialHash spritesLayerTwo = sprites[layerTwo];
+
+        for (int i = 0; i < spritesLayerOne.size(); i++) {
+            spritesLayerTwo.findCollisions(spritesLayerOne.get(i), collisionsList);
         }
     }
 
-    public static HitDetector MakeDefaultHitDetector() {
-        return new HitDetector(new ArrayList<>(Arrays.asList(
-                new HitDetector.CollisionLayer(
-                        Alien.class.getSimpleName(),
-                        new String[]{}
-                ),
-                new HitDetector.CollisionLayer(
-                        AlienBullet.class.getSimpleName(),
-                        new String[]{}
-                ),
-                new HitDetector.CollisionLayer(
-                        Asteroid.class.getSimpleName(),
-                        new String[]{}
-                ),
-                new HitDetector.CollisionLayer(
-                        Bullet.class.getSimpleName(),
-                        new String[] {
-                                Obstacle.class.getSimpleName(),
-                                Alien.class.getSimpleName(),
-                                Asteroid.class.getSimpleName(),
-                        }
-                ),
-                new HitDetector.CollisionLayer(
-                        Coin.class.getSimpleName(),
-                        new String[]{}
-                ),
+    public static HitDetector MakeDefaultHitDetector(GameContext gameContext) {
+        return new HitDetector(Arrays.asList(
                 new HitDetector.CollisionLayer(
-                        Obstacle.class.getSimpleName(),
-                        new String[]{}
+                        CollisionLayers.BULLET,
+                        Bullet.COLLIDES_WITH
                 ),
                 new HitDetector.CollisionLayer(
-                        Spaceship.class.getSimpleName(),
-                        new String[] {
-                                Obstacle.class.getSimpleName(),
-                                Coin.class.getSimpleName(),
-                                Alien.class.getSimpleName(),
-                                AlienBullet.class.getSimpleName(),
-                                Asteroid.class.getSimpleName(),
-                        }
+                        CollisionLayers.SPACESHIP,
+                        Spaceship.COLLIDES_WITH
                 )
-        )));
+        ), gameContext);
     }
 }
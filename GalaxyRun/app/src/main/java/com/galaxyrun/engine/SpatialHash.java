@@ -0,0 +1,172 @@
+package com.galaxyrun.engine;
+
+import com.galaxyrun.helper.Rectangle;
+import com.galaxyrun.sprite.Sprite;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Uniform grid of square cells over the game area. Used by the HitDetector
+ * so that only sprites in the same cells get checked for collisions.
+ *
+ * A sprite is stored in every cell that its hitbox overlaps. Sprites are
+ * only moved between cells when their hitbox crosses a cell boundary, so
+ * calling `update()` for every sprite every tick is cheap. Hitboxes outside
+ * the grid are clamped to the edge cells, which keeps results correct.
+ */
+public class SpatialHash {
+    // A stored sprite and the range of cells its hitbox overlaps
+    private static class Entry {
+        Sprite sprite;
+        // Index in `entries`
+        int index;
+        int minCol, maxCol, minRow, maxRow;
+    }
+
+    private final int cellSizePx;
+    // Game coordinates of the top-left of the grid
+    private final double originX, originY;
+    private final int numCols, numRows;
+    // Cells in row-major order
+    private final List<Entry>[] cells;
+    // Note: IdentityHashMap doesn't allocate a node per mapping, so adding
+    // a sprite doesn't allocate once the map has grown.
+    private final IdentityHashMap<Sprite, Entry> entriesBySprite = new IdentityHashMap<>();
+    // All stored entries, for iterating without going through the map
+    private final ArrayList<Entry> entries = new ArrayList<>();
+    // Entries of removed sprites, for reuse
+    private final ArrayList<Entry> freeEntries = new ArrayList<>();
+
+    /*
+    Create a grid with cells of `cellSizePx` covering the given area.
+     */
+    public SpatialHash(int cellSizePx, double minX, double minY, double maxX, double maxY) {
+        this.cellSizePx = cellSizePx;
+        this.originX = minX;
+        this.originY = minY;
+        numCols = Math.max(1, (int) Math.ceil((maxX - minX) / cellSizePx));
+        numRows = Math.max(1, (int) Math.ceil((maxY - minY) / cellSizePx));
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        List<Entry>[] newCells = new List[numCols * numRows];
+        cells = newCells;
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new ArrayList<>();
+        }
+    }
+
+    /*
+    Adds the sprite, or moves it to the cells its hitbox now overlaps if
+    it was already added.
+     */
+    public void update(Sprite sprite) {
+        Rectangle hitbox = sprite.getHitbox();
+        int minCol = toCol(hitbox.getX());
+        int maxCol = toCol(hitbox.getX() + hitbox.getWidth());
+        int minRow = toRow(hitbox.getY());
+        int maxRow = toRow(hitbox.getY() + hitbox.getHeight());
+
+        Entry entry = entriesBySprite.get(sprite);
+        if (entry == null) {
+            entry = freeEntries.isEmpty() ? new Entry() : freeEntries.remove(freeEntries.size() - 1);
+            entry.sprite = sprite;
+            entry.index = entries.size();
+            entries.add(entry);
+            entriesBySprite.put(sprite, entry);
+        } else if (entry.minCol == minCol && entry.maxCol == maxCol
+                && entry.minRow == minRow && entry.maxRow == maxRow) {
+            return;
+        } else {
+            removeFromCells(entry);
+        }
+        entry.minCol = minCol;
+        entry.maxCol = maxCol;
+        entry.minRow = minRow;
+        entry.maxRow = maxRow;
+        addToCells(entry);
+    }
+
+    public void remove(Sprite sprite) {
+        Entry entry = entriesBySprite.remove(sprite);
+        if (entry == null) {
+            return;
+        }
+        removeFromCells(entry);
+        // Swap the last entry into the removed one's place
+        Entry last = entries.remove(entries.size() - 1);
+        if (last != entry) {
+            last.index = entry.index;
+            entries.set(last.index, last);
+        }
+        entry.sprite = null;
+        freeEntries.add(entry);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Sprite get(int index) {
+        return entries.get(index).sprite;
+    }
+
+    /*
+    Adds (`sprite`, other) to `collisions` for every stored sprite that
+    collides with `sprite`.
+     */
+    public void findCollisions(Sprite sprite, CollisionList collisions) {
+        if (!sprite.canCollide()) {
+            return;
+        }
+        Rectangle hitbox = sprite.getHitbox();
+        int minCol = toCol(hitbox.getX());
+        int maxCol = toCol(hitbox.getX() + hitbox.getWidth());
+        int minRow = toRow(hitbox.getY());
+        int maxRow = toRow(hitbox.getY() + hitbox.getHeight());
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                List<Entry> cell = cells[row * numCols + col];
+                for (int i = 0; i < cell.size(); i++) {
+                    Entry other = cell.get(i);
+                    // Two sprites can share several cells. Only check them in
+                    // the first one, so that a collision is reported once.
+                    if (col != Math.max(minCol, other.minCol)
+                            || row != Math.max(minRow, other.minRow)) {
+                        continue;
+                    }
+                    if (other.sprite.canCollide() && sprite.collidesWith(other.sprite)) {
+                        collisions.add(sprite, other.sprite);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addToCells(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                cells[row * numCols + col].add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(Entry entry) {
+        for (int row = entry.minRow; row <= entry.maxRow; row++) {
+            for (int col = entry.minCol; col <= entry.maxCol; col++) {
+                cells[row * numCols + col].remove(entry);
+            }
+        }
+    }
+
+    private int toCol(double x) {
+        int col = (int) Math.floor((x - originX) / cellSizePx);
+        return Math.min(Math.max(col, 0), numCols - 1);
+    }
+
+    private int toRow(double y) {
+        int row = (int) Math.floor((y - originY) / cellSizePx);
+        return Math.min(Math.max(row, 0), numRows - 1);
+    }
+}
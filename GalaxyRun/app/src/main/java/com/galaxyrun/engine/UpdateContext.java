@@ -8,21 +8,22 @@ import com.galaxyrun.util.ProtectedQueue;
 /**
  * Passed to Sprites to update themselves. Meant for internal
  * GameEngine use only!
+ * The GameEngine reuses one instance, calling `set()` each tick.
  */
 // TODO: this can be majorly simplified.
 public class UpdateContext {
-    public final GameTime gameTime;
-    public final GameState gameState;
-    public final double difficulty;
-    public final double scrollSpeedPx;
-    public final double score;
-    public final int playerHealth;
-    public final boolean isPaused;
-    public final boolean isMuted;
-    public final Sprite playerSprite;
-    private ProtectedQueue<Sprite> createdSprites;
-    private ProtectedQueue<EventID> createdEvents;
-    private ProtectedQueue<SoundID> createdSounds;
+    public GameTime gameTime;
+    public GameState gameState;
+    public double difficulty;
+    public double scrollSpeedPx;
+    public double score;
+    public int playerHealth;
+    public boolean isPaused;
+    public boolean isMuted;
+    public Sprite playerSprite;
+    private final ProtectedQueue<Sprite> createdSprites;
+    private final ProtectedQueue<EventID> createdEvents;
+    private final ProtectedQueue<SoundID> createdSounds;
 
     public UpdateContext(
             GameTime gameTime,
@@ -37,6 +38,24 @@ public class UpdateContext {
             ProtectedQueue<Sprite> createdSprites,
             ProtectedQueue<EventID> createdEvents,
             ProtectedQueue<SoundID> createdSounds
+    ) {
+        this.createdSprites = createdSprites;
+        this.createdEvents = createdEvents;
+        this.createdSounds = createdSounds;
+        set(gameTime, gameState, difficulty, scrollSpeedPx, score, playerHealth,
+                isPaused, isMuted, playerSprite);
+    }
+
+    public void set(
+            GameTime gameTime,
+            GameState gameState,
+            double difficulty,
+            double scrollSpeedPx,
+            double score,
+            int playerHealth,
+            boolean isPaused,
+            boolean isMuted,
+            Sprite playerSprite
     ) {
         this.gameTime = gameTime;
         this.gameState = gameState;
@@ -47,9 +66,6 @@ public class UpdateContext {
         this.isPaused = isPaused;
         this.isMuted = isMuted;
         this.playerSprite = playerSprite;
-        this.createdSprites = createdSprites;
-        this.createdEvents = createdEvents;
-        this.createdSounds = createdSounds;
     }
 
     public GameTime getGameTime() {
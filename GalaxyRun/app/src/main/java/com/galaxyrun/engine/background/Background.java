@@ -1,74 +1,210 @@
 package com.galaxyrun.engine.background;
 
-import android.graphics.*;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.GameState;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.util.ColorUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 /**
- * Draws the background of the game. Renders a galaxy background using a
- * GalaxyDrawer, then scrolls from left to right in a loop.
+ * Draws the background of the game, which scrolls from left to right in a loop.
+ *
+ * At the back is a sequence of screen-wide "panels", each a color gradient
+ * from BackgroundGenerator. On top of them are the ParallaxLayers in `LAYERS`,
+ * from the furthest to the nearest, each scrolling at its own speed. Layer
+ * tiles are rendered as they are first needed, into a TilePool with a fixed
+ * memory budget.
+ *
+ * On a low-memory device, the far layers are left out and the budget is
+ * smaller (see BackgroundQuality). At any quality, the layers together fill
+ * about one screen's worth of pixels per frame, on top of the gradient.
  */
 public class Background {
 
     private final GameContext gameContext;
     private final BackgroundGenerator generator;
-    // Number of pixels that the background has scrolled.
-    private long pixelsScrolled;
-    // Rendered background "panels". We always store a "left" panel and a "right" panel.
-    private Bitmap panelLeft;
-    private Bitmap panelRight;
+    private final TilePool tilePool;
+    private final List<ParallaxLayer> layers = new ArrayList<>();
+    private final int panelWidthPx;
+    // Number of pixels that the background has scrolled, now and at the
+    // start of the most recent tick. Frames are drawn in between.
+    private double pixelsScrolled;
+    private double prevPixelsScrolled;
+    // Gradients of the background "panels". We always store a "left" panel and a "right" panel.
+    private GalaxyDrawOptions panelLeft;
+    private GalaxyDrawOptions panelRight;
+    // The panel before `panelLeft`, which frames drawn between ticks may
+    // still show just after a swap. Null until the first swap.
+    private GalaxyDrawOptions panelPrev;
     // The value of `pixelsScrolled` that `panelLeft` began being shown at.
     private long leftStartedAt;
+    // Number of frames drawn, used to tell TilePool which tiles are in use.
+    private long numFramesDrawn;
+    // Number of pixels of layer tiles drawn in the last frame.
+    private long lastFramePixelsDrawn;
     // Relative speed of background scrolling to foreground scrolling.
     // A value below 1 gives a "parallax" effect.
     public static final float SCROLL_SPEED_FACTOR = 0.3f;
+    // Layer tiles are square, and this many fit the height of the screen.
+    private static final int TILES_PER_SCREEN_HEIGHT = 4;
+    // Memory budgets for layer tiles.
+    private static final long TILE_BUDGET_BYTES = 8L << 20;
+    private static final long LOW_RAM_TILE_BUDGET_BYTES = 2L << 20;
+    // The layers, from the furthest to the nearest. The main star layer
+    // moves with the gradient; the others are optional.
+    private static final ParallaxLayer.Spec[] LAYERS = {
+            new ParallaxLayer.Spec(
+                    "far stars", 0.12f, 0.3f, 4,
+                    makeLayerOptions(1.5f, ColorUtil.argb(130, 200, 210, 255), 1, 0.3f, 0.4f),
+                    BackgroundQuality.HIGH),
+            new ParallaxLayer.Spec(
+                    "nebula", 0.2f, 0.08f, 3,
+                    makeLayerOptions(0.06f, ColorUtil.argb(28, 160, 120, 255), 30, 0.4f, 0.5f),
+                    BackgroundQuality.MEDIUM),
+            new ParallaxLayer.Spec(
+                    "stars", SCROLL_SPEED_FACTOR, 0.55f, 6,
+                    makeLayerOptions(2, ColorUtil.argb(200, 255, 255, 238), 2, 0.5f, 0.3f),
+                    BackgroundQuality.LOW),
+            new ParallaxLayer.Spec(
+                    "near dust", 0.6f, 0.07f, 3,
+                    makeLayerOptions(0.15f, ColorUtil.argb(150, 220, 220, 255), 2, 0.5f, 0.5f),
+                    BackgroundQuality.HIGH)
+    };
+
+    // Panels are generated using `rand`. The quality depends on the device.
+    public Background(GameContext gameContext, Random rand) {
+        this(
+                gameContext,
+                rand,
+                gameContext.platform.isLowRamDevice() ?
+                        BackgroundQuality.LOW : BackgroundQuality.HIGH,
+                gameContext.platform.isLowRamDevice() ?
+                        LOW_RAM_TILE_BUDGET_BYTES : TILE_BUDGET_BYTES
+        );
+    }
 
-    public Background(GameContext gameContext) {
+    /*
+    Creates a background that draws the layers of at least `quality`, with
+    up to `tileBudgetBytes` of layer tiles.
+     */
+    public Background(
+            GameContext gameContext, Random rand, BackgroundQuality quality, long tileBudgetBytes) {
         this.gameContext = gameContext;
-        generator = new BackgroundGenerator(
-                gameContext.screenWidthPx, gameContext.screenHeightPx, gameContext.rand);
+        panelWidthPx = gameContext.screenWidthPx;
+        generator = new BackgroundGenerator(rand);
+        int tileSizePx = (gameContext.screenHeightPx + TILES_PER_SCREEN_HEIGHT - 1)
+                / TILES_PER_SCREEN_HEIGHT;
+        tilePool = new TilePool(gameContext.platform, tileSizePx, tileBudgetBytes);
+        for (ParallaxLayer.Spec spec : LAYERS) {
+            // Seeds are drawn for every layer, so that each layer looks the
+            // same at any quality.
+            long layerSeed = rand.nextLong();
+            if (spec.minQuality.compareTo(quality) <= 0) {
+                layers.add(new ParallaxLayer(
+                        spec, layerSeed, tilePool, gameContext.screenHeightPx));
+            }
+        }
         leftStartedAt = 0;
         panelLeft = generator.nextPanel();
         panelRight = generator.nextPanel();
     }
 
+    public TilePool getTilePool() {
+        return tilePool;
+    }
+
+    public int getNumLayers() {
+        return layers.size();
+    }
+
+    // Number of pixels of layer tiles drawn in the last frame, not counting the gradient.
+    public long getLastFramePixelsDrawn() {
+        return lastFramePixelsDrawn;
+    }
+
     public void update(UpdateContext updateContext) {
+        prevPixelsScrolled = pixelsScrolled;
         // Only scroll the background while the rest of the game is moving.
+        double foregroundPx = 0;
         if (updateContext.gameState == GameState.PLAYING || updateContext.gameState == GameState.PLAYER_DEAD) {
-            this.pixelsScrolled +=
-                    updateContext.scrollSpeedPx * SCROLL_SPEED_FACTOR * updateContext.gameTime.secSincePrevUpdate;
+            foregroundPx = updateContext.scrollSpeedPx * updateContext.gameTime.secSincePrevUpdate;
+        }
+        pixelsScrolled += foregroundPx * SCROLL_SPEED_FACTOR;
+        // Layers are scrolled every tick, even by 0, so that they don't keep
+        // interpolating over their last movement.
+        for (int i = 0; i < layers.size(); i++) {
+            layers.get(i).scroll(foregroundPx);
         }
-    }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
-        // How many pixels have we progressed along the left panel?
-        int offset = (int) (pixelsScrolled - leftStartedAt);
-        if (offset > panelLeft.getWidth()) {
+        // Panels are swapped here rather than while drawing, so that drawing
+        // only reads state.
+        if (pixelsScrolled - leftStartedAt > panelWidthPx) {
             // We are beyond the left panel; swap right to left and get the next one.
-            offset -= panelLeft.getWidth();
+            panelPrev = panelLeft;
             panelLeft = panelRight;
             panelRight = generator.nextPanel();
-            leftStartedAt = pixelsScrolled - offset;
+            leftStartedAt += panelWidthPx;
+        }
+    }
+
+    /*
+    Records the background, drawn `interpolation` (0 to 1) of the way
+    between the scroll at the start of the tick and the current scroll.
+     */
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer, double interpolation) {
+        long scroll = (long) Math.floor(
+                prevPixelsScrolled + (pixelsScrolled - prevPixelsScrolled) * interpolation);
+        int screenWidthPx = gameContext.screenWidthPx;
+        int screenHeightPx = gameContext.screenHeightPx;
+
+        // Gradients first. Each is drawn across its whole panel, even where
+        // that is off screen, so that its colors line up with the panel.
+        int leftPanelX = (int) (leftStartedAt - scroll);
+        drawPanel(drawBuffer, panelPrev, leftPanelX - panelWidthPx);
+        drawPanel(drawBuffer, panelLeft, leftPanelX);
+        drawPanel(drawBuffer, panelRight, leftPanelX + panelWidthPx);
+
+        // Then the layers, far to near.
+        long pixelsDrawn = 0;
+        for (int i = 0; i < layers.size(); i++) {
+            pixelsDrawn += layers.get(i).getDrawInstructions(
+                    drawBuffer, interpolation, screenWidthPx, screenHeightPx, numFramesDrawn);
         }
+        lastFramePixelsDrawn = pixelsDrawn;
+        numFramesDrawn++;
+    }
 
-        // Draw from the left panel.
-        // How many pixels from the left panel will go on-screen?
-        int leftWidth = Math.min(panelLeft.getWidth() - offset, gameContext.screenWidthPx);
-        Rect srcLeft = new Rect(offset, 0, offset + leftWidth, gameContext.screenHeightPx);
-        Rect dstLeft = new Rect(0, 0, leftWidth, gameContext.screenHeightPx);
-        drawInstructions.push(new DrawImage(panelLeft, srcLeft, dstLeft));
-
-        // How many pixels from the right panel will go on-screen?
-        int rightWidth = gameContext.screenWidthPx - leftWidth;
-        if (rightWidth > 0) {
-            Rect srcRight = new Rect(0, 0, rightWidth, gameContext.screenHeightPx);
-            Rect dstRight = new Rect(leftWidth, 0, gameContext.screenWidthPx, gameContext.screenHeightPx);
-            drawInstructions.push(new DrawImage(panelRight, srcRight, dstRight));
+    // Draws the gradient of `panel` with its left edge at `x`, if it is on screen.
+    private void drawPanel(DrawCommandBuffer drawBuffer, GalaxyDrawOptions panel, int x) {
+        if (panel != null && x < gameContext.screenWidthPx && x + panelWidthPx > 0) {
+            drawBuffer.fillGradientRect(
+                    x, 0, x + panelWidthPx, gameContext.screenHeightPx,
+                    panel.startColor, panel.endColor
+            );
         }
     }
-}
\ No newline at end of file
+
+    private static GalaxyDrawOptions makeLayerOptions(
+            float starDensity,
+            int starColor,
+            int starRadiusPx,
+            float sizeVariance,
+            float brightnessVariance
+    ) {
+        GalaxyDrawOptions options = new GalaxyDrawOptions(
+                ColorUtil.TRANSPARENT,
+                ColorUtil.TRANSPARENT,
+                starDensity,
+                starColor,
+                starRadiusPx,
+                sizeVariance,
+                brightnessVariance
+        );
+        options.keepStarsWhole = true;
+        return options;
+    }
+}
@@ -1,30 +1,24 @@
 package com.galaxyrun.engine.background;
 
-import android.graphics.Bitmap;
-import android.graphics.Color;
+import com.galaxyrun.util.ColorUtil;
 
 import java.util.Random;
 
 import androidx.annotation.ColorInt;
 
 /**
- * Generates images ("panels") to be used for the game background.
- * Panels are rendered using GalaxyDraw and transition the background color
- * over time. The possible background colors are defined in `BACKGROUND_COLORS`.
+ * Generates the color gradients of the "panels" that make up the game background.
+ * Panels transition the background color over time. The possible background colors are defined in `BACKGROUND_COLORS`.
  * The color always starts at `STANDARD_COLOR`, transitions to a randomly-chosen
  * color from `BACKGROUND_COLORS`, then transitions back to `STANDARD_COLOR`.
  * The `NUM_PANELS_STAY` and `NUM_PANELS_TRANSITION` define the length of these
  * transitions.
+ *
+ * Stars are drawn separately, on the layers of the background (see ParallaxLayer).
  */
 public class BackgroundGenerator {
-    // Width of panels to generate.
-    private final int panelWidthPx;
-    // Height of panels to generate.
-    private final int panelHeightPx;
     // Random number generator used when generating panels.
     private final Random rand;
-    // Used to render a starry "galaxy" background.
-    private final GalaxyDrawer galaxyDrawer;
     // A sequence of colors to use for the background of the next N panels.
     // Each panel starts with color `i` and transitions to the color at `i+1`.
     // For example, the first panel to be generated will use `startColor=colors[0]`,
@@ -36,7 +30,7 @@ public class BackgroundGenerator {
     private int count;
 
     @ColorInt
-    private static final int STANDARD_COLOR = Color.BLACK;
+    private static final int STANDARD_COLOR = ColorUtil.BLACK;
     // The number of panels of the `STANDARD_COLOR` to generate at the start of the game.
     private static final int NUM_STANDARD_AT_START = 2;
     // The number of panels over which the transition will occur.
@@ -48,28 +42,26 @@ public class BackgroundGenerator {
     @ColorInt
     private static final int[] BACKGROUND_COLORS = {
             // Light blue.
-            Color.rgb(97, 148, 194),
+            ColorUtil.rgb(97, 148, 194),
             // Light green.
-            Color.rgb(99, 207, 151),
+            ColorUtil.rgb(99, 207, 151),
             // Light purple.
-            Color.rgb(224, 117, 221),
+            ColorUtil.rgb(224, 117, 221),
             // Turquoise.
-            Color.rgb(113, 222, 222),
+            ColorUtil.rgb(113, 222, 222),
             // Pink.
-            Color.rgb(217, 80, 137)
+            ColorUtil.rgb(217, 80, 137)
     };
 
-    // Construct a BackgroundGenerator that will render panels of size
-    // `panelWidthPx` by `panelHeightPx`.
-    BackgroundGenerator(int panelWidthPx, int panelHeightPx, Random rand) {
-        this.panelWidthPx = panelWidthPx;
-        this.panelHeightPx = panelHeightPx;
+    BackgroundGenerator(Random rand) {
         this.rand = rand;
-        galaxyDrawer = new GalaxyDrawer(this.rand);
         colors = ColorGenerator.makeSolidColor(STANDARD_COLOR, NUM_STANDARD_AT_START+1);
     }
 
-    public Bitmap nextPanel() {
+    /*
+    Returns the options to draw the next panel with: its gradient, and no stars.
+     */
+    public GalaxyDrawOptions nextPanel() {
         if (count == colors.length - 1) {
             // Randomly choose the next color to transition to.
             @ColorInt int nextColor = BACKGROUND_COLORS[rand.nextInt(BACKGROUND_COLORS.length)];
@@ -80,14 +72,14 @@ public class BackgroundGenerator {
         GalaxyDrawOptions options = new GalaxyDrawOptions(
                 /*startColor=*/colors[count],
                 /*endColor=*/colors[count+1],
-                /*starDensity=*/2,
-                /*starColor=*/Color.argb(200, 255, 255, 238),
-                /*starSize=*/2,
-                /*sizeVariance=*/0.5f,
-                /*colorVariance=*/0.3f
+                /*starDensity=*/0,
+                /*starColor=*/ColorUtil.TRANSPARENT,
+                /*starSize=*/0,
+                /*sizeVariance=*/0,
+                /*colorVariance=*/0
         );
         ++count;
-        return galaxyDrawer.drawGalaxy(this.panelWidthPx, this.panelHeightPx, options);
+        return options;
     }
 
     // Generates colors for a color transition.
@@ -0,0 +1,12 @@
+package com.galaxyrun.engine.background;
+
+/*
+How much detail to put into the background. Each ParallaxLayer has a
+minimum quality, and lower qualities leave out the far layers first.
+ */
+public enum BackgroundQuality {
+    // Only the main star layer, for low-memory devices.
+    LOW,
+    MEDIUM,
+    HIGH
+}
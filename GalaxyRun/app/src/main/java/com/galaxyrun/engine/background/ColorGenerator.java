@@ -1,9 +1,9 @@
 package com.galaxyrun.engine.background;
 
-import android.graphics.Color;
-
 import androidx.annotation.ColorInt;
 
+import com.galaxyrun.util.ColorUtil;
+
 /**
  * Generates sequences of colors.
  */
@@ -32,17 +32,17 @@ public class ColorGenerator {
         result[n-1] = end;
 
         // Calculate the change in each color channel, per element.
-        float dA = (Color.alpha(end) - Color.alpha(start)) * 1f / (n - 1);
-        float dR = (Color.red(end) - Color.red(start)) * 1f / (n - 1);
-        float dG = (Color.green(end) - Color.green(start)) * 1f / (n - 1);
-        float dB = (Color.blue(end) - Color.blue(start)) * 1f / (n - 1);
+        float dA = (ColorUtil.alpha(end) - ColorUtil.alpha(start)) * 1f / (n - 1);
+        float dR = (ColorUtil.red(end) - ColorUtil.red(start)) * 1f / (n - 1);
+        float dG = (ColorUtil.green(end) - ColorUtil.green(start)) * 1f / (n - 1);
+        float dB = (ColorUtil.blue(end) - ColorUtil.blue(start)) * 1f / (n - 1);
 
         for (int i = 1; i < n-1; i++) {
-            int a = (int) (Color.alpha(start) + i * dA);
-            int r = (int) (Color.red(start) + i * dR);
-            int g = (int) (Color.green(start) + i * dG);
-            int b = (int) (Color.blue(start) + i * dB);
-            result[i] = Color.argb(a, r, g, b);
+            int a = (int) (ColorUtil.alpha(start) + i * dA);
+            int r = (int) (ColorUtil.red(start) + i * dR);
+            int g = (int) (ColorUtil.green(start) + i * dG);
+            int b = (int) (ColorUtil.blue(start) + i * dB);
+            result[i] = ColorUtil.argb(a, r, g, b);
         }
 
         return result;
@@ -21,6 +21,10 @@ import androidx.annotation.ColorInt;
  * be generated with size uniformly distributed between [60, 140]. The
  * same concept applies to brightnessVariance, which varies the alpha
  * of the starColor.
+ *
+ * If `keepStarsWhole` is set, stars are moved in from the edges so that
+ * none is cut off. Images can then be placed next to each other, in any
+ * order, without seams.
  */
 public class GalaxyDrawOptions {
     // Color of the background on the left side.
@@ -39,6 +43,8 @@ public class GalaxyDrawOptions {
     // How much random variance to apply to the star brightness as a fraction.
     // Must be between [0, 1].
     public float brightnessVariance;
+    // Whether to keep stars clear of the edges.
+    public boolean keepStarsWhole;
 
     public GalaxyDrawOptions(
             @ColorInt int startColor,
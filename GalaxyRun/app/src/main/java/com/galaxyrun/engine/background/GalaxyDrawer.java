@@ -14,6 +14,9 @@ import java.util.Random;
  * Renders a customizable, randomly-generated "galaxy" image based on the parameters set in
  * `GalaxyDrawOptions`. The background is filled with a gradient, and then a number of "stars"
  * are generated in random positions with some amount of color- and size-randomization.
+ *
+ * Each star is a separate `drawCircle()`, which is slow for full-screen images; StarRasterizer
+ * renders the same images much faster.
  */
 public class GalaxyDrawer {
     // Used for random number generation.
@@ -71,9 +74,13 @@ public class GalaxyDrawer {
         for (int i = 0; i < numStars; i++) {
             int x = dst.left + random.nextInt(dst.width());
             int y = dst.top + random.nextInt(dst.height());
-            int size = varySize(options.starRadiusPx, options.sizeVariance);
-            int brightness = varyBrightness(
-                    Color.alpha(options.starColor), options.brightnessVariance);
+            int size = StarRasterizer.varySize(random, options.starRadiusPx, options.sizeVariance);
+            if (options.keepStarsWhole) {
+                x = Math.max(dst.left + size, Math.min(x, dst.right - size));
+                y = Math.max(dst.top + size, Math.min(y, dst.bottom - size));
+            }
+            int brightness = StarRasterizer.varyBrightness(
+                    random, Color.alpha(options.starColor), options.brightnessVariance);
             paint.setColor(Color.argb(
                     brightness,
                     Color.red(options.starColor),
@@ -83,27 +90,4 @@ public class GalaxyDrawer {
             canvas.drawCircle(x, y, size, paint);
         }
     }
-
-    private int varyBrightness(float defaultBrightness, float variance) {
-        // Generate a random float between (0, variance).
-        float r = random.nextFloat() * variance;
-        float brightness = defaultBrightness * (random.nextBoolean() ? 1 + r : 1 - r);
-        if (brightness > 255) {
-            return 255;
-        }
-        if (brightness < 0){
-            return 0;
-        }
-        return (int) brightness;
-    }
-
-    private int varySize(int defaultSize, float variance) {
-        // Generate a random float between (0, variance).
-        float r = random.nextFloat() * variance;
-        float size = defaultSize * (random.nextBoolean() ? 1 + r : 1 - r);
-        if (size < 1) {
-            return 1;
-        }
-        return Math.round(size);
-    }
 }
@@ -0,0 +1,158 @@
+package com.galaxyrun.engine.background;
+
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.BitmapHandle;
+
+/**
+ * One layer of the background, scrolling at its own speed. Layers that
+ * scroll more slowly look further away.
+ *
+ * A layer is an endless grid of square cells, as high as the screen. Each
+ * cell is either empty or shows one of the layer's few tiles: transparent
+ * images of stars, rendered with the layer's GalaxyDrawOptions. Which tile
+ * a cell shows, if any, is a hash of the layer's seed and the cell's
+ * position, so the layer needs no state beyond how far it has scrolled.
+ * Stars are kept clear of the edges of tiles (see
+ * `GalaxyDrawOptions.keepStarsWhole`), so neighboring cells don't need to
+ * match up.
+ *
+ * Tiles are rendered when first drawn, into the TilePool shared by all
+ * layers. Empty cells cost nothing to draw, so a layer's `occupancy`, the
+ * fraction of cells that aren't empty, is also roughly how much of the
+ * screen it fills each frame.
+ */
+public class ParallaxLayer {
+    /*
+    Describes a layer.
+     */
+    public static class Spec {
+        public final String name;
+        // Speed relative to the foreground.
+        public final float speedFactor;
+        // Fraction of cells that show a tile.
+        public final float occupancy;
+        // Number of different tiles.
+        public final int numTiles;
+        // How the stars of each tile are drawn.
+        public final GalaxyDrawOptions options;
+        // Lowest BackgroundQuality that the layer is drawn at.
+        public final BackgroundQuality minQuality;
+
+        public Spec(
+                String name,
+                float speedFactor,
+                float occupancy,
+                int numTiles,
+                GalaxyDrawOptions options,
+                BackgroundQuality minQuality
+        ) {
+            this.name = name;
+            this.speedFactor = speedFactor;
+            this.occupancy = occupancy;
+            this.numTiles = numTiles;
+            this.options = options;
+            this.minQuality = minQuality;
+        }
+    }
+
+    private final Spec spec;
+    private final long seed;
+    private final TilePool tilePool;
+    // Key of the layer's first tile in `tilePool`.
+    private final int firstKey;
+    private final int cellSizePx;
+    private final int numRows;
+    // Cells with a hash below this show a tile.
+    private final long occupancyThreshold;
+    // Number of pixels that the layer has scrolled, now and at the start of
+    // the most recent tick.
+    private double pixelsScrolled;
+    private double prevPixelsScrolled;
+
+    /*
+    Creates a layer `screenHeightPx` high. `seed` decides which cells show
+    which tiles, and how those tiles look.
+     */
+    public ParallaxLayer(Spec spec, long seed, TilePool tilePool, int screenHeightPx) {
+        this.spec = spec;
+        this.seed = seed;
+        this.tilePool = tilePool;
+        firstKey = tilePool.addKeys(spec.numTiles);
+        cellSizePx = tilePool.getTileSizePx();
+        numRows = (screenHeightPx + cellSizePx - 1) / cellSizePx;
+        occupancyThreshold = (long) (spec.occupancy * (1L << 32));
+    }
+
+    public Spec getSpec() {
+        return spec;
+    }
+
+    /*
+    Scrolls the layer along with the foreground, which has scrolled
+    `foregroundPx` during the tick. Called once per tick, with 0 if the
+    foreground didn't move.
+     */
+    public void scroll(double foregroundPx) {
+        prevPixelsScrolled = pixelsScrolled;
+        pixelsScrolled += foregroundPx * spec.speedFactor;
+    }
+
+    /*
+    Draws the part of the layer that is on a screen of the given size, as
+    frame number `frame`, `interpolation` (0 to 1) of the way through the
+    most recent scroll. Returns the number of on-screen pixels drawn.
+     */
+    public long getDrawInstructions(
+            DrawCommandBuffer drawBuffer,
+            double interpolation,
+            int screenWidthPx,
+            int screenHeightPx,
+            long frame
+    ) {
+        long scrolled = (long) Math.floor(
+                prevPixelsScrolled + (pixelsScrolled - prevPixelsScrolled) * interpolation);
+        long col = Math.floorDiv(scrolled, (long) cellSizePx);
+        int x = (int) (col * cellSizePx - scrolled);
+        long pixelsDrawn = 0;
+        for (; x < screenWidthPx; col++, x += cellSizePx) {
+            int visibleWidth = Math.min(x + cellSizePx, screenWidthPx) - Math.max(x, 0);
+            for (int row = 0; row < numRows; row++) {
+                int tile = getTile(col, row);
+                if (tile < 0) {
+                    continue;
+                }
+                BitmapHandle bitmap = tilePool.get(
+                        firstKey + tile, spec.options, getTileSeed(tile), frame);
+                if (bitmap == null) {
+                    continue;
+                }
+                int y = row * cellSizePx;
+                drawBuffer.drawImage(bitmap, x, y);
+                pixelsDrawn += (long) visibleWidth * (Math.min(y + cellSizePx, screenHeightPx) - y);
+            }
+        }
+        return pixelsDrawn;
+    }
+
+    /*
+    Returns the tile shown by the cell at (col, row), or -1 if it is empty.
+     */
+    int getTile(long col, int row) {
+        long hash = mix(seed ^ mix(col * numRows + row));
+        if ((hash >>> 32) >= occupancyThreshold) {
+            return -1;
+        }
+        return (int) ((hash & 0x7FFFFFFFL) % spec.numTiles);
+    }
+
+    private long getTileSeed(int tile) {
+        return mix(seed + tile + 1);
+    }
+
+    // Scrambles the bits of `value` (the SplitMix64 finalizer).
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,304 @@
+package com.galaxyrun.engine.background;
+
+import com.galaxyrun.util.ColorUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Renders the same galaxy images as GalaxyDrawer, but into an `int[]` of
+ * ARGB pixels rather than through a Canvas, so that a whole panel can be
+ * uploaded to a Bitmap with one `setPixels()` call. Being plain Java, it
+ * can also be tested and benchmarked on a desktop JVM.
+ *
+ * Stars are placed using the same calls to `Random` as GalaxyDrawer, so
+ * a given seed gives stars in the same places and of the same sizes.
+ * Instead of drawing each star as a circle, a pre-computed anti-aliased
+ * "stamp" is blended in for its radius and brightness. Brightness is
+ * rounded to one of `NUM_BRIGHTNESS_BUCKETS` levels, so there are only a
+ * handful of stamps.
+ *
+ * The image is split into horizontal strips, which are rendered in
+ * parallel on the common ForkJoinPool. Each strip fills in its rows of
+ * the gradient and then blends in the parts of the stars that overlap it,
+ * in the order they were placed, so the result doesn't depend on how the
+ * strips are scheduled.
+ *
+ * A StarRasterizer keeps its star list and stamps between calls, so it
+ * must only render one image at a time.
+ */
+public class StarRasterizer {
+    // Number of levels that star brightness is rounded to.
+    static final int NUM_BRIGHTNESS_BUCKETS = 16;
+    // Number of samples per pixel along each axis, when calculating how
+    // much of a pixel a star covers.
+    private static final int STAMP_SUBSAMPLES = 4;
+
+    private final int numStrips;
+    // Stars placed by the current render. Star `i` is centered on
+    // (starX[i], starY[i]), and drawn with `starStamps[i]`.
+    private int numStars;
+    private int[] starX = new int[0];
+    private int[] starY = new int[0];
+    private Stamp[] starStamps = new Stamp[0];
+    // Stamps indexed by radius and then brightness bucket, created as
+    // they are needed.
+    private final List<Stamp[]> stamps = new ArrayList<>();
+
+    /*
+    A star of a given radius and brightness: a square of alpha values,
+    `2 * radius` pixels wide, centered on the star.
+     */
+    private static class Stamp {
+        final int radius;
+        final int size;
+        final int[] alphas;
+
+        Stamp(int radius, int brightness) {
+            this.radius = radius;
+            size = 2 * radius;
+            alphas = new int[size * size];
+            // A circle centered on the corner between four pixels, the
+            // way Canvas.drawCircle() places it.
+            float radiusSquared = radius * radius;
+            int numSamples = STAMP_SUBSAMPLES * STAMP_SUBSAMPLES;
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    int covered = 0;
+                    for (int sy = 0; sy < STAMP_SUBSAMPLES; sy++) {
+                        float dy = y - radius + (sy + 0.5f) / STAMP_SUBSAMPLES;
+                        for (int sx = 0; sx < STAMP_SUBSAMPLES; sx++) {
+                            float dx = x - radius + (sx + 0.5f) / STAMP_SUBSAMPLES;
+                            if (dx * dx + dy * dy <= radiusSquared) {
+                                covered++;
+                            }
+                        }
+                    }
+                    alphas[y * size + x] = (brightness * covered + numSamples / 2) / numSamples;
+                }
+            }
+        }
+    }
+
+    /*
+    Creates a rasterizer that splits images into `numStrips` strips. With
+    one strip, images are rendered entirely on the calling thread.
+     */
+    public StarRasterizer(int numStrips) {
+        if (numStrips <= 0) {
+            throw new IllegalArgumentException("Number of strips must be positive; was " + numStrips);
+        }
+        this.numStrips = numStrips;
+    }
+
+    public StarRasterizer() {
+        this(Math.min(Runtime.getRuntime().availableProcessors(), 4));
+    }
+
+    /*
+    Renders a galaxy image of `width` by `height` into `pixels`, row by
+    row, using `rand` to place the stars. `pixels` must hold at least
+    `width * height` values.
+     */
+    public void render(int[] pixels, int width, int height, GalaxyDrawOptions options, Random rand) {
+        if (pixels.length < width * height) {
+            throw new IllegalArgumentException(String.format(
+                    "%d pixels is too few for %d x %d", pixels.length, width, height));
+        }
+        placeStars(width, height, options, rand);
+        int[] gradient = makeGradient(width, options.startColor, options.endColor);
+
+        int stripHeight = (height + numStrips - 1) / numStrips;
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int startY = stripHeight; startY < height; startY += stripHeight) {
+            int stripStartY = startY;
+            int stripEndY = Math.min(startY + stripHeight, height);
+            tasks.add(ForkJoinPool.commonPool().submit(() ->
+                    renderStrip(pixels, width, stripStartY, stripEndY, options.starColor, gradient)));
+        }
+        // Render the first strip on this thread while the others run.
+        renderStrip(pixels, width, 0, Math.min(stripHeight, height), options.starColor, gradient);
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+    }
+
+    // Number of stars placed by the last render.
+    public int getNumStars() {
+        return numStars;
+    }
+
+    /*
+    Decides where the stars go and how they look, using `rand` the same
+    way GalaxyDrawer does.
+     */
+    private void placeStars(int width, int height, GalaxyDrawOptions options, Random rand) {
+        numStars = (int) (width * height / 2500.0 * options.starDensity);
+        if (starX.length < numStars) {
+            starX = new int[numStars];
+            starY = new int[numStars];
+            starStamps = new Stamp[numStars];
+        }
+        for (int i = 0; i < numStars; i++) {
+            starX[i] = rand.nextInt(width);
+            starY[i] = rand.nextInt(height);
+            int radius = varySize(rand, options.starRadiusPx, options.sizeVariance);
+            if (options.keepStarsWhole) {
+                starX[i] = Math.max(radius, Math.min(starX[i], width - radius));
+                starY[i] = Math.max(radius, Math.min(starY[i], height - radius));
+            }
+            int brightness = varyBrightness(
+                    rand, ColorUtil.alpha(options.starColor), options.brightnessVariance);
+            starStamps[i] = getStamp(radius, brightness);
+        }
+    }
+
+    private Stamp getStamp(int radius, int brightness) {
+        while (stamps.size() <= radius) {
+            stamps.add(new Stamp[NUM_BRIGHTNESS_BUCKETS]);
+        }
+        Stamp[] radiusStamps = stamps.get(radius);
+        int bucket = getBrightnessBucket(brightness);
+        if (radiusStamps[bucket] == null) {
+            radiusStamps[bucket] = new Stamp(radius, getBucketBrightness(bucket));
+        }
+        return radiusStamps[bucket];
+    }
+
+    static int getBrightnessBucket(int brightness) {
+        return (brightness * (NUM_BRIGHTNESS_BUCKETS - 1) + 127) / 255;
+    }
+
+    static int getBucketBrightness(int bucket) {
+        return bucket * 255 / (NUM_BRIGHTNESS_BUCKETS - 1);
+    }
+
+    /*
+    Returns one row of a gradient from `startColor` on the left to
+    `endColor` on the right, sampled at the center of each pixel.
+     */
+    private static int[] makeGradient(int width, int startColor, int endColor) {
+        int[] gradient = new int[width];
+        for (int x = 0; x < width; x++) {
+            float t = (x + 0.5f) / width;
+            gradient[x] = ColorUtil.argb(
+                    lerp(ColorUtil.alpha(startColor), ColorUtil.alpha(endColor), t),
+                    lerp(ColorUtil.red(startColor), ColorUtil.red(endColor), t),
+                    lerp(ColorUtil.green(startColor), ColorUtil.green(endColor), t),
+                    lerp(ColorUtil.blue(startColor), ColorUtil.blue(endColor), t)
+            );
+        }
+        return gradient;
+    }
+
+    private static int lerp(int start, int end, float t) {
+        return Math.round(start + (end - start) * t);
+    }
+
+    /*
+    Renders rows [startY, endY): the gradient, then every star that
+    overlaps them, clipped to the strip.
+     */
+    private void renderStrip(
+            int[] pixels, int width, int startY, int endY, int starColor, int[] gradient) {
+        for (int y = startY; y < endY; y++) {
+            System.arraycopy(gradient, 0, pixels, y * width, width);
+        }
+        int starRed = ColorUtil.red(starColor);
+        int starGreen = ColorUtil.green(starColor);
+        int starBlue = ColorUtil.blue(starColor);
+        for (int i = 0; i < numStars; i++) {
+            Stamp stamp = starStamps[i];
+            int left = starX[i] - stamp.radius;
+            int top = starY[i] - stamp.radius;
+            int fromY = Math.max(top, startY);
+            int toY = Math.min(top + stamp.size, endY);
+            if (fromY >= toY) {
+                continue;
+            }
+            int fromX = Math.max(left, 0);
+            int toX = Math.min(left + stamp.size, width);
+            for (int y = fromY; y < toY; y++) {
+                int stampRow = (y - top) * stamp.size - left;
+                int row = y * width;
+                for (int x = fromX; x < toX; x++) {
+                    int alpha = stamp.alphas[stampRow + x];
+                    if (alpha != 0) {
+                        pixels[row + x] = blend(pixels[row + x], starRed, starGreen, starBlue, alpha);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+    Draws a color of (`red`, `green`, `blue`, `alpha`) over `dst`. Colors
+    are not premultiplied, as `Bitmap.setPixels()` expects.
+     */
+    private static int blend(int dst, int red, int green, int blue, int alpha) {
+        int inverse = 255 - alpha;
+        int dstAlpha = ColorUtil.alpha(dst);
+        if (dstAlpha == 255) {
+            // The usual case, over the opaque gradient.
+            return ColorUtil.argb(
+                    255,
+                    div255(red * alpha + ColorUtil.red(dst) * inverse),
+                    div255(green * alpha + ColorUtil.green(dst) * inverse),
+                    div255(blue * alpha + ColorUtil.blue(dst) * inverse)
+            );
+        }
+        // Weight each color by how much it contributes to the result.
+        int dstWeight = div255(dstAlpha * inverse);
+        int outAlpha = alpha + dstWeight;
+        if (outAlpha == 0) {
+            return 0;
+        }
+        int half = outAlpha / 2;
+        return ColorUtil.argb(
+                outAlpha,
+                (red * alpha + ColorUtil.red(dst) * dstWeight + half) / outAlpha,
+                (green * alpha + ColorUtil.green(dst) * dstWeight + half) / outAlpha,
+                (blue * alpha + ColorUtil.blue(dst) * dstWeight + half) / outAlpha
+        );
+    }
+
+    // Divides `value`, in [0, 255 * 255], by 255 and rounds.
+    private static int div255(int value) {
+        value += 128;
+        return (value + (value >> 8)) >> 8;
+    }
+
+    /*
+    Returns `defaultSize` varied randomly by up to `variance` of itself,
+    and at least 1.
+     */
+    static int varySize(Random random, int defaultSize, float variance) {
+        // Generate a random float between (0, variance).
+        float r = random.nextFloat() * variance;
+        float size = defaultSize * (random.nextBoolean() ? 1 + r : 1 - r);
+        if (size < 1) {
+            return 1;
+        }
+        return Math.round(size);
+    }
+
+    /*
+    Returns `defaultBrightness` varied randomly by up to `variance` of
+    itself, clamped to [0, 255].
+     */
+    static int varyBrightness(Random random, float defaultBrightness, float variance) {
+        // Generate a random float between (0, variance).
+        float r = random.nextFloat() * variance;
+        float brightness = defaultBrightness * (random.nextBoolean() ? 1 + r : 1 - r);
+        if (brightness > 255) {
+            return 255;
+        }
+        if (brightness < 0){
+            return 0;
+        }
+        return (int) brightness;
+    }
+}
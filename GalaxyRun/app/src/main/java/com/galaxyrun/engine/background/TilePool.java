@@ -0,0 +1,151 @@
+package com.galaxyrun.engine.background;
+
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.Platform;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Caches the rendered tiles of every ParallaxLayer in one pool of
+ * same-sized bitmaps, within a memory budget.
+ *
+ * Each tile has a key, and is rendered from its options and seed the first
+ * time it is asked for, so tiles that are never shown are never rendered.
+ * Rendering a tile again gives the same image, so once the budget is used
+ * up, the least recently drawn tile is rendered over. A tile is only
+ * rendered over once it hasn't been drawn for `REUSE_AFTER_FRAMES`, since
+ * frames that are still waiting to be shown may draw it. If no tile is old
+ * enough, `get()` returns null and that tile is left out of the frame.
+ *
+ * Only used by the game thread.
+ */
+public class TilePool {
+    // Frames a tile must go undrawn before its bitmap can be reused.
+    static final int REUSE_AFTER_FRAMES = 30;
+
+    private static class Entry {
+        final BitmapHandle bitmap;
+        // Key of the tile in `bitmap`, or -1.
+        int key = -1;
+        long lastUsedFrame;
+
+        Entry(BitmapHandle bitmap) {
+            this.bitmap = bitmap;
+        }
+    }
+
+    private final Platform platform;
+    private final int tileSizePx;
+    private final int maxTiles;
+    // Every bitmap created so far.
+    private final List<Entry> entries = new ArrayList<>();
+    // Entry holding each key's tile, or null.
+    private Entry[] entriesByKey = new Entry[0];
+    private long numRendered;
+    private long numMisses;
+
+    /*
+    Creates a pool of `tileSizePx` square tiles that uses no more than
+    `budgetBytes` of bitmap memory.
+     */
+    public TilePool(Platform platform, int tileSizePx, long budgetBytes) {
+        this.platform = platform;
+        this.tileSizePx = tileSizePx;
+        maxTiles = (int) Math.min(budgetBytes / getTileBytes(), Integer.MAX_VALUE);
+        if (maxTiles <= 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Budget of %d bytes is too small for a %dpx tile", budgetBytes, tileSizePx));
+        }
+    }
+
+    public int getTileSizePx() {
+        return tileSizePx;
+    }
+
+    // Bytes of memory used by one tile.
+    public long getTileBytes() {
+        return 4L * tileSizePx * tileSizePx;
+    }
+
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+
+    // Number of bitmaps created so far.
+    public int getNumTiles() {
+        return entries.size();
+    }
+
+    // Number of times a tile was rendered, including re-rendering.
+    public long getNumRendered() {
+        return numRendered;
+    }
+
+    // Number of times a tile was asked for but there was no bitmap to render it into.
+    public long getNumMisses() {
+        return numMisses;
+    }
+
+    /*
+    Reserves `numKeys` new keys, and returns the first.
+     */
+    public int addKeys(int numKeys) {
+        int firstKey = entriesByKey.length;
+        entriesByKey = Arrays.copyOf(entriesByKey, firstKey + numKeys);
+        return firstKey;
+    }
+
+    /*
+    Returns the tile for `key`, to be drawn in frame number `frame`. If it
+    isn't cached, it is rendered with `options`, using `seed` to place the
+    stars. Returns null if the budget is used up.
+     */
+    public BitmapHandle get(int key, GalaxyDrawOptions options, long seed, long frame) {
+        Entry entry = entriesByKey[key];
+        if (entry == null) {
+            entry = findFreeEntry(frame);
+            if (entry == null) {
+                numMisses++;
+                return null;
+            }
+            if (entry.key >= 0) {
+                entriesByKey[entry.key] = null;
+            }
+            entry.key = key;
+            entriesByKey[key] = entry;
+            platform.renderGalaxy(entry.bitmap, options, new Random(seed));
+            numRendered++;
+        }
+        entry.lastUsedFrame = frame;
+        return entry.bitmap;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TilePool(%d/%d tiles of %dpx, rendered=%d, misses=%d)",
+                entries.size(), maxTiles, tileSizePx, numRendered, numMisses);
+    }
+
+    /*
+    Returns a new entry if the budget allows, or else the least recently
+    used one that is old enough to reuse, or null.
+     */
+    private Entry findFreeEntry(long frame) {
+        if (entries.size() < maxTiles) {
+            Entry entry = new Entry(platform.createBitmap(tileSizePx, tileSizePx));
+            entries.add(entry);
+            return entry;
+        }
+        Entry oldest = null;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (oldest == null || entry.lastUsedFrame < oldest.lastUsedFrame) {
+                oldest = entry;
+            }
+        }
+        return frame - oldest.lastUsedFrame >= REUSE_AFTER_FRAMES ? oldest : null;
+    }
+}
@@ -1,12 +1,10 @@
 package com.galaxyrun.engine.controller;
 
-import android.hardware.Sensor;
-import android.hardware.SensorEvent;
-
+import com.galaxyrun.engine.external.SensorInput;
 import com.galaxyrun.util.CircularBuffer;
 
 /**
- * Takes a real-time stream of gyroscope SensorEvents and turns them into control inputs for the
+ * Takes a real-time stream of gyroscope SensorInputs and turns them into control inputs for the
  * spaceship.
  *
  * Gyroscope events should be given to the TiltController in real-time using
@@ -54,7 +52,7 @@ public class TiltController {
             this.timestamp = timestamp;
             this.yVel = yVel;
         }
-        public GyroReading(SensorEvent e) {
+        public GyroReading(SensorInput e) {
             this(e.timestamp, e.values[1]);
         }
     }
@@ -64,8 +62,8 @@ public class TiltController {
     }
 
     // Registers a new gyroscope sensor reading with the controller.
-    public void inputGyroscopeEvent(SensorEvent gyroEvent) {
-        if (gyroEvent.sensor.getType() != Sensor.TYPE_GYROSCOPE) {
+    public void inputGyroscopeEvent(SensorInput gyroEvent) {
+        if (gyroEvent.sensorType != SensorInput.SensorType.GYROSCOPE) {
             throw new IllegalArgumentException("Only accepts GYROSCOPE events.");
         }
         history.push(new GyroReading(gyroEvent));
@@ -85,7 +83,8 @@ public class TiltController {
         float sum = 0;
         // Note: we don't even bother garbage-collecting `history` because it is small enough
         // that it's likely more efficient to simply ignore stale values.
-        for (GyroReading reading : history) {
+        for (int i = 0; i < history.getSize(); i++) {
+            GyroReading reading = history.get(i);
             if (reading.timestamp >= minTimestamp) {
                 sum += reading.yVel;
                 ++numSamples;
@@ -109,7 +108,7 @@ public class TiltController {
         } else if (velocity < -NOISE_THRESHOLD) {
             return new TiltState(ControlDirection.DOWN, Math.abs(velocity));
         } else {
-            return new TiltState(ControlDirection.NEUTRAL, 0);
+            return TiltState.NEUTRAL;
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.galaxyrun.engine.controller;
 
 public class TiltState {
+    // No tilt. Shared, since it is by far the most common state.
+    public static final TiltState NEUTRAL = new TiltState(ControlDirection.NEUTRAL, 0);
+
     public final ControlDirection direction;
     public final float magnitude;
     public TiltState(ControlDirection direction, float magnitude) {
@@ -0,0 +1,477 @@
+package com.galaxyrun.engine.draw;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import com.galaxyrun.platform.AtlasRegion;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.platform.IntRect;
+import com.galaxyrun.platform.android.AndroidBitmap;
+import com.galaxyrun.platform.android.AndroidFont;
+import com.galaxyrun.util.ProtectedQueue;
+
+import java.util.Arrays;
+
+/**
+ * Records the draw calls for a frame into packed primitive arrays, so that
+ * recording a frame doesn't create an object per draw call. Call `draw()`
+ * to replay the frame onto a Canvas.
+ *
+ * The buffer is meant to be cleared and reused: once its arrays have grown
+ * to fit a frame, recording doesn't allocate.
+ *
+ * Once a frame is recorded, `finish()` makes the buffer read-only until it
+ * is cleared. A finished buffer only holds copies of values plus immutable
+ * handles and strings, so it can be drawn on another thread while the game
+ * keeps updating.
+ *
+ * DrawInstructions can still be pushed onto the buffer. They are stored as
+ * they are and drawn in order with the other commands.
+ *
+ * Like DrawInstructions, commands are recorded on the game thread, which may
+ * run without Android. Android objects are only touched in `draw()`.
+ */
+public class DrawCommandBuffer implements ProtectedQueue<DrawInstruction> {
+    // Command opcodes
+    private static final int DRAW_IMAGE = 0;
+    private static final int FILL_RECT = 1;
+    private static final int STROKE_RECT = 2;
+    private static final int DRAW_TEXT = 3;
+    private static final int INSTRUCTION = 4;
+    private static final int FILL_GRADIENT = 5;
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Number of ints in `rects` per command
+    private static final int RECT_STRIDE = 8;
+    // Number of floats in `floats` per command
+    private static final int FLOAT_STRIDE = 2;
+    // Number of floats in a ColorMatrix
+    private static final int COLOR_MATRIX_SIZE = 20;
+
+    // Per-command fields, indexed by command. Not every opcode uses every
+    // field:
+    // - DRAW_IMAGE: handle = bitmap (the atlas, for an AtlasRegion),
+    //   rects = src then dst, floats[0] = degrees of rotation,
+    //   paintState = ColorMatrix ID.
+    // - FILL_RECT: rects = dst, color.
+    // - STROKE_RECT: rects = dst, color, floats[0] = stroke width.
+    // - DRAW_TEXT: handle = font, object = text, rects[0] = text size,
+    //   floats = bottom-left x and y, color.
+    // - INSTRUCTION: object = DrawInstruction.
+    private int[] opcodes;
+    // Index in `handles`, or -1 for none
+    private int[] handleIndices;
+    private int[] rects;
+    private float[] floats;
+    private int[] colors;
+    // ID of the ColorMatrix to draw with. 0 means none; otherwise the
+    // matrix is at (ID - 1) * COLOR_MATRIX_SIZE in `colorMatrices`.
+    private int[] paintStates;
+    private Object[] objects;
+    private int numCommands;
+    // Whether the frame is complete. Recording is not allowed once finished.
+    private boolean isFinished;
+
+    // Distinct bitmaps and fonts used by the recorded commands
+    private Object[] handles = new Object[16];
+    private int numHandles;
+
+    // Distinct ColorMatrices used by the recorded commands
+    private float[] colorMatrices = new float[2 * COLOR_MATRIX_SIZE];
+    private int numColorMatrices;
+
+    public DrawCommandBuffer() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public DrawCommandBuffer(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        opcodes = new int[capacity];
+        handleIndices = new int[capacity];
+        rects = new int[capacity * RECT_STRIDE];
+        floats = new float[capacity * FLOAT_STRIDE];
+        colors = new int[capacity];
+        paintStates = new int[capacity];
+        objects = new Object[capacity];
+    }
+
+    public int getSize() {
+        return numCommands;
+    }
+
+    public boolean isEmpty() {
+        return numCommands == 0;
+    }
+
+    public boolean isFinished() {
+        return isFinished;
+    }
+
+    /*
+    Marks the frame as complete. Until `clear()` is called, recording more
+    commands throws IllegalStateException.
+     */
+    public void finish() {
+        isFinished = true;
+    }
+
+    /*
+    Removes all commands. References to the recorded text, handles and
+    DrawInstructions are dropped.
+     */
+    public void clear() {
+        Arrays.fill(objects, 0, numCommands, null);
+        Arrays.fill(handles, 0, numHandles, null);
+        numCommands = 0;
+        numHandles = 0;
+        numColorMatrices = 0;
+        isFinished = false;
+    }
+
+    /*
+    Draw the full `bitmap` with its top-left at (x, y).
+     */
+    public void drawImage(BitmapHandle bitmap, int x, int y) {
+        drawImage(
+                bitmap,
+                0, 0, bitmap.getWidth(), bitmap.getHeight(),
+                x, y, x + bitmap.getWidth(), y + bitmap.getHeight()
+        );
+    }
+
+    /*
+    Draw the `src` area of `bitmap` with its top-left at (x, y).
+     */
+    public void drawImage(BitmapHandle bitmap, IntRect src, int x, int y) {
+        drawImage(
+                bitmap,
+                src.left, src.top, src.right, src.bottom,
+                x, y, x + src.width(), y + src.height()
+        );
+    }
+
+    /*
+    Draw the src area of `bitmap` scaled into the dst area. If `bitmap` is an
+    AtlasRegion, `src` is relative to the region, and the image is recorded
+    as the matching area of its atlas.
+     */
+    public void drawImage(
+            BitmapHandle bitmap,
+            int srcLeft, int srcTop, int srcRight, int srcBottom,
+            int dstLeft, int dstTop, int dstRight, int dstBottom
+    ) {
+        int offsetX = 0;
+        int offsetY = 0;
+        if (bitmap instanceof AtlasRegion) {
+            AtlasRegion region = (AtlasRegion) bitmap;
+            offsetX = region.getLeft();
+            offsetY = region.getTop();
+            bitmap = region.getAtlas();
+        }
+        int i = startCommand(DRAW_IMAGE);
+        handleIndices[i] = indexOfHandle(bitmap);
+        int r = i * RECT_STRIDE;
+        rects[r] = srcLeft + offsetX;
+        rects[r + 1] = srcTop + offsetY;
+        rects[r + 2] = srcRight + offsetX;
+        rects[r + 3] = srcBottom + offsetY;
+        rects[r + 4] = dstLeft;
+        rects[r + 5] = dstTop;
+        rects[r + 6] = dstRight;
+        rects[r + 7] = dstBottom;
+    }
+
+    /*
+    Sets the degrees to rotate the most recent image clockwise around its
+    center.
+     */
+    public void setRotation(float degRotation) {
+        int i = lastCommand(DRAW_IMAGE);
+        floats[i * FLOAT_STRIDE] = degRotation;
+    }
+
+    /*
+    Sets the ColorMatrix (4x5, row-major) to apply to the most recent image.
+    The values are copied, so `colorMatrix` may be modified afterwards.
+     */
+    public void setColorMatrix(float[] colorMatrix) {
+        int i = lastCommand(DRAW_IMAGE);
+        paintStates[i] = idOfColorMatrix(colorMatrix);
+    }
+
+    public void fillRect(int left, int top, int right, int bottom, int color) {
+        int i = startCommand(FILL_RECT);
+        setDst(i, left, top, right, bottom);
+        colors[i] = color;
+    }
+
+    public void fillRect(IntRect rect, int color) {
+        fillRect(rect.left, rect.top, rect.right, rect.bottom, color);
+    }
+
+    /*
+    Fill a rect with a horizontal gradient, from `startColor` at its left
+    edge to `endColor` at its right edge.
+     */
+    public void fillGradientRect(
+            int left, int top, int right, int bottom, int startColor, int endColor) {
+        int i = startCommand(FILL_GRADIENT);
+        setDst(i, left, top, right, bottom);
+        colors[i] = startColor;
+        // The src rect is unused, so it holds the second color.
+        rects[i * RECT_STRIDE] = endColor;
+    }
+
+    /*
+    Draw the outline of a rect with the specified color and thickness.
+     */
+    public void strokeRect(int left, int top, int right, int bottom, int color, float strokeWidth) {
+        int i = startCommand(STROKE_RECT);
+        setDst(i, left, top, right, bottom);
+        colors[i] = color;
+        floats[i * FLOAT_STRIDE] = strokeWidth;
+    }
+
+    public void strokeRect(IntRect rect, int color, float strokeWidth) {
+        strokeRect(rect.left, rect.top, rect.right, rect.bottom, color, strokeWidth);
+    }
+
+    /*
+    Draw `text` with its bottom-left at (x, y). A null `font` means the
+    default font.
+     */
+    public void drawText(String text, float x, float y, int color, int size, FontHandle font) {
+        int i = startCommand(DRAW_TEXT);
+        handleIndices[i] = font == null ? -1 : indexOfHandle(font);
+        objects[i] = text;
+        rects[i * RECT_STRIDE] = size;
+        floats[i * FLOAT_STRIDE] = x;
+        floats[i * FLOAT_STRIDE + 1] = y;
+        colors[i] = color;
+    }
+
+    public void drawText(String text, float x, float y, int color, int size) {
+        drawText(text, x, y, color, size, null);
+    }
+
+    // Adds a DrawInstruction, which is drawn in order with the other commands.
+    // It may be drawn on another thread, so it must not be modified afterwards.
+    @Override
+    public void push(DrawInstruction drawInstruction) {
+        int i = startCommand(INSTRUCTION);
+        objects[i] = drawInstruction;
+    }
+
+    /*
+    Draws all commands onto `canvas`, in the order they were recorded.
+    Must be called on the thread that owns `palette`.
+     */
+    public void draw(Canvas canvas, PaintPalette palette) {
+        for (int i = 0; i < numCommands; i++) {
+            int r = i * RECT_STRIDE;
+            int f = i * FLOAT_STRIDE;
+            switch (opcodes[i]) {
+                case DRAW_IMAGE: {
+                    float degRotation = floats[f];
+                    int dstLeft = rects[r + 4];
+                    int dstTop = rects[r + 5];
+                    int dstRight = rects[r + 6];
+                    int dstBottom = rects[r + 7];
+                    // Save and rotate canvas if a rotation was specified
+                    if (degRotation != 0) {
+                        canvas.save();
+                        canvas.rotate(
+                                degRotation, (dstLeft + dstRight) / 2, (dstTop + dstBottom) / 2);
+                    }
+                    palette.src.set(rects[r], rects[r + 1], rects[r + 2], rects[r + 3]);
+                    palette.dst.set(dstLeft, dstTop, dstRight, dstBottom);
+                    Paint paint = paintStates[i] == 0 ?
+                            palette.imagePaint :
+                            palette.getColorMatrixPaint(
+                                    colorMatrices, (paintStates[i] - 1) * COLOR_MATRIX_SIZE);
+                    canvas.drawBitmap(
+                            AndroidBitmap.unwrap((BitmapHandle) handles[handleIndices[i]]),
+                            palette.src,
+                            palette.dst,
+                            paint
+                    );
+                    // Restore canvas if it was previously rotated
+                    if (degRotation != 0) {
+                        canvas.restore();
+                    }
+                    break;
+                }
+                case FILL_RECT: {
+                    palette.fillPaint.setColor(colors[i]);
+                    canvas.drawRect(
+                            rects[r + 4], rects[r + 5], rects[r + 6], rects[r + 7],
+                            palette.fillPaint
+                    );
+                    break;
+                }
+                case FILL_GRADIENT: {
+                    int left = rects[r + 4];
+                    int top = rects[r + 5];
+                    // The gradient's shader is made for a rect at the
+                    // origin, so that it can be reused as the rect moves.
+                    canvas.save();
+                    canvas.translate(left, top);
+                    canvas.drawRect(0, 0, rects[r + 6] - left, rects[r + 7] - top,
+                            palette.getGradientPaint(rects[r + 6] - left, colors[i], rects[r]));
+                    canvas.restore();
+                    break;
+                }
+                case STROKE_RECT: {
+                    palette.strokePaint.setColor(colors[i]);
+                    palette.strokePaint.setStrokeWidth(floats[f]);
+                    canvas.drawRect(
+                            rects[r + 4], rects[r + 5], rects[r + 6], rects[r + 7],
+                            palette.strokePaint
+                    );
+                    break;
+                }
+                case DRAW_TEXT: {
+                    int fontIndex = handleIndices[i];
+                    palette.textPaint.setColor(colors[i]);
+                    palette.textPaint.setTextSize(rects[r]);
+                    palette.textPaint.setTypeface(AndroidFont.unwrap(
+                            fontIndex < 0 ? null : (FontHandle) handles[fontIndex]));
+                    canvas.drawText((String) objects[i], floats[f], floats[f + 1],
+                            palette.textPaint);
+                    break;
+                }
+                case INSTRUCTION: {
+                    ((DrawInstruction) objects[i]).draw(canvas);
+                    break;
+                }
+                default: {
+                    throw new IllegalStateException("Unknown opcode " + opcodes[i]);
+                }
+            }
+        }
+    }
+
+    /*
+    Returns a hash of the recorded commands. Two buffers with the same
+    commands have the same hash, which makes it cheap to check that a
+    frame hasn't been modified.
+     */
+    public int contentHash() {
+        int hash = numCommands;
+        for (int i = 0; i < numCommands; i++) {
+            int r = i * RECT_STRIDE;
+            int f = i * FLOAT_STRIDE;
+            hash = 31 * hash + opcodes[i];
+            hash = 31 * hash + (handleIndices[i] < 0 ? 0 :
+                    System.identityHashCode(handles[handleIndices[i]]));
+            for (int j = 0; j < RECT_STRIDE; j++) {
+                hash = 31 * hash + rects[r + j];
+            }
+            hash = 31 * hash + Float.floatToIntBits(floats[f]);
+            hash = 31 * hash + Float.floatToIntBits(floats[f + 1]);
+            hash = 31 * hash + colors[i];
+            if (paintStates[i] != 0) {
+                int start = (paintStates[i] - 1) * COLOR_MATRIX_SIZE;
+                for (int j = 0; j < COLOR_MATRIX_SIZE; j++) {
+                    hash = 31 * hash + Float.floatToIntBits(colorMatrices[start + j]);
+                }
+            }
+            hash = 31 * hash + (objects[i] == null ? 0 : objects[i].hashCode());
+        }
+        return hash;
+    }
+
+    /*
+    Adds a command with `opcode` and default values, returning its index.
+     */
+    private int startCommand(int opcode) {
+        if (isFinished) {
+            throw new IllegalStateException("Can't record into a finished frame");
+        }
+        if (numCommands == opcodes.length) {
+            grow();
+        }
+        int i = numCommands++;
+        opcodes[i] = opcode;
+        handleIndices[i] = -1;
+        Arrays.fill(rects, i * RECT_STRIDE, (i + 1) * RECT_STRIDE, 0);
+        floats[i * FLOAT_STRIDE] = 0;
+        floats[i * FLOAT_STRIDE + 1] = 0;
+        colors[i] = 0;
+        paintStates[i] = 0;
+        return i;
+    }
+
+    private int lastCommand(int expectedOpcode) {
+        if (isFinished) {
+            throw new IllegalStateException("Can't record into a finished frame");
+        }
+        if (numCommands == 0 || opcodes[numCommands - 1] != expectedOpcode) {
+            throw new IllegalStateException("The most recent command is not an image");
+        }
+        return numCommands - 1;
+    }
+
+    private void setDst(int i, int left, int top, int right, int bottom) {
+        int r = i * RECT_STRIDE;
+        rects[r + 4] = left;
+        rects[r + 5] = top;
+        rects[r + 6] = right;
+        rects[r + 7] = bottom;
+    }
+
+    private void grow() {
+        int capacity = opcodes.length * 2;
+        opcodes = Arrays.copyOf(opcodes, capacity);
+        handleIndices = Arrays.copyOf(handleIndices, capacity);
+        rects = Arrays.copyOf(rects, capacity * RECT_STRIDE);
+        floats = Arrays.copyOf(floats, capacity * FLOAT_STRIDE);
+        colors = Arrays.copyOf(colors, capacity);
+        paintStates = Arrays.copyOf(paintStates, capacity);
+        objects = Arrays.copyOf(objects, capacity);
+    }
+
+    /*
+    Returns the index of `handle` in `handles`, adding it if needed. A frame
+    only uses a few dozen distinct bitmaps, so a linear search is fine.
+     */
+    private int indexOfHandle(Object handle) {
+        for (int i = numHandles - 1; i >= 0; i--) {
+            if (handles[i] == handle) {
+                return i;
+            }
+        }
+        if (numHandles == handles.length) {
+            handles = Arrays.copyOf(handles, numHandles * 2);
+        }
+        handles[numHandles] = handle;
+        return numHandles++;
+    }
+
+    /*
+    Returns the ID of `colorMatrix`, adding a copy of it if it differs from
+    the most recently added matrix. Consecutive images often share a matrix.
+     */
+    private int idOfColorMatrix(float[] colorMatrix) {
+        if (colorMatrix.length != COLOR_MATRIX_SIZE) {
+            throw new IllegalArgumentException("ColorMatrix must have 20 values");
+        }
+        if (numColorMatrices > 0) {
+            int start = (numColorMatrices - 1) * COLOR_MATRIX_SIZE;
+            boolean isSame = true;
+            for (int i = 0; i < COLOR_MATRIX_SIZE && isSame; i++) {
+                isSame = colorMatrices[start + i] == colorMatrix[i];
+            }
+            if (isSame) {
+                return numColorMatrices;
+            }
+        }
+        if ((numColorMatrices + 1) * COLOR_MATRIX_SIZE > colorMatrices.length) {
+            colorMatrices = Arrays.copyOf(colorMatrices, colorMatrices.length * 2);
+        }
+        System.arraycopy(colorMatrix, 0, colorMatrices,
+                numColorMatrices * COLOR_MATRIX_SIZE, COLOR_MATRIX_SIZE);
+        return ++numColorMatrices;
+    }
+}
@@ -1,12 +1,15 @@
 package com.galaxyrun.engine.draw;
 
-import android.graphics.Bitmap;
 import android.graphics.Canvas;
-import android.graphics.ColorMatrix;
 import android.graphics.ColorMatrixColorFilter;
 import android.graphics.Paint;
 import android.graphics.Rect;
 
+import com.galaxyrun.platform.AtlasRegion;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.IntRect;
+import com.galaxyrun.platform.android.AndroidBitmap;
+
 /**
  * Stores instructions for drawing a Bitmap
  *
@@ -16,33 +19,40 @@ import android.graphics.Rect;
 public class DrawImage implements DrawInstruction {
 
     // Bitmap to be drawn
-    private Bitmap bitmap;
+    private BitmapHandle bitmap;
     // Source and destination rects
-    private Rect src, dst;
+    private IntRect src, dst;
     // Degrees to rotate clockwise
     private float degRotation;
-    private Paint paint;
+    // ColorMatrix (4x5, row-major) to apply. Null if none.
+    private float[] colorMatrix;
 
-    public DrawImage(Bitmap bitmap, Rect src, Rect dst) {
+    // The rects are copied, so they may be modified afterwards. If `bitmap` is an
+    // AtlasRegion, `src` is relative to the region.
+    public DrawImage(BitmapHandle bitmap, IntRect src, IntRect dst) {
         this.bitmap = bitmap;
-        this.src = src;
-        this.dst = dst;
-        paint = new Paint();
+        this.src = new IntRect(src.left, src.top, src.right, src.bottom);
+        if (bitmap instanceof AtlasRegion) {
+            AtlasRegion region = (AtlasRegion) bitmap;
+            this.bitmap = region.getAtlas();
+            this.src.offset(region.getLeft(), region.getTop());
+        }
+        this.dst = new IntRect(dst.left, dst.top, dst.right, dst.bottom);
     }
 
-    public DrawImage(Bitmap bitmap, Rect src, int x, int y) {
+    public DrawImage(BitmapHandle bitmap, IntRect src, int x, int y) {
         this(
                 bitmap,
                 src,
-                new Rect(x, y, x + src.width(), y + src.height())
+                new IntRect(x, y, x + src.width(), y + src.height())
         );
     }
 
-    public DrawImage(Bitmap bitmap, int x, int y) {
+    public DrawImage(BitmapHandle bitmap, int x, int y) {
         this(
                 bitmap,
-                new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight()),
-                new Rect(x, y, x + bitmap.getWidth(), y + bitmap.getHeight())
+                new IntRect(0, 0, bitmap.getWidth(), bitmap.getHeight()),
+                new IntRect(x, y, x + bitmap.getWidth(), y + bitmap.getHeight())
         );
     }
 
@@ -50,19 +60,31 @@ public class DrawImage implements DrawInstruction {
         this.degRotation = degRotation;
     }
 
-    public void setColorMatrix(ColorMatrix colorMatrix) {
-        this.paint.setColorFilter(new ColorMatrixColorFilter(colorMatrix));
+    // Sets the ColorMatrix to apply. The values are copied, so `colorMatrix` may be
+    // modified afterwards.
+    public void setColorMatrix(float[] colorMatrix) {
+        this.colorMatrix = colorMatrix.clone();
     }
 
     @Override
     public void draw(Canvas canvas) {
+        Paint paint = new Paint();
+        if (colorMatrix != null) {
+            paint.setColorFilter(new ColorMatrixColorFilter(colorMatrix));
+        }
+
         // Save and rotate canvas if a rotation was specified
         if (degRotation != 0) {
             canvas.save();
             canvas.rotate(degRotation, dst.centerX(), dst.centerY());
         }
 
-        canvas.drawBitmap(bitmap, src, dst, paint);
+        canvas.drawBitmap(
+                AndroidBitmap.unwrap(bitmap),
+                new Rect(src.left, src.top, src.right, src.bottom),
+                new Rect(dst.left, dst.top, dst.right, dst.bottom),
+                paint
+        );
 
         // Restore canvas if it was previously rotated
         if (degRotation != 0) {
@@ -4,6 +4,10 @@ import android.graphics.Canvas;
 
 /**
  * Interface for all sub-classes that draw onto the screen.
+ *
+ * DrawInstructions are created by the game thread, which may run without Android
+ * (see `com.galaxyrun.platform`). They must therefore only store plain values and
+ * platform handles, and create any Android objects inside `draw()`.
  */
 public interface DrawInstruction {
 
@@ -2,7 +2,8 @@ package com.galaxyrun.engine.draw;
 
 import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Rect;
+
+import com.galaxyrun.platform.IntRect;
 
 /**
  * Stores instructions for drawing a Rectangle
@@ -10,37 +11,45 @@ import android.graphics.Rect;
 
 public class DrawRect implements DrawInstruction {
 
-    private Rect rect;
-    private Paint paint;
-
-    public DrawRect(Rect rect, Paint paint) {
-        this.rect = rect;
-        this.paint = paint;
+    private IntRect rect;
+    private int color;
+    // Whether to fill the rect (true) or draw its outline (false)
+    private boolean isFilled;
+    // Thickness of the outline, if not filled
+    private float strokeWidth;
+
+    // `rect` is copied, so it may be modified afterwards.
+    private DrawRect(IntRect rect, int color, boolean isFilled, float strokeWidth) {
+        this.rect = new IntRect(rect.left, rect.top, rect.right, rect.bottom);
+        this.color = color;
+        this.isFilled = isFilled;
+        this.strokeWidth = strokeWidth;
     }
 
     /*
     Create a DrawRect filled with the specified color.
      */
-    public static DrawRect filled(Rect rect, int color) {
-        Paint paint = new Paint();
-        paint.setColor(color);
-        paint.setStyle(Paint.Style.FILL);
-        return new DrawRect(rect, paint);
+    public static DrawRect filled(IntRect rect, int color) {
+        return new DrawRect(rect, color, true, 0);
     }
 
     /*
     Create a DrawRect to draw an outline with the specified color and thickness.
      */
-    public static DrawRect outline(Rect rect, int color, float strokeWidth) {
-        Paint paint = new Paint();
-        paint.setColor(color);
-        paint.setStyle(Paint.Style.STROKE);
-        paint.setStrokeWidth(strokeWidth);
-        return new DrawRect(rect, paint);
+    public static DrawRect outline(IntRect rect, int color, float strokeWidth) {
+        return new DrawRect(rect, color, false, strokeWidth);
     }
 
     @Override
     public void draw(Canvas canvas) {
-        canvas.drawRect(rect, paint);
+        Paint paint = new Paint();
+        paint.setColor(color);
+        if (isFilled) {
+            paint.setStyle(Paint.Style.FILL);
+        } else {
+            paint.setStyle(Paint.Style.STROKE);
+            paint.setStrokeWidth(strokeWidth);
+        }
+        canvas.drawRect(rect.left, rect.top, rect.right, rect.bottom, paint);
     }
 }
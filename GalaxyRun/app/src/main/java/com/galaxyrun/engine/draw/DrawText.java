@@ -2,7 +2,9 @@ package com.galaxyrun.engine.draw;
 
 import android.graphics.Canvas;
 import android.graphics.Paint;
-import android.graphics.Typeface;
+
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.platform.android.AndroidFont;
 
 /**
  * Stores instructions for drawing text
@@ -14,29 +16,30 @@ public class DrawText implements DrawInstruction {
     private String text;
     // Draw coordinates (bottom left)
     private float bottomX, bottomY;
-    // Paint to use when drawing
-    private Paint paint;
+    private int color;
+    private int size;
+    // Font to draw with. Null means the default font.
+    private FontHandle font;
 
-    public DrawText(String text, float bottomX, float bottomY, Paint paint) {
+    public DrawText(String text, float bottomX, float bottomY, int color, int size, FontHandle font) {
         this.text = text;
         this.bottomX = bottomX;
         this.bottomY = bottomY;
-        this.paint = paint;
-    }
-
-    public DrawText(String text, float bottomX, float bottomY, int color, int size, Typeface typeface) {
-        this(text, bottomX, bottomY, new Paint());
-        paint.setColor(color);
-        paint.setTextSize(size);
-        paint.setTypeface(typeface);
+        this.color = color;
+        this.size = size;
+        this.font = font;
     }
 
     public DrawText(String text, float x, float y, int color, int size) {
-        this(text, x, y, color, size, Typeface.DEFAULT);
+        this(text, x, y, color, size, null);
     }
 
     @Override
     public void draw(Canvas canvas) {
+        Paint paint = new Paint();
+        paint.setColor(color);
+        paint.setTextSize(size);
+        paint.setTypeface(AndroidFont.unwrap(font));
         canvas.drawText(text, bottomX, bottomY, paint);
     }
 }
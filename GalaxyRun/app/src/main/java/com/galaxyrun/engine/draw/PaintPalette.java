@@ -0,0 +1,87 @@
+package com.galaxyrun.engine.draw;
+
+import android.graphics.ColorMatrixColorFilter;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Shader;
+
+/**
+ * The Paints and Rects used to replay a DrawCommandBuffer. They are
+ * reconfigured for every command rather than created per command.
+ *
+ * Not thread-safe: create one per drawing thread.
+ */
+public class PaintPalette {
+    final Paint imagePaint = new Paint();
+    final Paint fillPaint = new Paint();
+    final Paint strokePaint = new Paint();
+    final Paint textPaint = new Paint();
+    final Rect src = new Rect();
+    final Rect dst = new Rect();
+
+    // Paint with the most recently used ColorMatrix applied. The filter is
+    // only recreated when the matrix changes.
+    private final Paint colorMatrixPaint = new Paint();
+    private final float[] colorMatrix = new float[20];
+    private boolean hasColorMatrix;
+
+    // Paint for horizontal gradients, and the most recently used gradient
+    // shaders with the width and colors each was made for. A frame only
+    // draws a couple of gradients, which rarely change.
+    private static final int NUM_GRADIENTS = 4;
+    private final Paint gradientPaint = new Paint();
+    private final LinearGradient[] gradients = new LinearGradient[NUM_GRADIENTS];
+    private final int[] gradientWidths = new int[NUM_GRADIENTS];
+    private final int[] gradientStartColors = new int[NUM_GRADIENTS];
+    private final int[] gradientEndColors = new int[NUM_GRADIENTS];
+    private int nextGradient;
+
+    public PaintPalette() {
+        fillPaint.setStyle(Paint.Style.FILL);
+        strokePaint.setStyle(Paint.Style.STROKE);
+        gradientPaint.setStyle(Paint.Style.FILL);
+        gradientPaint.setDither(true);
+    }
+
+    /*
+    Returns a Paint that applies the ColorMatrix stored at `offset` in
+    `matrices`.
+     */
+    Paint getColorMatrixPaint(float[] matrices, int offset) {
+        boolean isSame = hasColorMatrix;
+        for (int i = 0; i < colorMatrix.length && isSame; i++) {
+            isSame = colorMatrix[i] == matrices[offset + i];
+        }
+        if (!isSame) {
+            System.arraycopy(matrices, offset, colorMatrix, 0, colorMatrix.length);
+            colorMatrixPaint.setColorFilter(new ColorMatrixColorFilter(colorMatrix));
+            hasColorMatrix = true;
+        }
+        return colorMatrixPaint;
+    }
+
+    /*
+    Returns a Paint that fills a rect from x=0 to x=`width` with a gradient
+    from `startColor` to `endColor`. Shaders are only created for
+    gradients that weren't used recently.
+     */
+    Paint getGradientPaint(int width, int startColor, int endColor) {
+        int i = 0;
+        while (i < NUM_GRADIENTS && !(gradients[i] != null && gradientWidths[i] == width
+                && gradientStartColors[i] == startColor && gradientEndColors[i] == endColor)) {
+            i++;
+        }
+        if (i == NUM_GRADIENTS) {
+            i = nextGradient;
+            nextGradient = (nextGradient + 1) % NUM_GRADIENTS;
+            gradients[i] = new LinearGradient(
+                    0, 0, width, 0, startColor, endColor, Shader.TileMode.CLAMP);
+            gradientWidths[i] = width;
+            gradientStartColors[i] = startColor;
+            gradientEndColors[i] = endColor;
+        }
+        gradientPaint.setShader(gradients[i]);
+        return gradientPaint;
+    }
+}
@@ -1,34 +1,49 @@
 package com.galaxyrun.engine.external;
 
 import com.galaxyrun.engine.EventID;
-import com.galaxyrun.engine.draw.DrawInstruction;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.engine.audio.SoundID;
 import com.galaxyrun.util.FastQueue;
 
 /**
  * Stores data created by a game update.
+ * May be reused for a later update: see `GameEngine.setReuseUpdateMessages()`.
  */
 
 public class GameUpdateMessage {
-    private FastQueue<DrawInstruction> drawInstructions;
-    private FastQueue<EventID> events;
-    private FastQueue<SoundID> sounds;
-    public final boolean isMuted;
+    private DrawCommandBuffer drawCommands;
+    private final FastQueue<EventID> events;
+    private final FastQueue<SoundID> sounds;
+    public boolean isMuted;
+
+    public GameUpdateMessage() {
+        this(new DrawCommandBuffer(), new FastQueue<>(), new FastQueue<>(), false);
+    }
 
     public GameUpdateMessage(
-            FastQueue<DrawInstruction> drawInstructions,
+            DrawCommandBuffer drawCommands,
             FastQueue<EventID> events,
             FastQueue<SoundID> sounds,
             boolean isMuted
     ) {
-        this.drawInstructions = drawInstructions;
+        this.drawCommands = drawCommands;
         this.events = events;
         this.sounds = sounds;
         this.isMuted = isMuted;
     }
 
-    public FastQueue<DrawInstruction> getDrawInstructions() {
-        return drawInstructions;
+    // Empties the message so that it can be reused, with `drawCommands`
+    // (cleared) as its draw commands.
+    public void reset(DrawCommandBuffer drawCommands) {
+        this.drawCommands = drawCommands;
+        drawCommands.clear();
+        events.clear();
+        sounds.clear();
+        isMuted = false;
+    }
+
+    public DrawCommandBuffer getDrawCommands() {
+        return drawCommands;
     }
 
     public FastQueue<EventID> getEvents() {
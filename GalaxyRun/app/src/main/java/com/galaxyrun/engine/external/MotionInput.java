@@ -1,11 +1,39 @@
 package com.galaxyrun.engine.external;
 
-import android.view.MotionEvent;
-
+/**
+ * A touch event on the screen. Stores the action that occurred and the
+ * id and coordinates of every pointer that was down at the time.
+ */
 public class MotionInput extends ExternalInput {
-    public final MotionEvent motion;
-    public MotionInput(MotionEvent motion) {
+    public enum Action {
+        DOWN,
+        MOVE,
+        UP,
+        CANCEL
+    }
+
+    public final Action action;
+    // Id of each pointer. `x[i]` and `y[i]` give the coordinates of pointer `pointerIds[i]`.
+    public final int[] pointerIds;
+    public final float[] x, y;
+
+    public MotionInput(Action action, int[] pointerIds, float[] x, float[] y) {
         super(ExternalInputId.MOTION);
-        this.motion = motion;
+        if (pointerIds.length != x.length || pointerIds.length != y.length) {
+            throw new IllegalArgumentException("Pointer arrays must have the same length");
+        }
+        this.action = action;
+        this.pointerIds = pointerIds;
+        this.x = x;
+        this.y = y;
+    }
+
+    // Convenience constructor for an event with a single pointer.
+    public MotionInput(Action action, int pointerId, float x, float y) {
+        this(action, new int[] {pointerId}, new float[] {x}, new float[] {y});
+    }
+
+    public int getPointerCount() {
+        return pointerIds.length;
     }
 }
@@ -1,11 +1,25 @@
 package com.galaxyrun.engine.external;
 
-import android.hardware.SensorEvent;
-
+/**
+ * A reading from one of the device's sensors.
+ */
 public class SensorInput extends ExternalInput {
-    public final SensorEvent event;
-    public SensorInput(SensorEvent event) {
+    public enum SensorType {
+        GYROSCOPE,
+        // Any sensor the game does not use.
+        OTHER
+    }
+
+    public final SensorType sensorType;
+    // Time at which the reading was taken (ns).
+    public final long timestamp;
+    // Reading values. Meaning depends on the sensor type.
+    public final float[] values;
+
+    public SensorInput(SensorType sensorType, long timestamp, float[] values) {
         super(ExternalInputId.SENSOR);
-        this.event = event;
+        this.sensorType = sensorType;
+        this.timestamp = timestamp;
+        this.values = values;
     }
 }
@@ -2,24 +2,173 @@ package com.galaxyrun.engine.map;
 
 import androidx.annotation.NonNull;
 
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * A grid of tiles, `Map.NUM_ROWS` high and any number of columns wide.
+ *
+ * Tiles are packed column-major into a byte array of TileType ordinals: the
+ * tile at (row, col) is at `col * NUM_ROWS + row`. A column is therefore a
+ * contiguous run of bytes, which makes appending chunks and reading them
+ * column by column cheap.
+ *
+ * `slice()` returns a read-only view of some of the columns, sharing the
+ * same storage.
+ */
 public class Chunk {
-    public int numRows;
-    public int numCols;
-    public TileType[][] tiles;
+    // Rows in every chunk. Also the stride between columns.
+    public static final int NUM_ROWS = Map.NUM_ROWS;
+    // Column mask with a bit set for every row.
+    public static final int ALL_ROWS_MASK = (1 << NUM_ROWS) - 1;
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final byte EMPTY = (byte) TileType.EMPTY.ordinal();
+
+    // Tile ordinals, column-major. May be longer than needed.
+    private byte[] tiles;
+    // Column of `tiles` that this chunk starts at. Non-zero for slices.
+    private final int startCol;
+    private int numCols;
+    // Whether this chunk is a view into another chunk's tiles.
+    private final boolean isSlice;
+
+    // Creates a chunk of `numCols` EMPTY columns.
+    public Chunk(int numCols) {
+        this(numCols, TileType.EMPTY);
+    }
+
+    // Creates a chunk of `numCols` columns filled with `fill`.
+    public Chunk(int numCols, TileType fill) {
+        this(new byte[numCols * NUM_ROWS], 0, numCols, false);
+        if (fill != TileType.EMPTY) {
+            Arrays.fill(tiles, (byte) fill.ordinal());
+        }
+    }
 
-    public Chunk(TileType[][] tiles) {
-        numRows = tiles.length;
-        numCols = tiles[0].length;
+    private Chunk(byte[] tiles, int startCol, int numCols, boolean isSlice) {
         this.tiles = tiles;
+        this.startCol = startCol;
+        this.numCols = numCols;
+        this.isSlice = isSlice;
+    }
+
+    public int getNumRows() {
+        return NUM_ROWS;
+    }
+
+    public int getNumCols() {
+        return numCols;
+    }
+
+    public TileType get(int row, int col) {
+        return TILE_TYPES[tiles[indexOf(row, col)]];
+    }
+
+    public boolean isEmpty(int row, int col) {
+        return tiles[indexOf(row, col)] == EMPTY;
+    }
+
+    public void set(int row, int col, TileType tileType) {
+        checkWritable();
+        tiles[indexOf(row, col)] = (byte) tileType.ordinal();
+    }
+
+    /*
+    Appends the columns of `other` to the end of this chunk. Storage grows
+    by doubling, so appending repeatedly is cheap.
+     */
+    public void append(Chunk other) {
+        checkWritable();
+        int newNumCols = numCols + other.numCols;
+        if (newNumCols * NUM_ROWS > tiles.length) {
+            tiles = Arrays.copyOf(tiles, Math.max(newNumCols, numCols * 2) * NUM_ROWS);
+        }
+        System.arraycopy(
+                other.tiles, other.startCol * NUM_ROWS,
+                tiles, numCols * NUM_ROWS,
+                other.numCols * NUM_ROWS
+        );
+        numCols = newNumCols;
+    }
+
+    /*
+    Mirrors the chunk vertically, so that the top row becomes the bottom
+    row. A path through the chunk stays a path once flipped.
+     */
+    public void flipVertically() {
+        checkWritable();
+        for (int col = 0; col < numCols; col++) {
+            int start = (startCol + col) * NUM_ROWS;
+            for (int i = start, j = start + NUM_ROWS - 1; i < j; i++, j--) {
+                byte tile = tiles[i];
+                tiles[i] = tiles[j];
+                tiles[j] = tile;
+            }
+        }
+    }
+
+    /*
+    Returns a read-only view of `numCols` columns starting at `startCol`.
+    No tiles are copied, so changes to this chunk show through the view
+    (unless appending makes this chunk move its tiles to larger storage).
+     */
+    public Chunk slice(int startCol, int numCols) {
+        if (startCol < 0 || numCols < 0 || startCol + numCols > this.numCols) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Slice [%d, %d) out of bounds for %d columns",
+                    startCol, startCol + numCols, this.numCols));
+        }
+        return new Chunk(tiles, this.startCol + startCol, numCols, true);
+    }
+
+    /*
+    Returns a mask of the rows in column `col` that hold `tileType`: bit
+    `row` is set if the tile at (row, col) is `tileType`.
+     */
+    public int getColumnMask(int col, TileType tileType) {
+        byte ordinal = (byte) tileType.ordinal();
+        int start = indexOf(0, col);
+        int mask = 0;
+        for (int row = 0; row < NUM_ROWS; row++) {
+            if (tiles[start + row] == ordinal) {
+                mask |= 1 << row;
+            }
+        }
+        return mask;
+    }
+
+    public int getEmptyMask(int col) {
+        return getColumnMask(col, TileType.EMPTY);
+    }
+
+    public int getObstacleMask(int col) {
+        return getColumnMask(col, TileType.OBSTACLE);
+    }
+
+    /*
+    Returns a BitSet of the tiles holding `tileType`, with the tile at
+    (row, col) at bit `col * NUM_ROWS + row`.
+     */
+    public BitSet getMask(TileType tileType) {
+        byte ordinal = (byte) tileType.ordinal();
+        int start = startCol * NUM_ROWS;
+        int numTiles = numCols * NUM_ROWS;
+        BitSet mask = new BitSet(numTiles);
+        for (int i = 0; i < numTiles; i++) {
+            if (tiles[start + i] == ordinal) {
+                mask.set(i);
+            }
+        }
+        return mask;
     }
 
     @NonNull
     @Override
     public String toString() {
         StringBuilder result = new StringBuilder();
-        for (TileType[] row : tiles) {
-            for (TileType tile : row) {
-                result.append(tile.ordinal());
+        for (int row = 0; row < NUM_ROWS; row++) {
+            for (int col = 0; col < numCols; col++) {
+                result.append(tiles[indexOf(row, col)]);
                 result.append('\t');
             }
             result.append('\n');
@@ -29,25 +178,26 @@ public class Chunk {
 
     /*
     Concatenate two chunks, c1 followed by c2, and return the result.
-
-    The chunks must have the same number of rows.
      */
     public static Chunk concatenateChunks(Chunk c1, Chunk c2) {
-        if (c1.numRows != c2.numRows) {
-            throw new IllegalArgumentException("Chunks must have the same number of rows");
-        }
-        // TODO: use System.arraycopy() for everything
-        TileType[][] result = new TileType[c1.numRows][c1.numCols + c2.numCols];
-        for (int i = 0; i < c1.numRows; i++) {
-            for (int j = 0; j < c1.numCols; j++) {
-                result[i][j] = c1.tiles[i][j];
-            }
+        Chunk result = new Chunk(
+                new byte[(c1.numCols + c2.numCols) * NUM_ROWS], 0, 0, false);
+        result.append(c1);
+        result.append(c2);
+        return result;
+    }
+
+    private int indexOf(int row, int col) {
+        if (row < 0 || row >= NUM_ROWS || col < 0 || col >= numCols) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "(%d, %d) out of bounds for %d columns", row, col, numCols));
         }
-        for (int i = 0; i < c2.numRows; i++) {
-            for (int j = 0; j < c2.numCols; j++) {
-                result[i][j + c1.numCols] = c2.tiles[i][j];
-            }
+        return (startCol + col) * NUM_ROWS + row;
+    }
+
+    private void checkWritable() {
+        if (isSlice) {
+            throw new UnsupportedOperationException("Chunk slices are read-only");
         }
-        return new Chunk(result);
     }
 }
@@ -0,0 +1,229 @@
+package com.galaxyrun.engine.map;
+
+import com.galaxyrun.helper.RawResourceId;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.Platform;
+import com.galaxyrun.util.WeightedRandomChooser;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * A library of chunks that were generated and checked for passability
+ * ahead of time, by `ChunkLibraryBuilder`. Sampling a chunk from the
+ * library is much cheaper than generating one and path-finding through it.
+ *
+ * Chunks are grouped by difficulty band and ChunkType. Each chunk has a
+ * weight: how often the generator produced it when the library was built.
+ * Sampling a group by weight therefore gives chunks with the same
+ * probabilities as the generator would, minus the impassable ones.
+ *
+ * The library is stored in a compact binary format (big-endian):
+ * - int MAGIC, short VERSION
+ * - byte NUM_ROWS the chunks were generated with
+ * - byte number of difficulty bands
+ * - byte number of chunk types, followed by the name of each (UTF)
+ * - for each band and then each chunk type: int index of the group's first
+ *   entry, int number of entries in the group
+ * - int number of entries, followed by each entry: int offset of its tiles
+ *   in the file, int weight
+ * - the tiles of each entry: byte number of columns, followed by each
+ *   column. Most tiles are EMPTY or OBSTACLE, so a column is a byte with
+ *   the mask of its OBSTACLE rows in the low bits. If its top bit is set,
+ *   the column also has other tiles: a byte with how many, then a byte for
+ *   each, with the row in the high nibble and the TileType ordinal in the
+ *   low nibble.
+ *
+ * Loading only reads the header and the entries. Tiles are read from the
+ * buffer when a chunk is sampled, so the buffer can be memory-mapped.
+ * The buffer is only read with absolute gets, so one library can be shared
+ * between threads.
+ */
+public class ChunkLibrary {
+    static final int MAGIC = 0x4752434C;  // "GRCL"
+    static final short VERSION = 1;
+    private static final TileType[] TILE_TYPES = TileType.values();
+    // Top bit of a column's byte, set if it has tiles other than obstacles.
+    // The obstacle mask is below it, which leaves room for up to 7 rows.
+    static final int HAS_OTHER_TILES = 0x80;
+
+    private final ByteBuffer buffer;
+    private final int numBands;
+    // Chooses the offset of a chunk's tiles, for each band and ChunkType
+    // ordinal. Null where there are no chunks.
+    private final WeightedRandomChooser<Integer>[][] choosers;
+
+    private ChunkLibrary(ByteBuffer buffer, int numBands, WeightedRandomChooser<Integer>[][] choosers) {
+        this.buffer = buffer;
+        this.numBands = numBands;
+        this.choosers = choosers;
+    }
+
+    /*
+    Loads the library shipped with the game. Returns null if the library is
+    missing or can't be read, in which case chunks have to be generated.
+     */
+    public static ChunkLibrary load(Platform platform) {
+        ByteBuffer buffer;
+        try {
+            buffer = platform.mapRawResource(RawResourceId.CHUNK_LIBRARY);
+        } catch (IOException e) {
+            GameLog.w("ChunkLibrary", "Couldn't load the chunk library: " + e);
+            return null;
+        }
+        if (buffer == null) {
+            return null;
+        }
+        try {
+            return read(buffer);
+        } catch (IllegalArgumentException e) {
+            GameLog.w("ChunkLibrary", "Couldn't read the chunk library: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+    Reads a library from `buffer`, which holds the whole library from its
+    position onwards. Throws IllegalArgumentException if it isn't a library
+    that can be used with this version of the game.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public static ChunkLibrary read(ByteBuffer buffer) {
+        ByteBuffer library = buffer.slice();
+        try {
+            if (library.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a chunk library");
+            }
+            short version = library.getShort();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported version " + version);
+            }
+            int numRows = library.get();
+            if (numRows != Chunk.NUM_ROWS) {
+                throw new IllegalArgumentException(String.format(
+                        "Library has %d rows but the map has %d", numRows, Chunk.NUM_ROWS));
+            }
+            int numBands = library.get() & 0xFF;
+            if (numBands <= 0) {
+                throw new IllegalArgumentException("Library has no difficulty bands");
+            }
+            // Match chunk types by name, so that the library doesn't depend
+            // on the order of the ChunkType enum.
+            ChunkType[] chunkTypes = new ChunkType[library.get() & 0xFF];
+            for (int i = 0; i < chunkTypes.length; i++) {
+                chunkTypes[i] = findChunkType(readUtf(library));
+            }
+            int[] groupStarts = new int[numBands * chunkTypes.length];
+            int[] groupSizes = new int[groupStarts.length];
+            for (int group = 0; group < groupStarts.length; group++) {
+                groupStarts[group] = library.getInt();
+                groupSizes[group] = library.getInt();
+            }
+            int numEntries = library.getInt();
+            int[] offsets = new int[numEntries];
+            double[] weights = new double[numEntries];
+            for (int i = 0; i < numEntries; i++) {
+                offsets[i] = library.getInt();
+                weights[i] = library.getInt();
+                if (offsets[i] < 0 || offsets[i] >= library.limit()) {
+                    throw new IllegalArgumentException("Entry " + i + " is out of bounds");
+                }
+            }
+
+            WeightedRandomChooser<Integer>[][] choosers =
+                    new WeightedRandomChooser[numBands][ChunkType.values().length];
+            for (int band = 0; band < numBands; band++) {
+                for (int i = 0; i < chunkTypes.length; i++) {
+                    int group = band * chunkTypes.length + i;
+                    int start = groupStarts[group];
+                    int size = groupSizes[group];
+                    if (chunkTypes[i] == null || size == 0) {
+                        continue;
+                    }
+                    if (start < 0 || size < 0 || start + size > numEntries) {
+                        throw new IllegalArgumentException("Group " + group + " is out of bounds");
+                    }
+                    Integer[] groupOffsets = new Integer[size];
+                    double[] groupWeights = new double[size];
+                    for (int j = 0; j < size; j++) {
+                        groupOffsets[j] = offsets[start + j];
+                        groupWeights[j] = weights[start + j];
+                    }
+                    choosers[band][chunkTypes[i].ordinal()] =
+                            new WeightedRandomChooser<>(groupOffsets, groupWeights);
+                }
+            }
+            return new ChunkLibrary(library, numBands, choosers);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Library is truncated", e);
+        }
+    }
+
+    public int getNumBands() {
+        return numBands;
+    }
+
+    // Returns whether the library has chunks of `chunkType` at `difficulty`.
+    public boolean hasChunks(ChunkType chunkType, double difficulty) {
+        return getChooser(chunkType, difficulty) != null;
+    }
+
+    /*
+    Returns a new chunk of `chunkType`, chosen at random from those built
+    for `difficulty`. Returns null if there are none.
+     */
+    public Chunk sample(ChunkType chunkType, double difficulty, Random rand) {
+        WeightedRandomChooser<Integer> chooser = getChooser(chunkType, difficulty);
+        return chooser == null ? null : readChunk(chooser.choose(rand));
+    }
+
+    // Returns the band that chunks at `difficulty` are in, out of `numBands`.
+    static int getBand(double difficulty, int numBands) {
+        return Math.max(0, Math.min((int) (difficulty * numBands), numBands - 1));
+    }
+
+    private WeightedRandomChooser<Integer> getChooser(ChunkType chunkType, double difficulty) {
+        return choosers[getBand(difficulty, numBands)][chunkType.ordinal()];
+    }
+
+    private Chunk readChunk(int offset) {
+        int pos = offset;
+        int numCols = buffer.get(pos++) & 0xFF;
+        Chunk chunk = new Chunk(numCols);
+        for (int col = 0; col < numCols; col++) {
+            int column = buffer.get(pos++) & 0xFF;
+            for (int obstacles = column & Chunk.ALL_ROWS_MASK; obstacles != 0; obstacles &= obstacles - 1) {
+                chunk.set(Integer.numberOfTrailingZeros(obstacles), col, TileType.OBSTACLE);
+            }
+            if ((column & HAS_OTHER_TILES) != 0) {
+                int numOtherTiles = buffer.get(pos++) & 0xFF;
+                for (int i = 0; i < numOtherTiles; i++) {
+                    int tile = buffer.get(pos++) & 0xFF;
+                    chunk.set(tile >>> 4, col, TILE_TYPES[tile & 0xF]);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    private static ChunkType findChunkType(String name) {
+        for (ChunkType chunkType : ChunkType.values()) {
+            if (chunkType.name().equals(name)) {
+                return chunkType;
+            }
+        }
+        // A type that has since been removed. Its chunks are never sampled.
+        return null;
+    }
+
+    private static String readUtf(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        // Written by DataOutputStream.writeUTF(), which only differs from
+        // UTF-8 for characters that aren't in enum names.
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
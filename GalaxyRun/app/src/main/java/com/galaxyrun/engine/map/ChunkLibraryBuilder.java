@@ -0,0 +1,192 @@
+package com.galaxyrun.engine.map;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds a ChunkLibrary ahead of time. This is slow, and is meant to be run
+ * on a desktop JVM rather than by the game: see `BuildChunkLibrary` in the
+ * benchmarks module.
+ *
+ * For each difficulty band and ChunkType, chunks are generated with
+ * TileGenerator at difficulties spread evenly through the band. Impassable
+ * chunks are thrown away, which is what MapGenerator would do. Identical
+ * chunks are stored once, weighted by how often they came up, so that
+ * sampling the library gives chunks with the generator's probabilities.
+ * Chunks of types that are as likely as their vertical flip (see
+ * `TileGenerator.isSymmetric()`) are stored the right way up or flipped,
+ * whichever comes first, and are flipped at random when sampled. That
+ * roughly halves the number of distinct chunks.
+ *
+ * Types that ChunkProbabilities never chooses in a band are left out.
+ */
+public class ChunkLibraryBuilder {
+    private final Random rand;
+    private final int numBands;
+    // Number of passable chunks to generate for each band and ChunkType.
+    private final int numSamples;
+    private final PathFinder pathFinder = new PathFinder();
+
+    // Distinct chunks of each band and ChunkType, encoded, mapped to the
+    // number of times they were generated. Indexed by
+    // `band * CHUNK_TYPES.length + ChunkType ordinal`.
+    private final List<Map<ByteBuffer, int[]>> groups = new ArrayList<>();
+    private long numGenerated;
+    private long numImpassable;
+
+    private static final ChunkType[] CHUNK_TYPES = ChunkType.values();
+
+    public ChunkLibraryBuilder(long seed, int numBands, int numSamples) {
+        if (numBands <= 0 || numBands > 0xFF) {
+            throw new IllegalArgumentException("Number of bands must be in [1, 255]; was " + numBands);
+        }
+        if (numSamples <= 0) {
+            throw new IllegalArgumentException("Number of samples must be positive; was " + numSamples);
+        }
+        rand = new Random(seed);
+        this.numBands = numBands;
+        this.numSamples = numSamples;
+    }
+
+    /*
+    Generates the chunks of the library. Call once, before `write()`.
+     */
+    public void build() {
+        for (int band = 0; band < numBands; band++) {
+            double bandStart = band / (double) numBands;
+            double bandEnd = (band + 1) / (double) numBands;
+            for (ChunkType chunkType : CHUNK_TYPES) {
+                Map<ByteBuffer, int[]> group = new LinkedHashMap<>();
+                groups.add(group);
+                if (ChunkProbabilities.getProbability(chunkType, bandStart) == 0
+                        && ChunkProbabilities.getProbability(chunkType, Math.nextDown(bandEnd)) == 0) {
+                    continue;
+                }
+                for (int i = 0; i < numSamples; ) {
+                    double difficulty = bandStart + rand.nextDouble() * (bandEnd - bandStart);
+                    Chunk chunk = TileGenerator.generateChunk(rand, chunkType, difficulty);
+                    numGenerated++;
+                    if (!pathFinder.isPassable(chunk)) {
+                        numImpassable++;
+                        continue;
+                    }
+                    ByteBuffer key = ByteBuffer.wrap(encode(chunk));
+                    if (TileGenerator.isSymmetric(chunkType) && !group.containsKey(key)) {
+                        chunk.flipVertically();
+                        ByteBuffer flippedKey = ByteBuffer.wrap(encode(chunk));
+                        if (group.containsKey(flippedKey)) {
+                            key = flippedKey;
+                        }
+                    }
+                    int[] count = group.get(key);
+                    if (count == null) {
+                        group.put(key, new int[] {1});
+                    } else {
+                        count[0]++;
+                    }
+                    i++;
+                }
+            }
+        }
+    }
+
+    // Number of chunks generated, including impassable ones.
+    public long getNumGenerated() {
+        return numGenerated;
+    }
+
+    // Number of generated chunks that were impassable, and thrown away.
+    public long getNumImpassable() {
+        return numImpassable;
+    }
+
+    // Number of distinct chunks in the library.
+    public int getNumDistinct() {
+        int numDistinct = 0;
+        for (Map<ByteBuffer, int[]> group : groups) {
+            numDistinct += group.size();
+        }
+        return numDistinct;
+    }
+
+    /*
+    Writes the library to `out`, in the format described in ChunkLibrary.
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(ChunkLibrary.MAGIC);
+        data.writeShort(ChunkLibrary.VERSION);
+        data.writeByte(Chunk.NUM_ROWS);
+        data.writeByte(numBands);
+        data.writeByte(CHUNK_TYPES.length);
+        for (ChunkType chunkType : CHUNK_TYPES) {
+            data.writeUTF(chunkType.name());
+        }
+        int numEntries = getNumDistinct();
+        int entryIndex = 0;
+        for (Map<ByteBuffer, int[]> group : groups) {
+            data.writeInt(entryIndex);
+            data.writeInt(group.size());
+            entryIndex += group.size();
+        }
+        data.writeInt(numEntries);
+        // Tiles follow the entries.
+        int offset = data.size() + numEntries * 8;
+        for (Map<ByteBuffer, int[]> group : groups) {
+            for (Map.Entry<ByteBuffer, int[]> entry : group.entrySet()) {
+                data.writeInt(offset);
+                data.writeInt(entry.getValue()[0]);
+                offset += entry.getKey().capacity();
+            }
+        }
+        for (Map<ByteBuffer, int[]> group : groups) {
+            for (ByteBuffer tiles : group.keySet()) {
+                data.write(tiles.array());
+            }
+        }
+        data.flush();
+    }
+
+    /*
+    Encodes `chunk` the way ChunkLibrary stores it.
+     */
+    static byte[] encode(Chunk chunk) {
+        int numCols = chunk.getNumCols();
+        if (numCols > 0xFF) {
+            throw new IllegalArgumentException("Chunk is too long to store: " + numCols);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(numCols);
+        for (int col = 0; col < numCols; col++) {
+            int otherTiles = ~(chunk.getEmptyMask(col) | chunk.getObstacleMask(col))
+                    & Chunk.ALL_ROWS_MASK;
+            if (otherTiles == 0) {
+                out.write(chunk.getObstacleMask(col));
+                continue;
+            }
+            out.write(chunk.getObstacleMask(col) | ChunkLibrary.HAS_OTHER_TILES);
+            out.write(Integer.bitCount(otherTiles));
+            for (int row = 0; row < Chunk.NUM_ROWS; row++) {
+                if ((otherTiles & (1 << row)) != 0) {
+                    out.write(row << 4 | chunk.get(row, col).ordinal());
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ChunkLibraryBuilder(%d bands, %d samples: %d generated, %d impassable, %d distinct)",
+                numBands, numSamples, numGenerated, numImpassable, getNumDistinct());
+    }
+}
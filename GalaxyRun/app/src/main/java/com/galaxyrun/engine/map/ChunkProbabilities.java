@@ -1,5 +1,7 @@
 package com.galaxyrun.engine.map;
 
+import com.galaxyrun.util.WeightedRandomChooser;
+
 /*
 Given the current difficulty, return the probability of
 each ChunkType being generated.
@@ -10,8 +12,54 @@ it all out on a piece of paper.
 
 NOTE: have to be careful that the probabilities add up to 1 at
 all values of difficulty.
+
+Because the probabilities only change at the band boundaries, a
+WeightedRandomChooser is built for each band once, up front. Use
+`getChunkTypeChooser()` to choose a ChunkType instead of calling
+`getProbability()` for every type.
  */
 public class ChunkProbabilities {
+    // Difficulty at which each band of the step functions starts. Must
+    // match the boundaries used below.
+    private static final double[] BAND_STARTS = {0, 0.2, 0.4, 0.6, 0.8};
+    private static final WeightedRandomChooser<ChunkType>[] CHUNK_TYPE_CHOOSERS =
+            createChunkTypeChoosers();
+
+    /*
+    Returns a chooser that picks a ChunkType with the probabilities at the
+    given `difficulty`. Choosers are shared, and safe to use from any thread.
+     */
+    public static WeightedRandomChooser<ChunkType> getChunkTypeChooser(double difficulty) {
+        return CHUNK_TYPE_CHOOSERS[getBand(difficulty)];
+    }
+
+    // Returns the index of the band that `difficulty` falls in.
+    static int getBand(double difficulty) {
+        int band = 0;
+        while (band + 1 < BAND_STARTS.length && difficulty >= BAND_STARTS[band + 1]) {
+            band++;
+        }
+        return band;
+    }
+
+    static int getNumBands() {
+        return BAND_STARTS.length;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static WeightedRandomChooser<ChunkType>[] createChunkTypeChoosers() {
+        ChunkType[] chunkTypes = ChunkType.values();
+        WeightedRandomChooser<ChunkType>[] choosers = new WeightedRandomChooser[BAND_STARTS.length];
+        for (int band = 0; band < BAND_STARTS.length; band++) {
+            double[] weights = new double[chunkTypes.length];
+            for (int i = 0; i < chunkTypes.length; i++) {
+                weights[i] = getProbability(chunkTypes[i], BAND_STARTS[band]);
+            }
+            choosers[band] = new WeightedRandomChooser<>(chunkTypes, weights);
+        }
+        return choosers;
+    }
+
     /*
     Return the probability of `ChunkType` at the given `difficulty`.
      */
@@ -0,0 +1,175 @@
+package com.galaxyrun.engine.map;
+
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.LogSink;
+import com.galaxyrun.util.LatencyRecorder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates chunks on a background thread, keeping a bounded queue of
+ * chunks ready to be spawned. The game thread only has to take the next
+ * chunk from the queue.
+ *
+ * Each chunk is generated for the difficulty the game is predicted to have
+ * when it is spawned. Difficulty depends on how long the game has run, and
+ * each chunk takes a known time to scroll past at its difficulty's scroll
+ * speed, so the spawn time of each chunk follows from the chunks before it.
+ * This makes the sequence of chunks independent of thread timing.
+ *
+ * Call `release()` to stop the background thread once the queue is no
+ * longer needed.
+ */
+public class ChunkQueue {
+    // A generated chunk and the difficulty it was generated for.
+    public static class QueuedChunk {
+        public final Chunk chunk;
+        public final double difficulty;
+
+        QueuedChunk(Chunk chunk, double difficulty) {
+            this.chunk = chunk;
+            this.difficulty = difficulty;
+        }
+    }
+
+    // Number of generation times to calculate percentiles over.
+    private static final int LATENCY_WINDOW = 256;
+    // How often `take()` checks whether generation has stopped while waiting.
+    private static final long WAIT_CHECK_MS = 100;
+
+    private final MapGenerator mapGenerator;
+    private final int gameWidthPx;
+    private final int tileWidthPx;
+    private final BlockingQueue<QueuedChunk> readyChunks;
+    private final Thread generatorThread;
+    private final LatencyRecorder generationLatency = new LatencyRecorder(LATENCY_WINDOW);
+    // Number of times `take()` found the queue empty and had to wait.
+    private volatile long numStalls;
+    // Set if the generator thread fails, in which case no more chunks
+    // will be generated.
+    private volatile RuntimeException generatorFailure;
+    private volatile boolean isReleased;
+
+    // Only accessed by the generator thread.
+    // Game runtime at which the next chunk to be generated will be spawned.
+    private double predictedRunTimeMs;
+    // Index of the next chunk to be generated.
+    private long nextChunkIndex;
+
+    public ChunkQueue(MapGenerator mapGenerator, int gameWidthPx, int tileWidthPx, int capacity) {
+        this.mapGenerator = mapGenerator;
+        this.gameWidthPx = gameWidthPx;
+        this.tileWidthPx = tileWidthPx;
+        readyChunks = new ArrayBlockingQueue<>(capacity);
+        generatorThread = new Thread(this::generateChunks, "ChunkGenerator");
+        // Don't keep the process alive if `release()` is never called.
+        generatorThread.setDaemon(true);
+        generatorThread.start();
+    }
+
+    /*
+    Returns the next chunk. Normally one is ready, but if generation has
+    fallen behind, this waits for it. Called by the game thread.
+     */
+    public QueuedChunk take() {
+        QueuedChunk next = readyChunks.poll();
+        if (next != null) {
+            return next;
+        }
+        numStalls++;
+        boolean wasInterrupted = false;
+        try {
+            while (next == null) {
+                if (generatorFailure != null) {
+                    throw new IllegalStateException("Chunk generation failed", generatorFailure);
+                }
+                if (isReleased) {
+                    throw new IllegalStateException("ChunkQueue has been released");
+                }
+                try {
+                    next = readyChunks.poll(WAIT_CHECK_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    // The game can't continue without a chunk. Keep waiting,
+                    // and restore the interrupt afterwards.
+                    wasInterrupted = true;
+                }
+            }
+        } finally {
+            if (wasInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return next;
+    }
+
+    /*
+    Stops generating chunks. The queue can't be used afterwards.
+     */
+    public void release() {
+        isReleased = true;
+        generatorThread.interrupt();
+    }
+
+    // Number of chunks currently ready to spawn.
+    public int getQueueDepth() {
+        return readyChunks.size();
+    }
+
+    public int getCapacity() {
+        return readyChunks.size() + readyChunks.remainingCapacity();
+    }
+
+    public long getNumStalls() {
+        return numStalls;
+    }
+
+    public LatencyRecorder getGenerationLatency() {
+        return generationLatency;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ChunkQueue(depth=%d/%d, stalls=%d, generated=%d, regenerated=%d, "
+                        + "fallbacks=%d, overBudget=%d, p50=%.2fms, p99=%.2fms)",
+                getQueueDepth(),
+                getCapacity(),
+                numStalls,
+                generationLatency.getNumRecorded(),
+                mapGenerator.getNumRegenerated(),
+                mapGenerator.getNumFallbacks(),
+                mapGenerator.getNumOverBudget(),
+                generationLatency.getPercentile(0.5) / 1e6,
+                generationLatency.getPercentile(0.99) / 1e6
+        );
+    }
+
+    // Runs on the generator thread until released.
+    private void generateChunks() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                double difficulty = Map.calcDifficulty((long) predictedRunTimeMs);
+                long startNs = System.nanoTime();
+                Chunk chunk = mapGenerator.generateChunk(nextChunkIndex++, difficulty);
+                generationLatency.record(System.nanoTime() - startNs);
+                if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+                    GameLog.d("ChunkQueue", "Generated chunk with difficulty " + difficulty
+                            + "\n" + chunk);
+                }
+
+                // The chunk will be on screen until it has scrolled its own width.
+                double scrollSpeedPx = Map.calcScrollSpeed(difficulty) * gameWidthPx;
+                predictedRunTimeMs += chunk.getNumCols() * tileWidthPx / scrollSpeedPx * 1000;
+
+                readyChunks.put(new QueuedChunk(chunk, difficulty));
+            }
+        } catch (InterruptedException e) {
+            // Released: stop generating.
+        } catch (RuntimeException e) {
+            GameLog.e("ChunkQueue", "Chunk generation failed: " + e);
+            generatorFailure = e;
+        }
+    }
+}
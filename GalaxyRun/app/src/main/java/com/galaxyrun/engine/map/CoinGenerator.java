@@ -1,6 +1,7 @@
 package com.galaxyrun.engine.map;
 
-import android.util.Log;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.LogSink;
 
 import java.util.Random;
 
@@ -21,17 +22,18 @@ public class CoinGenerator {
         // Higher difficulty -> longer coin trail
         int numCoins = 4 + (int) (10 * rand.nextDouble() * difficulty);
         // Limit to the length of the path
-        if (numCoins > knownPath.path.size()) {
-            numCoins = knownPath.path.size();
+        if (numCoins > knownPath.getLength()) {
+            numCoins = knownPath.getLength();
         }
         // Start coin trail somewhere along the known path
-        Log.d("CoinGenerator", knownPath.path.size() + ", " + numCoins);
-        int startIndex = knownPath.path.size() == numCoins ?
-                0 : rand.nextInt(knownPath.path.size() - numCoins);
+        if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+            GameLog.d("CoinGenerator", knownPath.getLength() + ", " + numCoins);
+        }
+        int startIndex = knownPath.getLength() == numCoins ?
+                0 : rand.nextInt(knownPath.getLength() - numCoins);
         // Place coins
         for (int i = startIndex; i < startIndex + numCoins; i++) {
-            TileLocation loc = knownPath.path.get(i);
-            chunk.tiles[loc.row][loc.col] = TileType.COIN;
+            chunk.set(knownPath.getRow(i), knownPath.getCol(i), TileType.COIN);
         }
     }
 }
@@ -1,26 +1,30 @@
 package com.galaxyrun.engine.map;
 
-import android.util.Log;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.GameTime;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.LogSink;
 import com.galaxyrun.sprite.Alien;
 import com.galaxyrun.sprite.Asteroid;
-import com.galaxyrun.sprite.Coin;
-import com.galaxyrun.sprite.Obstacle;
 import com.galaxyrun.sprite.Sprite;
 import com.galaxyrun.util.ProtectedQueue;
 
 /**
  * The Map class manages the creation of non-playing sprites on the screen.
  * Uses a `MapGenerator` to generate chunks of Tiles. The Map spawns sprites
- * based on the tiles.
+ * based on the tiles, one column at a time as the columns reach the right
+ * edge of the screen. Obstacles aren't sprites: they go into the
+ * `TileLayer`, which draws them and checks them for collisions.
+ *
+ * Chunks are generated ahead of time on a background thread (see
+ * `ChunkQueue`). Call `release()` when the Map is no longer needed.
  */
 
 public class Map {
 
     private final GameContext gameContext;
-    private final MapGenerator mapGenerator;
+    // Chunks generated ahead of time, ready to be spawned.
+    private final ChunkQueue chunkQueue;
     // Difficulty calculated for this chunk.
     // Re-calculated each time a new chunk is generated.
     private double chunkDifficulty;
@@ -34,13 +38,25 @@ public class Map {
     private double numPixelsScrolled;
     // X-coordinate at which the next chunk will be spawned
     private double nextSpawnAtPx;
+    // The chunk being spawned, and the next column of it to spawn. Columns
+    // are only spawned once they are about to scroll on screen, so that
+    // long chunks don't fill the game with off-screen sprites.
+    private Chunk currChunk;
+    private int nextCol;
+    // Column of the TileLayer that the current chunk's first column is in.
+    private int chunkStartCol;
+    // Holds the obstacles of the spawned columns.
+    private final TileLayer tileLayer;
 
     // How many pixels past the right of the screen edge to spawn in new
-    // chunks
+    // columns
     private final int spawnBeyondScreenPx;
 
     // Number of rows of tiles in the game. Doesn't change.
     public static final int NUM_ROWS = 6;
+    // Number of chunks to generate ahead of time. Each chunk lasts a few
+    // seconds, so this is plenty to hide generation time.
+    private static final int NUM_CHUNKS_AHEAD = 3;
 
     public double getDifficulty() {
         return chunkDifficulty;
@@ -54,47 +70,101 @@ public class Map {
         return numPixelsScrolled;
     }
 
-    public Map(GameContext gameContext) {
+    // Chunks are generated from `seed`.
+    public Map(GameContext gameContext, long seed) {
         this.gameContext = gameContext;
         spawnBeyondScreenPx = gameContext.tileWidthPx;
-        mapGenerator = new MapGenerator(gameContext.rand);
+        tileLayer = new TileLayer(
+                gameContext.gameWidthPx, gameContext.tileWidthPx, gameContext.gameWidthPx);
+        // Chunks are generated on another thread, from their own seeds, so
+        // they are the same however the threads interleave.
+        MapGenerator mapGenerator = new MapGenerator(seed, gameContext.chunkLibrary);
+        chunkQueue = new ChunkQueue(
+                mapGenerator, gameContext.gameWidthPx, gameContext.tileWidthPx, NUM_CHUNKS_AHEAD);
         nextSpawnAtPx = 0;
     }
 
+    public TileLayer getTileLayer() {
+        return tileLayer;
+    }
+
+    public ChunkQueue getChunkQueue() {
+        return chunkQueue;
+    }
+
+    /*
+    Stops generating chunks in the background.
+     */
+    public void release() {
+        chunkQueue.release();
+    }
+
     public void update(GameTime gameTime, ProtectedQueue<Sprite> createdSprites) {
         numPixelsScrolled += chunkScrollSpeedPx * (gameTime.msSincePrevUpdate / 1000.0);
+        tileLayer.setNumPixelsScrolled(numPixelsScrolled);
 
-        // We've scrolled far enough to spawn in the next chunk
+        // We've scrolled far enough to start the next chunk
         if (numPixelsScrolled >= nextSpawnAtPx) {
-            Log.d("Map", "Time to spawn! PxScrolled = " + numPixelsScrolled);
-            // Update difficulty and scroll speed
-            chunkDifficulty = calcDifficulty(gameTime.runTimeMs);
+            // Normally the current chunk has been fully spawned by now, but
+            // make sure nothing is skipped.
+            spawnColumns(Double.POSITIVE_INFINITY, createdSprites);
+
+            // Take the next chunk, and update difficulty and scroll speed to
+            // match the difficulty it was generated for
+            ChunkQueue.QueuedChunk next = chunkQueue.take();
+            currChunk = next.chunk;
+            nextCol = 0;
+            chunkDifficulty = next.difficulty;
             chunkScrollSpeedPx = calcScrollSpeed(chunkDifficulty) * gameContext.gameWidthPx;
-            Log.d("Map", String.format("Runtime is %f, difficult is %f, scrollSpeed is %f",
-                    gameTime.runTimeMs / 1000.0, chunkDifficulty, chunkScrollSpeedPx));
-            // Generate the next chunk
-            Chunk currChunk = mapGenerator.generateChunk(chunkDifficulty);
-            Log.d("Map", currChunk.toString());
-
-            // Calculate where to begin spawning in the new chunk
-            long offset = (long) numPixelsScrolled % gameContext.tileWidthPx; // TODO: sure this shouldn't be a "+ offset"?
-            double spawnX = gameContext.gameWidthPx + spawnBeyondScreenPx - offset;
-
-            // Spawn in all non-empty tiles
-            for (int i = 0; i < currChunk.numRows; i++) {
-                for (int j = 0; j < currChunk.numCols; j++) {
-                    if (currChunk.tiles[i][j] != TileType.EMPTY) {
-                        createdSprites.push(createMapTile(
-                                currChunk.tiles[i][j],
-                                spawnX + j * gameContext.tileWidthPx,
-                                i * gameContext.tileWidthPx
-                        ));
-                    }
-                }
+            if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+                GameLog.d("Map", "Time to spawn! PxScrolled = " + numPixelsScrolled);
+                GameLog.d("Map", String.format("Runtime is %f, difficult is %f, scrollSpeed is %f",
+                        gameTime.runTimeMs / 1000.0, chunkDifficulty, chunkScrollSpeedPx));
+            }
+
+            // Start the new chunk at the last column that begins no more
+            // than `spawnBeyondScreenPx` past the right of the screen
+            chunkStartCol = (int) Math.floor(
+                    (numPixelsScrolled + spawnBeyondScreenPx) / gameContext.tileWidthPx);
+
+            nextSpawnAtPx = numPixelsScrolled + currChunk.getNumCols() * gameContext.tileWidthPx;
+            if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+                GameLog.d("Map", String.format("nextSpawnAtX = %f", nextSpawnAtPx));
             }
+        }
+
+        // Spawn the columns that have scrolled to within a tile of the
+        // right edge of the screen
+        spawnColumns(gameContext.gameWidthPx + spawnBeyondScreenPx, createdSprites);
+    }
 
-            nextSpawnAtPx = numPixelsScrolled + currChunk.numCols * gameContext.tileWidthPx;
-            Log.d("Map", String.format("nextSpawnAtX = %f", nextSpawnAtPx));
+    /*
+    Spawns each remaining column of the current chunk whose x-coordinate is
+    at most `maxX`: obstacles are added to the TileLayer, and other
+    non-empty tiles are spawned as sprites. Columns are spawned in order, at
+    the same position they would have had if the whole chunk had been
+    spawned at once and scrolled since.
+     */
+    private void spawnColumns(double maxX, ProtectedQueue<Sprite> createdSprites) {
+        if (currChunk == null) {
+            return;
+        }
+        for (; nextCol < currChunk.getNumCols(); nextCol++) {
+            double x = tileLayer.getColumnX(chunkStartCol + nextCol);
+            if (x > maxX) {
+                break;
+            }
+            int obstacleMask = currChunk.getObstacleMask(nextCol);
+            tileLayer.setColumn(chunkStartCol + nextCol, obstacleMask);
+            if ((currChunk.getEmptyMask(nextCol) | obstacleMask) == Chunk.ALL_ROWS_MASK) {
+                continue;
+            }
+            for (int row = 0; row < currChunk.getNumRows(); row++) {
+                if ((obstacleMask & (1 << row)) == 0 && !currChunk.isEmpty(row, nextCol)) {
+                    createdSprites.push(createMapTile(
+                            currChunk.get(row, nextCol), x, row * gameContext.tileWidthPx));
+                }
+            }
         }
     }
 
@@ -102,7 +172,7 @@ public class Map {
     Calculate difficulty based on runtime of the game.
     Difficulty is between 0 and 1.
      */
-    private static double calcDifficulty(long gameRuntimeMs) {
+    public static double calcDifficulty(long gameRuntimeMs) {
         // Each second of runtime = 0.01 points of difficulty
         double difficulty = 0.1 + (gameRuntimeMs / 1000.0) / 100.0;
         return Math.min(difficulty, 1.0);
@@ -112,7 +182,7 @@ public class Map {
     Calculates scrollspeed based on current difficulty *as a fraction
     of the game width*.
      */
-    private static double calcScrollSpeed(double difficulty) {
+    public static double calcScrollSpeed(double difficulty) {
         return (0.43 * difficulty + 0.12);
     }
 
@@ -133,10 +203,7 @@ public class Map {
                 return new Asteroid(gameContext, x, y, chunkDifficulty, chunkScrollSpeedPx);
             }
             case COIN: {
-                return new Coin(gameContext, x, y);
-            }
-            case OBSTACLE: {
-                return new Obstacle(gameContext, x, y, gameContext.tileWidthPx, gameContext.tileWidthPx);
+                return gameContext.spritePools.obtainCoin(x, y);
             }
             default: {
                 throw new IllegalArgumentException(String.format(
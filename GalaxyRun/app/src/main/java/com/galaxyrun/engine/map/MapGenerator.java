@@ -1,58 +1,202 @@
 package com.galaxyrun.engine.map;
 
-import android.util.Log;
-
-import com.galaxyrun.util.WeightedRandomChooser;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.LogSink;
+import com.galaxyrun.util.RandomStreams;
 
 import java.util.Random;
+import java.util.function.LongSupplier;
 
+/**
+ * Generates the chunks of the map.
+ *
+ * Each chunk is generated with its own seed, derived from the generator's
+ * seed and the chunk's index. A chunk therefore only depends on the seed,
+ * its index and its difficulty, not on the chunks generated before it.
+ *
+ * Given a ChunkLibrary, chunks are sampled from the library where it has
+ * them, and only generated (and regenerated until passable) otherwise.
+ * Regenerating is limited to a number of attempts rather than a time, so
+ * that a slow or descheduled thread still generates the same chunks; time
+ * spent is only counted.
+ */
 public class MapGenerator {
-    private final Random rand;
+    private final long seed;
+    // May be null.
+    private final ChunkLibrary library;
+    // Reseeded for each chunk.
+    private final Random rand = new Random();
+    // Source of time (ns), used to count chunks that are slow to generate.
+    private final LongSupplier nanoClock;
+
+    // Used to check that chunks are passable, and to place coins.
+    private final PathFinder pathFinder = new PathFinder();
+    private final Path path = new Path();
+    // Counters. Only written by the thread generating chunks.
+    // Type of the most recently generated chunk.
+    private volatile ChunkType lastChunkType;
+    private volatile long numSampled;
+    private volatile long numRegenerated;
+    private volatile long numFallbacks;
+    private volatile long numOverBudget;
 
     // Set the number of columns of empty space before each created chunk
     private static final int LEADING_BUFFER_LENGTH = 3;
+    // Limit on regenerating impassable chunks. Once it is reached, an empty
+    // chunk of FALLBACK_LENGTH columns is used instead.
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int FALLBACK_LENGTH = 5;
+    // Chunks that take longer than this to generate are counted and logged,
+    // but are otherwise unaffected.
+    private static final long MAX_GENERATION_NS = 2_000_000;
 
-    public MapGenerator(Random rand) {
-        this.rand = rand;
+    public MapGenerator(long seed) {
+        this(seed, null);
     }
 
-    public Chunk generateChunk(double difficulty) {
-        Log.d("MapGenerator", "Generating chunk with difficulty " + difficulty);
+    // Samples chunks from `library`, if not null.
+    public MapGenerator(long seed, ChunkLibrary library) {
+        this(seed, library, System::nanoTime);
+    }
+
+    // Times generation with `nanoClock`, e.g. to test that time doesn't affect the chunks.
+    MapGenerator(long seed, ChunkLibrary library, LongSupplier nanoClock) {
+        this.seed = seed;
+        this.library = library;
+        this.nanoClock = nanoClock;
+    }
+
+    /*
+    Generates the `chunkIndex`-th chunk of the map, at `difficulty`.
+     */
+    public Chunk generateChunk(long chunkIndex, double difficulty) {
+        rand.setSeed(RandomStreams.deriveSeed(seed, chunkIndex));
+        boolean isLoggable = GameLog.isLoggable(LogSink.Level.DEBUG);
+        if (isLoggable) {
+            GameLog.d("MapGenerator", "Generating chunk with difficulty " + difficulty);
+        }
         // Generate a few columns of EMPTY to start the game TODO: is this necessary?
         if (difficulty == 0) {
-            Log.d("MapGenerator", "Generating empty chunk for game start");
+            GameLog.d("MapGenerator", "Generating empty chunk for game start");
+            lastChunkType = ChunkType.EMPTY;
             return TileGenerator.generateEmpty(3);
         }
 
         ChunkType nextChunkType = decideChunkType(difficulty);
+        lastChunkType = nextChunkType;
         boolean generateCoins = decideGenerateCoins(difficulty);
-        Log.d("Map", "Generating a chunk of " + nextChunkType.name());
-        Log.d("Map", "ShouldGenerateCoins = " + generateCoins);
-
-        // Generate next chunk with several columns of leading EMPTY
-        Chunk leadEmpty = TileGenerator.generateEmpty(LEADING_BUFFER_LENGTH);
-        Chunk feature = TileGenerator.generateChunk(rand, nextChunkType, difficulty);
-        Chunk fullChunk = Chunk.concatenateChunks(leadEmpty, feature);
-        try {
+        if (isLoggable) {
+            GameLog.d("Map", "Generating a chunk of " + nextChunkType.name());
+            GameLog.d("Map", "ShouldGenerateCoins = " + generateCoins);
+        }
+
+        Chunk fullChunk = library == null ? null : sampleChunk(nextChunkType, difficulty);
+        if (fullChunk == null) {
+            fullChunk = generatePassableChunk(nextChunkType, difficulty);
+        }
+        if (isLoggable) {
+            GameLog.d("PathFinder", "Found a path! " + path);
+        }
+        if (generateCoins) {
+            CoinGenerator.generateCoins(fullChunk, path, rand, difficulty);
+        }
+        return fullChunk;
+    }
+
+    // Type of the most recently generated chunk, or null before the first.
+    // A fallback chunk still has the type that was chosen.
+    public ChunkType getLastChunkType() {
+        return lastChunkType;
+    }
+
+    // Number of chunks that were sampled from the library.
+    public long getNumSampled() {
+        return numSampled;
+    }
+
+    // Number of chunks that were regenerated because they were impassable.
+    public long getNumRegenerated() {
+        return numRegenerated;
+    }
+
+    // Number of times generation ran out of attempts, and an empty chunk was
+    // used instead.
+    public long getNumFallbacks() {
+        return numFallbacks;
+    }
+
+    // Number of generated chunks that took longer than MAX_GENERATION_NS.
+    public long getNumOverBudget() {
+        return numOverBudget;
+    }
+
+    /*
+    Samples a chunk of `chunkType` from the library, with several columns of
+    leading EMPTY, and stores a path through it in `path`. Returns null if
+    the library has no chunks of `chunkType` at `difficulty`.
+     */
+    private Chunk sampleChunk(ChunkType chunkType, double difficulty) {
+        Chunk feature = library.sample(chunkType, difficulty, rand);
+        if (feature == null) {
+            return null;
+        }
+        if (TileGenerator.isSymmetric(chunkType) && rand.nextBoolean()) {
+            feature.flipVertically();
+        }
+        Chunk fullChunk = Chunk.concatenateChunks(
+                TileGenerator.generateEmpty(LEADING_BUFFER_LENGTH), feature);
+        // Chunks were checked when the library was built, so this only fails
+        // if the library was built with a different PathFinder.
+        if (!pathFinder.findPath(fullChunk, rand, path)) {
+            GameLog.w("MapGenerator", "Library has an impassable "
+                    + chunkType.name() + " chunk");
+            return null;
+        }
+        numSampled++;
+        return fullChunk;
+    }
+
+    /*
+    Generates a chunk of `chunkType` with several columns of leading EMPTY,
+    regenerating it until the player can get through it, and stores a path
+    through it in `path`.
+     */
+    private Chunk generatePassableChunk(ChunkType chunkType, double difficulty) {
+        long startNs = nanoClock.getAsLong();
+        Chunk fullChunk = null;
+        int attempt = 0;
+        for (; fullChunk == null; attempt++) {
+            Chunk feature;
+            if (attempt < MAX_ATTEMPTS) {
+                feature = TileGenerator.generateChunk(rand, chunkType, difficulty);
+            } else {
+                // Out of attempts: fall back to a chunk that is always passable.
+                GameLog.w("MapGenerator", "Couldn't generate a passable "
+                        + chunkType.name() + " chunk in " + attempt + " attempts");
+                feature = TileGenerator.generateEmpty(FALLBACK_LENGTH);
+                numFallbacks++;
+            }
+            Chunk candidate = Chunk.concatenateChunks(
+                    TileGenerator.generateEmpty(LEADING_BUFFER_LENGTH), feature);
             // TODO: would be cool to draw the path on the game while debugging
-            Path foundPath = PathFinder.findPath(fullChunk, 200);
-            Log.d("PathFinder", "Found a path! " + foundPath);
-            if (generateCoins) {
-                CoinGenerator.generateCoins(fullChunk, foundPath, rand, difficulty);
+            if (pathFinder.findPath(candidate, rand, path)) {
+                fullChunk = candidate;
+            } else {
+                numRegenerated++;
             }
-        } catch (NoPathFoundException e) {
-            Log.e("PathFinder", "No path found");
+        }
+        long elapsedNs = nanoClock.getAsLong() - startNs;
+        if (elapsedNs > MAX_GENERATION_NS) {
+            numOverBudget++;
+            GameLog.w("MapGenerator", String.format(
+                    "Took %.2fms to generate a %s chunk in %d attempts",
+                    elapsedNs / 1e6, chunkType.name(), attempt));
         }
         return fullChunk;
     }
 
     private ChunkType decideChunkType(double difficulty) {
-        WeightedRandomChooser<ChunkType> chooser = new WeightedRandomChooser<>(rand);
-        for (ChunkType chunkType : ChunkType.values()) {
-            double chunkProb = ChunkProbabilities.getProbability(chunkType, difficulty);
-            chooser.addItem(chunkType, chunkProb);
-        }
-        return chooser.choose();
+        return ChunkProbabilities.getChunkTypeChooser(difficulty).choose(rand);
     }
 
     private boolean decideGenerateCoins(double difficulty) {
@@ -1,4 +0,0 @@
-package com.galaxyrun.engine.map;
-
-public class NoPathFoundException extends Exception {
-}
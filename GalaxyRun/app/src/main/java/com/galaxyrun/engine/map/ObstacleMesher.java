@@ -0,0 +1,124 @@
+package com.galaxyrun.engine.map;
+
+import java.util.Arrays;
+
+/**
+ * Merges adjacent obstacle tiles into rectangles ("greedy meshing"), so that
+ * a block of obstacles can be drawn as one rectangle rather than tile by
+ * tile.
+ *
+ * Works on columns of obstacle masks (bit `row` set if the tile is an
+ * obstacle), such as those of `Chunk.getObstacleMask()`:
+ * - Each column is scanned for vertical runs of obstacles not yet covered.
+ * - Each run is extended right for as long as the next column has
+ *   obstacles in all of the run's rows.
+ * This doesn't always find the fewest rectangles, but it is cheap, and
+ * tunnels and fields are mostly vertical walls which it handles well.
+ *
+ * The rectangles are kept in arrays that are reused for every call, so
+ * meshing doesn't allocate once the arrays are big enough. Not thread-safe.
+ */
+public class ObstacleMesher {
+    // Column masks being meshed, and the tiles already covered by a rectangle.
+    private int[] masks = new int[16];
+    private int[] covered = new int[16];
+    // The rectangles found, in tiles.
+    private int[] rectCols = new int[16];
+    private int[] rectRows = new int[16];
+    private int[] rectNumCols = new int[16];
+    private int[] rectNumRows = new int[16];
+    private int numRects;
+
+    /*
+    Meshes the obstacles of `chunk`. Returns the number of rectangles.
+     */
+    public int mesh(Chunk chunk) {
+        int numCols = chunk.getNumCols();
+        ensureColumnCapacity(numCols);
+        for (int col = 0; col < numCols; col++) {
+            masks[col] = chunk.getObstacleMask(col);
+        }
+        return meshColumns(numCols);
+    }
+
+    /*
+    Meshes the first `numCols` of `columnMasks`. Returns the number of
+    rectangles.
+     */
+    public int mesh(int[] columnMasks, int numCols) {
+        ensureColumnCapacity(numCols);
+        System.arraycopy(columnMasks, 0, masks, 0, numCols);
+        return meshColumns(numCols);
+    }
+
+    public int getNumRects() {
+        return numRects;
+    }
+
+    // Column of the left of rectangle `i`.
+    public int getCol(int i) {
+        return rectCols[i];
+    }
+
+    // Row of the top of rectangle `i`.
+    public int getRow(int i) {
+        return rectRows[i];
+    }
+
+    public int getNumCols(int i) {
+        return rectNumCols[i];
+    }
+
+    public int getNumRows(int i) {
+        return rectNumRows[i];
+    }
+
+    private int meshColumns(int numCols) {
+        numRects = 0;
+        for (int col = 0; col < numCols; col++) {
+            covered[col] = 0;
+        }
+        for (int col = 0; col < numCols; col++) {
+            int remaining = masks[col] & ~covered[col];
+            while (remaining != 0) {
+                // Find the next vertical run of uncovered obstacles.
+                int row = Integer.numberOfTrailingZeros(remaining);
+                int runLength = Integer.numberOfTrailingZeros(~(remaining >>> row));
+                int runMask = ((1 << runLength) - 1) << row;
+                remaining &= ~runMask;
+                // Extend it right over columns with obstacles in every row of the run.
+                int width = 1;
+                while (col + width < numCols
+                        && (masks[col + width] & ~covered[col + width] & runMask) == runMask) {
+                    covered[col + width] |= runMask;
+                    width++;
+                }
+                addRect(col, row, width, runLength);
+            }
+        }
+        return numRects;
+    }
+
+    private void addRect(int col, int row, int numCols, int numRows) {
+        if (numRects == rectCols.length) {
+            int capacity = numRects * 2;
+            rectCols = Arrays.copyOf(rectCols, capacity);
+            rectRows = Arrays.copyOf(rectRows, capacity);
+            rectNumCols = Arrays.copyOf(rectNumCols, capacity);
+            rectNumRows = Arrays.copyOf(rectNumRows, capacity);
+        }
+        rectCols[numRects] = col;
+        rectRows[numRects] = row;
+        rectNumCols[numRects] = numCols;
+        rectNumRows[numRects] = numRows;
+        numRects++;
+    }
+
+    private void ensureColumnCapacity(int numCols) {
+        if (numCols > masks.length) {
+            int capacity = Math.max(numCols, masks.length * 2);
+            masks = new int[capacity];
+            covered = new int[capacity];
+        }
+    }
+}
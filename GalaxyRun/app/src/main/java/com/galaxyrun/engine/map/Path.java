@@ -1,20 +1,73 @@
 package com.galaxyrun.engine.map;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 import androidx.annotation.NonNull;
 
-// TODO: include/calculate metadata?
+/**
+ * A path of tiles through a chunk, stored as parallel arrays of rows and
+ * columns. Meant to be reused: `clear()` it and add tiles again, and its
+ * arrays only grow when a longer path is added.
+ */
 public class Path {
-    public List<TileLocation> path;
+    private int[] rows;
+    private int[] cols;
+    private int length;
 
     public Path() {
-        path = new ArrayList<>();
+        this(32);
     }
 
-    public Path(List<TileLocation> path) {
-        this.path = path;
+    public Path(int initialCapacity) {
+        rows = new int[Math.max(initialCapacity, 1)];
+        cols = new int[rows.length];
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getRow(int i) {
+        checkIndex(i);
+        return rows[i];
+    }
+
+    public int getCol(int i) {
+        checkIndex(i);
+        return cols[i];
+    }
+
+    public void clear() {
+        length = 0;
+    }
+
+    public void add(int row, int col) {
+        if (length == rows.length) {
+            rows = Arrays.copyOf(rows, length * 2);
+            cols = Arrays.copyOf(cols, length * 2);
+        }
+        rows[length] = row;
+        cols[length] = col;
+        length++;
+    }
+
+    // Reverses the order of the tiles.
+    public void reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            int row = rows[i];
+            rows[i] = rows[j];
+            rows[j] = row;
+            int col = cols[i];
+            cols[i] = cols[j];
+            cols[j] = col;
+        }
+    }
+
+    private void checkIndex(int i) {
+        if (i < 0 || i >= length) {
+            throw new IndexOutOfBoundsException(
+                    "index " + i + " out of bounds for a path of length " + length);
+        }
     }
 
     @NonNull
@@ -22,8 +75,8 @@ public class Path {
     public String toString() {
         StringBuilder result = new StringBuilder();
         result.append("Path(");
-        for (TileLocation loc : path) {
-            result.append("(").append(loc.row).append(", ").append(loc.col).append(")");
+        for (int i = 0; i < length; i++) {
+            result.append("(").append(rows[i]).append(", ").append(cols[i]).append(")");
         }
         result.append(")");
         return result.toString();
@@ -1,89 +1,150 @@
 package com.galaxyrun.engine.map;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Random;
 
-/*
-Find paths through a chunk.
+/**
+ * Finds paths through a chunk, from any EMPTY tile in the first column to
+ * any EMPTY tile in the last column, moving right, up or down through EMPTY
+ * tiles.
+ *
+ * Because paths never move left, reachability can be worked out one column
+ * at a time. Each column is a bitmask of rows (a chunk has `Map.NUM_ROWS`
+ * rows, so a column fits in a few bits):
+ * - A tile is reachable on entering column `c` if the tile to its left is
+ *   reachable and it is empty.
+ * - Moving up and down then spreads reachability through the empty tiles
+ *   above and below, which is a shift-and-mask until nothing changes.
+ * A chunk is passable if anything in the last column is reachable. A path is
+ * then traced backwards from the last column.
+ *
+ * Masks are kept in arrays that are reused for every chunk, so finding a
+ * path doesn't allocate once the arrays are big enough. Not thread-safe:
+ * use one PathFinder per thread.
  */
 public class PathFinder {
+    // Per-column masks of the rows that are reachable when entering the
+    // column from the left, and after moving up and down within it.
+    private int[] entered = new int[16];
+    private int[] reachable = new int[16];
+    // Per-column mask of empty rows.
+    private int[] empty = new int[16];
 
-    public static Path findPath(
-            Chunk chunk,
-            int maxSteps
-    ) throws NoPathFoundException {
-        List<TileLocation> possibleStarts = new ArrayList<>(6);
-        for (int i = 0; i < chunk.numRows; i++) {
-            if (chunk.tiles[i][0] == TileType.EMPTY) {
-                possibleStarts.add(new TileLocation(i, 0));
+    /*
+    Returns whether any path exists through `chunk`.
+     */
+    public boolean isPassable(Chunk chunk) {
+        return calcReachability(chunk);
+    }
+
+    /*
+    Finds a path through `chunk` and stores it in `out`, in order from the
+    first column to the last. `rand` chooses between the possible paths.
+    Returns false, leaving `out` empty, if there is no path.
+     */
+    public boolean findPath(Chunk chunk, Random rand, Path out) {
+        out.clear();
+        if (!calcReachability(chunk)) {
+            return false;
+        }
+        int lastCol = chunk.getNumCols() - 1;
+        int row = chooseRow(reachable[lastCol], rand);
+        // Trace backwards. In each column, move vertically from `row` to the
+        // nearest row the column could have been entered at, then step left.
+        for (int col = lastCol; col >= 0; col--) {
+            int entryRow = nearestEntryRow(col, row, rand);
+            int step = entryRow > row ? 1 : -1;
+            out.add(row, col);
+            while (row != entryRow) {
+                row += step;
+                out.add(row, col);
             }
         }
-        Collections.shuffle(possibleStarts);
-        return findPath(chunk, possibleStarts, maxSteps);
+        out.reverse();
+        return true;
     }
 
-    public static Path findPath(
-            Chunk chunk,
-            List<TileLocation> startLocs,
-            int maxSteps
-    ) throws NoPathFoundException {
-        PriorityQueue<PathNode> pathQueue = new PriorityQueue<>();
-
-        for (TileLocation start : startLocs) {
-            if (isFlyable(chunk, start.row, start.col)) {
-                pathQueue.add(new PathNode(start.row, start.col, 0, null));
+    /*
+    Fills in `entered` and `reachable` for `chunk`. Returns whether any tile
+    in the last column is reachable.
+     */
+    private boolean calcReachability(Chunk chunk) {
+        int numCols = chunk.getNumCols();
+        if (numCols == 0) {
+            return false;
+        }
+        ensureCapacity(numCols);
+        int prevReachable = Chunk.ALL_ROWS_MASK;
+        for (int col = 0; col < numCols; col++) {
+            empty[col] = chunk.getEmptyMask(col);
+            entered[col] = prevReachable & empty[col];
+            reachable[col] = spreadVertically(entered[col], empty[col]);
+            if (reachable[col] == 0) {
+                // Nothing further right can be reached either.
+                return false;
             }
+            prevReachable = reachable[col];
         }
-
-        return runDijkstra(chunk, pathQueue, maxSteps);
+        return true;
     }
 
-    private static Path runDijkstra(
-            Chunk chunk,
-            PriorityQueue<PathNode> pathQueue,
-            int maxSteps
-    ) throws NoPathFoundException {
-        HashSet<PathNode> explored = new HashSet<>();
-        int numSteps = 0;
+    /*
+    Spreads the rows in `mask` up and down through `empty` rows.
+     */
+    private static int spreadVertically(int mask, int empty) {
+        int prev;
+        do {
+            prev = mask;
+            mask |= ((mask << 1) | (mask >>> 1)) & empty;
+        } while (mask != prev);
+        return mask;
+    }
 
-        while (!pathQueue.isEmpty() && numSteps < maxSteps) {
-            numSteps++;
-            PathNode next = pathQueue.poll();
-            if (next == null || explored.contains(next)) {
-                continue;
-            }
-            // TODO: is the first one found the solution?... can't remember
-            if (next.col + 1 == chunk.numCols) {
-                return unrollPath(next);
-            }
-            if (isFlyable(chunk, next.row, next.col + 1)) {
-                pathQueue.add(new PathNode(next.row, next.col + 1, 0, next));
-            }
-            if (isFlyable(chunk, next.row + 1, next.col)) {
-                pathQueue.add(new PathNode(next.row + 1, next.col, 0, next));
-            }
-            if (isFlyable(chunk, next.row - 1, next.col)) {
-                pathQueue.add(new PathNode(next.row - 1, next.col, 0, next));
+    /*
+    Returns the row nearest to `row` that column `col` was entered at and
+    that connects to `row` through empty tiles. Ties are broken randomly.
+     */
+    private int nearestEntryRow(int col, int row, Random rand) {
+        int entries = entered[col];
+        if ((entries & (1 << row)) != 0) {
+            return row;
+        }
+        boolean canGoUp = true;
+        boolean canGoDown = true;
+        for (int dist = 1; dist < Chunk.NUM_ROWS; dist++) {
+            int up = row - dist;
+            int down = row + dist;
+            canGoUp &= up >= 0 && (empty[col] & (1 << up)) != 0;
+            canGoDown &= down < Chunk.NUM_ROWS && (empty[col] & (1 << down)) != 0;
+            boolean isUpEntry = canGoUp && (entries & (1 << up)) != 0;
+            boolean isDownEntry = canGoDown && (entries & (1 << down)) != 0;
+            if (isUpEntry && isDownEntry) {
+                return rand.nextBoolean() ? up : down;
+            } else if (isUpEntry) {
+                return up;
+            } else if (isDownEntry) {
+                return down;
             }
-            explored.add(next);
         }
-        throw new NoPathFoundException();
+        throw new IllegalStateException("Row " + row + " of column " + col + " is not reachable");
     }
 
-    private static boolean isFlyable(Chunk chunk, int i, int j) {
-        return i >= 0 && i < chunk.numRows && j >= 0 && j < chunk.numCols && chunk.tiles[i][j] == TileType.EMPTY;
+    // Returns one of the rows set in `mask`, chosen at random.
+    private static int chooseRow(int mask, Random rand) {
+        int index = rand.nextInt(Integer.bitCount(mask));
+        for (int row = 0; row < Chunk.NUM_ROWS; row++) {
+            if ((mask & (1 << row)) != 0 && index-- == 0) {
+                return row;
+            }
+        }
+        throw new IllegalArgumentException("mask has no rows set");
     }
 
-    private static Path unrollPath(PathNode end) {
-        List<TileLocation> unrolled = new ArrayList<>(20);
-        while (end != null) {
-            unrolled.add(new TileLocation(end.row, end.col));
-            end = end.prev;
+    private void ensureCapacity(int numCols) {
+        if (numCols > entered.length) {
+            int capacity = Math.max(numCols, entered.length * 2);
+            entered = new int[capacity];
+            reachable = new int[capacity];
+            empty = new int[capacity];
         }
-        Collections.reverse(unrolled);
-        return new Path(unrolled);
     }
 }
@@ -1,6 +1,5 @@
 package com.galaxyrun.engine.map;
 
-import java.util.Arrays;
 import java.util.Random;
 
 /**
@@ -44,18 +43,17 @@ public class TileGenerator {
     }
 
     /*
-    Generate array of dimensions (NUM_ROWS, num_cols) filled with TileType t.
+    Returns whether chunks of `chunkType` are generated as often as their
+    vertical flip, so that a chunk can be flipped without changing what the
+    map looks like on average.
      */
-    public static TileType[][] createArray(TileType t, int numRows, int numCols) {
-        TileType[][] arr = new TileType[numRows][numCols];
-        for (TileType[] row : arr) {
-            Arrays.fill(row, t);
-        }
-        return arr;
+    public static boolean isSymmetric(ChunkType chunkType) {
+        // Asteroids are placed in any row but the top one.
+        return chunkType != ChunkType.ASTEROID;
     }
 
     public static Chunk generateEmpty(int numCols) {
-        return new Chunk(createArray(TileType.EMPTY, Map.NUM_ROWS, numCols));
+        return new Chunk(numCols);
     }
 
     public static Chunk generateObstacleField(
@@ -70,21 +68,21 @@ public class TileGenerator {
             if (testRandom(rand, pGenerate)) {
                 // Place obstacle at random row
                 int row = rand.nextInt(Map.NUM_ROWS);
-                chunk.tiles[row][col] = TileType.OBSTACLE;
+                chunk.set(row, col, TileType.OBSTACLE);
 
                 // Possibly generate another obstacle immediately above or below
                 if (testRandom(rand, 0.25f)) {
                     if (row == 0) {
-                        chunk.tiles[row + 1][col] = TileType.OBSTACLE;
+                        chunk.set(row + 1, col, TileType.OBSTACLE);
                     } else if (row == Map.NUM_ROWS - 1) {
-                        chunk.tiles[row - 1][col] = TileType.OBSTACLE;
+                        chunk.set(row - 1, col, TileType.OBSTACLE);
                     } else {
-                        chunk.tiles[row + (rand.nextBoolean() ? 1 : -1)][col] = TileType.OBSTACLE;
+                        chunk.set(row + (rand.nextBoolean() ? 1 : -1), col, TileType.OBSTACLE);
                     }
                 }
                 if (col + 1 < chunkLength && testRandom(rand, 0.25f)) {
                     // Possibly generate another obstacle immediately to the right
-                    chunk.tiles[row][col + 1] = TileType.OBSTACLE;
+                    chunk.set(row, col + 1, TileType.OBSTACLE);
                 }
 
                 // Do not generate a new Obstacle in the next column
@@ -104,7 +102,7 @@ public class TileGenerator {
     ) {
         int chunkLength = 6 + rand.nextInt(10);
         // Create array filled with OBSTACLE, then "carve out" the passage
-        Chunk chunk = new Chunk(createArray(TileType.OBSTACLE, Map.NUM_ROWS, chunkLength));
+        Chunk chunk = new Chunk(chunkLength, TileType.OBSTACLE);
 
         // Randomly choose starting row of the tunnel passage
         int passage_top = 1 + rand.nextInt(Map.NUM_ROWS - 3);
@@ -116,8 +114,8 @@ public class TileGenerator {
         float d_change_path = 0.06f * (float) difficulty;
 
         for (int col = 0; col < chunkLength; col++) {
-            chunk.tiles[passage_top][col] = TileType.EMPTY;
-            chunk.tiles[passage_btm][col] = TileType.EMPTY;
+            chunk.set(passage_top, col, TileType.EMPTY);
+            chunk.set(passage_btm, col, TileType.EMPTY);
 
             // Check whether to change direction
             if (col < chunkLength - 3 && testRandom(rand, p_change_path)) {
@@ -134,10 +132,10 @@ public class TileGenerator {
                 // Construct the change in the tunnel.
                 // This can be accomplished by simply setting one tile in
                 // the direction of change to EMPTY
-                chunk.tiles[passage_top + direction_change][col] = TileType.EMPTY;
-                chunk.tiles[passage_btm + direction_change][col] = TileType.EMPTY;
-                chunk.tiles[passage_top][col + 1] = TileType.EMPTY;
-                chunk.tiles[passage_btm][col + 1] = TileType.EMPTY;
+                chunk.set(passage_top + direction_change, col, TileType.EMPTY);
+                chunk.set(passage_btm + direction_change, col, TileType.EMPTY);
+                chunk.set(passage_top, col + 1, TileType.EMPTY);
+                chunk.set(passage_btm, col + 1, TileType.EMPTY);
 
                 passage_top += direction_change;
                 passage_btm = passage_top + 1;
@@ -157,7 +155,7 @@ public class TileGenerator {
         // Higher difficulty -> smaller chunk (less time)
         int chunkLength = 3 + (int) (9 * (1.0 - difficulty));
         Chunk chunk = generateEmpty(chunkLength);
-        chunk.tiles[2 + rand.nextInt(Map.NUM_ROWS - 4)][0] = TileType.ALIEN;
+        chunk.set(2 + rand.nextInt(Map.NUM_ROWS - 4), 0, TileType.ALIEN);
         return chunk;
     }
 
@@ -170,7 +168,7 @@ public class TileGenerator {
         int chunkLength = 8 * numAliens;
         Chunk chunk = generateEmpty(chunkLength);
         for (int j = 0; j < numAliens; j++) {
-            chunk.tiles[2 + rand.nextInt(Map.NUM_ROWS - 4)][j * 8] = TileType.ALIEN;
+            chunk.set(2 + rand.nextInt(Map.NUM_ROWS - 4), j * 8, TileType.ALIEN);
         }
         return chunk;
     }
@@ -182,7 +180,7 @@ public class TileGenerator {
         // Higher difficulty -> smaller chunk (less time)
         int chunkLength = 5 + (int) (9 * (1.0 - difficulty));;
         Chunk chunk = generateEmpty(chunkLength);
-        chunk.tiles[1 + rand.nextInt(Map.NUM_ROWS - 1)][0] = TileType.ASTEROID;
+        chunk.set(1 + rand.nextInt(Map.NUM_ROWS - 1), 0, TileType.ASTEROID);
         return chunk;
     }
 
@@ -195,8 +193,7 @@ public class TileGenerator {
         int chunkLength = 8 * numAsteroids;
         Chunk chunk = generateEmpty(chunkLength);
         for (int ia = 0; ia < numAsteroids; ia++) {
-            chunk.tiles[1 + rand.nextInt(Map.NUM_ROWS - 2)][8 * ia + rand.nextInt(7)] =
-                    TileType.ASTEROID;
+            chunk.set(1 + rand.nextInt(Map.NUM_ROWS - 2), 8 * ia + rand.nextInt(7), TileType.ASTEROID);
         }
         return chunk;
     }
@@ -0,0 +1,163 @@
+package com.galaxyrun.engine.map;
+
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.helper.Rectangle;
+import com.galaxyrun.sprite.Sprite;
+import com.galaxyrun.util.ColorUtil;
+
+/**
+ * The obstacles of the Map, stored as a scrolling grid of tiles rather than
+ * as sprites.
+ *
+ * Obstacles never move relative to the scroll, so each column of the map
+ * is just a mask of the rows holding an obstacle (bit `row` set). Columns
+ * are numbered from the start of the game: column `c` is at
+ * x = originPx + c * tileWidthPx - numPixelsScrolled. Only the columns
+ * around the screen are kept, in a ring buffer indexed by `c % capacity`.
+ *
+ * Drawing the obstacles is a single pass over the visible columns, with
+ * adjacent obstacles merged into larger rectangles (see `ObstacleMesher`).
+ * A sprite's collisions with obstacles are found by looking up the tiles
+ * under its hitbox.
+ */
+public class TileLayer {
+    // Damage done by each obstacle tile in contact with a sprite,
+    // OBSTACLE_HITS_PER_SEC times a second (see ContactDamage). This is the
+    // damage obstacles did when they were sprites, once per ~33ms frame.
+    public static final int OBSTACLE_DAMAGE = 5;
+    public static final double OBSTACLE_HITS_PER_SEC = 30;
+    private static final int OBSTACLE_COLOR = ColorUtil.rgb(103, 103, 103);
+    private static final float OUTLINE_WIDTH = 3f;
+
+    private final int tileWidthPx;
+    private final double originPx;
+    private final int screenWidthPx;
+    // Obstacle masks of the most recent `capacity` columns.
+    private final int[] columns;
+    // One past the most recently set column. Columns from
+    // `endCol - columns.length` up to here are in the ring.
+    private int endCol;
+    // Used to draw. `visibleColumns` holds the masks of the columns on screen.
+    private final ObstacleMesher mesher = new ObstacleMesher();
+    private final int[] visibleColumns;
+    // Current scroll, and the scroll at the start of the current tick.
+    private double numPixelsScrolled;
+    private double prevNumPixelsScrolled;
+
+    /*
+    Creates a layer for a screen `screenWidthPx` wide, whose column 0 is at
+    `originPx` before anything has scrolled.
+     */
+    public TileLayer(int screenWidthPx, int tileWidthPx, double originPx) {
+        this.screenWidthPx = screenWidthPx;
+        this.tileWidthPx = tileWidthPx;
+        this.originPx = originPx;
+        // Enough for a screen's worth of columns, plus some past either edge.
+        columns = new int[screenWidthPx / tileWidthPx + 6];
+        visibleColumns = new int[screenWidthPx / tileWidthPx + 2];
+    }
+
+    /*
+    Sets the current scroll. Called once per tick: the previous value is
+    kept so that drawing can be interpolated between ticks.
+     */
+    public void setNumPixelsScrolled(double numPixelsScrolled) {
+        prevNumPixelsScrolled = this.numPixelsScrolled;
+        this.numPixelsScrolled = numPixelsScrolled;
+    }
+
+    // Returns the current x-coordinate of the left of column `col`.
+    public double getColumnX(int col) {
+        return originPx + (double) col * tileWidthPx - numPixelsScrolled;
+    }
+
+    /*
+    Sets the obstacle mask of column `col`. Columns must be set in
+    increasing order; any columns skipped over are cleared.
+     */
+    public void setColumn(int col, int obstacleMask) {
+        if (col < endCol) {
+            throw new IllegalArgumentException(
+                    "Column " + col + " is before the last column set (" + (endCol - 1) + ")");
+        }
+        // Clear skipped columns, but no more than the whole ring.
+        for (int c = Math.max(endCol, col - columns.length + 1); c < col; c++) {
+            columns[slotOf(c)] = 0;
+        }
+        columns[slotOf(col)] = obstacleMask;
+        endCol = col + 1;
+    }
+
+    // Returns the obstacle mask of column `col`. Columns outside the ring are empty.
+    public int getColumn(int col) {
+        if (col >= endCol || col < endCol - columns.length || col < 0) {
+            return 0;
+        }
+        return columns[slotOf(col)];
+    }
+
+    /*
+    Calls `sprite.handleObstacleCollision()` with the number of obstacle
+    tiles that the sprite's hitbox touches, which is 0 if there are none or
+    the sprite can't collide. Call once per tick. Matches
+    `Rectangle.intersects()`: touching edges count.
+     */
+    public void handleCollisions(Sprite sprite, UpdateContext updateContext) {
+        sprite.handleObstacleCollision(countTouchedTiles(sprite), updateContext);
+    }
+
+    private int countTouchedTiles(Sprite sprite) {
+        if (!sprite.canCollide()) {
+            return 0;
+        }
+        Rectangle hitbox = sprite.getHitbox();
+        int firstCol = (int) Math.ceil(
+                (hitbox.getX() - tileWidthPx - originPx + numPixelsScrolled) / tileWidthPx);
+        int lastCol = (int) Math.floor(
+                (hitbox.getX() + hitbox.getWidth() - originPx + numPixelsScrolled) / tileWidthPx);
+        int firstRow = Math.max((int) Math.ceil((hitbox.getY() - tileWidthPx) / tileWidthPx), 0);
+        int lastRow = Math.min(
+                (int) Math.floor((hitbox.getY() + hitbox.getHeight()) / tileWidthPx),
+                Chunk.NUM_ROWS - 1);
+        if (firstRow > lastRow) {
+            return 0;
+        }
+        int rowMask = (Chunk.ALL_ROWS_MASK >>> (Chunk.NUM_ROWS - 1 - lastRow)) & ~((1 << firstRow) - 1);
+        int numTouched = 0;
+        for (int col = firstCol; col <= lastCol; col++) {
+            numTouched += Integer.bitCount(getColumn(col) & rowMask);
+        }
+        return numTouched;
+    }
+
+    /*
+    Records the visible obstacles, drawn `interpolation` (0 to 1) of the way
+    between the scroll at the start of the tick and the current scroll.
+     */
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer, double interpolation) {
+        double scroll = prevNumPixelsScrolled
+                + (numPixelsScrolled - prevNumPixelsScrolled) * interpolation;
+        int firstCol = (int) Math.floor((scroll - originPx) / tileWidthPx);
+        int lastCol = (int) Math.floor((scroll + screenWidthPx - originPx) / tileWidthPx);
+        int numVisible = lastCol - firstCol + 1;
+        for (int i = 0; i < numVisible; i++) {
+            visibleColumns[i] = getColumn(firstCol + i);
+        }
+        int numRects = mesher.mesh(visibleColumns, numVisible);
+        for (int i = 0; i < numRects; i++) {
+            double x = originPx + (double) (firstCol + mesher.getCol(i)) * tileWidthPx - scroll;
+            int left = (int) x;
+            int right = (int) (x + mesher.getNumCols(i) * tileWidthPx);
+            int top = mesher.getRow(i) * tileWidthPx;
+            int bottom = top + mesher.getNumRows(i) * tileWidthPx;
+            drawBuffer.fillRect(left, top, right, bottom, OBSTACLE_COLOR);
+            // Draw red outline. Makes it a little more interesting.
+            drawBuffer.strokeRect(left, top, right, bottom, ColorUtil.RED, OUTLINE_WIDTH);
+        }
+    }
+
+    private int slotOf(int col) {
+        return col % columns.length;
+    }
+}
@@ -1,14 +0,0 @@
-package com.galaxyrun.engine.map;
-
-/*
-Store (row, col) of a tile.
- */
-public class TileLocation {
-    public final int row;
-    public final int col;
-
-    public TileLocation(int row, int col) {
-        this.row = row;
-        this.col = col;
-    }
-}
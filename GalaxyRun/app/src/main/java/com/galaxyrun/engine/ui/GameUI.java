@@ -1,17 +1,14 @@
 package com.galaxyrun.engine.ui;
 
-import android.graphics.Color;
-import android.util.Log;
-import android.view.MotionEvent;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.GameState;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.audio.SoundID;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawRect;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.engine.external.MotionInput;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.util.ColorUtil;
 import com.galaxyrun.util.Pair;
-import com.galaxyrun.util.ProtectedQueue;
 
 import java.util.ArrayDeque;
 import java.util.HashMap;
@@ -35,6 +32,10 @@ public class GameUI {
     private GameoverOverlay gameoverOverlay;
     private PauseOverlay pauseOverlay;
 
+    // Returned by `pollAllInput()` and `pollAllSounds()`. Reused every poll.
+    private final Queue<UIInputId> createdInput = new ArrayDeque<>();
+    private final Queue<SoundID> createdSounds = new ArrayDeque<>();
+
     // TODO: how to reset the UI? (e.g., on game restart?)
     public GameUI(GameContext gameContext) {
         this.gameContext = gameContext;
@@ -54,55 +55,14 @@ public class GameUI {
         };
     }
 
-    private enum MyTouchEvent {
-        DOWN,
-        MOVE,
-        UP,
-        CANCEL
-    }
-
-    public void inputMotionEvent(MotionEvent e) {
+    public void inputMotionEvent(MotionInput e) {
         // Handle all pointers
-        // Read the docs: https://developer.android.com/reference/android/view/MotionEvent.html
         for (int i = 0; i < e.getPointerCount(); i++) {
-            int pointerId = e.getPointerId(i);
-            int pointerIndex = e.findPointerIndex(pointerId);
-            try {
-                float x = e.getX(pointerIndex);
-                float y = e.getY(pointerIndex);
-                // Convert MotionEvent actions into `MyTouchEvent`
-                switch (e.getActionMasked()) {
-                    case MotionEvent.ACTION_DOWN:
-                    case MotionEvent.ACTION_POINTER_DOWN: {
-                        updateTouchState(pointerId, MyTouchEvent.DOWN, x, y);
-                        break;
-                    }
-                    case MotionEvent.ACTION_UP:
-                    case MotionEvent.ACTION_POINTER_UP: {
-                        updateTouchState(pointerId, MyTouchEvent.UP, x, y);
-                        break;
-                    }
-                    case MotionEvent.ACTION_MOVE: {
-                        updateTouchState(pointerId, MyTouchEvent.MOVE, x, y);
-                        break;
-                    }
-                    case MotionEvent.ACTION_CANCEL: {
-                        updateTouchState(pointerId, MyTouchEvent.CANCEL, x, y);
-                        break;
-                    }
-                    default: {
-                        int action = e.getActionMasked();
-                        Log.w("GameUI", "Unhandled action: " + MotionEvent.actionToString(action));
-                    }
-                }
-            } catch (IllegalArgumentException ex) {
-                // Can happen on e.get(pointerIndex)
-                Log.w("GameUI", "MotionEvent had a pointerIndex out of range.");
-            }
+            updateTouchState(e.pointerIds[i], e.action, e.x[i], e.y[i]);
         }
     }
 
-    private void updateTouchState(int pointerId, MyTouchEvent event, float x, float y) {
+    private void updateTouchState(int pointerId, MotionInput.Action event, float x, float y) {
         // Note: MotionEvents we get from Android aren't always well-formed.
         // We may receive a MOTION_MOVE without first receiving a MOTION_DOWN.
         // We may receive two MOTION_UPs in a row.
@@ -132,7 +92,7 @@ public class GameUI {
     private void addTouch(int pointerId, float x, float y) {
         if (currTouches.containsKey(pointerId)) {
             // Likely a double DOWN
-            Log.w("GameUI", "Want to add a touch that already exists");
+            GameLog.w("GameUI", "Want to add a touch that already exists");
         } else {
             UIElement touchedElement = getElementAt(x, y);
             currTouches.put(pointerId, new Touch(touchedElement));
@@ -172,7 +132,7 @@ public class GameUI {
     }
 
     private void removeTouch(int pointerId, float x, float y) {
-        Log.d("GameUI", "Removing touch with pointerId = " + pointerId);
+        GameLog.d("GameUI", "Removing touch with pointerId = " + pointerId);
         if (currTouches.containsKey(pointerId)) {
             Touch currTouch = currTouches.get(pointerId);
             if (currTouch.touchedElement != null) {
@@ -181,7 +141,7 @@ public class GameUI {
             currTouches.remove(pointerId);
         } else {
             // Likely a double UP
-            Log.w("GameUI", "Want to remove a touch that doesn't exist");
+            GameLog.w("GameUI", "Want to remove a touch that doesn't exist");
         }
     }
 
@@ -194,16 +154,21 @@ public class GameUI {
         return null;
     }
 
+    /*
+    Collects input created by the UI elements. Note that the same queue is
+    cleared and returned each time.
+     */
     public Queue<UIInputId> pollAllInput() {
-        Queue<UIInputId> createdInput = new ArrayDeque<>();
+        createdInput.clear();
         for (UIElement elem : uiElements) {
             elem.pollAllInputs(createdInput);
         }
         return createdInput;
     }
 
+    // Same as `pollAllInput()`, but for sounds.
     public Queue<SoundID> pollAllSounds() {
-        Queue<SoundID> createdSounds = new ArrayDeque<>();
+        createdSounds.clear();
         for (UIElement elem : uiElements) {
             elem.pollAllSounds(createdSounds);
         }
@@ -228,17 +193,15 @@ public class GameUI {
         }
     }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         // Draw in reverse order
         for (int i = uiElements.length - 1; i >= 0; i--) {
             UIElement elem = uiElements[i];
             if (elem.getIsVisible()) {
-                elem.getDrawInstructions(drawInstructions);
+                elem.getDrawInstructions(drawBuffer);
                 if (gameContext.inDebugMode) {
                     // Draw bounds
-                    drawInstructions.push(
-                            DrawRect.outline(elem.bounds.toRect(), Color.GREEN, 2.0f)
-                    );
+                    drawBuffer.strokeRect(elem.bounds.toRect(), ColorUtil.GREEN, 2.0f);
                 }
             }
         }
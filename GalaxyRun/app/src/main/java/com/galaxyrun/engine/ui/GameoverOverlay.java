@@ -1,31 +1,27 @@
 package com.galaxyrun.engine.ui;
 
-import android.graphics.Color;
-import android.graphics.Typeface;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.audio.SoundID;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawRect;
-import com.galaxyrun.engine.draw.DrawText;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.FontId;
 import com.galaxyrun.helper.Rectangle;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.util.ColorUtil;
 import com.galaxyrun.util.Dimension2D;
-import com.galaxyrun.util.ProtectedQueue;
 
 // TODO: add score display, stars earned, etc.
 public class GameoverOverlay extends UIElement {
 
     private boolean isButtonTouched;
-    private final Typeface font;
+    private final FontHandle font;
     private final int titleFontSize;
     private final int drawTitleX, drawTitleY;
     private final int playBtnFontSize;
     private final int drawPlayBtnX, drawPlayBtnY;
 
     private final static FontId FONT = FontId.GALAXY_MONKEY;
-    private final int TEXT_COLOR = Color.parseColor("#ffb30f");
+    private final int TEXT_COLOR = ColorUtil.rgb(0xff, 0xb3, 0x0f);
 
     // As percent of GAME size
     private final static double WIDTH_PCT = 0.7;
@@ -42,8 +38,8 @@ public class GameoverOverlay extends UIElement {
     private final static double PLAY_BUTTON_WIDTH_PCT = 0.4;
     private final static double PLAY_BUTTON_HEIGHT_PCT = 0.2;
     private final static double PLAY_BUTTON_TEXT_SIZE_PCT = 0.12;
-    private final static int PLAY_BUTTON_COLOR_NORMAL = Color.parseColor("#7F7F7F");
-    private final static int PLAY_BUTTON_COLOR_TOUCHED = Color.WHITE;
+    private final static int PLAY_BUTTON_COLOR_NORMAL = ColorUtil.rgb(0x7f, 0x7f, 0x7f);
+    private final static int PLAY_BUTTON_COLOR_TOUCHED = ColorUtil.WHITE;
 
     // Bounds of the "Play Again" button
     private final Rectangle playAgainBounds;
@@ -56,7 +52,7 @@ public class GameoverOverlay extends UIElement {
 
         titleFontSize = (int) (gameContext.gameHeightPx * TITLE_TEXT_SIZE_PCT);
         Dimension2D titleTextDims =
-                Util.calcTextDimensions(TITLE_TEXT, titleFontSize, font);
+                gameContext.fontCache.measureText(TITLE_TEXT, titleFontSize, font);
         double titleMarginTop = gameContext.gameHeightPx * TITLE_MARGIN_TOP_PCT;
         drawTitleX = (int) (bounds.getX() + (bounds.getWidth() - titleTextDims.width) / 2);
         drawTitleY = (int) (bounds.getY() + titleTextDims.height + titleMarginTop);
@@ -74,7 +70,7 @@ public class GameoverOverlay extends UIElement {
 
         playBtnFontSize = (int) (gameContext.gameHeightPx * PLAY_BUTTON_TEXT_SIZE_PCT);
         Dimension2D playBtnTextDims =
-                Util.calcTextDimensions(PLAY_BUTTON_TEXT, playBtnFontSize, font);
+                gameContext.fontCache.measureText(PLAY_BUTTON_TEXT, playBtnFontSize, font);
         drawPlayBtnX = (int) (playAgainBounds.getX() + (playAgainBounds.getWidth() - playBtnTextDims.width) / 2);
         drawPlayBtnY = (int) (playAgainBounds.getY() + (playAgainBounds.getHeight() - playBtnTextDims.height) / 2 + playBtnTextDims.height);
     }
@@ -106,31 +102,31 @@ public class GameoverOverlay extends UIElement {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
-        drawInstructions.push(DrawRect.filled(bounds.toRect(), Color.BLACK));
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        drawBuffer.fillRect(bounds.toRect(drawRect), ColorUtil.BLACK);
 
-        drawInstructions.push(new DrawText(
+        drawBuffer.drawText(
                 TITLE_TEXT,
                 drawTitleX,
                 drawTitleY,
                 TEXT_COLOR,
                 titleFontSize,
                 font
-        ));
+        );
 
-        drawInstructions.push(DrawRect.filled(
-                playAgainBounds.toRect(),
-                isButtonTouched ? PLAY_BUTTON_COLOR_TOUCHED : PLAY_BUTTON_COLOR_NORMAL)
+        drawBuffer.fillRect(
+                playAgainBounds.toRect(drawRect),
+                isButtonTouched ? PLAY_BUTTON_COLOR_TOUCHED : PLAY_BUTTON_COLOR_NORMAL
         );
 
-        drawInstructions.push(new DrawText(
+        drawBuffer.drawText(
                 PLAY_BUTTON_TEXT,
                 drawPlayBtnX,
                 drawPlayBtnY,
                 TEXT_COLOR,
                 playBtnFontSize,
                 font
-        ));
+        );
     }
 
     @Override
@@ -1,17 +1,11 @@
 package com.galaxyrun.engine.ui;
 
-import android.graphics.Color;
-import android.graphics.Rect;
-import android.util.DisplayMetrics;
-
 import com.galaxyrun.engine.GameConstants;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawRect;
-import com.galaxyrun.engine.draw.DrawText;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.Rectangle;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.util.ColorUtil;
 
 /**
  * Draws player's health.
@@ -33,6 +27,9 @@ public class HealthBar extends UIElement {
     double startX;
     // starting y-coordinate
     double startY;
+    // Text showing the health, and the health it was made for
+    private String healthText;
+    private int healthTextHealth = -1;
 
     // left, right, and bottom padding (dp)
     private static final int PADDING = 10;
@@ -56,8 +53,7 @@ public class HealthBar extends UIElement {
     }
 
     private static Rectangle calcLayout(GameContext gameContext) {
-        DisplayMetrics metrics = gameContext.appContext.getResources().getDisplayMetrics();
-        float padding = PADDING * ((float) metrics.densityDpi / DisplayMetrics.DENSITY_DEFAULT);
+        float padding = PADDING * gameContext.platform.getDisplayDensity();
         float width = gameContext.screenWidthPx - 2 * padding;
         float height = gameContext.screenHeightPx * 0.03f;
         float x = padding;
@@ -99,36 +95,36 @@ public class HealthBar extends UIElement {
         }
     }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         // Draw outline
-        drawInstructions.push(DrawRect.outline(
-                new Rect((int) startX, (int) startY, (int) (startX + width), (int) (startY + height)),
-                Color.GRAY,
+        drawBuffer.strokeRect(
+                (int) startX, (int) startY, (int) (startX + width), (int) (startY + height),
+                ColorUtil.GRAY,
                 (float) (height * 0.1)
-        ));
+        );
 
         // Draw fill
         float innerPadding = (float) (height * 0.1);
         float pctHealth = currentHealth / (float) fullHealth;
-        DrawRect fill = DrawRect.filled(
-                new Rect(
-                        (int) (startX + innerPadding),
-                        (int) (startY + innerPadding),
-                        (int) (startX + innerPadding + pctHealth * (width - height * 0.1f)),
-                        (int) (startY + height - innerPadding)
-                ), getHealthBarColor()
+        drawBuffer.fillRect(
+                (int) (startX + innerPadding),
+                (int) (startY + innerPadding),
+                (int) (startX + innerPadding + pctHealth * (width - height * 0.1f)),
+                (int) (startY + height - innerPadding),
+                getHealthBarColor()
         );
-        drawInstructions.push(fill);
 
-        // Draw number
-        String hpString = currentHealth + "/" + fullHealth;
-        DrawText text = new DrawText(
-                hpString,
+        // Draw number. Only rebuild the text when the health changes.
+        if (healthTextHealth != currentHealth) {
+            healthText = currentHealth + "/" + fullHealth;
+            healthTextHealth = currentHealth;
+        }
+        drawBuffer.drawText(
+                healthText,
                 (float) (startX + width * 0.9), (float) (startY + height * 0.85),
-                Color.GRAY,
+                ColorUtil.GRAY,
                 (int) (height * 0.8f)
         );
-        drawInstructions.push(text);
     }
 
     /*
@@ -142,7 +138,7 @@ public class HealthBar extends UIElement {
         // red: 255, 0, blue (or upperRed, lowerGreen, blue)
         double red = (UPPER_RED - LOWER_RED) / 2.0 - (ratio - 0.5) * (UPPER_RED - LOWER_RED);
         double green = (UPPER_GREEN - LOWER_GREEN) / 2.0 + (ratio - 0.5) * (UPPER_GREEN - LOWER_GREEN);
-        return Color.rgb((int) red, (int) green, BLUE);
+        return ColorUtil.rgb((int) red, (int) green, BLUE);
     }
 
     public void onTouchEnter(float x, float y) {
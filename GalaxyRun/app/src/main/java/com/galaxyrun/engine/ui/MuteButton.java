@@ -1,16 +1,13 @@
 package com.galaxyrun.engine.ui;
 
-import android.graphics.Bitmap;
-import android.graphics.Rect;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.audio.SoundID;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapID;
 import com.galaxyrun.helper.Rectangle;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.IntRect;
 
 public class MuteButton extends UIElement {
 
@@ -38,12 +35,15 @@ public class MuteButton extends UIElement {
         isMuted = updateContext.isMuted;
     }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         BitmapID bitmapId = (isMuted ? BitmapID.MUTE_BUTTON_MUTED : BitmapID.MUTE_BUTTON_UNMUTED);
-        Bitmap bitmap = gameContext.bitmapCache.getBitmap(bitmapId);
-        Rect src = new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight());
-        DrawImage drawBtn = new DrawImage(bitmap, src, bounds.toRect());
-        drawInstructions.push(drawBtn);
+        BitmapHandle bitmap = gameContext.bitmapCache.getBitmap(bitmapId);
+        IntRect dst = bounds.toRect(drawRect);
+        drawBuffer.drawImage(
+                bitmap,
+                0, 0, bitmap.getWidth(), bitmap.getHeight(),
+                dst.left, dst.top, dst.right, dst.bottom
+        );
     }
 
     public void onTouchEnter(float x, float y) {
@@ -1,20 +1,17 @@
 package com.galaxyrun.engine.ui;
 
-import android.graphics.Color;
-import android.graphics.Typeface;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawText;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.FontId;
 import com.galaxyrun.helper.Rectangle;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.util.ColorUtil;
 import com.galaxyrun.util.Dimension2D;
-import com.galaxyrun.util.ProtectedQueue;
 
 public class PauseOverlay extends UIElement {
     private final int fontSize;
-    private final Typeface font;
+    private final FontHandle font;
     // Draw coordinates for text
     private final int drawX, drawY;
 
@@ -26,7 +23,7 @@ public class PauseOverlay extends UIElement {
     private final static String TEXT = "Paused";
     private final static double TEXT_SIZE_PCT = 0.2;
     private final static FontId FONT = FontId.GALAXY_MONKEY;
-    private final int TEXT_COLOR = Color.parseColor("#ffb30f");
+    private final int TEXT_COLOR = ColorUtil.rgb(0xff, 0xb3, 0x0f);
 
     public PauseOverlay(GameContext gameContext) {
         super(gameContext, calcLayout(gameContext));
@@ -35,7 +32,7 @@ public class PauseOverlay extends UIElement {
 
         font = gameContext.fontCache.get(FONT);
         fontSize = (int) (gameContext.gameHeightPx * TEXT_SIZE_PCT);
-        Dimension2D textDims = Util.calcTextDimensions(TEXT, fontSize, font);
+        Dimension2D textDims = gameContext.fontCache.measureText(TEXT, fontSize, font);
         drawX = (int) (bounds.getX() + (bounds.getWidth() - textDims.width) / 2);
         drawY = (int) (bounds.getY() + (bounds.getHeight() - textDims.height) / 2 + textDims.height);
     }
@@ -67,17 +64,17 @@ public class PauseOverlay extends UIElement {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
-//        drawInstructions.push(DrawRect.filled(bounds.toRect(), Color.BLACK));
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+//        drawBuffer.fillRect(bounds.toRect(), ColorUtil.BLACK);
 
-        drawInstructions.push(new DrawText(
+        drawBuffer.drawText(
                 TEXT,
                 drawX,
                 drawY,
                 TEXT_COLOR,
                 fontSize,
                 font
-        ));
+        );
     }
 
     @Override
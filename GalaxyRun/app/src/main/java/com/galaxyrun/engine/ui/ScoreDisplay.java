@@ -1,16 +1,13 @@
 package com.galaxyrun.engine.ui;
 
-import android.graphics.Color;
-import android.graphics.Typeface;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawText;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.FontId;
 import com.galaxyrun.helper.Rectangle;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.util.ColorUtil;
 import com.galaxyrun.util.Dimension2D;
-import com.galaxyrun.util.ProtectedQueue;
 
 /**
  * Displays the game score in the top left of the screen.
@@ -20,13 +17,15 @@ public class ScoreDisplay extends UIElement {
 
     // Score to display
     private int score;
+    // `score` as text. Only rebuilt when the score changes.
+    private String scoreText = "0";
     // Draw coordinates for text (bottom left)
     private final float drawX, drawY;
     private final int fontSize;
-    private final Typeface font;
+    private final FontHandle font;
 
     private final static FontId FONT = FontId.GALAXY_MONKEY;
-    private static final int TEXT_COLOR = Color.parseColor("#ffb30f");
+    private static final int TEXT_COLOR = ColorUtil.rgb(0xff, 0xb3, 0x0f);
     private static final double TEXT_SIZE_PCT = 0.10;
     private static final float MARGIN_H_PCT = 0.1f;
     private static final float MARGIN_V_PCT = 0.03f;
@@ -36,7 +35,7 @@ public class ScoreDisplay extends UIElement {
 
         font = gameContext.fontCache.get(FONT);
         fontSize = (int) (gameContext.gameHeightPx * TEXT_SIZE_PCT);
-        Dimension2D textDims = Util.calcTextDimensions("1234", fontSize, font);
+        Dimension2D textDims = gameContext.fontCache.measureText("1234", fontSize, font);
         drawX = (int) bounds.getX();
         drawY = (int) (bounds.getY() + textDims.height);
     }
@@ -51,22 +50,27 @@ public class ScoreDisplay extends UIElement {
     }
 
     public void update(UpdateContext updateContext) {
-        score = (int) updateContext.score;
+        int newScore = (int) updateContext.score;
+        if (newScore != score) {
+            score = newScore;
+            scoreText = Integer.toString(score);
+        }
     }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
-        drawInstructions.push(new DrawText(
-                Integer.toString(score),
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        drawBuffer.drawText(
+                scoreText,
                 drawX,
                 drawY,
                 TEXT_COLOR,
                 fontSize,
                 font
-        ));
+        );
     }
 
     public void reset() {
         score = 0;
+        scoreText = "0";
     }
 
     public void onTouchEnter(float x, float y) {
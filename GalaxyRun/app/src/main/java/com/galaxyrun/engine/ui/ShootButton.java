@@ -2,9 +2,8 @@ package com.galaxyrun.engine.ui;
 
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawInstruction;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.Rectangle;
-import com.galaxyrun.util.ProtectedQueue;
 
 public class ShootButton extends UIElement {
     private boolean isShooting;
@@ -34,7 +33,7 @@ public class ShootButton extends UIElement {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
 
     }
 
@@ -3,9 +3,9 @@ package com.galaxyrun.engine.ui;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.audio.SoundID;
-import com.galaxyrun.engine.draw.DrawInstruction;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.Rectangle;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.platform.IntRect;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
@@ -17,6 +17,8 @@ public abstract class UIElement {
     protected Queue<SoundID> createdSounds;
     protected boolean isVisible = true;
     protected boolean isTouchable = true;
+    // Scratch rect for recording draw calls without allocating
+    protected final IntRect drawRect = new IntRect();
 
     public boolean getIsVisible() {
         return isVisible;
@@ -39,7 +41,7 @@ public abstract class UIElement {
 
     public abstract void update(UpdateContext updateContext);
 
-    public abstract void getDrawInstructions(ProtectedQueue<DrawInstruction> drawInstructions);
+    public abstract void getDrawInstructions(DrawCommandBuffer drawBuffer);
 
     public abstract void onTouchEnter(float x, float y);
 
@@ -47,13 +49,16 @@ public abstract class UIElement {
 
     public abstract void onTouchLeave(float x, float y);
 
+    // Note: these drain one element at a time because `addAll()` allocates.
     public void pollAllInputs(Queue<UIInputId> input) {
-        input.addAll(createdInput);
-        createdInput.clear();
+        while (!createdInput.isEmpty()) {
+            input.add(createdInput.poll());
+        }
     }
 
     public void pollAllSounds(Queue<SoundID> sounds) {
-        sounds.addAll(createdSounds);
-        createdSounds.clear();
+        while (!createdSounds.isEmpty()) {
+            sounds.add(createdSounds.poll());
+        }
     }
 }
@@ -0,0 +1,148 @@
+package com.galaxyrun.helper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packs rectangular images into as few atlases as possible, using a "shelf"
+ * packer: images are placed tallest first, left to right along horizontal
+ * shelves, and each image goes on the first shelf with room for it. A new
+ * shelf is started below the last one, and a new atlas once an atlas is
+ * full.
+ *
+ * Images are kept `paddingPx` apart, so that filtering when an image is
+ * drawn scaled doesn't pick up its neighbors. Atlases are at most
+ * `maxWidth` by `maxHeight`, unless an image is bigger than that, in which
+ * case its atlas is made big enough for it.
+ */
+public class AtlasPacker {
+    /*
+    Where an image was placed: its atlas, and the position of its top-left
+    in that atlas.
+     */
+    public static class Placement {
+        public final int atlas;
+        public final int left, top;
+
+        Placement(int atlas, int left, int top) {
+            this.atlas = atlas;
+            this.left = left;
+            this.top = top;
+        }
+    }
+
+    private static class Shelf {
+        final int atlas;
+        final int top;
+        final int height;
+        // Where the next image on the shelf goes.
+        int nextLeft;
+
+        Shelf(int atlas, int top, int height) {
+            this.atlas = atlas;
+            this.top = top;
+            this.height = height;
+        }
+    }
+
+    private final int maxWidth, maxHeight, paddingPx;
+    // Dimensions of each atlas used by the last `pack()`.
+    private final List<int[]> atlasSizes = new ArrayList<>();
+
+    public AtlasPacker(int maxWidth, int maxHeight, int paddingPx) {
+        if (maxWidth <= 0 || maxHeight <= 0 || paddingPx < 0) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid atlas size %d x %d with padding %d", maxWidth, maxHeight, paddingPx));
+        }
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.paddingPx = paddingPx;
+    }
+
+    /*
+    Packs images of the given dimensions, returning where each was placed.
+    Afterwards, `getNumAtlases()` and friends describe the atlases needed.
+     */
+    public Placement[] pack(int[] widths, int[] heights) {
+        if (widths.length != heights.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Got %d widths but %d heights", widths.length, heights.length));
+        }
+        int numImages = widths.length;
+        int atlasWidth = maxWidth;
+        int atlasHeight = maxHeight;
+        Integer[] order = new Integer[numImages];
+        for (int i = 0; i < numImages; i++) {
+            if (widths[i] < 0 || heights[i] < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Image %d has invalid size %d x %d", i, widths[i], heights[i]));
+            }
+            atlasWidth = Math.max(atlasWidth, widths[i]);
+            atlasHeight = Math.max(atlasHeight, heights[i]);
+            order[i] = i;
+        }
+        // Tallest first, so each shelf is only as high as its first image.
+        Arrays.sort(order, (a, b) -> heights[a] != heights[b] ?
+                Integer.compare(heights[b], heights[a]) : Integer.compare(widths[b], widths[a]));
+
+        atlasSizes.clear();
+        List<Shelf> shelves = new ArrayList<>();
+        Placement[] placements = new Placement[numImages];
+        for (int i : order) {
+            int width = widths[i];
+            int height = heights[i];
+            Shelf shelf = null;
+            for (Shelf candidate : shelves) {
+                if (candidate.height >= height && candidate.nextLeft + width <= atlasWidth) {
+                    shelf = candidate;
+                    break;
+                }
+            }
+            if (shelf == null) {
+                shelf = addShelf(shelves, height, atlasHeight);
+            }
+            placements[i] = new Placement(shelf.atlas, shelf.nextLeft, shelf.top);
+            shelf.nextLeft += width + paddingPx;
+            int[] size = atlasSizes.get(shelf.atlas);
+            size[0] = Math.max(size[0], shelf.nextLeft - paddingPx);
+            size[1] = Math.max(size[1], shelf.top + height);
+        }
+        return placements;
+    }
+
+    public int getNumAtlases() {
+        return atlasSizes.size();
+    }
+
+    // Width of atlas `atlas`: just enough to hold its images.
+    public int getAtlasWidth(int atlas) {
+        return atlasSizes.get(atlas)[0];
+    }
+
+    // Height of atlas `atlas`: just enough to hold its images.
+    public int getAtlasHeight(int atlas) {
+        return atlasSizes.get(atlas)[1];
+    }
+
+    /*
+    Starts a shelf `height` high below the last one, or in a new atlas if
+    there isn't room.
+     */
+    private Shelf addShelf(List<Shelf> shelves, int height, int atlasHeight) {
+        int atlas = atlasSizes.size() - 1;
+        int top = 0;
+        if (!shelves.isEmpty()) {
+            Shelf last = shelves.get(shelves.size() - 1);
+            top = last.top + last.height + paddingPx;
+        }
+        if (atlas < 0 || top + height > atlasHeight) {
+            atlasSizes.add(new int[2]);
+            atlas++;
+            top = 0;
+        }
+        Shelf shelf = new Shelf(atlas, top, height);
+        shelves.add(shelf);
+        return shelf;
+    }
+}
@@ -1,35 +1,45 @@
 package com.galaxyrun.helper;
 
-import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
+import com.galaxyrun.platform.AtlasRegion;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.Platform;
 
 import java.util.Hashtable;
 import java.util.NoSuchElementException;
 
-import galaxyrun.R;
-
 /**
  * Bitmap cache for R.drawables. Retrieved using BitmapID.getDebugString()
+ *
+ * Call `loadAtlases()` at load time to pack every bitmap into one or a few
+ * atlases. `getBitmap()` then returns AtlasRegions, so consecutive sprites
+ * are drawn from the same source bitmap. Bitmaps asked for before that are
+ * loaded on their own.
  */
 public class BitmapCache {
+    // Largest atlas to create, unless a single bitmap is bigger.
+    private static final int MAX_ATLAS_SIZE_PX = 2048;
+    // Transparent gap between bitmaps in an atlas, so that filtering
+    // doesn't bleed one into the next.
+    private static final int ATLAS_PADDING_PX = 1;
 
-    // Reference to application context
-    private Context context;
+    // Used to load bitmaps
+    private Platform platform;
 
     // stores bitmaps
-    private Hashtable<BitmapID, Bitmap> bmpCache = new Hashtable<>();
+    private Hashtable<BitmapID, BitmapHandle> bmpCache = new Hashtable<>();
     // stores bitmap data
     private Hashtable<BitmapID, BitmapData> bmpData = new Hashtable<>();
 
     private double scalingFactor = 1.0f;
+    // Number of atlases created by `loadAtlases()`.
+    private int numAtlases;
 
     /*
     Create cache with specified scaling factor.
      */
-    public BitmapCache(Context context, double scalingFactor) {
-        assert(context != null);
-        this.context = context;
+    public BitmapCache(Platform platform, double scalingFactor) {
+        assert(platform != null);
+        this.platform = platform;
         this.scalingFactor = scalingFactor;
     }
 
@@ -37,9 +47,9 @@ public class BitmapCache {
     Create cache, auto-determining the scaling factor to use based on
     game dimensions.
      */
-    public BitmapCache(Context context, int gameWidthPx, int gameHeightPx) {
-        assert(context != null);
-        this.context = context;
+    public BitmapCache(Platform platform, int gameWidthPx, int gameHeightPx) {
+        assert(platform != null);
+        this.platform = platform;
         scalingFactor = calcScalingFactor(gameWidthPx, gameHeightPx);
     }
 
@@ -48,8 +58,7 @@ public class BitmapCache {
      We want the spaceship's height to be 1/6 of the screen height.
       */
     private double calcScalingFactor(int gameWidthPx, int gameHeightPx) {
-        Bitmap spaceship = BitmapFactory.decodeResource(
-                context.getResources(), R.drawable.spaceship);
+        BitmapHandle spaceship = platform.decodeBitmap(BitmapID.SPACESHIP);
         return (gameHeightPx / 6.0f) / (float) spaceship.getHeight();
     }
 
@@ -59,17 +68,16 @@ public class BitmapCache {
 
     May throw [TODO: WHAT KIND OF EXCEPTION?]
      */
-    public Bitmap getBitmap(BitmapID key) throws NoSuchElementException {
+    public BitmapHandle getBitmap(BitmapID key) throws NoSuchElementException {
         // Lookup ID in Hashtable
-        Bitmap bmp = bmpCache.get(key);
+        BitmapHandle bmp = bmpCache.get(key);
         // Bitmap not in cache: load, scale, and add to cache
         if (bmp == null) {
-            bmp = BitmapFactory.decodeResource(context.getResources(), key.getrId());
-            bmp = Bitmap.createScaledBitmap(
+            bmp = platform.decodeBitmap(key);
+            bmp = platform.scaleBitmap(
                     bmp,
                     (int) (bmp.getWidth() * scalingFactor),
-                    (int) (bmp.getHeight() * scalingFactor),
-                    true
+                    (int) (bmp.getHeight() * scalingFactor)
             );
 
             bmpCache.put(key, bmp);
@@ -78,6 +86,47 @@ public class BitmapCache {
         return bmp;
     }
 
+    /*
+    Loads and scales every BitmapID, packing them into as few atlases as
+    possible. Each is drawn straight into its atlas, so the only bitmaps
+    kept are the atlases themselves. Replaces anything already cached.
+     */
+    public void loadAtlases() {
+        BitmapID[] ids = BitmapID.values();
+        BitmapHandle[] decoded = new BitmapHandle[ids.length];
+        int[] widths = new int[ids.length];
+        int[] heights = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            decoded[i] = platform.decodeBitmap(ids[i]);
+            widths[i] = (int) (decoded[i].getWidth() * scalingFactor);
+            heights[i] = (int) (decoded[i].getHeight() * scalingFactor);
+        }
+
+        AtlasPacker packer =
+                new AtlasPacker(MAX_ATLAS_SIZE_PX, MAX_ATLAS_SIZE_PX, ATLAS_PADDING_PX);
+        AtlasPacker.Placement[] placements = packer.pack(widths, heights);
+        numAtlases = packer.getNumAtlases();
+        BitmapHandle[] atlases = new BitmapHandle[numAtlases];
+        for (int i = 0; i < numAtlases; i++) {
+            atlases[i] = platform.createBitmap(packer.getAtlasWidth(i), packer.getAtlasHeight(i));
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            AtlasPacker.Placement placement = placements[i];
+            BitmapHandle atlas = atlases[placement.atlas];
+            platform.drawScaledBitmap(
+                    atlas, decoded[i], placement.left, placement.top, widths[i], heights[i]);
+            bmpCache.put(ids[i], new AtlasRegion(
+                    atlas, placement.left, placement.top, widths[i], heights[i]));
+            bmpData.put(ids[i], new BitmapData(ids[i], widths[i], heights[i]));
+        }
+    }
+
+    // Number of atlases created by `loadAtlases()`, or 0 if it hasn't been called.
+    public int getNumAtlases() {
+        return numAtlases;
+    }
+
     /*
     Looks up the BitmapData for the given BitmapID. Will attempt to load the
     corresponding Bitmap from storage if not found (using the BitmapID's rId field).
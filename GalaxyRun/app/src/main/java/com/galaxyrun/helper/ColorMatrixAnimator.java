@@ -1,7 +1,5 @@
 package com.galaxyrun.helper;
 
-import android.graphics.ColorMatrix;
-
 /*
 Class used to animate a ColorMatrix. Currently the only supported animation
 is a flash, where every pixel's Red/Green/Blue values are briefly jacked up
@@ -16,7 +14,7 @@ public class ColorMatrixAnimator {
     // How long it has been flashing for the current flash()
     private long timeSinceAnimStartMs = Integer.MAX_VALUE;
     // The currently-calculated ColorMatrix
-    private ColorMatrix colorMatrix;
+    private final float[] colorMatrix = new float[20];
 
     // number of frames it takes for sprite to reach completely white
     private final long flashInMs;
@@ -33,13 +31,14 @@ public class ColorMatrixAnimator {
         this.flashStayMs = flashStayMs;
         this.flashOutMs = flashOutMs;
         totalFlashDurationMs = flashInMs + flashStayMs + flashOutMs;
-        colorMatrix = new ColorMatrix();
+        resetMatrix();
     }
 
     /*
-    Get the currently-calculated ColorMatrix.
+    Get the currently-calculated ColorMatrix. This array is updated in-place
+    by `update()`.
     */
-    public ColorMatrix getMatrix() {
+    public float[] getMatrix() {
         return colorMatrix;
     }
 
@@ -68,7 +67,7 @@ public class ColorMatrixAnimator {
     // updates the matrix by one frame
     public void update(long ms) {
         timeSinceAnimStartMs += ms;
-        colorMatrix.reset();
+        resetMatrix();
 
         if (isFlashing()) {
             // Calculate how much "flash" to apply.
@@ -87,11 +86,16 @@ public class ColorMatrixAnimator {
             }
 
             // Update the 5th column of each color value
-            float[] matrixVals = colorMatrix.getArray();
             for (int i = 0; i < 3; i++) {
-                matrixVals[4 + 5 * i] += flashFraction * 255;
+                colorMatrix[4 + 5 * i] += flashFraction * 255;
             }
-            colorMatrix.set(matrixVals);
+        }
+    }
+
+    // Sets the matrix to the identity (no change to colors).
+    private void resetMatrix() {
+        for (int i = 0; i < colorMatrix.length; i++) {
+            colorMatrix[i] = (i % 6 == 0 ? 1 : 0);
         }
     }
 
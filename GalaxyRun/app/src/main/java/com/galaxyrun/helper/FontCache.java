@@ -1,41 +1,44 @@
 package com.galaxyrun.helper;
 
-import android.content.Context;
-import android.graphics.Typeface;
-import android.util.Log;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.Platform;
+import com.galaxyrun.util.Dimension2D;
 
 import java.util.Hashtable;
 
-import androidx.core.content.res.ResourcesCompat;
-
 /**
- * Simple cache for loaded Typefaces.
+ * Simple cache for loaded fonts.
  */
 public class FontCache {
 
-    private final Context context;
-    // Fallback used if a font cannot be loaded
-    private final Typeface fallback;
-    private Hashtable<FontId, Typeface> fontCache = new Hashtable<>();
+    private final Platform platform;
+    private Hashtable<FontId, FontHandle> fontCache = new Hashtable<>();
 
-    public FontCache(Context context, Typeface fallback) {
-        this.context = context;
-        this.fallback = fallback;
+    public FontCache(Platform platform) {
+        this.platform = platform;
     }
 
-    public Typeface get(FontId fontId) {
-        Typeface tf = fontCache.get(fontId);
-        if (tf == null) {
+    public FontHandle get(FontId fontId) {
+        FontHandle font = fontCache.get(fontId);
+        if (font == null) {
             try {
-                tf = ResourcesCompat.getFont(context, fontId.getRId());
-                Log.d("FontCache", "Successfully loaded font " + fontId.name());
+                font = platform.loadFont(fontId);
+                GameLog.d("FontCache", "Successfully loaded font " + fontId.name());
             }
             catch (Exception e) {
-                tf = fallback;  // fallback
-                Log.e("FontCache", "Failed to load font " + fontId.name());
+                font = platform.getDefaultFont();  // fallback
+                GameLog.e("FontCache", "Failed to load font " + fontId.name());
             }
-            fontCache.put(fontId, tf);
+            fontCache.put(fontId, font);
         }
-        return tf;
+        return font;
+    }
+
+    /*
+    Calculate the dimensions of rendered text.
+     */
+    public Dimension2D measureText(String text, int textSize, FontHandle font) {
+        return platform.measureText(text, textSize, font);
     }
 }
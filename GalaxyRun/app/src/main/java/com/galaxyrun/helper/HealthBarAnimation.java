@@ -1,13 +1,9 @@
 package com.galaxyrun.helper;
 
-import android.graphics.Color;
-import android.graphics.Rect;
-import android.util.Log;
-
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawRect;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.GameLog;
 import com.galaxyrun.sprite.Sprite;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.util.ColorUtil;
 
 /**
  * Draws a HealthBar for a limited amount of time above a Sprite.
@@ -39,7 +35,7 @@ public class HealthBarAnimation {
     private static final double HEIGHT_RATIO = 0.12;
     private static final double ELEVATION_RATIO = 0.05;
     // Color of HealthBar outline
-    private static final int OUTLINE_COLOR = Color.GRAY;
+    private static final int OUTLINE_COLOR = ColorUtil.GRAY;
 
     public HealthBarAnimation(Sprite sprite) {
         healthBarWidth = sprite.getWidth() * WIDTH_RATIO;
@@ -67,33 +63,29 @@ public class HealthBarAnimation {
         remainingShowTimeMs = remainingShowTimeMs > ms ? remainingShowTimeMs - ms : 0;
     }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         if (remainingShowTimeMs > 0) {
             // Draw outline
-            drawQueue.push(DrawRect.outline(
-                    new Rect(
-                            (int) x,
-                            (int) y,
-                            (int) (x + healthBarWidth),
-                            (int) (y + healthBarHeight)
-                    ),
+            drawBuffer.strokeRect(
+                    (int) x,
+                    (int) y,
+                    (int) (x + healthBarWidth),
+                    (int) (y + healthBarHeight),
                     OUTLINE_COLOR,
                     innerPadding
-            ));
+            );
 
             // Draw fill
             int fillColor = calcFillColor(health, maxHealth);
             double fillWidth = (healthBarWidth - 2 * innerPadding) * (1.0 * health / maxHealth);
             double fillHeight = (healthBarHeight - 2 * innerPadding);
-            drawQueue.push(DrawRect.filled(
-                    new Rect(
-                            (int) (x + innerPadding),
-                            (int) (y + innerPadding),
-                            (int) (x + innerPadding + fillWidth),
-                            (int) (y + innerPadding + fillHeight)
-                    ),
+            drawBuffer.fillRect(
+                    (int) (x + innerPadding),
+                    (int) (y + innerPadding),
+                    (int) (x + innerPadding + fillWidth),
+                    (int) (y + innerPadding + fillHeight),
                     fillColor
-            ));
+            );
         }
     }
 
@@ -103,11 +95,11 @@ public class HealthBarAnimation {
     public static int calcFillColor(int health, int maxHealth) {
         double ratio = health * 1.0 / maxHealth;
         if (ratio > 0.7f) {
-            return Color.GREEN;
+            return ColorUtil.GREEN;
         } else if (ratio > 0.3f) {
-            return Color.YELLOW;
+            return ColorUtil.YELLOW;
         } else {
-            return Color.RED;
+            return ColorUtil.RED;
         }
     }
 }
\ No newline at end of file
@@ -1,11 +1,8 @@
 package com.galaxyrun.helper;
 
-import android.graphics.Color;
-
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.engine.draw.DrawText;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.sprite.Sprite;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.util.ColorUtil;
 
 /**
  * Class used to draw the damage floating up from a sprite.
@@ -21,7 +18,7 @@ public class LoseHealthAnimation {
 
     private final int textSize;
     // amount of health lost, which will be displayed
-    private final int damage;
+    private final String damageText;
     private final double totalMovementX, totalMovementY;
     // Offset from sprite's coordinates (px)
     private final double baseOffsetX, baseOffsetY;
@@ -29,7 +26,7 @@ public class LoseHealthAnimation {
     // Duration of the animation
     private static final long DURATION_MS = 1000;
     // color of text to be drawn
-    private static final int TEXT_COLOR = Color.WHITE;
+    private static final int TEXT_COLOR = ColorUtil.WHITE;
     // size of text to be drawn
     private static final double REL_TEXT_SIZE = 0.05;
     // movement of the text in x (as fraction of game width)
@@ -52,7 +49,7 @@ public class LoseHealthAnimation {
         textSize = (int) (gameHeightPx * REL_TEXT_SIZE);
         baseOffsetX = offsetX;
         baseOffsetY = offsetY;
-        this.damage = damage;
+        damageText = Integer.toString(damage);
     }
 
     /*
@@ -66,15 +63,15 @@ public class LoseHealthAnimation {
         y = sprite.getY() + baseOffsetY + fractionElapsed * totalMovementY;
     }
 
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         if (!isFinished()) {
-            drawQueue.push(new DrawText(
-                    Integer.toString(damage),
+            drawBuffer.drawText(
+                    damageText,
                     (float) x,
                     (float) y,
                     TEXT_COLOR,
                     textSize
-            ));
+            );
         }
     }
 
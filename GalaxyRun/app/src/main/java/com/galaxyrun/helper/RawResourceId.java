@@ -0,0 +1,29 @@
+package com.galaxyrun.helper;
+
+import galaxyrun.R;
+
+/*
+Raw resources holding game data, rather than sounds.
+ */
+public enum RawResourceId {
+    // Pre-generated chunks of the map. See `ChunkLibrary`.
+    CHUNK_LIBRARY(R.raw.chunk_library, "chunk_library.bin");
+
+    // R.raw ID
+    private final int rId;
+    // Name of the file in res/raw
+    private final String fileName;
+
+    public int getRId() {
+        return rId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    RawResourceId(int rId, String fileName) {
+        this.rId = rId;
+        this.fileName = fileName;
+    }
+}
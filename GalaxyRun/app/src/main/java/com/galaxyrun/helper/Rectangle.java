@@ -1,6 +1,6 @@
 package com.galaxyrun.helper;
 
-import android.graphics.Rect;
+import com.galaxyrun.platform.IntRect;
 
 /**
  * Wrapper for a Rect that stores coordinates as doubles
@@ -64,14 +64,20 @@ public class Rectangle {
         return ix >= x && ix <= x + width && iy >= y && iy <= y + height;
     }
 
-    // Returns this Rectangle as an `androids.graphics.Rect`
-    public Rect toRect() {
-        return new Rect(
+    // Returns this Rectangle as an IntRect
+    public IntRect toRect() {
+        return toRect(new IntRect());
+    }
+
+    // Sets `out` to this Rectangle and returns it
+    public IntRect toRect(IntRect out) {
+        out.set(
                 (int) x,
                 (int) y,
                 (int) (x + width),
                 (int) (y + height)
         );
+        return out;
     }
 
     public void setX(double x) {
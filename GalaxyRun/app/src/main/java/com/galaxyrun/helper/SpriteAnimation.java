@@ -1,6 +1,8 @@
 package com.galaxyrun.helper;
 
-import android.graphics.Rect;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.IntRect;
 
 /**
  * Created by Stefan on 8/13/2015.
@@ -127,11 +129,27 @@ public class SpriteAnimation { // todo: pause (returns same frame each time) and
     /*
     Returns Rect containing coordinates of the current frame, on the spritesheet
     */
-    public Rect getCurrentFrameSrc() {
+    public IntRect getCurrentFrameSrc() {
         if (!isPlaying) {
             throw new IllegalStateException("Animation is not playing");
         }
-        return new Rect(frameW * currFrameIndex, 0, frameW * (currFrameIndex + 1), frameH);
+        return new IntRect(frameW * currFrameIndex, 0, frameW * (currFrameIndex + 1), frameH);
+    }
+
+    /*
+    Draw the current frame from `bitmap` (the animation's spritesheet) with
+    its top-left at (x, y).
+     */
+    public void drawCurrentFrame(DrawCommandBuffer drawBuffer, BitmapHandle bitmap, int x, int y) {
+        if (!isPlaying) {
+            throw new IllegalStateException("Animation is not playing");
+        }
+        int srcLeft = frameW * currFrameIndex;
+        drawBuffer.drawImage(
+                bitmap,
+                srcLeft, 0, srcLeft + frameW, frameH,
+                x, y, x + frameW, y + frameH
+        );
     }
 
     public BitmapID getBitmapID() {
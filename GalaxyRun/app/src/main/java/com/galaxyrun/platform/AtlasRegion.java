@@ -0,0 +1,47 @@
+package com.galaxyrun.platform;
+
+/**
+ * BitmapHandle for an area of a larger "atlas" bitmap that holds several
+ * images. Its dimensions are those of the area, so game code can use it like
+ * any other bitmap; DrawCommandBuffer resolves it to the atlas when drawing.
+ */
+public class AtlasRegion implements BitmapHandle {
+    private final BitmapHandle atlas;
+    private final int left, top, width, height;
+
+    public AtlasRegion(BitmapHandle atlas, int left, int top, int width, int height) {
+        this.atlas = atlas;
+        this.left = left;
+        this.top = top;
+        this.width = width;
+        this.height = height;
+    }
+
+    public BitmapHandle getAtlas() {
+        return atlas;
+    }
+
+    // Position of the region's top-left in the atlas.
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("AtlasRegion(%d, %d, %dx%d)", left, top, width, height);
+    }
+}
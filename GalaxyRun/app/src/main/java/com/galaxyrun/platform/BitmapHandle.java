@@ -0,0 +1,11 @@
+package com.galaxyrun.platform;
+
+/**
+ * Opaque reference to a bitmap owned by the Platform. Game code only ever needs to know
+ * a bitmap's dimensions; the pixels themselves are only touched when drawing.
+ */
+public interface BitmapHandle {
+    int getWidth();
+
+    int getHeight();
+}
@@ -0,0 +1,10 @@
+package com.galaxyrun.platform;
+
+/**
+ * Source of wall-clock time, in milliseconds.
+ */
+public interface Clock {
+    Clock SYSTEM = System::currentTimeMillis;
+
+    long currentTimeMillis();
+}
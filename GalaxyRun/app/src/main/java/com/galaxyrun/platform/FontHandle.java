@@ -0,0 +1,7 @@
+package com.galaxyrun.platform;
+
+/**
+ * Opaque reference to a font loaded by the Platform.
+ */
+public interface FontHandle {
+}
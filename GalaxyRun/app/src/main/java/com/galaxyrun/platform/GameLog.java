@@ -0,0 +1,31 @@
+package com.galaxyrun.platform;
+
+/**
+ * Logging facade for game code. Messages are forwarded to the installed LogSink, which is
+ * `android.util.Log` when running on a device. Until a sink is installed, messages are discarded.
+ */
+public class GameLog {
+    private static volatile LogSink sink = LogSink.NONE;
+
+    // Installs the sink that all further messages will be sent to. Passing null
+    // discards all messages.
+    public static void setSink(LogSink newSink) {
+        sink = (newSink == null ? LogSink.NONE : newSink);
+    }
+
+    public static boolean isLoggable(LogSink.Level level) {
+        return sink.isLoggable(level);
+    }
+
+    public static void d(String tag, String msg) {
+        sink.log(LogSink.Level.DEBUG, tag, msg);
+    }
+
+    public static void w(String tag, String msg) {
+        sink.log(LogSink.Level.WARN, tag, msg);
+    }
+
+    public static void e(String tag, String msg) {
+        sink.log(LogSink.Level.ERROR, tag, msg);
+    }
+}
@@ -0,0 +1,73 @@
+package com.galaxyrun.platform;
+
+/**
+ * Rectangle with integer coordinates. Mirrors `android.graphics.Rect` so that draw
+ * calls can be recorded without depending on the Android framework.
+ */
+public class IntRect {
+    public int left, top, right, bottom;
+
+    public IntRect() {
+
+    }
+
+    public IntRect(int left, int top, int right, int bottom) {
+        set(left, top, right, bottom);
+    }
+
+    public void set(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public int width() {
+        return right - left;
+    }
+
+    public int height() {
+        return bottom - top;
+    }
+
+    public int centerX() {
+        return (left + right) / 2;
+    }
+
+    public int centerY() {
+        return (top + bottom) / 2;
+    }
+
+    public void offset(int dx, int dy) {
+        left += dx;
+        top += dy;
+        right += dx;
+        bottom += dy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntRect)) {
+            return false;
+        }
+        IntRect r = (IntRect) o;
+        return left == r.left && top == r.top && right == r.right && bottom == r.bottom;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left;
+        result = 31 * result + top;
+        result = 31 * result + right;
+        result = 31 * result + bottom;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IntRect(" + left + ", " + top + " - " + right + ", " + bottom + ")";
+    }
+}
@@ -0,0 +1,32 @@
+package com.galaxyrun.platform;
+
+/**
+ * Destination for messages logged through GameLog.
+ */
+public interface LogSink {
+    enum Level {
+        DEBUG,
+        WARN,
+        ERROR
+    }
+
+    // Sink that discards everything.
+    LogSink NONE = new LogSink() {
+        @Override
+        public void log(Level level, String tag, String msg) {
+        }
+
+        @Override
+        public boolean isLoggable(Level level) {
+            return false;
+        }
+    };
+
+    void log(Level level, String tag, String msg);
+
+    // Whether messages at `level` would be logged. Lets callers skip
+    // building expensive messages.
+    default boolean isLoggable(Level level) {
+        return true;
+    }
+}
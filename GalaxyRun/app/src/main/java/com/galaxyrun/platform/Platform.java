@@ -0,0 +1,60 @@
+package com.galaxyrun.platform;
+
+import com.galaxyrun.engine.background.GalaxyDrawOptions;
+import com.galaxyrun.helper.BitmapID;
+import com.galaxyrun.helper.FontId;
+import com.galaxyrun.helper.RawResourceId;
+import com.galaxyrun.util.Dimension2D;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Everything the game needs from the system it runs on. The engine only talks to the
+ * outside world through this interface, which lets it run either on a device
+ * (`AndroidPlatform`) or on a plain JVM (`HeadlessPlatform`).
+ */
+public interface Platform {
+    // Source of time used for the game clock.
+    Clock getClock();
+
+    // Logical density of the display: 1.0 corresponds to 160dpi.
+    float getDisplayDensity();
+
+    // Whether this is a low-memory device, on which optional effects should be left out.
+    boolean isLowRamDevice();
+
+    // Loads the (unscaled) image for `id`.
+    BitmapHandle decodeBitmap(BitmapID id);
+
+    // Returns a copy of `bitmap`, scaled to the given dimensions.
+    BitmapHandle scaleBitmap(BitmapHandle bitmap, int width, int height);
+
+    // Creates a blank bitmap of the given dimensions, to be drawn into by `renderGalaxy()`
+    // or `drawScaledBitmap()`.
+    BitmapHandle createBitmap(int width, int height);
+
+    // Draws the whole of `bitmap` into `target` with its top-left at (left, top), scaled
+    // to `width` by `height`. `target` must have been created by `createBitmap()`.
+    void drawScaledBitmap(
+            BitmapHandle target, BitmapHandle bitmap, int left, int top, int width, int height);
+
+    // Renders a galaxy image over the whole of `bitmap`, using `rand` to place the stars.
+    // `bitmap` must have been created by `createBitmap()`. May be called from any thread,
+    // as long as `bitmap` isn't being drawn at the same time.
+    void renderGalaxy(BitmapHandle bitmap, GalaxyDrawOptions options, Random rand);
+
+    // Loads the font with the given id. Throws IllegalArgumentException if it cannot be loaded.
+    FontHandle loadFont(FontId id);
+
+    // Font to use when none is specified.
+    FontHandle getDefaultFont();
+
+    // Returns the contents of the raw resource `id`, memory-mapped where possible.
+    // Returns null if this platform doesn't have the resource.
+    ByteBuffer mapRawResource(RawResourceId id) throws IOException;
+
+    // Calculates the dimensions of `text` when rendered at `textSize` in `font`.
+    Dimension2D measureText(String text, int textSize, FontHandle font);
+}
@@ -0,0 +1,35 @@
+package com.galaxyrun.platform.android;
+
+import android.graphics.Bitmap;
+
+import com.galaxyrun.platform.BitmapHandle;
+
+/**
+ * BitmapHandle backed by an `android.graphics.Bitmap`.
+ */
+public class AndroidBitmap implements BitmapHandle {
+    private final Bitmap bitmap;
+
+    public AndroidBitmap(Bitmap bitmap) {
+        this.bitmap = bitmap;
+    }
+
+    public Bitmap getBitmap() {
+        return bitmap;
+    }
+
+    // Returns the Bitmap behind `handle`, which must have been created by the AndroidPlatform.
+    public static Bitmap unwrap(BitmapHandle handle) {
+        return ((AndroidBitmap) handle).bitmap;
+    }
+
+    @Override
+    public int getWidth() {
+        return bitmap.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return bitmap.getHeight();
+    }
+}
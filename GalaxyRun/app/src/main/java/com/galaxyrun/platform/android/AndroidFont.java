@@ -0,0 +1,21 @@
+package com.galaxyrun.platform.android;
+
+import android.graphics.Typeface;
+
+import com.galaxyrun.platform.FontHandle;
+
+/**
+ * FontHandle backed by an `android.graphics.Typeface`.
+ */
+public class AndroidFont implements FontHandle {
+    private final Typeface typeface;
+
+    public AndroidFont(Typeface typeface) {
+        this.typeface = typeface;
+    }
+
+    // Returns the Typeface behind `handle`, or the default Typeface if `handle` is null.
+    public static Typeface unwrap(FontHandle handle) {
+        return handle == null ? Typeface.DEFAULT : ((AndroidFont) handle).typeface;
+    }
+}
@@ -0,0 +1,68 @@
+package com.galaxyrun.platform.android;
+
+import android.hardware.Sensor;
+import android.hardware.SensorEvent;
+import android.view.MotionEvent;
+
+import com.galaxyrun.engine.external.MotionInput;
+import com.galaxyrun.engine.external.SensorInput;
+import com.galaxyrun.platform.GameLog;
+
+/**
+ * Converts Android input events into the game's input records. Conversion happens on the
+ * thread that received the event: Android recycles MotionEvents once they have been
+ * dispatched, so they must not be handed to the game thread directly.
+ */
+public class AndroidInput {
+    /*
+    Returns the MotionInput equivalent to `e`, or null if `e` has an action the game
+    does not handle.
+     */
+    public static MotionInput toMotionInput(MotionEvent e) {
+        MotionInput.Action action;
+        // Read the docs: https://developer.android.com/reference/android/view/MotionEvent.html
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+            case MotionEvent.ACTION_POINTER_DOWN: {
+                action = MotionInput.Action.DOWN;
+                break;
+            }
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_POINTER_UP: {
+                action = MotionInput.Action.UP;
+                break;
+            }
+            case MotionEvent.ACTION_MOVE: {
+                action = MotionInput.Action.MOVE;
+                break;
+            }
+            case MotionEvent.ACTION_CANCEL: {
+                action = MotionInput.Action.CANCEL;
+                break;
+            }
+            default: {
+                GameLog.w("AndroidInput",
+                        "Unhandled action: " + MotionEvent.actionToString(e.getActionMasked()));
+                return null;
+            }
+        }
+
+        int numPointers = e.getPointerCount();
+        int[] pointerIds = new int[numPointers];
+        float[] x = new float[numPointers];
+        float[] y = new float[numPointers];
+        for (int i = 0; i < numPointers; i++) {
+            pointerIds[i] = e.getPointerId(i);
+            x[i] = e.getX(i);
+            y[i] = e.getY(i);
+        }
+        return new MotionInput(action, pointerIds, x, y);
+    }
+
+    public static SensorInput toSensorInput(SensorEvent e) {
+        SensorInput.SensorType type = (e.sensor.getType() == Sensor.TYPE_GYROSCOPE ?
+                SensorInput.SensorType.GYROSCOPE : SensorInput.SensorType.OTHER);
+        // Copy the values: Android may reuse the SensorEvent.
+        return new SensorInput(type, e.timestamp, e.values.clone());
+    }
+}
@@ -0,0 +1,28 @@
+package com.galaxyrun.platform.android;
+
+import android.util.Log;
+
+import com.galaxyrun.platform.LogSink;
+
+/**
+ * Forwards game logging to `android.util.Log`.
+ */
+public class AndroidLogSink implements LogSink {
+    @Override
+    public void log(Level level, String tag, String msg) {
+        switch (level) {
+            case DEBUG: {
+                Log.d(tag, msg);
+                break;
+            }
+            case WARN: {
+                Log.w(tag, msg);
+                break;
+            }
+            case ERROR: {
+                Log.e(tag, msg);
+                break;
+            }
+        }
+    }
+}
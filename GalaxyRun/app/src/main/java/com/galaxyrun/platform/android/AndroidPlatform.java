@@ -0,0 +1,165 @@
+package com.galaxyrun.platform.android;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.util.DisplayMetrics;
+
+import com.galaxyrun.engine.background.GalaxyDrawOptions;
+import com.galaxyrun.engine.background.StarRasterizer;
+import com.galaxyrun.helper.BitmapID;
+import com.galaxyrun.helper.FontId;
+import com.galaxyrun.helper.RawResourceId;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.Clock;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.platform.Platform;
+import com.galaxyrun.util.Dimension2D;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+import androidx.core.content.res.ResourcesCompat;
+
+/**
+ * Platform implementation for running on an Android device.
+ */
+public class AndroidPlatform implements Platform {
+    private final Context appContext;
+    private final AndroidFont defaultFont;
+    private final StarRasterizer galaxyRasterizer = new StarRasterizer();
+    // Pixels that galaxies are rendered into before being copied to their
+    // bitmap. Kept between calls, since panels are all the same size.
+    private int[] galaxyPixels = new int[0];
+
+    public AndroidPlatform(Context appContext, Typeface defaultTypeface) {
+        this.appContext = appContext;
+        defaultFont = new AndroidFont(defaultTypeface);
+    }
+
+    @Override
+    public Clock getClock() {
+        return Clock.SYSTEM;
+    }
+
+    @Override
+    public float getDisplayDensity() {
+        DisplayMetrics metrics = appContext.getResources().getDisplayMetrics();
+        return (float) metrics.densityDpi / DisplayMetrics.DENSITY_DEFAULT;
+    }
+
+    @Override
+    public boolean isLowRamDevice() {
+        ActivityManager activityManager =
+                (ActivityManager) appContext.getSystemService(Context.ACTIVITY_SERVICE);
+        return activityManager != null && activityManager.isLowRamDevice();
+    }
+
+    @Override
+    public BitmapHandle decodeBitmap(BitmapID id) {
+        return new AndroidBitmap(
+                BitmapFactory.decodeResource(appContext.getResources(), id.getrId()));
+    }
+
+    @Override
+    public BitmapHandle scaleBitmap(BitmapHandle bitmap, int width, int height) {
+        return new AndroidBitmap(
+                Bitmap.createScaledBitmap(AndroidBitmap.unwrap(bitmap), width, height, true));
+    }
+
+    @Override
+    public BitmapHandle createBitmap(int width, int height) {
+        return new AndroidBitmap(Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888));
+    }
+
+    @Override
+    public void drawScaledBitmap(
+            BitmapHandle target, BitmapHandle bitmap, int left, int top, int width, int height) {
+        Canvas canvas = new Canvas(AndroidBitmap.unwrap(target));
+        // Filtered, the same as `scaleBitmap()`.
+        canvas.drawBitmap(
+                AndroidBitmap.unwrap(bitmap),
+                null,
+                new Rect(left, top, left + width, top + height),
+                new Paint(Paint.FILTER_BITMAP_FLAG)
+        );
+    }
+
+    @Override
+    public synchronized void renderGalaxy(
+            BitmapHandle bitmap, GalaxyDrawOptions options, Random rand) {
+        Bitmap target = AndroidBitmap.unwrap(bitmap);
+        int width = target.getWidth();
+        int height = target.getHeight();
+        if (galaxyPixels.length < width * height) {
+            galaxyPixels = new int[width * height];
+        }
+        galaxyRasterizer.render(galaxyPixels, width, height, options, rand);
+        target.setPixels(galaxyPixels, 0, width, 0, 0, width, height);
+    }
+
+    @Override
+    public FontHandle loadFont(FontId id) {
+        Typeface typeface;
+        try {
+            typeface = ResourcesCompat.getFont(appContext, id.getRId());
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Could not load font " + id.name(), e);
+        }
+        if (typeface == null) {
+            throw new IllegalArgumentException("Could not load font " + id.name());
+        }
+        return new AndroidFont(typeface);
+    }
+
+    @Override
+    public FontHandle getDefaultFont() {
+        return defaultFont;
+    }
+
+    @Override
+    public ByteBuffer mapRawResource(RawResourceId id) throws IOException {
+        Resources resources = appContext.getResources();
+        // Resources can only be mapped straight from the APK if they are
+        // stored uncompressed (see `noCompress` in build.gradle).
+        try (AssetFileDescriptor fd = resources.openRawResourceFd(id.getRId());
+             FileInputStream in = fd.createInputStream()) {
+            return in.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+        } catch (Resources.NotFoundException e) {
+            // Compressed: read it into memory instead.
+        }
+        try (InputStream in = resources.openRawResource(id.getRId())) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int numRead;
+            while ((numRead = in.read(buffer)) != -1) {
+                out.write(buffer, 0, numRead);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    @Override
+    public Dimension2D measureText(String text, int textSize, FontHandle font) {
+        // https://stackoverflow.com/a/26975371
+        Paint paint = new Paint();
+        Rect textBounds = new Rect();
+        paint.setTypeface(AndroidFont.unwrap(font));
+        paint.setTextSize(textSize);
+        paint.getTextBounds(text, 0, text.length(), textBounds);
+        return new Dimension2D(textBounds.width(), textBounds.height());
+    }
+}
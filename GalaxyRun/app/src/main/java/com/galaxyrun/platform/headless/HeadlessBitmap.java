@@ -0,0 +1,25 @@
+package com.galaxyrun.platform.headless;
+
+import com.galaxyrun.platform.BitmapHandle;
+
+/**
+ * BitmapHandle that only has dimensions. There are no pixels.
+ */
+public class HeadlessBitmap implements BitmapHandle {
+    private final int width, height;
+
+    public HeadlessBitmap(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,179 @@
+package com.galaxyrun.platform.headless;
+
+import com.galaxyrun.engine.AnimFactory;
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.background.GalaxyDrawOptions;
+import com.galaxyrun.engine.ui.GameUI;
+import com.galaxyrun.helper.BitmapCache;
+import com.galaxyrun.helper.BitmapID;
+import com.galaxyrun.helper.FontCache;
+import com.galaxyrun.helper.FontId;
+import com.galaxyrun.helper.RawResourceId;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.Clock;
+import com.galaxyrun.platform.FontHandle;
+import com.galaxyrun.platform.Platform;
+import com.galaxyrun.util.Dimension2D;
+import com.galaxyrun.util.Pair;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+ * Platform for running the game on a plain JVM, e.g. in unit tests and benchmarks.
+ * Nothing is ever drawn: bitmaps only have dimensions (those of the real drawables,
+ * so that sprite sizes and hitboxes match the device), and text is measured as if
+ * it were monospace.
+ */
+public class HeadlessPlatform implements Platform {
+    private final ManualClock clock;
+    // Directory to load raw resources from, or null to have none.
+    private final File rawResourceDir;
+
+    // Width of a character relative to the text size, used to measure text.
+    private static final double CHAR_WIDTH_RATIO = 0.6;
+    private static final FontHandle FONT = new FontHandle() { };
+
+    public HeadlessPlatform() {
+        this(null);
+    }
+
+    /*
+    Creates a platform that loads raw resources from `rawResourceDir`, e.g.
+    the app's res/raw directory.
+     */
+    public HeadlessPlatform(File rawResourceDir) {
+        clock = new ManualClock(0);
+        this.rawResourceDir = rawResourceDir;
+    }
+
+    /*
+    Creates a GameContext for a screen of the given size, the same way `GameRunner` does
+    on a device. `seed` seeds the game's random number generator.
+     */
+    public GameContext makeGameContext(int screenWidthPx, int screenHeightPx, long seed) {
+        Pair<Integer, Integer> gameDimensions =
+                GameUI.calcGameDimensions(screenWidthPx, screenHeightPx);
+        BitmapCache bitmapCache =
+                new BitmapCache(this, gameDimensions.first, gameDimensions.second);
+        bitmapCache.loadAtlases();
+        return new GameContext(
+                this,
+                false,
+                bitmapCache,
+                new FontCache(this),
+                new AnimFactory(bitmapCache),
+                seed,
+                gameDimensions.first,
+                gameDimensions.second,
+                screenWidthPx,
+                screenHeightPx
+        );
+    }
+
+    @Override
+    public ManualClock getClock() {
+        return clock;
+    }
+
+    @Override
+    public float getDisplayDensity() {
+        return 1.0f;
+    }
+
+    @Override
+    public boolean isLowRamDevice() {
+        return false;
+    }
+
+    @Override
+    public BitmapHandle decodeBitmap(BitmapID id) {
+        switch (id) {
+            case SPACESHIP:
+            case ALIEN:
+            case ASTEROID:
+            case COIN:
+            case OBSTACLE:
+                return new HeadlessBitmap(173, 173);
+            case SPACESHIP_EXPLODE:
+                return new HeadlessBitmap(1386, 173);
+            case SPACESHIP_SHOOT:
+                return new HeadlessBitmap(519, 173);
+            case SPACESHIP_MOVE:
+                return new HeadlessBitmap(89, 173);
+            case BULLET:
+                return new HeadlessBitmap(30, 12);
+            case BULLET_EXPLODE:
+                return new HeadlessBitmap(300, 50);
+            case ALIEN_BULLET:
+                return new HeadlessBitmap(34, 34);
+            case COIN_SPIN:
+                return new HeadlessBitmap(1040, 173);
+            case PAUSE_BUTTON_PAUSED:
+            case PAUSE_BUTTON_UNPAUSED:
+                return new HeadlessBitmap(50, 50);
+            case MUTE_BUTTON_MUTED:
+                return new HeadlessBitmap(50, 41);
+            case MUTE_BUTTON_UNMUTED:
+                return new HeadlessBitmap(50, 42);
+            case UP_ARROW:
+                return new HeadlessBitmap(32, 100);
+            default:
+                throw new IllegalArgumentException("Unknown BitmapID " + id);
+        }
+    }
+
+    @Override
+    public BitmapHandle scaleBitmap(BitmapHandle bitmap, int width, int height) {
+        return new HeadlessBitmap(width, height);
+    }
+
+    @Override
+    public BitmapHandle createBitmap(int width, int height) {
+        return new HeadlessBitmap(width, height);
+    }
+
+    @Override
+    public void drawScaledBitmap(
+            BitmapHandle target, BitmapHandle bitmap, int left, int top, int width, int height) {
+        // Nothing is drawn.
+    }
+
+    @Override
+    public void renderGalaxy(BitmapHandle bitmap, GalaxyDrawOptions options, Random rand) {
+        // Nothing is drawn.
+    }
+
+    @Override
+    public FontHandle loadFont(FontId id) {
+        return FONT;
+    }
+
+    @Override
+    public FontHandle getDefaultFont() {
+        return FONT;
+    }
+
+    @Override
+    public ByteBuffer mapRawResource(RawResourceId id) throws IOException {
+        if (rawResourceDir == null) {
+            return null;
+        }
+        File file = new File(rawResourceDir, id.getFileName());
+        if (!file.exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @Override
+    public Dimension2D measureText(String text, int textSize, FontHandle font) {
+        return new Dimension2D(text.length() * textSize * CHAR_WIDTH_RATIO, textSize);
+    }
+}
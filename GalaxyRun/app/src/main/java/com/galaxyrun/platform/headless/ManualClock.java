@@ -0,0 +1,27 @@
+package com.galaxyrun.platform.headless;
+
+import com.galaxyrun.platform.Clock;
+
+/**
+ * Clock that only moves when told to. Lets headless runs step the game by exact amounts
+ * of time, independent of how fast the host machine is.
+ */
+public class ManualClock implements Clock {
+    private long currTimeMs;
+
+    public ManualClock(long startTimeMs) {
+        currTimeMs = startTimeMs;
+    }
+
+    public void advance(long ms) {
+        if (ms < 0) {
+            throw new IllegalArgumentException("Cannot move the clock backwards");
+        }
+        currTimeMs += ms;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currTimeMs;
+    }
+}
@@ -0,0 +1,30 @@
+package com.galaxyrun.platform.headless;
+
+import com.galaxyrun.platform.LogSink;
+
+import java.io.PrintStream;
+
+/**
+ * Prints log messages at or above a minimum level to a PrintStream.
+ */
+public class PrintLogSink implements LogSink {
+    private final PrintStream out;
+    private final Level minLevel;
+
+    public PrintLogSink(PrintStream out, Level minLevel) {
+        this.out = out;
+        this.minLevel = minLevel;
+    }
+
+    @Override
+    public void log(Level level, String tag, String msg) {
+        if (isLoggable(level)) {
+            out.println(level.name().charAt(0) + "/" + tag + ": " + msg);
+        }
+    }
+
+    @Override
+    public boolean isLoggable(Level level) {
+        return level.compareTo(minLevel) >= 0;
+    }
+}
@@ -1,18 +1,17 @@
 package com.galaxyrun.sprite;
 
 import com.galaxyrun.engine.AnimID;
+import com.galaxyrun.engine.CollisionLayers;
 import com.galaxyrun.engine.EventID;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapID;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
 import com.galaxyrun.helper.HealthBarAnimation;
 import com.galaxyrun.helper.LoseHealthAnimation;
 import com.galaxyrun.helper.Point2D;
 import com.galaxyrun.engine.audio.SoundID;
 import com.galaxyrun.helper.SpriteAnimation;
-import com.galaxyrun.util.ProtectedQueue;
 
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -78,6 +77,11 @@ public class Alien extends Sprite {
         healthBarAnimation = new HealthBarAnimation(this);
     }
 
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.ALIEN;
+    }
+
     @Override
     public void updateActions(UpdateContext updateContext) {
         if (alienState == AlienState.HOVERING) {
@@ -122,8 +126,7 @@ public class Alien extends Sprite {
         Point2D target_center = s.getHitbox().getCenter();
         double vertInaccuracy = (gameContext.rand.nextBoolean() ? -1 : +1) *
                 gameContext.tileWidthPx * gameContext.rand.nextDouble();
-        updateContext.registerSprite(new AlienBullet(
-                gameContext,
+        updateContext.registerSprite(gameContext.spritePools.obtainAlienBullet(
                 getX(),
                 getY() + getHeight() * 0.5,
                 target_center.getX(),
@@ -195,31 +198,30 @@ public class Alien extends Sprite {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         // Draw alien, unless it is exploding and in the last frame of the explosion animation
         if (!(explodeAnim.isPlaying() && explodeAnim.getFramesLeft() <= 1)) {
-            drawQueue.push(new DrawImage(
+            drawBuffer.drawImage(
                     gameContext.bitmapCache.getBitmap(BitmapID.ALIEN),
                     (int) getX(),
-                    (int) getY())
+                    (int) getY()
             );
         }
         // Draw loseHealthAnimations
         for (LoseHealthAnimation anim : loseHealthAnimations) {
-            anim.getDrawInstructions(drawQueue);
+            anim.getDrawInstructions(drawBuffer);
         }
         // Draw HealthBarAnimation if showing
-        healthBarAnimation.getDrawInstructions(drawQueue);
+        healthBarAnimation.getDrawInstructions(drawBuffer);
 
         // Draw explosion
         if (explodeAnim.isPlaying()) {
-            DrawImage explodeImg = new DrawImage(
+            explodeAnim.drawCurrentFrame(
+                    drawBuffer,
                     gameContext.bitmapCache.getBitmap(explodeAnim.getBitmapID()),
-                    explodeAnim.getCurrentFrameSrc(),
                     (int) getX(),
                     (int) getY()
             );
-            drawQueue.push(explodeImg);
         }
     }
 }
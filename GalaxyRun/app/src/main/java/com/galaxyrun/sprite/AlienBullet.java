@@ -1,12 +1,11 @@
 package com.galaxyrun.sprite;
 
+import com.galaxyrun.engine.CollisionLayers;
 import com.galaxyrun.engine.EventID;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapID;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.util.ProtectedQueue;
 
 /**
  * An AlienBullet is a projectile fired by an Alien at a
@@ -18,7 +17,7 @@ import com.galaxyrun.util.ProtectedQueue;
 public class AlienBullet extends Sprite {
 
     // Angle at which bullet travels
-    private final double travelAngle;
+    private double travelAngle;
 
     public AlienBullet(
             GameContext gameContext,
@@ -29,7 +28,28 @@ public class AlienBullet extends Sprite {
             double scrollSpeedPx
     ) {
         super(gameContext, x, y, gameContext.bitmapCache.getData(BitmapID.ALIEN_BULLET));
+        init(x, y, targetX, targetY, scrollSpeedPx);
+    }
+
+    // Re-initializes a pooled AlienBullet as if it had just been constructed.
+    public void reset(
+            double x,
+            double y,
+            double targetX,
+            double targetY,
+            double scrollSpeedPx
+    ) {
+        resetSprite(x, y, getWidth(), getHeight());
+        init(x, y, targetX, targetY, scrollSpeedPx);
+    }
 
+    private void init(
+            double x,
+            double y,
+            double targetX,
+            double targetY,
+            double scrollSpeedPx
+    ) {
         setHealth(10);
         // SpeedX is fixed TODO: use current scrollspeed
         setSpeedX(-scrollSpeedPx * 0.8);
@@ -45,6 +65,11 @@ public class AlienBullet extends Sprite {
         setSpeedY(-distY / timeToImpactSec);
     }
 
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.ALIEN_BULLET;
+    }
+
     @Override
     public void updateActions(UpdateContext updateContext) {
         if (!isVisibleInBounds()) {
@@ -71,13 +96,12 @@ public class AlienBullet extends Sprite {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
-        DrawImage drawBullet = new DrawImage(
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        drawBuffer.drawImage(
                 gameContext.bitmapCache.getBitmap(BitmapID.ALIEN_BULLET),
                 (int) getX(),
                 (int) getY()
         );
-        drawBullet.setRotation((int) travelAngle);
-        drawQueue.push(drawBullet);
+        drawBuffer.setRotation((int) travelAngle);
     }
 }
@@ -1,15 +1,14 @@
 package com.galaxyrun.sprite;
 
+import com.galaxyrun.engine.CollisionLayers;
 import com.galaxyrun.engine.EventID;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapID;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
 import com.galaxyrun.helper.HealthBarAnimation;
 import com.galaxyrun.helper.LoseHealthAnimation;
-import com.galaxyrun.util.ProtectedQueue;
 
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -62,6 +61,11 @@ public class Asteroid extends Sprite {
         healthBarAnimation = new HealthBarAnimation(this);
     }
 
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.ASTEROID;
+    }
+
     @Override
     public void updateActions(UpdateContext updateContext) {
         if (getX() < -getWidth()) {
@@ -131,19 +135,18 @@ public class Asteroid extends Sprite {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
-        DrawImage drawAsteroid = new DrawImage(
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        drawBuffer.drawImage(
                 gameContext.bitmapCache.getBitmap(BitmapID.ASTEROID),
                 (int) getX(),
                 (int) getY()
         );
-        drawAsteroid.setRotation((int) currentRotation);
-        drawQueue.push(drawAsteroid);
+        drawBuffer.setRotation((int) currentRotation);
 
         for (LoseHealthAnimation anim : loseHealthAnimations) {
-            anim.getDrawInstructions(drawQueue);
+            anim.getDrawInstructions(drawBuffer);
         }
 
-        healthBarAnimation.getDrawInstructions(drawQueue);
+        healthBarAnimation.getDrawInstructions(drawBuffer);
     }
 }
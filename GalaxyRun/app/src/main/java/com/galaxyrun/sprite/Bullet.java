@@ -1,17 +1,16 @@
 package com.galaxyrun.sprite;
 
-import android.util.Log;
-
 import com.galaxyrun.engine.AnimID;
+import com.galaxyrun.engine.CollisionLayers;
 import com.galaxyrun.engine.EventID;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapID;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
 import com.galaxyrun.helper.SpriteAnimation;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.platform.GameLog;
+import com.galaxyrun.platform.LogSink;
 
 /**
  * A bullet fired by a spaceship. Travels at a fixed speed based on the current game difficulty.
@@ -21,6 +20,13 @@ import com.galaxyrun.util.ProtectedQueue;
  */
 public class Bullet extends Sprite {
 
+    // Collision layers that this sprite collides with
+    public static final int COLLIDES_WITH = CollisionLayers.mask(
+            CollisionLayers.OBSTACLE,
+            CollisionLayers.ALIEN,
+            CollisionLayers.ASTEROID
+    );
+
     // Animation to play when the bullet collides with a sprite and explodes.
     private final SpriteAnimation explodeAnim;
     // The image used for the explosion is larger than the image used for the bullet.
@@ -30,7 +36,19 @@ public class Bullet extends Sprite {
 
     public Bullet(GameContext gameContext, double x, double y, double difficulty) {
         super(gameContext, x, y, gameContext.bitmapCache.getData(BitmapID.BULLET));
+        explodeAnim = gameContext.animFactory.get(AnimID.BULLET_EXPLODE);
+        explodeYOffset = -(explodeAnim.getFrameHeight() - getHeight()) / 2;
+        init(difficulty);
+    }
 
+    // Re-initializes a pooled Bullet as if it had just been constructed.
+    public void reset(double x, double y, double difficulty) {
+        resetSprite(x, y, getWidth(), getHeight());
+        explodeAnim.reset();
+        init(difficulty);
+    }
+
+    private void init(double difficulty) {
         setHitboxOffsetX(getWidth() * 0.7);
         setHitboxOffsetY(-getHeight() * 0.2);
         setHitboxWidth(getWidth() * 0.45);
@@ -40,9 +58,11 @@ public class Bullet extends Sprite {
         // the game progresses.
         setHealth(calcDamage(difficulty));
         setSpeedX(calcSpeed(gameContext.gameWidthPx, difficulty));
+    }
 
-        explodeAnim = gameContext.animFactory.get(AnimID.BULLET_EXPLODE);
-        explodeYOffset = -(explodeAnim.getFrameHeight() - getHeight()) / 2;
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.BULLET;
     }
 
     private static int calcDamage(double difficulty) {
@@ -65,7 +85,7 @@ public class Bullet extends Sprite {
         // Terminate if the explosion has finished.
         if (explodeAnim.hasPlayed()) {
             setCurrState(SpriteState.TERMINATED);
-            Log.d("Bullet", "Terminating bullet");
+            GameLog.d("Bullet", "Terminating bullet");
         }
     }
 
@@ -85,38 +105,54 @@ public class Bullet extends Sprite {
     public void handleCollision(Sprite s, int damage, UpdateContext updateContext) {
         // TODO: this canCollide() should not be needed. However, I've noticed issues.
         if (canCollide() && !(s instanceof Spaceship)) {
-            Log.d("Bullet", "Collided with sprite at " + s.getX() + ", " + s.getY());
-            updateContext.createEvent(EventID.BULLET_COLLIDED);
-//            setCurrState(SpriteState.DEAD);
-            setCollidable(false);
-            updateContext.createSound(SoundID.BULLET_DESTROYED);
-
-            // Set speed to match the colliding sprite and start explosion animation.
-            setSpeedX(s.getSpeedX());
-            explodeAnim.start();
+            if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+                GameLog.d("Bullet", "Collided with sprite at " + s.getX() + ", " + s.getY());
+            }
+            // Match the colliding sprite's speed while exploding.
+            explode(s.getSpeedX(), updateContext);
         }
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
+    public void handleObstacleCollision(int numTiles, UpdateContext updateContext) {
+        if (numTiles > 0 && canCollide()) {
+            // Obstacles move with the scroll.
+            explode(-updateContext.scrollSpeedPx, updateContext);
+        }
+    }
+
+    // Stops colliding and starts the explosion animation, moving at `speedX`.
+    private void explode(double speedX, UpdateContext updateContext) {
+        updateContext.createEvent(EventID.BULLET_COLLIDED);
+//        setCurrState(SpriteState.DEAD);
+        setCollidable(false);
+        updateContext.createSound(SoundID.BULLET_DESTROYED);
+        setSpeedX(speedX);
+        explodeAnim.start();
+    }
+
+    @Override
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         if (explodeAnim.isPlaying()) {
-            Log.d("Bullet",
-                    "Playing explodeAnim at x=" + (getX() + getWidth()) + ", y=" + (getY() + explodeYOffset) + ". src.x = " + explodeAnim.getCurrentFrameSrc().left);
-            drawQueue.push(new DrawImage(
+            if (GameLog.isLoggable(LogSink.Level.DEBUG)) {
+                GameLog.d("Bullet",
+                        "Playing explodeAnim at x=" + (getX() + getWidth()) + ", y=" + (getY() + explodeYOffset) + ". src.x = " + explodeAnim.getCurrentFrameSrc().left);
+            }
+            explodeAnim.drawCurrentFrame(
+                    drawBuffer,
                     gameContext.bitmapCache.getBitmap(explodeAnim.getBitmapID()),
-                    explodeAnim.getCurrentFrameSrc(),
                     (int) getX() + getWidth(),
                     (int) (getY() + explodeYOffset)
-            ));
+            );
         } else {
             if (explodeAnim.hasPlayed()) {
-                Log.e("Bullet", "Drawing bullet after explodeAnim.hasPlayed()");
+                GameLog.e("Bullet", "Drawing bullet after explodeAnim.hasPlayed()");
             }
-            drawQueue.push(new DrawImage(
+            drawBuffer.drawImage(
                     gameContext.bitmapCache.getBitmap(BitmapID.BULLET),
                     (int) getX(),
                     (int) getY()
-            ));
+            );
         }
     }
 }
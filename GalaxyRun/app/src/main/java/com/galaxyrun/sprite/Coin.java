@@ -1,33 +1,46 @@
 package com.galaxyrun.sprite;
 
 import com.galaxyrun.engine.AnimID;
+import com.galaxyrun.engine.CollisionLayers;
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapID;
 import com.galaxyrun.helper.SpriteAnimation;
-import com.galaxyrun.util.ProtectedQueue;
 
 /**
  * Created by Stefan on 8/28/2015.
  */
 public class Coin extends Sprite {
 
-    private SpriteAnimation spin;
+    private final SpriteAnimation spin;
 
     public Coin(GameContext gameContext, double x, double y) {
         super(gameContext, x, y, gameContext.bitmapCache.getData(BitmapID.COIN));
+        spin = gameContext.animFactory.get(AnimID.COIN_SPIN);
+        init();
+    }
 
+    // Re-initializes a pooled Coin as if it had just been constructed.
+    public void reset(double x, double y) {
+        resetSprite(x, y, getWidth(), getHeight());
+        spin.reset();
+        init();
+    }
+
+    private void init() {
         setHitboxOffsetX(getWidth() * 0.15);
         setHitboxOffsetY(getHeight() * 0.1);
         setHitboxWidth(getWidth() * 0.7);
         setHitboxHeight(getHeight() * 0.8);
-
-        spin = gameContext.animFactory.get(AnimID.COIN_SPIN);
         spin.start();
     }
 
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.COIN;
+    }
+
     @Override
     public void updateActions(UpdateContext updateContext) {
         if (getX() < -getWidth()) {
@@ -54,13 +67,12 @@ public class Coin extends Sprite {
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
-        DrawImage img = new DrawImage(
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        spin.drawCurrentFrame(
+                drawBuffer,
                 gameContext.bitmapCache.getBitmap(spin.getBitmapID()),
-                spin.getCurrentFrameSrc(),
                 (int) getX(),
                 (int) getY()
         );
-        drawQueue.push(img);
     }
 }
@@ -1,6 +1,8 @@
 package com.galaxyrun.sprite;
 
 import com.galaxyrun.engine.AnimID;
+import com.galaxyrun.engine.CollisionLayers;
+import com.galaxyrun.engine.ContactDamage;
 import com.galaxyrun.engine.EventID;
 import com.galaxyrun.engine.GameConstants;
 import com.galaxyrun.engine.GameContext;
@@ -8,24 +10,37 @@ import com.galaxyrun.engine.GameEngine;
 import com.galaxyrun.engine.UpdateContext;
 import com.galaxyrun.engine.controller.ControlDirection;
 import com.galaxyrun.engine.controller.ControlState;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.engine.map.TileLayer;
 import com.galaxyrun.helper.ColorMatrixAnimator;
 import com.galaxyrun.helper.BitmapID;
-import com.galaxyrun.engine.draw.DrawImage;
-import com.galaxyrun.engine.draw.DrawInstruction;
 import com.galaxyrun.engine.audio.SoundID;
 import com.galaxyrun.helper.SpriteAnimation;
-import com.galaxyrun.util.ProtectedQueue;
 
 /**
  * Created by Stefan on 8/13/2015.
  */
 public class Spaceship extends Sprite {
 
+    // Collision layers that this sprite collides with
+    public static final int COLLIDES_WITH = CollisionLayers.mask(
+            CollisionLayers.OBSTACLE,
+            CollisionLayers.COIN,
+            CollisionLayers.ALIEN,
+            CollisionLayers.ALIEN_BULLET,
+            CollisionLayers.ASTEROID
+    );
+
     // SpriteAnimations used
     private SpriteAnimation moveAnim;
     private SpriteAnimation explodeAnim;
     private SpriteAnimation shootAnim;
 
+    // Damage from staying in contact with obstacles, at a rate that doesn't
+    // depend on the tick length.
+    private final ContactDamage obstacleDamage =
+            new ContactDamage(TileLayer.OBSTACLE_DAMAGE, TileLayer.OBSTACLE_HITS_PER_SEC);
+
     // used to create the spaceship flash animation when hit
     private ColorMatrixAnimator colorMatrixAnimator = new ColorMatrixAnimator(90, 120, 60);
 
@@ -58,6 +73,11 @@ public class Spaceship extends Sprite {
         moveAnim.start();
     }
 
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.SPACESHIP;
+    }
+
     @Override
     public void updateActions(UpdateContext updateContext) {
         // fires cannons if in correct FireMode, has waited long enough, and is still alive
@@ -91,14 +111,12 @@ public class Spaceship extends Sprite {
     // the cannons can be fired before calling this method. This method does not
     // check for validity.
     private void fireCannons(UpdateContext updateContext) {
-        updateContext.registerSprite(new Bullet(
-                gameContext,
+        updateContext.registerSprite(gameContext.spritePools.obtainBullet(
                 getX() + getWidth() * 0.78f,
                 getY() + 0.28f * getHeight(),
                 updateContext.difficulty
         ));
-        updateContext.registerSprite(new Bullet(
-                gameContext,
+        updateContext.registerSprite(gameContext.spritePools.obtainBullet(
                 getX() + getWidth() * 0.78f,
                 getY() + 0.66f * getHeight(),
                 updateContext.difficulty
@@ -176,65 +194,75 @@ public class Spaceship extends Sprite {
                 updateContext.createSound(SoundID.PLAYER_COLLECT_COIN);
             }
 
-            if (getState() == SpriteState.ALIVE && damage > 0 && getHealth() > 0) {
-                // Took damage but still alive
-                updateContext.createEvent(EventID.SPACESHIP_DAMAGED);
-                updateContext.createSound(SoundID.PLAYER_TAKE_DAMAGE);
-                colorMatrixAnimator.flash();
-            }
-            else if (getState() == SpriteState.ALIVE && getHealth() == 0) {
-                // The damage just killed us
-                updateContext.createEvent(EventID.SPACESHIP_KILLED);
-                updateContext.createSound(EXPLODE_SOUND);
-                explodeAnim.start();
-                setCurrState(SpriteState.DEAD);
-            }
+            reactToDamage(damage, updateContext);
+        }
+    }
+
+    @Override
+    public void handleObstacleCollision(int numTiles, UpdateContext updateContext) {
+        int damage = obstacleDamage.update(numTiles, updateContext.gameTime.msSincePrevUpdate);
+        if (damage > 0) {
+            takeDamage(damage);
+            reactToDamage(damage, updateContext);
+        }
+    }
+
+    // Flashes if `damage` hurt the spaceship, or explodes if it killed it.
+    private void reactToDamage(int damage, UpdateContext updateContext) {
+        if (getState() == SpriteState.ALIVE && damage > 0 && getHealth() > 0) {
+            // Took damage but still alive
+            updateContext.createEvent(EventID.SPACESHIP_DAMAGED);
+            updateContext.createSound(SoundID.PLAYER_TAKE_DAMAGE);
+            colorMatrixAnimator.flash();
+        }
+        else if (getState() == SpriteState.ALIVE && getHealth() == 0) {
+            // The damage just killed us
+            updateContext.createEvent(EventID.SPACESHIP_KILLED);
+            updateContext.createSound(EXPLODE_SOUND);
+            explodeAnim.start();
+            setCurrState(SpriteState.DEAD);
         }
     }
 
     @Override
-    public void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue) {
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
         if (!explodeAnim.hasPlayed()) {
             // Draw the Spaceship
-            DrawImage drawShip = new DrawImage(
+            drawBuffer.drawImage(
                     gameContext.bitmapCache.getBitmap(BitmapID.SPACESHIP),
                     (int) getX(),
                     (int) getY()
             );
-            drawShip.setColorMatrix(colorMatrixAnimator.getMatrix());
-            drawQueue.push(drawShip);
+            drawBuffer.setColorMatrix(colorMatrixAnimator.getMatrix());
 
             // Draw the moving animation
-            DrawImage drawExhaust = new DrawImage(
+            moveAnim.drawCurrentFrame(
+                    drawBuffer,
                     gameContext.bitmapCache.getBitmap(moveAnim.getBitmapID()),
-                    moveAnim.getCurrentFrameSrc(),
                     (int) getX(),
                     (int) getY()
             );
-            drawExhaust.setColorMatrix(colorMatrixAnimator.getMatrix());
-            drawQueue.push(drawExhaust);
+            drawBuffer.setColorMatrix(colorMatrixAnimator.getMatrix());
 
             // Draw the shooting animation
             if (shootAnim.isPlaying()) {
-                DrawImage drawShooting = new DrawImage(
+                shootAnim.drawCurrentFrame(
+                        drawBuffer,
                         gameContext.bitmapCache.getBitmap(shootAnim.getBitmapID()),
-                        shootAnim.getCurrentFrameSrc(),
                         (int) getX(),
                         (int) getY()
                 );
-                drawShooting.setColorMatrix(colorMatrixAnimator.getMatrix());
-                drawQueue.push(drawShooting);
+                drawBuffer.setColorMatrix(colorMatrixAnimator.getMatrix());
             }
 
             // Draw the explosion animation if it is playing
             if (explodeAnim.isPlaying()) {
-                DrawImage drawExplosion = new DrawImage(
+                explodeAnim.drawCurrentFrame(
+                        drawBuffer,
                         gameContext.bitmapCache.getBitmap(explodeAnim.getBitmapID()),
-                        explodeAnim.getCurrentFrameSrc(),
                         (int) getX(),
                         (int) getY()
                 );
-                drawQueue.push(drawExplosion);
             }
         }
     }
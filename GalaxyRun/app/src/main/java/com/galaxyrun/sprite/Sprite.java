@@ -2,15 +2,12 @@ package com.galaxyrun.sprite;
 
 ;
 
-import android.graphics.Color;
-
 import com.galaxyrun.engine.GameContext;
 import com.galaxyrun.engine.UpdateContext;
-import com.galaxyrun.engine.draw.DrawRect;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
 import com.galaxyrun.helper.BitmapData;
-import com.galaxyrun.engine.draw.DrawInstruction;
 import com.galaxyrun.helper.Rectangle;
-import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.util.ColorUtil;
 
 /**
  * Base class for all Sprite implementations.
@@ -20,6 +17,9 @@ public abstract class Sprite {
     protected GameContext gameContext;
     // Coordinates of sprite, top-left
     private double x, y;
+    // Coordinates at the start of the current tick. Used to interpolate
+    // drawing between ticks.
+    private double prevX, prevY;
     // Dimensions specifying bounds of Sprite's image
     private int width, height;
     // Intended speed-per-second in x- and y- (pixels)
@@ -44,12 +44,8 @@ public abstract class Sprite {
             int height
     ) {
         this.gameContext = gameContext;
-        this.x = x;
-        this.y = y;
-        this.width = width;
-        this.height = height;
         hitbox = new Rectangle(x, y, width, height);
-        setCurrState(SpriteState.ALIVE);
+        resetSprite(x, y, width, height);
     }
 
     public Sprite(
@@ -61,12 +57,31 @@ public abstract class Sprite {
         this(gameContext, x, y, bitmapData.getWidth(), bitmapData.getHeight());
     }
 
+    /*
+    Puts the sprite back into the state it had when constructed, at the
+    given position and size. Used by subclasses to re-initialize pooled
+    sprites (see SpritePools).
+     */
+    protected final void resetSprite(double x, double y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+        this.width = width;
+        this.height = height;
+        speedX = 0;
+        speedY = 0;
+        health = 0;
+        canCollide = true;
+        hitboxOffsetX = 0;
+        hitboxOffsetY = 0;
+        hitbox.reset(x, y, width, height);
+        setCurrState(SpriteState.ALIVE);
+    }
+
     /* Begin core abstract methods */
-    // NOTE: TODO: CURRENTLY WE ARE JUST USING THE SPRITETYPE AS COLLISION LAYER
-    // TODO: update
-//    public int getCollisionLayer() {
-//        return 0; //spriteType.ordinal();
-//    }
+    // The collision layer this sprite is in. One of `CollisionLayers`.
+    public abstract int getCollisionLayer();
 
     // Update/handle any actions sprite takes
     public abstract void updateActions(UpdateContext updateContext);
@@ -86,12 +101,47 @@ public abstract class Sprite {
     );
 
     /*
-    Sprite should push its DrawInstructions onto the provided queue.
-    Draw calls are executed in the order of addition to the queue (FIFO).
+    Handles contact with `numTiles` obstacle tiles in the Map's TileLayer
+    during the tick. Called every tick, with 0 when there is no contact, for
+    sprites whose collision layer collides with `CollisionLayers.OBSTACLE`.
+    Does nothing by default.
      */
-    public abstract void getDrawInstructions(ProtectedQueue<DrawInstruction> drawQueue);
+    public void handleObstacleCollision(int numTiles, UpdateContext updateContext) {
+    }
+
+    /*
+    Sprite should record its draw calls into the provided buffer.
+    Draw calls are executed in the order they are recorded (FIFO).
+     */
+    public abstract void getDrawInstructions(DrawCommandBuffer drawBuffer);
 
     /* Begin utility methods */
+    // Remembers the current position as the start of this tick. Called by
+    // the GameEngine before updating the sprite.
+    public void savePrevPosition() {
+        prevX = x;
+        prevY = y;
+    }
+
+    /*
+    Gets the sprite's DrawInstructions with the sprite drawn `interpolation`
+    (0 to 1) of the way from its position at the start of the tick to its
+    current position. The position is only changed while the instructions
+    are collected, so this must be called on the update thread.
+     */
+    public final void getDrawInstructions(
+            DrawCommandBuffer drawBuffer,
+            double interpolation
+    ) {
+        double currX = x;
+        double currY = y;
+        setX(prevX + (currX - prevX) * interpolation);
+        setY(prevY + (currY - prevY) * interpolation);
+        getDrawInstructions(drawBuffer);
+        setX(currX);
+        setY(currY);
+    }
+
     // Moves the sprite based on current speeds and the number of
     // milliseconds since the previous update.
     public void move(UpdateContext updateContext) {
@@ -134,8 +184,8 @@ public abstract class Sprite {
     /*
     Utility method: draw red rectangle where sprite's hitbox is.
      */
-    public DrawInstruction drawHitbox() {
-        return DrawRect.outline(hitbox.toRect(), Color.RED, 3);
+    public void drawHitbox(DrawCommandBuffer drawBuffer) {
+        drawBuffer.strokeRect(hitbox.toRect(), ColorUtil.RED, 3);
     }
 
     /* Begin getters and setters */
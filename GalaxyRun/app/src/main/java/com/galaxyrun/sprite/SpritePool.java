@@ -0,0 +1,76 @@
+package com.galaxyrun.sprite;
+
+import java.util.ArrayList;
+
+/**
+ * Holds terminated sprites of one type so that they can be reused.
+ * Also keeps statistics about how well the pool is working.
+ */
+public class SpritePool<T extends Sprite> {
+    // Free sprites, ready to be reset and reused
+    private final ArrayList<T> free;
+    // Most free sprites to hold on to. Sprites recycled beyond this are dropped.
+    private final int capacity;
+    // Number of times a free sprite was available
+    private int numHits;
+    // Number of times a new sprite had to be created
+    private int numMisses;
+    // Number of sprites that have been obtained and not yet recycled
+    private int numInUse;
+    // Highest `numInUse` has been
+    private int highWaterMark;
+
+    public SpritePool(int capacity) {
+        this.capacity = capacity;
+        free = new ArrayList<>(capacity);
+    }
+
+    /*
+    Returns a free sprite, which must be reset before use, or null if there
+    are none. In that case the caller should create a new sprite.
+     */
+    public T obtain() {
+        numInUse++;
+        highWaterMark = Math.max(highWaterMark, numInUse);
+        if (free.isEmpty()) {
+            numMisses++;
+            return null;
+        }
+        numHits++;
+        return free.remove(free.size() - 1);
+    }
+
+    // Gives back a sprite that is no longer used by the game.
+    public void recycle(T sprite) {
+        numInUse = Math.max(numInUse - 1, 0);
+        if (free.size() < capacity) {
+            free.add(sprite);
+        }
+    }
+
+    public int getNumHits() {
+        return numHits;
+    }
+
+    public int getNumMisses() {
+        return numMisses;
+    }
+
+    public int getNumInUse() {
+        return numInUse;
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public int getNumFree() {
+        return free.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d inUse=%d highWater=%d free=%d",
+                numHits, numMisses, numInUse, highWaterMark, free.size());
+    }
+}
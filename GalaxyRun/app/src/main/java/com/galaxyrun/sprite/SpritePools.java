@@ -0,0 +1,77 @@
+package com.galaxyrun.sprite;
+
+import com.galaxyrun.engine.GameContext;
+
+/**
+ * Pools of the sprites that are created and terminated most often.
+ * Creating sprites through these methods reuses terminated sprites instead
+ * of allocating new ones. The GameEngine gives sprites back via `recycle()`
+ * once they are terminated.
+ */
+public class SpritePools {
+    // Most free sprites each pool holds on to
+    private static final int POOL_CAPACITY = 128;
+
+    private final GameContext gameContext;
+    public final SpritePool<Bullet> bullets = new SpritePool<>(POOL_CAPACITY);
+    public final SpritePool<AlienBullet> alienBullets = new SpritePool<>(POOL_CAPACITY);
+    public final SpritePool<Coin> coins = new SpritePool<>(POOL_CAPACITY);
+
+    public SpritePools(GameContext gameContext) {
+        this.gameContext = gameContext;
+    }
+
+    public Bullet obtainBullet(double x, double y, double difficulty) {
+        Bullet bullet = bullets.obtain();
+        if (bullet == null) {
+            return new Bullet(gameContext, x, y, difficulty);
+        }
+        bullet.reset(x, y, difficulty);
+        return bullet;
+    }
+
+    public AlienBullet obtainAlienBullet(
+            double x,
+            double y,
+            double targetX,
+            double targetY,
+            double scrollSpeedPx
+    ) {
+        AlienBullet alienBullet = alienBullets.obtain();
+        if (alienBullet == null) {
+            return new AlienBullet(gameContext, x, y, targetX, targetY, scrollSpeedPx);
+        }
+        alienBullet.reset(x, y, targetX, targetY, scrollSpeedPx);
+        return alienBullet;
+    }
+
+    public Coin obtainCoin(double x, double y) {
+        Coin coin = coins.obtain();
+        if (coin == null) {
+            return new Coin(gameContext, x, y);
+        }
+        coin.reset(x, y);
+        return coin;
+    }
+
+    /*
+    Gives back a sprite that is no longer in the game. Sprites of types
+    that aren't pooled are ignored.
+     */
+    public void recycle(Sprite sprite) {
+        if (sprite instanceof Bullet) {
+            bullets.recycle((Bullet) sprite);
+        } else if (sprite instanceof AlienBullet) {
+            alienBullets.recycle((AlienBullet) sprite);
+        } else if (sprite instanceof Coin) {
+            coins.recycle((Coin) sprite);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Bullet: " + bullets
+                + "\nAlienBullet: " + alienBullets
+                + "\nCoin: " + coins;
+    }
+}
@@ -1,64 +1,64 @@
 package com.galaxyrun.stats;
 
 import com.galaxyrun.engine.GameTime;
+import com.galaxyrun.platform.Clock;
 
 /**
  * Keeps track of time elapsed. Meant to track in-game time.
+ * In-game time advances by a fixed amount each tick, regardless of how
+ * much real time has passed.
  */
 
 public class GameTimer {
 
+    // Source of the current time
+    private final Clock clock;
+    // Length of each tick
+    private final long msPerTick;
     // Whether the timer has been started
     private boolean isStarted;
-    // Timestamp of the most recent call to `recordUpdate()`
-    private long lastUpdateMs;
     // Whether the timer is currently paused
     private boolean isPaused;
     // Total number of milliseconds tracked
     public long msTracked;
+    // Returned by `recordTick()`. Updated in place rather than reallocated.
+    private final GameTime gameTime = new GameTime(0, 0, 0);
 
-    public GameTimer() {
-
+    public GameTimer(Clock clock, long msPerTick) {
+        this.clock = clock;
+        this.msPerTick = msPerTick;
     }
 
     public void start() {
         isStarted = true;
-        lastUpdateMs = System.currentTimeMillis();
     }
 
     public void pause() {
         if (!isStarted) {
             throw new IllegalStateException("Timer hasn't been started");
         }
-        if (!isPaused) {
-            // Add time since the previous update
-            msTracked += System.currentTimeMillis() - lastUpdateMs;
-            isPaused = true;
-        }
+        isPaused = true;
     }
 
     public void resume() {
         if (!isStarted) {
             throw new IllegalStateException("Timer hasn't been started");
         }
-        if (isPaused) {
-            lastUpdateMs = System.currentTimeMillis();
-            isPaused = false;
-        }
+        isPaused = false;
     }
 
-    public GameTime recordUpdate() {
-        long currTime = System.currentTimeMillis();
-        if (!isStarted) {
-            return new GameTime(currTime, 0, 0);
-        }
-        if (isPaused) {
-            return new GameTime(currTime, 0, msTracked);
+    /*
+    Advances the timer by one tick. Note that the same GameTime instance is
+    returned every time.
+     */
+    public GameTime recordTick() {
+        long currTime = clock.currentTimeMillis();
+        if (!isStarted || isPaused) {
+            gameTime.set(currTime, 0, msTracked);
         } else {
-            long msThisUpdate = currTime - lastUpdateMs;
-            lastUpdateMs = currTime;
-            msTracked += msThisUpdate;
-            return new GameTime(currTime, msThisUpdate, msTracked);
+            msTracked += msPerTick;
+            gameTime.set(currTime, msPerTick, msTracked);
         }
+        return gameTime;
     }
 }
@@ -0,0 +1,43 @@
+package com.galaxyrun.util;
+
+import androidx.annotation.ColorInt;
+
+/**
+ * Helpers for packed ARGB color ints. Same format and results as `android.graphics.Color`,
+ * but usable off-device.
+ */
+public class ColorUtil {
+    @ColorInt public static final int TRANSPARENT = 0x00000000;
+    @ColorInt public static final int BLACK = 0xFF000000;
+    @ColorInt public static final int GRAY = 0xFF888888;
+    @ColorInt public static final int WHITE = 0xFFFFFFFF;
+    @ColorInt public static final int RED = 0xFFFF0000;
+    @ColorInt public static final int GREEN = 0xFF00FF00;
+    @ColorInt public static final int YELLOW = 0xFFFFFF00;
+
+    @ColorInt
+    public static int argb(int alpha, int red, int green, int blue) {
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    @ColorInt
+    public static int rgb(int red, int green, int blue) {
+        return argb(0xFF, red, green, blue);
+    }
+
+    public static int alpha(@ColorInt int color) {
+        return color >>> 24;
+    }
+
+    public static int red(@ColorInt int color) {
+        return (color >> 16) & 0xFF;
+    }
+
+    public static int green(@ColorInt int color) {
+        return (color >> 8) & 0xFF;
+    }
+
+    public static int blue(@ColorInt int color) {
+        return color & 0xFF;
+    }
+}
@@ -58,7 +58,8 @@ public class FastQueue<T> implements ProtectedQueue<T>, Iterable<T> {
 //        }
 //    }
 
-    protected T get(int index) throws IndexOutOfBoundsException {
+    // Index-based access, for iterating without allocating an Iterator.
+    public T get(int index) throws IndexOutOfBoundsException {
         if (index < getSize()) {
             return elements.get(index);
         } else {
@@ -66,6 +67,10 @@ public class FastQueue<T> implements ProtectedQueue<T>, Iterable<T> {
         }
     }
 
+    /*
+    Empties the queue. Note that references to the old elements are kept
+    until they are overwritten.
+     */
     public void clear() {
         insertIndex = 0;
     }
@@ -0,0 +1,168 @@
+package com.galaxyrun.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands frames from one producer thread to one consumer thread using three
+ * buffers. The latest frame wins: if the producer publishes again before
+ * the consumer has taken the previous frame, the previous frame is dropped
+ * and its buffer is recycled.
+ *
+ * At any time the producer owns the "back" buffer (the one it is filling),
+ * the consumer owns the "front" buffer (the one it is drawing), and the
+ * third buffer holds the most recently published frame. Publishing and
+ * taking a frame atomically swap a buffer with that third one, so neither
+ * side ever waits for the other to finish with a buffer.
+ *
+ * For example, on the producer thread:
+ *
+ * FrameBuffer back = mailbox.getBackBuffer();
+ * // ... fill `back` ...
+ * mailbox.publish();
+ *
+ * And on the consumer thread:
+ *
+ * FrameBuffer front = mailbox.awaitFrame();
+ * if (front != null) {
+ *     // ... draw `front` ...
+ * }
+ */
+public class FrameMailbox<T> {
+    // `state` stores the index of the third ("middle") buffer in its low
+    // bits, plus FRESH if that buffer holds a frame the consumer hasn't
+    // taken yet.
+    private static final int INDEX_MASK = 0b011;
+    private static final int FRESH = 0b100;
+
+    private final Object[] buffers;
+    private final AtomicInteger state;
+    // Only accessed by the producer.
+    private int backIndex;
+    // Only accessed by the consumer.
+    private int frontIndex;
+    // Consumer thread parked in `awaitFrame()`, if any.
+    private volatile Thread waitingConsumer;
+    // Set by `wakeConsumer()` so that a consumer about to park doesn't miss
+    // the wakeup.
+    private volatile boolean isWakeRequested;
+
+    // Counters. Each is only written by one thread.
+    private volatile long numPublished;
+    private volatile long numDropped;
+    private volatile long numTaken;
+    private volatile long consumerWaitNs;
+
+    // All three buffers must be distinct.
+    public FrameMailbox(T back, T middle, T front) {
+        if (back == middle || middle == front || back == front) {
+            throw new IllegalArgumentException("Buffers must be distinct");
+        }
+        buffers = new Object[] {back, middle, front};
+        backIndex = 0;
+        state = new AtomicInteger(1);
+        frontIndex = 2;
+    }
+
+    /*
+    Returns the buffer the producer should fill for the next frame. It stays
+    the same until `publish()` is called. It still contains whatever frame was
+    last recorded into it, so it should be cleared first. Producer only.
+     */
+    @SuppressWarnings("unchecked")
+    public T getBackBuffer() {
+        return (T) buffers[backIndex];
+    }
+
+    /*
+    Publishes the back buffer as the newest frame and wakes the consumer.
+    If the previously published frame was never taken, it is dropped.
+    Producer only.
+     */
+    public void publish() {
+        int prevState = state.getAndSet(backIndex | FRESH);
+        backIndex = prevState & INDEX_MASK;
+        numPublished++;
+        if ((prevState & FRESH) != 0) {
+            numDropped++;
+        }
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /*
+    Returns the newest published frame without blocking, or null if no frame
+    has been published since the last one was taken. The returned buffer
+    belongs to the consumer until the next call. Consumer only.
+     */
+    @SuppressWarnings("unchecked")
+    public T pollFrame() {
+        if ((state.get() & FRESH) == 0) {
+            return null;
+        }
+        // Only the consumer clears FRESH, so the middle buffer is still fresh
+        // here, even if the producer has published again in the meantime.
+        int prevState = state.getAndSet(frontIndex);
+        frontIndex = prevState & INDEX_MASK;
+        numTaken++;
+        return (T) buffers[frontIndex];
+    }
+
+    /*
+    Like `pollFrame()`, but blocks until a frame is published if there isn't
+    one already. May return null if the thread is woken for another reason,
+    e.g. by `wakeConsumer()`, so callers should check and loop. Consumer only.
+     */
+    public T awaitFrame() {
+        T frame = pollFrame();
+        if (frame != null) {
+            return frame;
+        }
+        long startNs = System.nanoTime();
+        waitingConsumer = Thread.currentThread();
+        // Check again now that other threads can see us, in case a frame was
+        // published or a wakeup requested in between.
+        if ((state.get() & FRESH) == 0 && !isWakeRequested) {
+            LockSupport.park(this);
+        }
+        waitingConsumer = null;
+        isWakeRequested = false;
+        consumerWaitNs += System.nanoTime() - startNs;
+        return pollFrame();
+    }
+
+    /*
+    Wakes the consumer if it is blocked in `awaitFrame()`. Used to stop the
+    consumer thread.
+     */
+    public void wakeConsumer() {
+        isWakeRequested = true;
+        Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    // Number of frames published.
+    public long getNumPublished() {
+        return numPublished;
+    }
+
+    // Number of published frames that were replaced by a newer frame
+    // before the consumer took them.
+    public long getNumDropped() {
+        return numDropped;
+    }
+
+    // Number of frames taken by the consumer.
+    public long getNumTaken() {
+        return numTaken;
+    }
+
+    // Total time the consumer has spent blocked in `awaitFrame()`.
+    public long getConsumerWaitNs() {
+        return consumerWaitNs;
+    }
+}
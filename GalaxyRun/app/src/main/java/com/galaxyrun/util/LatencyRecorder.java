@@ -0,0 +1,69 @@
+package com.galaxyrun.util;
+
+import java.util.Arrays;
+
+/**
+ * Records durations and reports percentiles over the most recent samples.
+ * Thread-safe: samples may be recorded on one thread and read on another.
+ *
+ * For example:
+ *
+ * LatencyRecorder recorder = new LatencyRecorder(100);
+ * long startNs = System.nanoTime();
+ * doWork();
+ * recorder.record(System.nanoTime() - startNs);
+ * long p99Ns = recorder.getPercentile(0.99);
+ */
+public class LatencyRecorder {
+    // The most recent samples, as a ring.
+    private final long[] samples;
+    // Index that the next sample will be written to.
+    private int nextIndex;
+    // Total number of samples recorded, including those overwritten.
+    private long numRecorded;
+    // Largest sample ever recorded.
+    private long max;
+
+    // Keeps the most recent `windowSize` samples. `windowSize` must be
+    // greater than zero.
+    public LatencyRecorder(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be greater than 0; was " + windowSize);
+        }
+        samples = new long[windowSize];
+    }
+
+    public synchronized void record(long durationNs) {
+        samples[nextIndex] = durationNs;
+        nextIndex = (nextIndex + 1) % samples.length;
+        numRecorded++;
+        max = Math.max(max, durationNs);
+    }
+
+    public synchronized long getNumRecorded() {
+        return numRecorded;
+    }
+
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /*
+    Returns the sample at `percentile` (between 0 and 1) of the recent
+    samples, using the nearest-rank method. Returns 0 if nothing has been
+    recorded.
+     */
+    public synchronized long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1; was " + percentile);
+        }
+        int numSamples = (int) Math.min(numRecorded, samples.length);
+        if (numSamples == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, numSamples);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * numSamples);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+}
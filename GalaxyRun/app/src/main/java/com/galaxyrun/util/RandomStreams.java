@@ -0,0 +1,76 @@
+package com.galaxyrun.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Independent, reproducible random seeds derived from one master seed.
+ *
+ * Each `Stream` is a subsystem that gets its own seed, so that one
+ * subsystem's use of randomness doesn't change what another subsystem sees.
+ * A stream can be divided further by index with `getSeed(stream, index)`,
+ * for example to give every chunk of the map its own seed. Derived seeds
+ * only depend on the master seed and where they are derived from, never on
+ * the order they are asked for, so the same master seed always gives the
+ * same game.
+ *
+ * Seeds are derived with SplittableRandom, whose output is a strong mix of
+ * its seed: nearby seeds and indices give unrelated results.
+ */
+public class RandomStreams {
+    // Subsystems that get their own stream.
+    public enum Stream {
+        // Map generation.
+        MAP,
+        // Randomness in sprite behavior, e.g. how aliens hover.
+        SPRITES,
+        // Background panels.
+        BACKGROUND,
+    }
+
+    // SplittableRandom's seed increment. Spreads out indices before mixing.
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private final long seed;
+    // Seed of each stream, indexed by Stream ordinal.
+    private final long[] streamSeeds;
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+        Stream[] streams = Stream.values();
+        streamSeeds = new long[streams.length];
+        SplittableRandom master = new SplittableRandom(seed);
+        for (int i = 0; i < streams.length; i++) {
+            streamSeeds[i] = master.split().nextLong();
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    // Returns the seed for all of `stream`.
+    public long getSeed(Stream stream) {
+        return streamSeeds[stream.ordinal()];
+    }
+
+    // Returns the seed for the `index`-th part of `stream`.
+    public long getSeed(Stream stream, long index) {
+        return deriveSeed(getSeed(stream), index);
+    }
+
+    /*
+    Returns the streams for the `index`-th run of whatever these streams are
+    for, e.g. the `index`-th game of a session.
+     */
+    public RandomStreams split(long index) {
+        return new RandomStreams(deriveSeed(seed, index));
+    }
+
+    /*
+    Returns the seed for the `index`-th substream of `seed`. Different
+    indices give independent seeds.
+     */
+    public static long deriveSeed(long seed, long index) {
+        return new SplittableRandom(seed + index * GOLDEN_GAMMA).nextLong();
+    }
+}
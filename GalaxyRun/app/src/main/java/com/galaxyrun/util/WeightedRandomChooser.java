@@ -1,41 +1,115 @@
 package com.galaxyrun.util;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random;
 
-/*
-Very simple implementation of a random-item chooser that uses weights.
-Positive weights only!
-
-Inspired by https://stackoverflow.com/a/6409767
+/**
+ * Chooses items at random, each with a probability proportional to its
+ * weight. Weights must not be negative, and at least one must be positive.
+ *
+ * Uses Vose's alias method: the weights are turned into two tables when
+ * the chooser is created, after which `choose()` takes constant time
+ * whatever the number of items. Each of the `n` slots of the table holds
+ * its own item with probability `prob[i]`, and otherwise its alias.
+ * Choosing picks a slot uniformly, then picks between the slot's item and
+ * its alias.
+ *
+ * Immutable, so one chooser can be shared between threads, with each
+ * thread passing its own Random to `choose()`.
  */
 public class WeightedRandomChooser<T> {
-    private final Random rand;
-    private double totalWeight;
-    private List<Pair<T, Double>> items = new ArrayList<>();
-
-    public WeightedRandomChooser(Random r) {
-        rand = r;
-    }
+    private final T[] items;
+    // Probability of choosing slot i's own item rather than its alias.
+    private final double[] prob;
+    // Index of the item to choose from slot i otherwise.
+    private final int[] alias;
 
-    public void addItem(T item, double weight) {
-        if (weight < 0) {
-            throw new IllegalArgumentException("Weight cannot be negative");
+    public WeightedRandomChooser(T[] items, double[] weights) {
+        if (items.length != weights.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Got %d items but %d weights", items.length, weights.length));
         }
-        items.add(new Pair<>(item, weight));
-        totalWeight += weight;
-    }
+        if (items.length == 0) {
+            throw new IllegalArgumentException("Need at least one item");
+        }
+        double totalWeight = 0;
+        int heaviest = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] < 0 || Double.isNaN(weights[i])) {
+                throw new IllegalArgumentException("Weight cannot be negative; was " + weights[i]);
+            }
+            totalWeight += weights[i];
+            if (weights[i] > weights[heaviest]) {
+                heaviest = i;
+            }
+        }
+        if (!(totalWeight > 0) || Double.isInfinite(totalWeight)) {
+            throw new IllegalArgumentException("Total weight must be positive; was " + totalWeight);
+        }
+
+        int n = items.length;
+        this.items = Arrays.copyOf(items, n);
+        prob = new double[n];
+        alias = new int[n];
 
-    public T choose() {
-        double targetWeight = rand.nextDouble() * totalWeight;
-        double runningSum = 0.0;
-        for (Pair<T, Double> item : items) {
-            runningSum += item.second;
-            if (runningSum >= targetWeight) {
-                return item.first;
+        // Scale the weights so that they average 1. Slots below 1 ("small")
+        // are topped up from slots above 1 ("large").
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int numSmall = 0;
+        int numLarge = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / totalWeight;
+            if (scaled[i] < 1) {
+                small[numSmall++] = i;
+            } else {
+                large[numLarge++] = i;
             }
         }
-        throw new RuntimeException("Should never happen");
+        while (numSmall > 0 && numLarge > 0) {
+            int less = small[--numSmall];
+            int more = large[--numLarge];
+            prob[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[numSmall++] = more;
+            } else {
+                large[numLarge++] = more;
+            }
+        }
+        // Whatever is left is 1, give or take rounding error.
+        while (numLarge > 0) {
+            int i = large[--numLarge];
+            prob[i] = 1;
+            alias[i] = i;
+        }
+        while (numSmall > 0) {
+            int i = small[--numSmall];
+            if (weights[i] > 0) {
+                prob[i] = 1;
+                alias[i] = i;
+            } else {
+                // Never choose a zero-weight item, even through rounding.
+                prob[i] = 0;
+                alias[i] = heaviest;
+            }
+        }
+    }
+
+    /*
+    Chooses an item using `rand`. Uses a single `rand.nextDouble()`: the
+    whole part picks the slot, and the fractional part picks between the
+    slot's item and its alias.
+     */
+    public T choose(Random rand) {
+        double u = rand.nextDouble() * prob.length;
+        int slot = (int) u;
+        return u - slot < prob[slot] ? items[slot] : items[alias[slot]];
+    }
+
+    public int getNumItems() {
+        return items.length;
     }
 }
@@ -9,15 +9,17 @@ import android.view.MotionEvent;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
-import com.galaxyrun.engine.draw.DrawInstruction;
-import com.galaxyrun.util.FastQueue;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.engine.draw.PaintPalette;
 
-import java.util.concurrent.ConcurrentLinkedQueue;
+import com.galaxyrun.util.FrameMailbox;
 
 /**
  * Draws the game. Uses a background thread to draw asynchronously. Also sends events to a
  * callback via IGameViewListener.
- * Call `queueDrawFrame()` to queue the next frame update.
+ * Frames are handed to the drawing thread through the FrameMailbox returned by
+ * `getFrameMailbox()`: record a frame into its back buffer and publish it. Only the newest
+ * frame is drawn.
  * For more information, see
  * <a href="https://google-developer-training.github.io/android-developer-advanced-course-practicals/unit-5-advanced-graphics-and-views/lesson-11-canvas/11-2-p-create-a-surfaceview/11-2-p-create-a-surfaceview.html">...</a>
  * TODO: better description of how to use the GameView with start/stop thread, etc.
@@ -35,12 +37,12 @@ public class GameView extends SurfaceView implements Runnable {
     }
 
     // Whether the drawing thread is running.
-    private boolean isRunning;
+    private volatile boolean isRunning;
     // Thread used to perform draw() calls asynchronously.
     private Thread drawThread;
     private final SurfaceHolder surfaceHolder;
-    // Queue of game frames to draw.
-    private final ConcurrentLinkedQueue<FastQueue<DrawInstruction>> drawFramesQueue;
+    // Hands frames from the game thread to the drawing thread.
+    private final FrameMailbox<DrawCommandBuffer> frameMailbox;
     // Listener registered to this view.
     private IGameViewListener gameViewListener;
 
@@ -48,15 +50,20 @@ public class GameView extends SurfaceView implements Runnable {
         super(context, attributes);
         surfaceHolder = getHolder();
         surfaceHolder.setFormat(PixelFormat.RGBA_8888);
-        drawFramesQueue = new ConcurrentLinkedQueue<>();
+        frameMailbox = new FrameMailbox<>(
+                new DrawCommandBuffer(), new DrawCommandBuffer(), new DrawCommandBuffer());
     }
 
     public void setListener(IGameViewListener gameViewListener) {
         this.gameViewListener = gameViewListener;
     }
 
-    public void queueDrawFrame(FastQueue<DrawInstruction> drawInstructions) {
-        drawFramesQueue.add(drawInstructions);
+    /*
+    Returns the mailbox used to send frames to be drawn. Frames must be
+    published from a single thread.
+     */
+    public FrameMailbox<DrawCommandBuffer> getFrameMailbox() {
+        return frameMailbox;
     }
 
     @Override
@@ -72,32 +79,26 @@ public class GameView extends SurfaceView implements Runnable {
         gameViewListener.onViewSizeSet();
     }
 
-    // Runs in a separate thread. All drawing happens here. DrawInstructions
-    // are passed in via thread-safe queue.
+    // Runs in a separate thread. All drawing happens here. Sleeps until
+    // the game thread publishes a frame to `frameMailbox`.
     @Override
     public void run() {
         Canvas canvas;
-        // TODO: THIS IS NOT THE CORRECT WAY TO DO IT
+        // Paints used for drawing. Only used by this thread.
+        PaintPalette palette = new PaintPalette();
         while (isRunning) {
-            // TODO: MAKE SURE THAT THERE ISN'T A BUILD-UP OF DRAW FRAMES
-            if (drawFramesQueue.size() > 1) {
-                Log.w("GameView", drawFramesQueue.size() + " frames queued");
-            }
-            if (!drawFramesQueue.isEmpty()) {
-                FastQueue<DrawInstruction> drawInstructions = drawFramesQueue.poll();
-                if (surfaceHolder.getSurface().isValid()) {
-                    canvas = surfaceHolder.lockCanvas();
-                    drawFrame(canvas, drawInstructions);
-                    surfaceHolder.unlockCanvasAndPost(canvas);
-                }
+            // Null if woken without a new frame, e.g. by `stopThread()`.
+            DrawCommandBuffer drawCommands = frameMailbox.awaitFrame();
+            if (drawCommands != null && surfaceHolder.getSurface().isValid()) {
+                canvas = surfaceHolder.lockCanvas();
+                drawFrame(canvas, drawCommands, palette);
+                surfaceHolder.unlockCanvasAndPost(canvas);
             }
         }
     }
 
-    private void drawFrame(Canvas canvas, FastQueue<DrawInstruction> drawInstructions) {
-        for (DrawInstruction drawInst : drawInstructions) {
-            drawInst.draw(canvas);
-        }
+    private void drawFrame(Canvas canvas, DrawCommandBuffer drawCommands, PaintPalette palette) {
+        drawCommands.draw(canvas, palette);
     }
 
     /**
@@ -115,12 +116,16 @@ public class GameView extends SurfaceView implements Runnable {
      */
     public void stopThread() {
         isRunning = false;
+        frameMailbox.wakeConsumer();
         try {
             drawThread.join();
         } catch (InterruptedException e) {
             Log.e("GameView", String.format("drawThread.join() threw InterruptedException: %s",
                     e.getMessage()));
         }
+        Log.d("GameView", String.format("Frames published: %d, dropped: %d. Waited %d ms.",
+                frameMailbox.getNumPublished(), frameMailbox.getNumDropped(),
+                frameMailbox.getConsumerWaitNs() / 1_000_000));
     }
 
     @Override
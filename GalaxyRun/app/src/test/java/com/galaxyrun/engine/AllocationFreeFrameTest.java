@@ -0,0 +1,78 @@
+package com.galaxyrun.engine;
+
+import com.galaxyrun.engine.external.ExternalInput;
+import com.galaxyrun.engine.external.GameUpdateMessage;
+import com.galaxyrun.engine.external.MotionInput;
+import com.galaxyrun.engine.external.StartGameInput;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Checks that the GameEngine reuses its per-frame objects rather than allocating new ones.
+public class AllocationFreeFrameTest {
+
+    private final int kScreenWidthPx = 1920;
+    private final int kScreenHeightPx = 1080;
+    private final int kMsPerTick = 16;
+    // Enough frames to play through a game and let pools and queues grow.
+    private final int kNumWarmupFrames = 3000;
+    private final int kNumMeasuredFrames = 10000;
+
+    @Test
+    public void testSteadyStateFramesDoNotAllocate() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean =
+                (com.sun.management.ThreadMXBean) threadBean;
+        Assume.assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        long threadId = Thread.currentThread().getId();
+
+        HeadlessPlatform platform = new HeadlessPlatform();
+        GameEngine engine = new GameEngine(
+                platform.makeGameContext(kScreenWidthPx, kScreenHeightPx, 0), kMsPerTick);
+        engine.setReuseUpdateMessages(true);
+
+        List<ExternalInput> inputs = new ArrayList<>();
+        inputs.add(new StartGameInput());
+        // Hold down a finger in the middle of the screen, which fires the cannons.
+        inputs.add(new MotionInput(
+                MotionInput.Action.DOWN, 0, kScreenWidthPx / 2f, kScreenHeightPx / 2f));
+        List<ExternalInput> noInputs = new ArrayList<>();
+
+        for (int i = 0; i < kNumWarmupFrames; i++) {
+            engine.tick(inputs);
+            engine.render(1);
+            inputs = noInputs;
+            platform.getClock().advance(kMsPerTick);
+        }
+
+        GameUpdateMessage prevMessage = null;
+        GameUpdateMessage prevPrevMessage = null;
+        long bytesBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < kNumMeasuredFrames; i++) {
+            engine.tick(inputs);
+            GameUpdateMessage message = engine.render(1);
+            Assert.assertFalse(message.getDrawCommands().isEmpty());
+            if (prevPrevMessage != null) {
+                Assert.assertSame(prevPrevMessage, message);
+                Assert.assertNotSame(prevMessage, message);
+            }
+            prevPrevMessage = prevMessage;
+            prevMessage = message;
+            platform.getClock().advance(kMsPerTick);
+        }
+        long bytesAllocated = allocationBean.getThreadAllocatedBytes(threadId) - bytesBefore;
+        // Allocating even one object per frame would add up to at least 16 bytes per frame.
+        // Allow a little slack because JIT deoptimization can occasionally materialize
+        // objects that compiled code had optimized away.
+        Assert.assertTrue("Frames allocated " + bytesAllocated + " bytes",
+                bytesAllocated < kNumMeasuredFrames);
+    }
+}
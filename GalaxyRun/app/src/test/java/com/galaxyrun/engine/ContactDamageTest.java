@@ -0,0 +1,42 @@
+package com.galaxyrun.engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ContactDamageTest {
+
+    // Damage done by `numContacts` over `durationMs`, in ticks of `msPerTick`.
+    private int getDamage(int numContacts, long durationMs, long msPerTick) {
+        ContactDamage contactDamage = new ContactDamage(5, 30);
+        int damage = 0;
+        for (long t = 0; t < durationMs; t += msPerTick) {
+            damage += contactDamage.update(numContacts, msPerTick);
+        }
+        return damage;
+    }
+
+    @Test
+    public void testDamageDoesntDependOnTickLength() {
+        // 1040ms of contact: the first hit, plus one every 33.3ms.
+        Assert.assertEquals(32 * 5, getDamage(1, 1040, 16));
+        Assert.assertEquals(32 * 5, getDamage(1, 1040, 20));
+        Assert.assertEquals(32 * 5, getDamage(1, 1040, 40));
+        Assert.assertEquals(getDamage(3, 1040, 16), getDamage(3, 1040, 40));
+    }
+
+    @Test
+    public void testFirstHitIsImmediate() {
+        ContactDamage contactDamage = new ContactDamage(5, 30);
+        // Each thing in contact hits straight away.
+        Assert.assertEquals(10, contactDamage.update(2, 16));
+    }
+
+    @Test
+    public void testContactStartsOverAfterEnding() {
+        ContactDamage contactDamage = new ContactDamage(5, 30);
+        Assert.assertEquals(5, contactDamage.update(1, 16));
+        Assert.assertEquals(0, contactDamage.update(1, 16));
+        Assert.assertEquals(0, contactDamage.update(0, 16));
+        Assert.assertEquals(5, contactDamage.update(1, 16));
+    }
+}
@@ -0,0 +1,35 @@
+package com.galaxyrun.engine;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FixedTimestepTest {
+
+    @Test
+    public void testRunsWholeTicks() {
+        FixedTimestep timestep = new FixedTimestep(16, 5);
+        Assert.assertEquals(0, timestep.advance(10));
+        Assert.assertEquals(10 / 16.0, timestep.getInterpolation(), 1e-9);
+        // 10ms left over from the previous frame
+        Assert.assertEquals(2, timestep.advance(23));
+        Assert.assertEquals(1 / 16.0, timestep.getInterpolation(), 1e-9);
+    }
+
+    @Test
+    public void testDropsTimeBeyondMaxTicks() {
+        FixedTimestep timestep = new FixedTimestep(16, 5);
+        // A 1 second stall only runs 5 ticks, and the rest is dropped
+        Assert.assertEquals(5, timestep.advance(1000));
+        Assert.assertTrue(timestep.getInterpolation() < 1);
+        Assert.assertEquals(0, timestep.advance(0));
+    }
+
+    @Test
+    public void testReset() {
+        FixedTimestep timestep = new FixedTimestep(16, 5);
+        timestep.advance(15);
+        timestep.reset();
+        Assert.assertEquals(0, timestep.advance(15));
+        Assert.assertEquals(15 / 16.0, timestep.getInterpolation(), 1e-9);
+    }
+}
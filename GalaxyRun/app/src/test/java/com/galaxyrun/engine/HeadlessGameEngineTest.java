@@ -0,0 +1,93 @@
+package com.galaxyrun.engine;
+
+import com.galaxyrun.engine.external.ExternalInput;
+import com.galaxyrun.engine.external.GameUpdateMessage;
+import com.galaxyrun.engine.external.MotionInput;
+import com.galaxyrun.engine.external.StartGameInput;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Runs the GameEngine on the JVM using the HeadlessPlatform.
+public class HeadlessGameEngineTest {
+
+    private final int kScreenWidthPx = 1920;
+    private final int kScreenHeightPx = 1080;
+    private final int kMsPerTick = 16;
+
+    @Test
+    public void testRunsWithoutAndroid() {
+        HeadlessPlatform platform = new HeadlessPlatform();
+        GameEngine engine = new GameEngine(
+                platform.makeGameContext(kScreenWidthPx, kScreenHeightPx, 0), kMsPerTick);
+
+        List<ExternalInput> inputs = new ArrayList<>();
+        inputs.add(new StartGameInput());
+        // Hold down a finger in the middle of the screen, which fires the cannons.
+        inputs.add(new MotionInput(
+                MotionInput.Action.DOWN, 0, kScreenWidthPx / 2f, kScreenHeightPx / 2f));
+
+        int numSpawned = 0;
+        for (int i = 0; i < 3000; i++) {
+            engine.tick(inputs);
+            GameUpdateMessage message = engine.render(1);
+            inputs = Collections.emptyList();
+            platform.getClock().advance(kMsPerTick);
+
+            Assert.assertFalse(message.getDrawCommands().isEmpty());
+            for (EventID event : message.getEvents()) {
+                if (event == EventID.SPRITE_SPAWNED) {
+                    numSpawned++;
+                }
+            }
+        }
+        // The spaceship should have fired bullets, and the map spawned obstacles.
+        Assert.assertTrue(numSpawned > 0);
+    }
+
+    // Two games with the same seed play out identically, frame by frame.
+    @Test
+    public void testSameSeedGivesSameGame() {
+        HeadlessPlatform platform1 = new HeadlessPlatform();
+        HeadlessPlatform platform2 = new HeadlessPlatform();
+        GameEngine engine1 = new GameEngine(
+                platform1.makeGameContext(kScreenWidthPx, kScreenHeightPx, 7), kMsPerTick);
+        GameEngine engine2 = new GameEngine(
+                platform2.makeGameContext(kScreenWidthPx, kScreenHeightPx, 7), kMsPerTick);
+
+        List<ExternalInput> inputs = new ArrayList<>();
+        inputs.add(new StartGameInput());
+        inputs.add(new MotionInput(
+                MotionInput.Action.DOWN, 0, kScreenWidthPx / 2f, kScreenHeightPx / 2f));
+        for (int i = 0; i < 3000; i++) {
+            engine1.tick(inputs);
+            engine2.tick(inputs);
+            // Bitmaps are loaded per platform, so compare what happened rather
+            // than DrawCommandBuffer.contentHash(), which hashes bitmap identity.
+            GameUpdateMessage message1 = engine1.render(1);
+            GameUpdateMessage message2 = engine2.render(1);
+            Assert.assertEquals("Frame " + i + " differs",
+                    toList(message1.getEvents()), toList(message2.getEvents()));
+            Assert.assertEquals("Frame " + i + " differs",
+                    message1.getDrawCommands().getSize(), message2.getDrawCommands().getSize());
+            inputs = Collections.emptyList();
+            platform1.getClock().advance(kMsPerTick);
+            platform2.getClock().advance(kMsPerTick);
+        }
+        engine1.release();
+        engine2.release();
+    }
+
+    private static List<EventID> toList(Iterable<EventID> events) {
+        List<EventID> list = new ArrayList<>();
+        for (EventID event : events) {
+            list.add(event);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,117 @@
+package com.galaxyrun.engine;
+
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.engine.external.ExternalInput;
+import com.galaxyrun.engine.external.MotionInput;
+import com.galaxyrun.engine.external.StartGameInput;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.util.FrameMailbox;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Runs the game on one thread while "drawing" its frames on another, and checks
+// that a frame never changes after it has been handed over.
+public class RenderSnapshotStressTest {
+
+    private final int kScreenWidthPx = 1920;
+    private final int kScreenHeightPx = 1080;
+    private final int kMsPerTick = 16;
+    // Enough to play through several games.
+    private final int kNumFrames = 5000;
+    // Number of times the consumer re-checks each frame, giving the producer
+    // time to (wrongly) modify it.
+    private final int kNumChecksPerFrame = 20;
+
+    // A frame in the mailbox, plus what the producer recorded about it.
+    private static class Frame {
+        final DrawCommandBuffer drawCommands = new DrawCommandBuffer();
+        int frameNum;
+        int expectedHash;
+    }
+
+    @Test(timeout = 60000)
+    public void testFramesDoNotChangeWhileDrawn() throws InterruptedException {
+        FrameMailbox<Frame> mailbox = new FrameMailbox<>(new Frame(), new Frame(), new Frame());
+        AtomicReference<Throwable> consumerError = new AtomicReference<>();
+
+        Thread consumer = new Thread(() -> {
+            try {
+                int prevFrameNum = -1;
+                while (prevFrameNum != kNumFrames - 1) {
+                    Frame frame = mailbox.awaitFrame();
+                    if (frame == null) {
+                        continue;
+                    }
+                    Assert.assertTrue(frame.frameNum > prevFrameNum);
+                    Assert.assertTrue(frame.drawCommands.isFinished());
+                    for (int i = 0; i < kNumChecksPerFrame; i++) {
+                        Assert.assertEquals("Frame " + frame.frameNum + " changed",
+                                frame.expectedHash, frame.drawCommands.contentHash());
+                        Thread.yield();
+                    }
+                    prevFrameNum = frame.frameNum;
+                }
+            } catch (Throwable e) {
+                consumerError.set(e);
+            }
+        });
+        consumer.start();
+
+        HeadlessPlatform platform = new HeadlessPlatform();
+        GameEngine engine = new GameEngine(
+                platform.makeGameContext(kScreenWidthPx, kScreenHeightPx, 0), kMsPerTick);
+        List<ExternalInput> inputs = new ArrayList<>();
+        inputs.add(new StartGameInput());
+        // Hold down a finger in the middle of the screen, which fires the cannons.
+        inputs.add(new MotionInput(
+                MotionInput.Action.DOWN, 0, kScreenWidthPx / 2f, kScreenHeightPx / 2f));
+        List<ExternalInput> noInputs = new ArrayList<>();
+
+        for (int i = 0; i < kNumFrames && consumerError.get() == null; i++) {
+            engine.tick(inputs);
+            inputs = noInputs;
+            Frame frame = mailbox.getBackBuffer();
+            engine.render(0.5, frame.drawCommands);
+            frame.frameNum = i;
+            frame.expectedHash = frame.drawCommands.contentHash();
+            mailbox.publish();
+            platform.getClock().advance(kMsPerTick);
+        }
+
+        if (consumerError.get() == null) {
+            consumer.join();
+        } else {
+            consumer.interrupt();
+        }
+        if (consumerError.get() != null) {
+            throw new AssertionError(consumerError.get());
+        }
+        // Every frame was either drawn or dropped.
+        Assert.assertEquals(kNumFrames, mailbox.getNumPublished());
+        Assert.assertEquals(kNumFrames, mailbox.getNumTaken() + mailbox.getNumDropped());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFinishedFrameRejectsCommands() {
+        DrawCommandBuffer drawCommands = new DrawCommandBuffer();
+        drawCommands.fillRect(0, 0, 10, 10, 0);
+        drawCommands.finish();
+        drawCommands.fillRect(0, 0, 10, 10, 0);
+    }
+
+    @Test
+    public void testClearAllowsRecordingAgain() {
+        DrawCommandBuffer drawCommands = new DrawCommandBuffer();
+        drawCommands.fillRect(0, 0, 10, 10, 0);
+        drawCommands.finish();
+        drawCommands.clear();
+        Assert.assertFalse(drawCommands.isFinished());
+        drawCommands.fillRect(0, 0, 10, 10, 0);
+        Assert.assertEquals(1, drawCommands.getSize());
+    }
+}
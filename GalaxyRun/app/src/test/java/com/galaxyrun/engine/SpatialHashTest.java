@@ -0,0 +1,109 @@
+package com.galaxyrun.engine;
+
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.sprite.Sprite;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class SpatialHashTest {
+
+    private final GameContext gameContext =
+            new HeadlessPlatform().makeGameContext(1920, 1080, 0);
+
+    // A plain rectangle, so sprites can be any size.
+    private static class BoxSprite extends Sprite {
+        BoxSprite(GameContext gameContext, double x, double y, int width, int height) {
+            super(gameContext, x, y, width, height);
+        }
+
+        @Override
+        public int getCollisionLayer() {
+            return CollisionLayers.OBSTACLE;
+        }
+
+        @Override
+        public void updateActions(UpdateContext updateContext) {
+        }
+
+        @Override
+        public void updateSpeeds(UpdateContext updateContext) {
+        }
+
+        @Override
+        public void updateAnimations(UpdateContext updateContext) {
+        }
+
+        @Override
+        public void handleCollision(Sprite s, int damage, UpdateContext updateContext) {
+        }
+
+        @Override
+        public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        }
+    }
+
+    // Checks that the SpatialHash finds exactly the collisions that
+    // checking every pair finds, including for sprites outside the grid.
+    @Test
+    public void testMatchesBruteForce() {
+        Random rand = new Random(0);
+        SpatialHash spatialHash = new SpatialHash(100, 0, 0, 1000, 1000);
+        List<Sprite> stored = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Sprite sprite = makeSprite(rand);
+            stored.add(sprite);
+            spatialHash.update(sprite);
+        }
+        // Move some sprites and remove others
+        for (int i = 0; i < 100; i++) {
+            Sprite sprite = stored.get(i);
+            sprite.setX(sprite.getX() + rand.nextInt(400) - 200);
+            sprite.setY(sprite.getY() + rand.nextInt(400) - 200);
+            spatialHash.update(sprite);
+        }
+        for (int i = 0; i < 50; i++) {
+            spatialHash.remove(stored.remove(stored.size() - 1));
+        }
+        Assert.assertEquals(stored.size(), spatialHash.size());
+
+        for (int i = 0; i < 100; i++) {
+            Sprite query = makeSprite(rand);
+            CollisionList collisions = new CollisionList();
+            spatialHash.findCollisions(query, collisions);
+
+            Set<Sprite> found = new HashSet<>();
+            for (int j = 0; j < collisions.size(); j++) {
+                HitDetector.CollisionTuple collision = collisions.get(j);
+                Assert.assertSame(query, collision.sprite1);
+                // Each collision should only be reported once
+                Assert.assertTrue(found.add(collision.sprite2));
+            }
+            Set<Sprite> expected = new HashSet<>();
+            for (Sprite sprite : stored) {
+                if (query.collidesWith(sprite)) {
+                    expected.add(sprite);
+                }
+            }
+            Assert.assertEquals(expected, found);
+        }
+    }
+
+    private Sprite makeSprite(Random rand) {
+        // Some sprites are partly or entirely outside the grid
+        return new BoxSprite(
+                gameContext,
+                rand.nextInt(1400) - 200,
+                rand.nextInt(1400) - 200,
+                20 + rand.nextInt(250),
+                20 + rand.nextInt(250)
+        );
+    }
+}
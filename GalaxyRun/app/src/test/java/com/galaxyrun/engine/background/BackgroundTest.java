@@ -0,0 +1,95 @@
+package com.galaxyrun.engine.background;
+
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.GameState;
+import com.galaxyrun.engine.GameTime;
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class BackgroundTest {
+
+    private final int kScreenWidthPx = 1920;
+    private final int kScreenHeightPx = 1080;
+    private final long kBudgetBytes = 8L << 20;
+    private final GameContext gameContext =
+            new HeadlessPlatform().makeGameContext(kScreenWidthPx, kScreenHeightPx, 0);
+    private final UpdateContext kUpdateContext = new UpdateContext(
+            new GameTime(0, 16, 0), GameState.PLAYING, 1, 2000, 0, 100,
+            false, false, null, null, null, null);
+
+    private int recordFrame(Background background, double interpolation) {
+        DrawCommandBuffer drawBuffer = new DrawCommandBuffer();
+        background.getDrawInstructions(drawBuffer, interpolation);
+        return drawBuffer.contentHash();
+    }
+
+    // Scrolls `background` through `numFrames` frames, and returns the
+    // average number of layer pixels drawn per frame.
+    private double scroll(Background background, int numFrames) {
+        DrawCommandBuffer drawBuffer = new DrawCommandBuffer();
+        long pixelsDrawn = 0;
+        for (int i = 0; i < numFrames; i++) {
+            background.update(kUpdateContext);
+            drawBuffer.clear();
+            background.getDrawInstructions(drawBuffer, 1);
+            pixelsDrawn += background.getLastFramePixelsDrawn();
+        }
+        return pixelsDrawn / (double) numFrames;
+    }
+
+    @Test
+    public void testQualityDropsLayers() {
+        Background high = new Background(gameContext, new Random(0), BackgroundQuality.HIGH, kBudgetBytes);
+        Background medium = new Background(gameContext, new Random(0), BackgroundQuality.MEDIUM, kBudgetBytes);
+        Background low = new Background(gameContext, new Random(0), BackgroundQuality.LOW, kBudgetBytes);
+        Assert.assertTrue(high.getNumLayers() > medium.getNumLayers());
+        Assert.assertTrue(medium.getNumLayers() > low.getNumLayers());
+        Assert.assertEquals(1, low.getNumLayers());
+    }
+
+    // All the layers together fill no more than a screen per frame, on
+    // average, and their tiles fit the budget.
+    @Test
+    public void testCostsAtMostOneScreen() {
+        Background background =
+                new Background(gameContext, new Random(3), BackgroundQuality.HIGH, kBudgetBytes);
+        double pixelsPerFrame = scroll(background, 5000);
+        Assert.assertTrue(pixelsPerFrame > 0);
+        Assert.assertTrue(pixelsPerFrame <= kScreenWidthPx * kScreenHeightPx);
+        TilePool tilePool = background.getTilePool();
+        Assert.assertTrue(tilePool.getNumTiles() * tilePool.getTileBytes() <= kBudgetBytes);
+        Assert.assertEquals(0, tilePool.getNumMisses());
+    }
+
+    // With a small budget, tiles are rendered again as they come back on
+    // screen rather than going over budget.
+    @Test
+    public void testSmallBudget() {
+        Background background =
+                new Background(gameContext, new Random(3), BackgroundQuality.HIGH, 2L << 20);
+        scroll(background, 2000);
+        TilePool tilePool = background.getTilePool();
+        Assert.assertTrue(tilePool.getNumTiles() * tilePool.getTileBytes() <= 2L << 20);
+        Assert.assertTrue(tilePool.getNumRendered() > tilePool.getNumTiles());
+    }
+
+    // Frames between ticks are drawn part of the way through the tick's
+    // scroll, across panel swaps too.
+    @Test
+    public void testInterpolatesBetweenTicks() {
+        Background background =
+                new Background(gameContext, new Random(3), BackgroundQuality.HIGH, kBudgetBytes);
+        for (int i = 0; i < 2000; i++) {
+            int endOfTick = recordFrame(background, 1);
+            background.update(kUpdateContext);
+            Assert.assertEquals(endOfTick, recordFrame(background, 0));
+            Assert.assertNotEquals(endOfTick, recordFrame(background, 0.5));
+        }
+    }
+}
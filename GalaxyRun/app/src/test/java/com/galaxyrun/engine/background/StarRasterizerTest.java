@@ -0,0 +1,131 @@
+package com.galaxyrun.engine.background;
+
+import com.galaxyrun.util.ColorUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class StarRasterizerTest {
+
+    private final int kWidthPx = 300;
+    private final int kHeightPx = 200;
+    private final int kStarColor = ColorUtil.argb(200, 255, 255, 238);
+
+    private GalaxyDrawOptions makeOptions(float starDensity) {
+        return new GalaxyDrawOptions(
+                ColorUtil.BLACK, ColorUtil.rgb(97, 148, 194), starDensity, kStarColor, 2, 0.5f, 0.3f);
+    }
+
+    private int[] render(StarRasterizer rasterizer, GalaxyDrawOptions options, long seed) {
+        int[] pixels = new int[kWidthPx * kHeightPx];
+        rasterizer.render(pixels, kWidthPx, kHeightPx, options, new Random(seed));
+        return pixels;
+    }
+
+    @Test
+    public void testGradient() {
+        int[] pixels = render(new StarRasterizer(1), makeOptions(0), 0);
+        int endColor = ColorUtil.rgb(97, 148, 194);
+        for (int y = 0; y < kHeightPx; y++) {
+            int row = y * kWidthPx;
+            Assert.assertEquals(ColorUtil.BLACK, pixels[row]);
+            Assert.assertEquals(
+                    ColorUtil.blue(endColor), ColorUtil.blue(pixels[row + kWidthPx - 1]), 1);
+            Assert.assertEquals(pixels[kWidthPx / 2], pixels[row + kWidthPx / 2]);
+        }
+    }
+
+    // Strips are rendered on different threads, but the image is the same.
+    @Test
+    public void testSameImageForAnyNumberOfStrips() {
+        int[] expected = render(new StarRasterizer(1), makeOptions(2), 123);
+        Assert.assertArrayEquals(expected, render(new StarRasterizer(3), makeOptions(2), 123));
+        Assert.assertArrayEquals(expected, render(new StarRasterizer(7), makeOptions(2), 123));
+    }
+
+    // Stars are placed with the same calls to Random as GalaxyDrawer makes.
+    @Test
+    public void testPlacesStarsLikeGalaxyDrawer() {
+        GalaxyDrawOptions options = makeOptions(2);
+        StarRasterizer rasterizer = new StarRasterizer(2);
+        Random rand = new Random(5);
+        rasterizer.render(new int[kWidthPx * kHeightPx], kWidthPx, kHeightPx, options, rand);
+        int numStars = (int) (kWidthPx * kHeightPx / 2500.0 * options.starDensity);
+        Assert.assertEquals(numStars, rasterizer.getNumStars());
+
+        Random expectedRand = new Random(5);
+        for (int i = 0; i < numStars; i++) {
+            expectedRand.nextInt(kWidthPx);
+            expectedRand.nextInt(kHeightPx);
+            StarRasterizer.varySize(expectedRand, options.starRadiusPx, options.sizeVariance);
+            StarRasterizer.varyBrightness(expectedRand, 200, options.brightnessVariance);
+        }
+        Assert.assertEquals(expectedRand.nextLong(), rand.nextLong());
+    }
+
+    @Test
+    public void testStarIsDrawn() {
+        // One star in the whole image.
+        GalaxyDrawOptions options = new GalaxyDrawOptions(
+                ColorUtil.BLACK, ColorUtil.BLACK, 1, ColorUtil.WHITE, 3, 0, 0);
+        int[] pixels = new int[50 * 50];
+        Random rand = new Random(9);
+        new StarRasterizer(1).render(pixels, 50, 50, options, rand);
+
+        Random starRand = new Random(9);
+        int x = starRand.nextInt(50);
+        int y = starRand.nextInt(50);
+        // The star is centered on the corner between pixels, so the four
+        // pixels around its center are fully covered.
+        for (int dy = -1; dy <= 0; dy++) {
+            for (int dx = -1; dx <= 0; dx++) {
+                if (x + dx >= 0 && y + dy >= 0) {
+                    Assert.assertEquals(ColorUtil.WHITE, pixels[(y + dy) * 50 + x + dx]);
+                }
+            }
+        }
+        int numLit = 0;
+        for (int pixel : pixels) {
+            Assert.assertEquals(0xFF, ColorUtil.alpha(pixel));
+            if (pixel != ColorUtil.BLACK) {
+                numLit++;
+            }
+        }
+        // About the area of the circle, less any part that's off the image.
+        Assert.assertTrue(numLit <= 36);
+        Assert.assertTrue(numLit >= 4);
+    }
+
+    @Test
+    public void testBrightnessBuckets() {
+        Assert.assertEquals(0, StarRasterizer.getBucketBrightness(StarRasterizer.getBrightnessBucket(0)));
+        Assert.assertEquals(255, StarRasterizer.getBucketBrightness(StarRasterizer.getBrightnessBucket(255)));
+        for (int brightness = 0; brightness <= 255; brightness++) {
+            int rounded = StarRasterizer.getBucketBrightness(
+                    StarRasterizer.getBrightnessBucket(brightness));
+            Assert.assertEquals(brightness, rounded, 255.0 / (StarRasterizer.NUM_BRIGHTNESS_BUCKETS - 1) / 2 + 1);
+        }
+    }
+
+    // Stars drawn over a transparent background keep their color, so that
+    // the image can be drawn over a gradient.
+    @Test
+    public void testTransparentBackground() {
+        GalaxyDrawOptions options = new GalaxyDrawOptions(
+                ColorUtil.TRANSPARENT, ColorUtil.TRANSPARENT, 2, kStarColor, 2, 0.5f, 0.3f);
+        options.keepStarsWhole = true;
+        int[] pixels = render(new StarRasterizer(2), options, 7);
+        int numLit = 0;
+        for (int pixel : pixels) {
+            if (pixel == ColorUtil.TRANSPARENT) {
+                continue;
+            }
+            numLit++;
+            Assert.assertEquals(ColorUtil.red(kStarColor), ColorUtil.red(pixel), 1);
+            Assert.assertEquals(ColorUtil.blue(kStarColor), ColorUtil.blue(pixel), 1);
+        }
+        Assert.assertTrue(numLit > 0);
+    }
+}
@@ -0,0 +1,56 @@
+package com.galaxyrun.engine.background;
+
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.util.ColorUtil;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TilePoolTest {
+
+    private final int kTileSizePx = 100;
+    private final GalaxyDrawOptions kOptions = new GalaxyDrawOptions(
+            ColorUtil.TRANSPARENT, ColorUtil.TRANSPARENT, 1, ColorUtil.WHITE, 2, 0, 0);
+
+    private TilePool makePool(int maxTiles) {
+        return new TilePool(new HeadlessPlatform(), kTileSizePx, maxTiles * 4L * kTileSizePx * kTileSizePx);
+    }
+
+    @Test
+    public void testTilesAreCached() {
+        TilePool pool = makePool(4);
+        int firstKey = pool.addKeys(3);
+        BitmapHandle tile = pool.get(firstKey, kOptions, 1, 0);
+        Assert.assertEquals(kTileSizePx, tile.getWidth());
+        Assert.assertSame(tile, pool.get(firstKey, kOptions, 1, 1));
+        Assert.assertNotSame(tile, pool.get(firstKey + 1, kOptions, 2, 1));
+        Assert.assertEquals(2, pool.getNumRendered());
+        Assert.assertEquals(2, pool.getNumTiles());
+    }
+
+    @Test
+    public void testStaysWithinBudget() {
+        TilePool pool = makePool(2);
+        int firstKey = pool.addKeys(3);
+        BitmapHandle tile0 = pool.get(firstKey, kOptions, 1, 0);
+        BitmapHandle tile1 = pool.get(firstKey + 1, kOptions, 2, 0);
+        Assert.assertEquals(2, pool.getMaxTiles());
+
+        // Both tiles were just drawn, so neither can be rendered over yet.
+        Assert.assertNull(pool.get(firstKey + 2, kOptions, 3, 1));
+        Assert.assertEquals(1, pool.getNumMisses());
+
+        // Once tile 0 is old enough, its bitmap is reused.
+        pool.get(firstKey + 1, kOptions, 2, TilePool.REUSE_AFTER_FRAMES);
+        Assert.assertSame(tile0, pool.get(firstKey + 2, kOptions, 3, TilePool.REUSE_AFTER_FRAMES));
+        Assert.assertSame(tile1, pool.get(firstKey + 1, kOptions, 2, TilePool.REUSE_AFTER_FRAMES));
+        Assert.assertEquals(2, pool.getNumTiles());
+        Assert.assertEquals(3, pool.getNumRendered());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBudgetTooSmall() {
+        new TilePool(new HeadlessPlatform(), kTileSizePx, 100);
+    }
+}
@@ -0,0 +1,131 @@
+package com.galaxyrun.engine.map;
+
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ChunkLibraryTest {
+
+    private static final int kNumBands = 10;
+    private static byte[] libraryBytes;
+
+    @BeforeClass
+    public static void buildLibrary() throws IOException {
+        ChunkLibraryBuilder builder = new ChunkLibraryBuilder(0, kNumBands, 64);
+        builder.build();
+        Assert.assertTrue(builder.getNumDistinct() > 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.write(out);
+        libraryBytes = out.toByteArray();
+    }
+
+    private static ChunkLibrary readLibrary() {
+        return ChunkLibrary.read(ByteBuffer.wrap(libraryBytes));
+    }
+
+    @Test
+    public void testEncodeRoundTrips() {
+        Chunk chunk = new Chunk(3);
+        chunk.set(0, 0, TileType.OBSTACLE);
+        chunk.set(5, 0, TileType.OBSTACLE);
+        chunk.set(2, 1, TileType.ALIEN);
+        chunk.set(4, 1, TileType.OBSTACLE);
+        chunk.set(1, 2, TileType.ASTEROID);
+        chunk.set(3, 2, TileType.COIN);
+
+        // Write a library that only has `chunk`, as an EMPTY chunk.
+        byte[] tiles = ChunkLibraryBuilder.encode(chunk);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.putInt(ChunkLibrary.MAGIC).putShort(ChunkLibrary.VERSION);
+        buffer.put((byte) Chunk.NUM_ROWS).put((byte) 1).put((byte) 1);
+        buffer.putShort((short) 5).put("EMPTY".getBytes());
+        buffer.putInt(0).putInt(1);
+        buffer.putInt(1);
+        buffer.putInt(buffer.position() + 8).putInt(1);
+        buffer.put(tiles);
+        buffer.flip();
+
+        Chunk read = ChunkLibrary.read(buffer).sample(ChunkType.EMPTY, 0.5, new Random(0));
+        Assert.assertEquals(chunk.toString(), read.toString());
+    }
+
+    @Test
+    public void testSampledChunksArePassable() {
+        ChunkLibrary library = readLibrary();
+        Assert.assertEquals(kNumBands, library.getNumBands());
+        PathFinder pathFinder = new PathFinder();
+        Random rand = new Random(0);
+        for (ChunkType chunkType : ChunkType.values()) {
+            for (int band = 0; band < kNumBands; band++) {
+                double difficulty = (band + 0.5) / kNumBands;
+                if (!library.hasChunks(chunkType, difficulty)) {
+                    continue;
+                }
+                for (int i = 0; i < 20; i++) {
+                    Chunk chunk = library.sample(chunkType, difficulty, rand);
+                    Assert.assertTrue(chunk.getNumCols() > 0);
+                    Assert.assertTrue(pathFinder.isPassable(chunk));
+                }
+            }
+        }
+    }
+
+    // Chunk types that are never chosen at a difficulty aren't in the library.
+    @Test
+    public void testLeavesOutUnusedTypes() {
+        ChunkLibrary library = readLibrary();
+        for (ChunkType chunkType : ChunkType.values()) {
+            for (int band = 0; band < kNumBands; band++) {
+                double difficulty = (band + 0.5) / kNumBands;
+                Assert.assertEquals(
+                        ChunkProbabilities.getProbability(chunkType, difficulty) > 0,
+                        library.hasChunks(chunkType, difficulty));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsOtherFiles() {
+        ChunkLibrary.read(ByteBuffer.wrap("not a chunk library".getBytes()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTruncated() {
+        ChunkLibrary.read(ByteBuffer.wrap(Arrays.copyOf(libraryBytes, 40)));
+    }
+
+    @Test
+    public void testMapGeneratorSamplesLibrary() {
+        ChunkLibrary library = readLibrary();
+        MapGenerator generator1 = new MapGenerator(5, library);
+        MapGenerator generator2 = new MapGenerator(5, library);
+        PathFinder pathFinder = new PathFinder();
+        for (int i = 1; i < 50; i++) {
+            double difficulty = i / 50.0;
+            Chunk chunk = generator1.generateChunk(i, difficulty);
+            Assert.assertTrue(pathFinder.isPassable(chunk));
+            Assert.assertEquals(chunk.toString(), generator2.generateChunk(i, difficulty).toString());
+        }
+        Assert.assertEquals(49, generator1.getNumSampled());
+        Assert.assertEquals(0, generator1.getNumRegenerated());
+    }
+
+    // The library in res/raw is up to date with the game. Unit tests run in
+    // the app module's directory.
+    @Test
+    public void testShippedLibraryLoads() {
+        File rawResourceDir = new File("src/main/res/raw");
+        Assume.assumeTrue(rawResourceDir.isDirectory());
+        Assert.assertNotNull(ChunkLibrary.load(new HeadlessPlatform(rawResourceDir)));
+    }
+}
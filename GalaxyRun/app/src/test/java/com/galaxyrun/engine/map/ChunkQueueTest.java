@@ -0,0 +1,91 @@
+package com.galaxyrun.engine.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkQueueTest {
+
+    private final int kGameWidthPx = 1920;
+    private final int kTileWidthPx = 180;
+    private final int kCapacity = 3;
+
+    private ChunkQueue makeQueue(long seed) {
+        return new ChunkQueue(
+                new MapGenerator(seed), kGameWidthPx, kTileWidthPx, kCapacity);
+    }
+
+    @Test
+    public void testDifficultyIncreases() {
+        ChunkQueue queue = makeQueue(0);
+        double prevDifficulty = 0;
+        for (int i = 0; i < 50; i++) {
+            double difficulty = queue.take().difficulty;
+            Assert.assertTrue(difficulty >= prevDifficulty);
+            Assert.assertTrue(difficulty <= 1);
+            prevDifficulty = difficulty;
+        }
+        Assert.assertTrue(prevDifficulty > 0.1);
+        queue.release();
+    }
+
+    @Test
+    public void testSameSeedGivesSameChunks() {
+        ChunkQueue queue1 = makeQueue(123);
+        ChunkQueue queue2 = makeQueue(123);
+        for (int i = 0; i < 20; i++) {
+            ChunkQueue.QueuedChunk chunk1 = queue1.take();
+            ChunkQueue.QueuedChunk chunk2 = queue2.take();
+            Assert.assertEquals(chunk1.difficulty, chunk2.difficulty, 0);
+            Assert.assertEquals(chunk1.chunk.toString(), chunk2.chunk.toString());
+        }
+        queue1.release();
+        queue2.release();
+    }
+
+    // A chunk only depends on the seed, its index and its difficulty.
+    @Test
+    public void testChunkDependsOnlyOnIndex() {
+        MapGenerator generator1 = new MapGenerator(123);
+        MapGenerator generator2 = new MapGenerator(123);
+        for (int i = 0; i < 5; i++) {
+            generator2.generateChunk(i, 0.5);
+        }
+        Assert.assertEquals(
+                generator1.generateChunk(5, 0.5).toString(),
+                generator2.generateChunk(5, 0.5).toString());
+    }
+
+    // How long generation takes doesn't change the chunks.
+    @Test
+    public void testChunksDontDependOnTime() {
+        long[] timeNs = {0};
+        // Every reading is a second later, so every chunk is over budget.
+        MapGenerator slowGenerator =
+                new MapGenerator(123, null, () -> timeNs[0] += 1_000_000_000L);
+        MapGenerator fastGenerator = new MapGenerator(123, null, () -> 0);
+        for (int i = 0; i < 20; i++) {
+            double difficulty = i / 20.0;
+            Assert.assertEquals(
+                    fastGenerator.generateChunk(i, difficulty).toString(),
+                    slowGenerator.generateChunk(i, difficulty).toString());
+        }
+        Assert.assertEquals(fastGenerator.getNumFallbacks(), slowGenerator.getNumFallbacks());
+        Assert.assertEquals(0, fastGenerator.getNumOverBudget());
+        Assert.assertTrue(slowGenerator.getNumOverBudget() > 0);
+    }
+
+    @Test(timeout = 5000)
+    public void testQueueIsBounded() throws InterruptedException {
+        ChunkQueue queue = makeQueue(0);
+        while (queue.getQueueDepth() < kCapacity) {
+            Thread.sleep(1);
+        }
+        // Give the generator time to (wrongly) generate more.
+        Thread.sleep(50);
+        Assert.assertEquals(kCapacity, queue.getQueueDepth());
+        Assert.assertEquals(0, queue.getNumStalls());
+        queue.take();
+        Assert.assertTrue(queue.getGenerationLatency().getNumRecorded() >= kCapacity);
+        queue.release();
+    }
+}
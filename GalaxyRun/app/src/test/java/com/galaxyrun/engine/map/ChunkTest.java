@@ -0,0 +1,119 @@
+package com.galaxyrun.engine.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+public class ChunkTest {
+
+    @Test
+    public void testNewChunkIsFilled() {
+        Chunk empty = new Chunk(4);
+        Chunk obstacles = new Chunk(4, TileType.OBSTACLE);
+        Assert.assertEquals(4, empty.getNumCols());
+        Assert.assertEquals(Map.NUM_ROWS, empty.getNumRows());
+        for (int row = 0; row < Map.NUM_ROWS; row++) {
+            for (int col = 0; col < 4; col++) {
+                Assert.assertTrue(empty.isEmpty(row, col));
+                Assert.assertEquals(TileType.OBSTACLE, obstacles.get(row, col));
+            }
+        }
+    }
+
+    @Test
+    public void testSetAndGet() {
+        Chunk chunk = new Chunk(3);
+        chunk.set(2, 1, TileType.COIN);
+        Assert.assertEquals(TileType.COIN, chunk.get(2, 1));
+        Assert.assertFalse(chunk.isEmpty(2, 1));
+        Assert.assertTrue(chunk.isEmpty(1, 2));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new Chunk(3).get(0, 3);
+    }
+
+    @Test
+    public void testConcatenate() {
+        Chunk c1 = new Chunk(2);
+        c1.set(0, 1, TileType.ALIEN);
+        Chunk c2 = new Chunk(3, TileType.OBSTACLE);
+        Chunk result = Chunk.concatenateChunks(c1, c2);
+        Assert.assertEquals(5, result.getNumCols());
+        Assert.assertEquals(TileType.ALIEN, result.get(0, 1));
+        Assert.assertEquals(TileType.OBSTACLE, result.get(5, 4));
+        Assert.assertTrue(result.isEmpty(5, 1));
+    }
+
+    @Test
+    public void testAppendGrows() {
+        Chunk chunk = new Chunk(1);
+        for (int i = 0; i < 20; i++) {
+            Chunk column = new Chunk(1);
+            column.set(i % Map.NUM_ROWS, 0, TileType.COIN);
+            chunk.append(column);
+        }
+        Assert.assertEquals(21, chunk.getNumCols());
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(TileType.COIN, chunk.get(i % Map.NUM_ROWS, i + 1));
+        }
+    }
+
+    @Test
+    public void testSliceSharesTiles() {
+        Chunk chunk = new Chunk(6);
+        Chunk slice = chunk.slice(2, 3);
+        Assert.assertEquals(3, slice.getNumCols());
+        chunk.set(4, 3, TileType.ASTEROID);
+        Assert.assertEquals(TileType.ASTEROID, slice.get(4, 1));
+        // A slice of a slice is relative to the slice.
+        Assert.assertEquals(TileType.ASTEROID, slice.slice(1, 2).get(4, 0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSliceIsReadOnly() {
+        new Chunk(6).slice(0, 2).set(0, 0, TileType.COIN);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSliceBounds() {
+        new Chunk(6).slice(4, 3);
+    }
+
+    @Test
+    public void testMasks() {
+        Chunk chunk = new Chunk(2);
+        chunk.set(0, 1, TileType.OBSTACLE);
+        chunk.set(3, 1, TileType.OBSTACLE);
+        chunk.set(5, 1, TileType.COIN);
+        Assert.assertEquals(Chunk.ALL_ROWS_MASK, chunk.getEmptyMask(0));
+        Assert.assertEquals(0b001001, chunk.getObstacleMask(1));
+        Assert.assertEquals(0b010110, chunk.getEmptyMask(1));
+
+        BitSet obstacles = chunk.getMask(TileType.OBSTACLE);
+        Assert.assertEquals(2, obstacles.cardinality());
+        Assert.assertTrue(obstacles.get(Map.NUM_ROWS));
+        Assert.assertTrue(obstacles.get(Map.NUM_ROWS + 3));
+    }
+
+    @Test
+    public void testFlipVertically() {
+        Chunk chunk = new Chunk(2);
+        chunk.set(0, 0, TileType.OBSTACLE);
+        chunk.set(2, 1, TileType.ALIEN);
+        chunk.flipVertically();
+        Assert.assertEquals(TileType.OBSTACLE, chunk.get(Map.NUM_ROWS - 1, 0));
+        Assert.assertEquals(TileType.ALIEN, chunk.get(Map.NUM_ROWS - 3, 1));
+        Assert.assertTrue(chunk.isEmpty(0, 0));
+        Assert.assertTrue(chunk.isEmpty(2, 1));
+    }
+
+    @Test
+    public void testToStringIsRowMajor() {
+        Chunk chunk = new Chunk(2);
+        chunk.set(0, 1, TileType.OBSTACLE);
+        Assert.assertTrue(chunk.toString().startsWith("0\t1\t\n0\t0\t\n"));
+    }
+}
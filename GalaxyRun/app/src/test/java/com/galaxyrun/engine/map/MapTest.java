@@ -0,0 +1,52 @@
+package com.galaxyrun.engine.map;
+
+import com.galaxyrun.engine.CollisionLayers;
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.GameTime;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.sprite.Sprite;
+import com.galaxyrun.util.FastQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MapTest {
+
+    private final int kScreenWidthPx = 1920;
+    private final int kScreenHeightPx = 1080;
+    private final int kMsPerTick = 16;
+    // Long enough to get through plenty of chunks at high difficulty.
+    private final int kNumTicks = 10000;
+
+    @Test
+    public void testColumnsSpawnAtScreenEdge() {
+        GameContext gameContext =
+                new HeadlessPlatform().makeGameContext(kScreenWidthPx, kScreenHeightPx, 0);
+        Map map = new Map(gameContext, 0);
+        GameTime gameTime = new GameTime(0, 0, 0);
+        FastQueue<Sprite> createdSprites = new FastQueue<>();
+        double maxSpawnX = gameContext.gameWidthPx + gameContext.tileWidthPx;
+
+        int numSpawned = 0;
+        int maxSpawnedPerTick = 0;
+        for (int i = 1; i <= kNumTicks; i++) {
+            gameTime.set((long) i * kMsPerTick, kMsPerTick, (long) i * kMsPerTick);
+            createdSprites.clear();
+            map.update(gameTime, createdSprites);
+            for (Sprite sprite : createdSprites) {
+                Assert.assertTrue("Spawned at x = " + sprite.getX(), sprite.getX() <= maxSpawnX);
+                // Obstacles go in the TileLayer instead.
+                Assert.assertNotEquals(CollisionLayers.OBSTACLE, sprite.getCollisionLayer());
+            }
+            numSpawned += createdSprites.getSize();
+            maxSpawnedPerTick = Math.max(maxSpawnedPerTick, createdSprites.getSize());
+        }
+        map.release();
+
+        Assert.assertTrue(numSpawned > 0);
+        // At most a column or two scrolls on screen each tick, however long
+        // the chunk is.
+        Assert.assertTrue("Spawned " + maxSpawnedPerTick + " sprites in one tick",
+                maxSpawnedPerTick <= 2 * Map.NUM_ROWS);
+    }
+}
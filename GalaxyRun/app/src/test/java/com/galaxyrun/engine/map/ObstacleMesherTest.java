@@ -0,0 +1,67 @@
+package com.galaxyrun.engine.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ObstacleMesherTest {
+
+    private final ObstacleMesher mesher = new ObstacleMesher();
+
+    @Test
+    public void testNoObstacles() {
+        Assert.assertEquals(0, mesher.mesh(new Chunk(5)));
+    }
+
+    @Test
+    public void testBlockIsOneRect() {
+        Chunk chunk = new Chunk(5);
+        for (int col = 1; col < 4; col++) {
+            for (int row = 2; row < 4; row++) {
+                chunk.set(row, col, TileType.OBSTACLE);
+            }
+        }
+        Assert.assertEquals(1, mesher.mesh(chunk));
+        Assert.assertEquals(1, mesher.getCol(0));
+        Assert.assertEquals(2, mesher.getRow(0));
+        Assert.assertEquals(3, mesher.getNumCols(0));
+        Assert.assertEquals(2, mesher.getNumRows(0));
+    }
+
+    @Test
+    public void testTunnelWalls() {
+        // A tunnel with a ceiling of two rows and a floor of one.
+        int[] masks = new int[10];
+        for (int col = 0; col < masks.length; col++) {
+            masks[col] = 0b100011;
+        }
+        Assert.assertEquals(2, mesher.mesh(masks, masks.length));
+    }
+
+    // Every obstacle is covered by exactly one rectangle, and nothing else is.
+    @Test
+    public void testCoversObstaclesExactly() {
+        Random rand = new Random(0);
+        for (ChunkType chunkType : new ChunkType[] {ChunkType.OBSTACLE_FIELD, ChunkType.TUNNEL}) {
+            for (int i = 0; i < 100; i++) {
+                Chunk chunk = TileGenerator.generateChunk(rand, chunkType, rand.nextDouble());
+                int numRects = mesher.mesh(chunk);
+                int[] coverage = new int[chunk.getNumCols() * Chunk.NUM_ROWS];
+                for (int r = 0; r < numRects; r++) {
+                    for (int col = mesher.getCol(r); col < mesher.getCol(r) + mesher.getNumCols(r); col++) {
+                        for (int row = mesher.getRow(r); row < mesher.getRow(r) + mesher.getNumRows(r); row++) {
+                            coverage[col * Chunk.NUM_ROWS + row]++;
+                        }
+                    }
+                }
+                for (int col = 0; col < chunk.getNumCols(); col++) {
+                    for (int row = 0; row < Chunk.NUM_ROWS; row++) {
+                        int expected = chunk.get(row, col) == TileType.OBSTACLE ? 1 : 0;
+                        Assert.assertEquals(expected, coverage[col * Chunk.NUM_ROWS + row]);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.galaxyrun.engine.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+public class PathFinderTest {
+
+    private final PathFinder pathFinder = new PathFinder();
+    private final Path path = new Path();
+    private final Random rand = new Random(0);
+
+    @Test
+    public void testEmptyChunk() {
+        Chunk chunk = new Chunk(5);
+        Assert.assertTrue(pathFinder.findPath(chunk, rand, path));
+        assertValidPath(chunk, path);
+        // No obstacles, so the path goes straight across.
+        Assert.assertEquals(5, path.getLength());
+    }
+
+    @Test
+    public void testBlockedColumn() {
+        Chunk chunk = new Chunk(5);
+        for (int row = 0; row < Map.NUM_ROWS; row++) {
+            chunk.set(row, 3, TileType.OBSTACLE);
+        }
+        Assert.assertFalse(pathFinder.isPassable(chunk));
+        Assert.assertFalse(pathFinder.findPath(chunk, rand, path));
+        Assert.assertEquals(0, path.getLength());
+    }
+
+    @Test
+    public void testZigZag() {
+        // Column 1 is only open at the top and column 3 only at the bottom,
+        // so the path must move down the whole height of column 2.
+        Chunk chunk = new Chunk(4);
+        for (int row = 1; row < Map.NUM_ROWS; row++) {
+            chunk.set(row, 1, TileType.OBSTACLE);
+        }
+        for (int row = 0; row < Map.NUM_ROWS - 1; row++) {
+            chunk.set(row, 3, TileType.OBSTACLE);
+        }
+        Assert.assertTrue(pathFinder.findPath(chunk, rand, path));
+        assertValidPath(chunk, path);
+        // (r, 0), (0, 1), then (0, 2) down to (5, 2), then (5, 3).
+        Assert.assertEquals(1 + 1 + Map.NUM_ROWS + 1, path.getLength());
+        Assert.assertEquals(Map.NUM_ROWS - 1, path.getRow(path.getLength() - 1));
+    }
+
+    @Test
+    public void testDeadEnd() {
+        // Column 2 can only be entered in row 0, but its open run is cut
+        // off from row 5, the only open row in column 3.
+        Chunk chunk = new Chunk(4);
+        for (int row = 1; row < Map.NUM_ROWS; row++) {
+            chunk.set(row, 2, TileType.OBSTACLE);
+        }
+        for (int row = 0; row < Map.NUM_ROWS - 1; row++) {
+            chunk.set(row, 3, TileType.OBSTACLE);
+        }
+        Assert.assertFalse(pathFinder.isPassable(chunk));
+    }
+
+    @Test
+    public void testMatchesFloodFill() {
+        Random chunkRand = new Random(1);
+        for (int i = 0; i < 2000; i++) {
+            Chunk chunk = new Chunk(1 + chunkRand.nextInt(12));
+            for (int row = 0; row < Map.NUM_ROWS; row++) {
+                for (int col = 0; col < chunk.getNumCols(); col++) {
+                    if (chunkRand.nextInt(10) < 4) {
+                        chunk.set(row, col, TileType.OBSTACLE);
+                    }
+                }
+            }
+            boolean expected = isPassableByFloodFill(chunk);
+            Assert.assertEquals(chunk.toString(), expected, pathFinder.isPassable(chunk));
+            Assert.assertEquals(expected, pathFinder.findPath(chunk, rand, path));
+            if (expected) {
+                assertValidPath(chunk, path);
+            }
+        }
+    }
+
+    // Checks that `path` crosses `chunk` one empty tile at a time.
+    private static void assertValidPath(Chunk chunk, Path path) {
+        Assert.assertEquals(0, path.getCol(0));
+        Assert.assertEquals(chunk.getNumCols() - 1, path.getCol(path.getLength() - 1));
+        for (int i = 0; i < path.getLength(); i++) {
+            Assert.assertTrue(path.toString(), chunk.isEmpty(path.getRow(i), path.getCol(i)));
+            if (i > 0) {
+                int rowStep = path.getRow(i) - path.getRow(i - 1);
+                int colStep = path.getCol(i) - path.getCol(i - 1);
+                boolean isRight = colStep == 1 && rowStep == 0;
+                boolean isVertical = colStep == 0 && Math.abs(rowStep) == 1;
+                Assert.assertTrue(path.toString(), isRight || isVertical);
+            }
+        }
+    }
+
+    // Reference implementation: flood fill moving right, up and down.
+    private static boolean isPassableByFloodFill(Chunk chunk) {
+        boolean[][] visited = new boolean[Map.NUM_ROWS][chunk.getNumCols()];
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        for (int row = 0; row < Map.NUM_ROWS; row++) {
+            if (chunk.isEmpty(row, 0)) {
+                visited[row][0] = true;
+                queue.add(new int[] {row, 0});
+            }
+        }
+        int[][] moves = {{0, 1}, {1, 0}, {-1, 0}};
+        while (!queue.isEmpty()) {
+            int[] tile = queue.poll();
+            if (tile[1] == chunk.getNumCols() - 1) {
+                return true;
+            }
+            for (int[] move : moves) {
+                int row = tile[0] + move[0];
+                int col = tile[1] + move[1];
+                if (row >= 0 && row < Map.NUM_ROWS && col < chunk.getNumCols()
+                        && !visited[row][col] && chunk.isEmpty(row, col)) {
+                    visited[row][col] = true;
+                    queue.add(new int[] {row, col});
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,152 @@
+package com.galaxyrun.engine.map;
+
+import com.galaxyrun.engine.CollisionLayers;
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.sprite.Sprite;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileLayerTest {
+
+    private final int kScreenWidthPx = 1000;
+    private final int kTileWidthPx = 100;
+
+    // A sprite that records how many obstacle tiles it touches.
+    private static class CountingSprite extends Sprite {
+        int numTilesTouched;
+
+        CountingSprite(GameContext gameContext, double x, double y, int width, int height) {
+            super(gameContext, x, y, width, height);
+        }
+
+        @Override
+        public int getCollisionLayer() {
+            return CollisionLayers.SPACESHIP;
+        }
+
+        @Override
+        public void updateActions(UpdateContext updateContext) {
+        }
+
+        @Override
+        public void updateSpeeds(UpdateContext updateContext) {
+        }
+
+        @Override
+        public void updateAnimations(UpdateContext updateContext) {
+        }
+
+        @Override
+        public void handleCollision(Sprite s, int damage, UpdateContext updateContext) {
+        }
+
+        @Override
+        public void handleObstacleCollision(int numTiles, UpdateContext updateContext) {
+            numTilesTouched = numTiles;
+        }
+
+        @Override
+        public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        }
+    }
+
+    private TileLayer makeLayer() {
+        // Column 0 starts at the right edge of the screen.
+        return new TileLayer(kScreenWidthPx, kTileWidthPx, kScreenWidthPx);
+    }
+
+    private CountingSprite makeSprite(double x, double y, int width, int height) {
+        GameContext gameContext = new HeadlessPlatform().makeGameContext(1920, 1080, 0);
+        return new CountingSprite(gameContext, x, y, width, height);
+    }
+
+    @Test
+    public void testSetAndGetColumns() {
+        TileLayer layer = makeLayer();
+        layer.setColumn(0, 0b101);
+        layer.setColumn(1, 0b010);
+        Assert.assertEquals(0b101, layer.getColumn(0));
+        Assert.assertEquals(0b010, layer.getColumn(1));
+        Assert.assertEquals(0, layer.getColumn(2));
+        Assert.assertEquals(0, layer.getColumn(-1));
+    }
+
+    @Test
+    public void testSkippedColumnsAreCleared() {
+        TileLayer layer = makeLayer();
+        // Fill the ring, then skip a few columns that share slots with it.
+        for (int col = 0; col < 20; col++) {
+            layer.setColumn(col, Chunk.ALL_ROWS_MASK);
+        }
+        layer.setColumn(24, 1);
+        for (int col = 20; col < 24; col++) {
+            Assert.assertEquals(0, layer.getColumn(col));
+        }
+        Assert.assertEquals(1, layer.getColumn(24));
+        // Columns that have been overwritten are gone.
+        Assert.assertEquals(0, layer.getColumn(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnsMustIncrease() {
+        TileLayer layer = makeLayer();
+        layer.setColumn(5, 1);
+        layer.setColumn(4, 1);
+    }
+
+    @Test
+    public void testColumnsScroll() {
+        TileLayer layer = makeLayer();
+        Assert.assertEquals(kScreenWidthPx + 2 * kTileWidthPx, layer.getColumnX(2), 0);
+        layer.setNumPixelsScrolled(250);
+        Assert.assertEquals(kScreenWidthPx - 50, layer.getColumnX(2), 0);
+    }
+
+    @Test
+    public void testCollisions() {
+        TileLayer layer = makeLayer();
+        layer.setColumn(3, 0b000110);
+        layer.setColumn(4, 0b001100);
+        // Column 3 is now at x = 700 and column 4 at x = 800.
+        layer.setNumPixelsScrolled(600);
+
+        // Overlaps rows 1 and 2 of column 3.
+        CountingSprite sprite = makeSprite(720, 150, 50, 100);
+        layer.handleCollisions(sprite, null);
+        Assert.assertEquals(2, sprite.numTilesTouched);
+
+        // Overlaps rows 2 and 3 of columns 3 and 4, of which three are obstacles.
+        sprite = makeSprite(750, 250, 100, 100);
+        layer.handleCollisions(sprite, null);
+        Assert.assertEquals(3, sprite.numTilesTouched);
+
+        // Overlaps row 2 of column 4 only along its right edge. Touching
+        // counts, as it does between sprites.
+        sprite = makeSprite(900, 200, 50, 50);
+        layer.handleCollisions(sprite, null);
+        Assert.assertEquals(1, sprite.numTilesTouched);
+
+        // Clear of the obstacles.
+        sprite = makeSprite(720, 0, 50, 50);
+        layer.handleCollisions(sprite, null);
+        Assert.assertEquals(0, sprite.numTilesTouched);
+    }
+
+    @Test
+    public void testDrawsVisibleObstacles() {
+        TileLayer layer = makeLayer();
+        // Column 2 is visible once scrolled; column 12 is still off screen.
+        layer.setColumn(2, 0b11);
+        layer.setColumn(12, 0b1);
+        layer.setNumPixelsScrolled(500);
+        DrawCommandBuffer drawBuffer = new DrawCommandBuffer();
+        layer.getDrawInstructions(drawBuffer, 1);
+        // The two visible tiles are merged into one rectangle, with a fill
+        // and an outline.
+        Assert.assertEquals(2, drawBuffer.getSize());
+    }
+}
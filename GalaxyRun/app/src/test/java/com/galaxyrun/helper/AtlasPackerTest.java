@@ -0,0 +1,75 @@
+package com.galaxyrun.helper;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AtlasPackerTest {
+
+    private final int kPaddingPx = 1;
+
+    // Checks that every image is inside its atlas and doesn't overlap (or
+    // touch, given the padding) any other image in the same atlas.
+    private void assertValidPacking(
+            AtlasPacker packer, AtlasPacker.Placement[] placements, int[] widths, int[] heights) {
+        for (int i = 0; i < placements.length; i++) {
+            AtlasPacker.Placement a = placements[i];
+            Assert.assertTrue(a.left >= 0 && a.top >= 0);
+            Assert.assertTrue(a.left + widths[i] <= packer.getAtlasWidth(a.atlas));
+            Assert.assertTrue(a.top + heights[i] <= packer.getAtlasHeight(a.atlas));
+            for (int j = i + 1; j < placements.length; j++) {
+                AtlasPacker.Placement b = placements[j];
+                if (a.atlas != b.atlas) {
+                    continue;
+                }
+                boolean apart = a.left + widths[i] + kPaddingPx <= b.left
+                        || b.left + widths[j] + kPaddingPx <= a.left
+                        || a.top + heights[i] + kPaddingPx <= b.top
+                        || b.top + heights[j] + kPaddingPx <= a.top;
+                Assert.assertTrue("Images " + i + " and " + j + " overlap", apart);
+            }
+        }
+    }
+
+    @Test
+    public void testPacksIntoOneAtlas() {
+        int[] widths = {30, 1040, 89, 173, 300, 173, 50, 50};
+        int[] heights = {12, 173, 173, 173, 50, 173, 41, 50};
+        AtlasPacker packer = new AtlasPacker(1200, 1200, kPaddingPx);
+        AtlasPacker.Placement[] placements = packer.pack(widths, heights);
+        Assert.assertEquals(1, packer.getNumAtlases());
+        assertValidPacking(packer, placements, widths, heights);
+        // The atlas is trimmed to what it holds.
+        Assert.assertTrue(packer.getAtlasWidth(0) <= 1200);
+        Assert.assertTrue(packer.getAtlasHeight(0) < 1200);
+    }
+
+    @Test
+    public void testStartsNewAtlasWhenFull() {
+        int[] widths = {100, 100, 100, 100, 100};
+        int[] heights = {100, 100, 100, 100, 100};
+        // Two shelves of two images each fit.
+        AtlasPacker packer = new AtlasPacker(201, 201, kPaddingPx);
+        AtlasPacker.Placement[] placements = packer.pack(widths, heights);
+        Assert.assertEquals(2, packer.getNumAtlases());
+        Assert.assertEquals(201, packer.getAtlasWidth(0));
+        Assert.assertEquals(201, packer.getAtlasHeight(0));
+        Assert.assertEquals(100, packer.getAtlasWidth(1));
+        assertValidPacking(packer, placements, widths, heights);
+    }
+
+    @Test
+    public void testImageBiggerThanAtlas() {
+        int[] widths = {500, 20};
+        int[] heights = {10, 10};
+        AtlasPacker packer = new AtlasPacker(100, 100, kPaddingPx);
+        AtlasPacker.Placement[] placements = packer.pack(widths, heights);
+        Assert.assertEquals(1, packer.getNumAtlases());
+        Assert.assertEquals(500, packer.getAtlasWidth(0));
+        assertValidPacking(packer, placements, widths, heights);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedSizes() {
+        new AtlasPacker(100, 100, kPaddingPx).pack(new int[2], new int[3]);
+    }
+}
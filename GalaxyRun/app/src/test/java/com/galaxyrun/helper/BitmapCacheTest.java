@@ -0,0 +1,37 @@
+package com.galaxyrun.helper;
+
+import com.galaxyrun.platform.AtlasRegion;
+import com.galaxyrun.platform.BitmapHandle;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BitmapCacheTest {
+
+    @Test
+    public void testAtlasesMatchSeparateBitmaps() {
+        HeadlessPlatform platform = new HeadlessPlatform();
+        BitmapCache separate = new BitmapCache(platform, 1.5);
+        BitmapCache packed = new BitmapCache(platform, 1.5);
+        packed.loadAtlases();
+        Assert.assertEquals(1, packed.getNumAtlases());
+
+        BitmapHandle atlas = null;
+        for (BitmapID id : BitmapID.values()) {
+            BitmapHandle expected = separate.getBitmap(id);
+            BitmapHandle actual = packed.getBitmap(id);
+            Assert.assertTrue(actual instanceof AtlasRegion);
+            Assert.assertEquals(expected.getWidth(), actual.getWidth());
+            Assert.assertEquals(expected.getHeight(), actual.getHeight());
+            Assert.assertEquals(expected.getWidth(), packed.getData(id).getWidth());
+
+            // Every bitmap shares the same atlas.
+            BitmapHandle regionAtlas = ((AtlasRegion) actual).getAtlas();
+            if (atlas == null) {
+                atlas = regionAtlas;
+            }
+            Assert.assertSame(atlas, regionAtlas);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.galaxyrun.sprite;
+
+import com.galaxyrun.engine.EventID;
+import com.galaxyrun.engine.GameConstants;
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.GameState;
+import com.galaxyrun.engine.GameTime;
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.engine.map.TileLayer;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.util.FastQueue;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpaceshipTest {
+
+    private final GameContext gameContext =
+            new HeadlessPlatform().makeGameContext(1920, 1080, 0);
+    private final FastQueue<EventID> createdEvents = new FastQueue<>();
+
+    private UpdateContext makeUpdateContext(long msPerTick, Spaceship spaceship) {
+        return new UpdateContext(
+                new GameTime(0, msPerTick, 0),
+                GameState.PLAYING,
+                0,
+                0,
+                0,
+                spaceship.getHealth(),
+                false,
+                false,
+                spaceship,
+                new FastQueue<Sprite>(),
+                createdEvents,
+                new FastQueue<SoundID>()
+        );
+    }
+
+    // Health the spaceship loses touching one obstacle for `durationMs`.
+    private int getObstacleDamage(long durationMs, long msPerTick) {
+        // Column 3 is at x = 700, with an obstacle in its top row.
+        TileLayer layer = new TileLayer(1000, 100, 1000);
+        layer.setColumn(3, 0b1);
+        layer.setNumPixelsScrolled(600);
+        Spaceship spaceship = new Spaceship(gameContext, 720, 50);
+        UpdateContext updateContext = makeUpdateContext(msPerTick, spaceship);
+        for (long t = 0; t < durationMs; t += msPerTick) {
+            layer.handleCollisions(spaceship, updateContext);
+        }
+        return GameConstants.FULL_PLAYER_HEALTH - spaceship.getHealth();
+    }
+
+    // Health the spaceship loses running into an asteroid for `durationMs`.
+    private int getAsteroidDamage(long durationMs, long msPerTick) {
+        Spaceship spaceship = new Spaceship(gameContext, 720, 50);
+        Asteroid asteroid = new Asteroid(gameContext, 720, 50, 0, 0);
+        UpdateContext updateContext = makeUpdateContext(msPerTick, spaceship);
+        for (long t = 0; t < durationMs; t += msPerTick) {
+            // As GameEngine does, until the asteroid is removed.
+            if (asteroid.getState() == SpriteState.TERMINATED) {
+                break;
+            }
+            int spaceshipHealth = spaceship.getHealth();
+            int asteroidHealth = asteroid.getHealth();
+            spaceship.handleCollision(asteroid, asteroidHealth, updateContext);
+            asteroid.handleCollision(spaceship, spaceshipHealth, updateContext);
+        }
+        return GameConstants.FULL_PLAYER_HEALTH - spaceship.getHealth();
+    }
+
+    @Test
+    public void testObstacleDamageDoesntDependOnTickLength() {
+        // The first hit, plus one every 33.3ms.
+        Assert.assertEquals(8 * TileLayer.OBSTACLE_DAMAGE, getObstacleDamage(240, 16));
+        Assert.assertEquals(8 * TileLayer.OBSTACLE_DAMAGE, getObstacleDamage(240, 20));
+        Assert.assertEquals(8 * TileLayer.OBSTACLE_DAMAGE, getObstacleDamage(240, 40));
+        Assert.assertEquals(getObstacleDamage(480, 16), getObstacleDamage(480, 32));
+    }
+
+    // Ticks shorter than a hit don't flash the spaceship more often.
+    @Test
+    public void testObstacleDamageEventsDontDependOnTickLength() {
+        getObstacleDamage(480, 16);
+        int numEvents = createdEvents.getSize();
+        createdEvents.clear();
+        getObstacleDamage(480, 32);
+        Assert.assertEquals(15, numEvents);
+        Assert.assertEquals(numEvents, createdEvents.getSize());
+    }
+
+    @Test
+    public void testAsteroidDamageDoesntDependOnTickLength() {
+        int damage = getAsteroidDamage(240, 16);
+        Assert.assertTrue(damage > 0);
+        Assert.assertEquals(damage, getAsteroidDamage(240, 40));
+    }
+}
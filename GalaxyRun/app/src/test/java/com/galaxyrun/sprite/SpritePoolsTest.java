@@ -0,0 +1,57 @@
+package com.galaxyrun.sprite;
+
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SpritePoolsTest {
+
+    private final GameContext gameContext =
+            new HeadlessPlatform().makeGameContext(1920, 1080, 0);
+
+    @Test
+    public void testReusesRecycledSprites() {
+        SpritePools pools = new SpritePools(gameContext);
+        Bullet first = pools.obtainBullet(10, 20, 0.5);
+        Assert.assertEquals(0, pools.bullets.getNumHits());
+        Assert.assertEquals(1, pools.bullets.getNumMisses());
+
+        pools.recycle(first);
+        Bullet second = pools.obtainBullet(30, 40, 0.5);
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, pools.bullets.getNumHits());
+        Assert.assertEquals(1, pools.bullets.getHighWaterMark());
+    }
+
+    @Test
+    public void testResetMatchesNewSprite() {
+        SpritePools pools = new SpritePools(gameContext);
+        Coin used = pools.obtainCoin(0, 0);
+        used.setX(-500);
+        used.setSpeedX(-100);
+        pools.recycle(used);
+
+        Coin reused = pools.obtainCoin(100, 200);
+        Coin fresh = new Coin(gameContext, 100, 200);
+        Assert.assertSame(used, reused);
+        Assert.assertEquals(SpriteState.ALIVE, reused.getState());
+        Assert.assertEquals(fresh.getX(), reused.getX(), 0);
+        Assert.assertEquals(fresh.getY(), reused.getY(), 0);
+        Assert.assertEquals(fresh.getWidth(), reused.getWidth());
+        Assert.assertEquals(fresh.getHeight(), reused.getHeight());
+        Assert.assertEquals(fresh.getSpeedX(), reused.getSpeedX(), 0);
+        Assert.assertEquals(fresh.getHealth(), reused.getHealth());
+        Assert.assertEquals(fresh.getHitbox().getX(), reused.getHitbox().getX(), 0);
+        Assert.assertEquals(fresh.getHitbox().getWidth(), reused.getHitbox().getWidth(), 0);
+    }
+
+    @Test
+    public void testIgnoresUnpooledSprites() {
+        SpritePools pools = new SpritePools(gameContext);
+        pools.recycle(new Spaceship(gameContext, 0, 0));
+        Assert.assertEquals(0, pools.bullets.getNumFree());
+        Assert.assertEquals(0, pools.coins.getNumFree());
+    }
+}
@@ -0,0 +1,128 @@
+package com.galaxyrun.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class FrameMailboxTest {
+
+    // Frame stored in each buffer. Records the number of the frame last
+    // written into it.
+    private static class Frame {
+        int frameNum = -1;
+    }
+
+    private static FrameMailbox<Frame> makeMailbox() {
+        return new FrameMailbox<>(new Frame(), new Frame(), new Frame());
+    }
+
+    @Test
+    public void testPollEmpty() {
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        Assert.assertNull(mailbox.pollFrame());
+    }
+
+    @Test
+    public void testPublishThenPoll() {
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        for (int i = 0; i < 10; i++) {
+            mailbox.getBackBuffer().frameNum = i;
+            mailbox.publish();
+            Assert.assertEquals(i, mailbox.pollFrame().frameNum);
+            // Each frame is only taken once.
+            Assert.assertNull(mailbox.pollFrame());
+        }
+        Assert.assertEquals(10, mailbox.getNumPublished());
+        Assert.assertEquals(10, mailbox.getNumTaken());
+        Assert.assertEquals(0, mailbox.getNumDropped());
+    }
+
+    @Test
+    public void testLatestFrameWins() {
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        for (int i = 0; i < 5; i++) {
+            mailbox.getBackBuffer().frameNum = i;
+            mailbox.publish();
+        }
+        Assert.assertEquals(4, mailbox.pollFrame().frameNum);
+        Assert.assertEquals(4, mailbox.getNumDropped());
+    }
+
+    @Test
+    public void testProducerNeverGetsFrontBuffer() {
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        mailbox.publish();
+        Frame front = mailbox.pollFrame();
+        // However many frames are published, the producer must not be given
+        // the buffer the consumer is drawing.
+        for (int i = 0; i < 5; i++) {
+            Assert.assertNotSame(front, mailbox.getBackBuffer());
+            mailbox.publish();
+        }
+    }
+
+    @Test(timeout = 5000)
+    public void testAwaitWakesOnPublish() throws InterruptedException {
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                return;
+            }
+            mailbox.getBackBuffer().frameNum = 7;
+            mailbox.publish();
+        });
+        producer.start();
+        Frame frame = null;
+        while (frame == null) {
+            frame = mailbox.awaitFrame();
+        }
+        Assert.assertEquals(7, frame.frameNum);
+        Assert.assertTrue(mailbox.getConsumerWaitNs() > 0);
+        producer.join();
+    }
+
+    @Test(timeout = 5000)
+    public void testWakeConsumer() throws InterruptedException {
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        AtomicBoolean isRunning = new AtomicBoolean(true);
+        Thread consumer = new Thread(() -> {
+            while (isRunning.get()) {
+                mailbox.awaitFrame();
+            }
+        });
+        consumer.start();
+        Thread.sleep(50);
+        isRunning.set(false);
+        mailbox.wakeConsumer();
+        consumer.join();
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentFramesAreInOrder() throws InterruptedException {
+        final int kNumFrames = 100_000;
+        FrameMailbox<Frame> mailbox = makeMailbox();
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < kNumFrames; i++) {
+                mailbox.getBackBuffer().frameNum = i;
+                mailbox.publish();
+            }
+        });
+        producer.start();
+        // Frames may be dropped, but must arrive in order and complete.
+        int prevFrameNum = -1;
+        while (prevFrameNum != kNumFrames - 1) {
+            Frame frame = mailbox.awaitFrame();
+            if (frame != null) {
+                Assert.assertTrue(frame.frameNum > prevFrameNum);
+                prevFrameNum = frame.frameNum;
+            }
+        }
+        producer.join();
+        Assert.assertEquals(kNumFrames, mailbox.getNumPublished());
+        Assert.assertEquals(kNumFrames,
+                mailbox.getNumTaken() + mailbox.getNumDropped());
+    }
+}
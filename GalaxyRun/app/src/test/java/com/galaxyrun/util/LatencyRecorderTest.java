@@ -0,0 +1,41 @@
+package com.galaxyrun.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyRecorderTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyRecorder recorder = new LatencyRecorder(10);
+        Assert.assertEquals(0, recorder.getPercentile(0.5));
+        Assert.assertEquals(0, recorder.getNumRecorded());
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder(100);
+        // Record 1 to 100 out of order.
+        for (int i = 0; i < 100; i++) {
+            recorder.record((i * 37) % 100 + 1);
+        }
+        Assert.assertEquals(50, recorder.getPercentile(0.5));
+        Assert.assertEquals(99, recorder.getPercentile(0.99));
+        Assert.assertEquals(100, recorder.getPercentile(1));
+        Assert.assertEquals(1, recorder.getPercentile(0));
+    }
+
+    @Test
+    public void testOnlyRecentSamplesCount() {
+        LatencyRecorder recorder = new LatencyRecorder(10);
+        for (int i = 0; i < 10; i++) {
+            recorder.record(1000);
+        }
+        for (int i = 0; i < 10; i++) {
+            recorder.record(1);
+        }
+        Assert.assertEquals(1, recorder.getPercentile(0.99));
+        Assert.assertEquals(1000, recorder.getMax());
+        Assert.assertEquals(20, recorder.getNumRecorded());
+    }
+}
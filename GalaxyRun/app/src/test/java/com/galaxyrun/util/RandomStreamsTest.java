@@ -0,0 +1,47 @@
+package com.galaxyrun.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class RandomStreamsTest {
+
+    @Test
+    public void testSameSeedGivesSameSeeds() {
+        RandomStreams streams1 = new RandomStreams(42);
+        RandomStreams streams2 = new RandomStreams(42);
+        for (RandomStreams.Stream stream : RandomStreams.Stream.values()) {
+            Assert.assertEquals(streams1.getSeed(stream), streams2.getSeed(stream));
+            Assert.assertEquals(streams1.getSeed(stream, 7), streams2.getSeed(stream, 7));
+        }
+        Assert.assertEquals(streams1.split(3).getSeed(), streams2.split(3).getSeed());
+    }
+
+    @Test
+    public void testSeedsAreDistinct() {
+        RandomStreams streams = new RandomStreams(42);
+        Set<Long> seeds = new HashSet<>();
+        for (RandomStreams.Stream stream : RandomStreams.Stream.values()) {
+            Assert.assertTrue(seeds.add(streams.getSeed(stream)));
+            for (long index = 0; index < 1000; index++) {
+                Assert.assertTrue(seeds.add(streams.getSeed(stream, index)));
+            }
+        }
+        Assert.assertTrue(seeds.add(streams.split(0).getSeed()));
+        // Nearby master seeds don't give related streams.
+        Assert.assertTrue(seeds.add(new RandomStreams(43).getSeed(RandomStreams.Stream.MAP)));
+    }
+
+    // A derived seed doesn't depend on what was derived before it.
+    @Test
+    public void testOrderIndependent() {
+        RandomStreams streams = new RandomStreams(42);
+        long seed = streams.getSeed(RandomStreams.Stream.MAP, 5);
+        for (long index = 0; index < 5; index++) {
+            streams.getSeed(RandomStreams.Stream.MAP, index);
+        }
+        Assert.assertEquals(seed, streams.getSeed(RandomStreams.Stream.MAP, 5));
+    }
+}
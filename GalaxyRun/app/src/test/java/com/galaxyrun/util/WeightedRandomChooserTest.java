@@ -0,0 +1,103 @@
+package com.galaxyrun.util;
+
+import com.galaxyrun.engine.map.ChunkProbabilities;
+import com.galaxyrun.engine.map.ChunkType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class WeightedRandomChooserTest {
+
+    private final int kNumSamples = 200_000;
+    // Chi-square critical values at p = 0.001, indexed by degrees of freedom.
+    // With one possible item (0 dof), every sample must be that item.
+    private final double[] kCriticalValues = {0, 10.828, 13.816, 16.266, 18.467, 20.515, 22.458};
+
+    private enum Item { A, B, C, D, E }
+
+    @Test
+    public void testMatchesWeights() {
+        double[] weights = {5, 1, 0.5, 2, 1.5};
+        WeightedRandomChooser<Item> chooser = new WeightedRandomChooser<>(Item.values(), weights);
+        assertFollowsWeights(chooser, Item.values(), weights, new Random(0));
+    }
+
+    @Test
+    public void testZeroWeightNeverChosen() {
+        double[] weights = {0, 1, 0, 3, 0};
+        WeightedRandomChooser<Item> chooser = new WeightedRandomChooser<>(Item.values(), weights);
+        Random rand = new Random(1);
+        for (int i = 0; i < kNumSamples; i++) {
+            Item item = chooser.choose(rand);
+            Assert.assertTrue(item == Item.B || item == Item.D);
+        }
+    }
+
+    @Test
+    public void testSingleItem() {
+        WeightedRandomChooser<Item> chooser =
+                new WeightedRandomChooser<>(new Item[] {Item.C}, new double[] {0.1});
+        Assert.assertEquals(Item.C, chooser.choose(new Random(2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        new WeightedRandomChooser<>(Item.values(), new double[] {1, 1, -1, 1, 1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAllWeightsZero() {
+        new WeightedRandomChooser<>(Item.values(), new double[5]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedLengths() {
+        new WeightedRandomChooser<>(Item.values(), new double[] {1, 1});
+    }
+
+    // The precomputed chooser for each difficulty band follows ChunkProbabilities.
+    @Test
+    public void testChunkTypeChoosers() {
+        ChunkType[] chunkTypes = ChunkType.values();
+        Random rand = new Random(3);
+        for (double difficulty : new double[] {0.1, 0.3, 0.5, 0.7, 0.9, 1.0}) {
+            double[] weights = new double[chunkTypes.length];
+            double total = 0;
+            for (int i = 0; i < chunkTypes.length; i++) {
+                weights[i] = ChunkProbabilities.getProbability(chunkTypes[i], difficulty);
+                total += weights[i];
+            }
+            Assert.assertEquals(1.0, total, 1e-9);
+            assertFollowsWeights(
+                    ChunkProbabilities.getChunkTypeChooser(difficulty), chunkTypes, weights, rand);
+        }
+    }
+
+    // Samples `chooser` and runs a chi-square goodness-of-fit test against `weights`.
+    private <T extends Enum<T>> void assertFollowsWeights(
+            WeightedRandomChooser<T> chooser, T[] items, double[] weights, Random rand) {
+        int[] counts = new int[items.length];
+        for (int i = 0; i < kNumSamples; i++) {
+            counts[chooser.choose(rand).ordinal()]++;
+        }
+        double totalWeight = 0;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+        double chiSquare = 0;
+        int degreesOfFreedom = -1;
+        for (int i = 0; i < items.length; i++) {
+            double expected = kNumSamples * weights[i] / totalWeight;
+            if (expected == 0) {
+                Assert.assertEquals(items[i] + " has zero weight", 0, counts[i]);
+                continue;
+            }
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+            degreesOfFreedom++;
+        }
+        Assert.assertTrue("chi-square " + chiSquare + " with " + degreesOfFreedom + " dof",
+                chiSquare <= kCriticalValues[degreesOfFreedom]);
+    }
+}
@@ -0,0 +1,155 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.EventID;
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.GameState;
+import com.galaxyrun.engine.GameTime;
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.engine.map.Map;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.sprite.Alien;
+import com.galaxyrun.sprite.AlienBullet;
+import com.galaxyrun.sprite.Asteroid;
+import com.galaxyrun.sprite.Bullet;
+import com.galaxyrun.sprite.Coin;
+import com.galaxyrun.sprite.Spaceship;
+import com.galaxyrun.sprite.Sprite;
+import com.galaxyrun.util.ProtectedQueue;
+import com.galaxyrun.util.WeightedRandomChooser;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A GameContext plus a population of live sprites, built the same way for
+ * every benchmark so that results are comparable between runs.
+ *
+ * The population is a mix of every sprite type the engine spawns, placed
+ * randomly on screen. Harder difficulties have more aliens and asteroids,
+ * like the real game.
+ */
+class BenchmarkWorld {
+    static final int SCREEN_WIDTH_PX = 1920;
+    static final int SCREEN_HEIGHT_PX = 1080;
+    // Same as GameRunner, which targets 30 fps.
+    static final int MS_PER_UPDATE = 33;
+    static final long SEED = 4472;
+
+    private enum SpriteKind {
+        OBSTACLE, COIN, ALIEN, ASTEROID, BULLET, ALIEN_BULLET
+    }
+
+    final HeadlessPlatform platform;
+    final GameContext gameContext;
+    final double difficulty;
+    final double scrollSpeedPx;
+    final Spaceship spaceship;
+    // All live sprites, including the spaceship. A LinkedList, like GameEngine uses.
+    final List<Sprite> sprites = new LinkedList<>();
+
+    private long currTimeMs;
+
+    BenchmarkWorld(int spriteCount, double difficulty) {
+        this.platform = new HeadlessPlatform();
+        this.gameContext = platform.makeGameContext(SCREEN_WIDTH_PX, SCREEN_HEIGHT_PX, SEED);
+        this.difficulty = difficulty;
+        this.scrollSpeedPx = Map.calcScrollSpeed(difficulty) * gameContext.gameWidthPx;
+
+        spaceship = new Spaceship(
+                gameContext, gameContext.tileWidthPx, gameContext.gameHeightPx / 2.0);
+        sprites.add(spaceship);
+
+        // Weights in the same order as SpriteKind.
+        WeightedRandomChooser<SpriteKind> chooser = new WeightedRandomChooser<>(
+                SpriteKind.values(),
+                new double[] {0.4, 0.2, 0.1 * difficulty, 0.1 * difficulty, 0.1, 0.1 * difficulty}
+        );
+        for (int i = 0; i < spriteCount; i++) {
+            sprites.add(createSprite(chooser.choose(gameContext.rand)));
+        }
+    }
+
+    /*
+    Returns the GameTime for the next frame. The game's runtime is fixed
+    at the value that gives `difficulty`, so the Map stays at that difficulty.
+     */
+    GameTime nextGameTime() {
+        currTimeMs += MS_PER_UPDATE;
+        return new GameTime(currTimeMs, MS_PER_UPDATE, calcRunTimeMs(difficulty));
+    }
+
+    UpdateContext makeUpdateContext(
+            GameTime gameTime,
+            ProtectedQueue<Sprite> createdSprites,
+            ProtectedQueue<EventID> createdEvents,
+            ProtectedQueue<SoundID> createdSounds
+    ) {
+        return new UpdateContext(
+                gameTime,
+                GameState.PLAYING,
+                difficulty,
+                scrollSpeedPx,
+                0,
+                spaceship.getHealth(),
+                false,
+                false,
+                spaceship,
+                createdSprites,
+                createdEvents,
+                createdSounds
+        );
+    }
+
+    /*
+    Moves a sprite that has left the screen back onto the opposite side.
+    Benchmarks call this before updating each sprite, so that sprites never
+    terminate themselves and the population stays the same size.
+     */
+    void wrapAround(Sprite sprite) {
+        if (sprite.getX() < 0) {
+            sprite.setX(sprite.getX() + gameContext.gameWidthPx);
+        } else if (sprite.getX() > gameContext.gameWidthPx) {
+            sprite.setX(sprite.getX() - gameContext.gameWidthPx);
+        }
+        if (sprite.getY() < 0) {
+            sprite.setY(sprite.getY() + gameContext.gameHeightPx - sprite.getHeight());
+        } else if (sprite.getY() > gameContext.gameHeightPx - sprite.getHeight()) {
+            sprite.setY(sprite.getY() - gameContext.gameHeightPx + sprite.getHeight());
+        }
+    }
+
+    private Sprite createSprite(SpriteKind kind) {
+        double x = gameContext.rand.nextDouble() * gameContext.gameWidthPx;
+        double y = gameContext.rand.nextInt(gameContext.gameHeightPx - gameContext.tileWidthPx);
+        switch (kind) {
+            case OBSTACLE: {
+                return new LegacyObstacle(gameContext, x, y, gameContext.tileWidthPx, gameContext.tileWidthPx);
+            }
+            case COIN: {
+                return new Coin(gameContext, x, y);
+            }
+            case ALIEN: {
+                return new Alien(gameContext, x, y, difficulty);
+            }
+            case ASTEROID: {
+                return new Asteroid(gameContext, x, y, difficulty, scrollSpeedPx);
+            }
+            case BULLET: {
+                return new Bullet(gameContext, x, y, difficulty);
+            }
+            case ALIEN_BULLET: {
+                return new AlienBullet(
+                        gameContext, x, y, spaceship.getX(), spaceship.getY(), scrollSpeedPx);
+            }
+            default: {
+                throw new IllegalArgumentException("Unsupported SpriteKind " + kind);
+            }
+        }
+    }
+
+    // Inverse of Map.calcDifficulty().
+    static long calcRunTimeMs(double difficulty) {
+        return (long) Math.max(0, (difficulty - 0.1) * 100_000);
+    }
+}
@@ -0,0 +1,41 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.map.ChunkLibraryBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Builds the ChunkLibrary shipped in the app's res/raw. Not a benchmark,
+ * but lives here because this module runs engine code on the desktop JVM:
+ *
+ *   gradle :benchmarks:buildChunkLibrary
+ *
+ * Arguments: the file to write, and optionally the number of passable
+ * chunks to generate for each difficulty band and ChunkType.
+ */
+public class BuildChunkLibrary {
+    // The library is built from a fixed seed, so rebuilding it without
+    // changing the generator gives the same file.
+    private static final long SEED = 0x6C696272L;
+    // Bands of difficulty 0.1 wide, which line up with ChunkProbabilities.
+    private static final int NUM_BANDS = 10;
+    private static final int DEFAULT_NUM_SAMPLES = 256;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: BuildChunkLibrary <output file> [samples per group]");
+            System.exit(1);
+        }
+        int numSamples = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_NUM_SAMPLES;
+        ChunkLibraryBuilder builder = new ChunkLibraryBuilder(SEED, NUM_BANDS, numSamples);
+        long startMs = System.currentTimeMillis();
+        builder.build();
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[0]))) {
+            builder.write(out);
+        }
+        System.out.printf("Built %s in %d ms%n", builder, System.currentTimeMillis() - startMs);
+    }
+}
@@ -0,0 +1,45 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.map.ChunkProbabilities;
+import com.galaxyrun.engine.map.ChunkType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Choosing the type of the next chunk, as MapGenerator does once per chunk:
+ * - legacy: builds a LegacyWeightedRandomChooser from ChunkProbabilities
+ *   and scans it, as MapGenerator used to.
+ * - alias: samples the precomputed alias table for the difficulty band.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ChunkTypeChooserBenchmark {
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    private final Random rand = new Random(BenchmarkWorld.SEED);
+
+    @Benchmark
+    public ChunkType legacy() {
+        LegacyWeightedRandomChooser<ChunkType> chooser = new LegacyWeightedRandomChooser<>(rand);
+        for (ChunkType chunkType : ChunkType.values()) {
+            chooser.addItem(chunkType, ChunkProbabilities.getProbability(chunkType, difficulty));
+        }
+        return chooser.choose();
+    }
+
+    @Benchmark
+    public ChunkType alias() {
+        return ChunkProbabilities.getChunkTypeChooser(difficulty).choose(rand);
+    }
+}
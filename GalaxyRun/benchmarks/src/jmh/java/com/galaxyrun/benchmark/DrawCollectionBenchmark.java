@@ -0,0 +1,48 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.sprite.Sprite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recording the sprites' draw calls in GameEngine.render(). Only records
+ * the commands: nothing is drawn. The buffer is reused between
+ * invocations, as it is when the engine reuses its GameUpdateMessages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DrawCollectionBenchmark {
+    @Param({"50", "500", "5000"})
+    public int spriteCount;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    private BenchmarkWorld world;
+    private final DrawCommandBuffer drawBuffer = new DrawCommandBuffer();
+
+    @Setup
+    public void setUp() {
+        world = new BenchmarkWorld(spriteCount, difficulty);
+    }
+
+    @Benchmark
+    public DrawCommandBuffer collectDrawInstructions() {
+        drawBuffer.clear();
+        for (Sprite sprite : world.sprites) {
+            sprite.getDrawInstructions(drawBuffer);
+        }
+        return drawBuffer;
+    }
+}
@@ -0,0 +1,73 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.HitDetector;
+import com.galaxyrun.sprite.Sprite;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of collision detection: scroll every live sprite left, give
+ * the sprites to the HitDetector and determine the colliding pairs.
+ *
+ * `detector` selects the HitDetector, which uses a SpatialHash, or the
+ * LegacyHitDetector, which checks every pair of sprites.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HitDetectorBenchmark {
+    @Param({"50", "100", "500", "1000", "5000"})
+    public int spriteCount;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    @Param({"SPATIAL_HASH", "LEGACY"})
+    public String detector;
+
+    private BenchmarkWorld world;
+    private HitDetector hitDetector;
+    private LegacyHitDetector legacyHitDetector;
+    // How far sprites scroll each tick
+    private double scrollPerTickPx;
+
+    @Setup
+    public void setUp() {
+        world = new BenchmarkWorld(spriteCount, difficulty);
+        hitDetector = HitDetector.MakeDefaultHitDetector(world.gameContext);
+        legacyHitDetector = LegacyHitDetector.MakeDefaultHitDetector();
+        scrollPerTickPx = world.scrollSpeedPx * BenchmarkWorld.MS_PER_UPDATE / 1000;
+    }
+
+    @Benchmark
+    public Object determineCollisions() {
+        if (detector.equals("LEGACY")) {
+            legacyHitDetector.clear();
+            for (Sprite sprite : world.sprites) {
+                scroll(sprite);
+                legacyHitDetector.addSprite(sprite);
+            }
+            return legacyHitDetector.determineCollisions();
+        } else {
+            for (Sprite sprite : world.sprites) {
+                scroll(sprite);
+                hitDetector.updateSprite(sprite);
+            }
+            return hitDetector.determineCollisions();
+        }
+    }
+
+    private void scroll(Sprite sprite) {
+        sprite.setX(sprite.getX() - scrollPerTickPx);
+        world.wrapAround(sprite);
+    }
+}
@@ -0,0 +1,138 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.HitDetector.CollisionTuple;
+import com.galaxyrun.sprite.Alien;
+import com.galaxyrun.sprite.AlienBullet;
+import com.galaxyrun.sprite.Asteroid;
+import com.galaxyrun.sprite.Bullet;
+import com.galaxyrun.sprite.Coin;
+import com.galaxyrun.sprite.Spaceship;
+import com.galaxyrun.sprite.Sprite;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * The HitDetector as it was before it used a SpatialHash and integer
+ * collision layers: layers are keyed by class name, and every sprite of
+ * one layer is checked against every sprite of the other. Kept so that
+ * HitDetectorBenchmark can compare the two.
+ */
+class LegacyHitDetector {
+    static class CollisionLayer {
+        public String layerName;
+        public String[] collidingLayers;
+
+        public CollisionLayer(String layerName, String[] collidingLayers) {
+            this.layerName = layerName;
+            this.collidingLayers = collidingLayers;
+        }
+    }
+
+    // TODO: NAMING IS HORRIBLE
+    // Configured CollisionLayers
+    private HashMap<String, CollisionLayer> layers;
+    // Existing Sprites, mapped to the corresponding layer
+    private HashMap<String, List<Sprite>> sprites;
+
+    LegacyHitDetector(List<CollisionLayer> collisionLayers) {
+        layers = new HashMap<>();
+        sprites = new HashMap<>();
+        for (CollisionLayer layer : collisionLayers) {
+            layers.put(layer.layerName, layer);
+            sprites.put(layer.layerName, new ArrayList<>());
+        }
+    }
+
+    public void addSprite(Sprite sprite) {
+        sprites.get(sprite.getClass().getSimpleName()).add(sprite);
+    }
+
+    public List<CollisionTuple> determineCollisions() {
+        List<CollisionTuple> collisions = new LinkedList<>();
+        for (CollisionLayer layerDef : layers.values()) {
+            for (String collidingLayer : layerDef.collidingLayers) {
+                checkCollisionsBtwnLayers(
+                        layerDef.layerName,
+                        collidingLayer,
+                        collisions
+                );
+            }
+        }
+        return collisions;
+    }
+
+    public void clear() {
+        for (String layerName : layers.keySet()) {
+            sprites.get(layerName).clear();
+        }
+    }
+
+    private void checkCollisionsBtwnLayers(
+            String layerOne,
+            String layerTwo,
+            List<CollisionTuple> collisionsList
+    ) {
+        List<Sprite> spritesLayerOne = sprites.get(layerOne);
+        List<Sprite> spritesLayerTwo = sprites.get(layerTwo);
+
+        for (Sprite l1Sprite : spritesLayerOne) {
+            if (l1Sprite.canCollide()) {
+                for (Sprite l2Sprite : spritesLayerTwo) {
+                    if (l2Sprite.canCollide() && l1Sprite.collidesWith(l2Sprite)) {
+                        collisionsList.add(new CollisionTuple(
+                                l1Sprite,
+                                l2Sprite
+                        ));
+                    }
+                }
+            }
+        }
+    }
+
+    static LegacyHitDetector MakeDefaultHitDetector() {
+        return new LegacyHitDetector(new ArrayList<>(Arrays.asList(
+                new CollisionLayer(
+                        Alien.class.getSimpleName(),
+                        new String[]{}
+                ),
+                new CollisionLayer(
+                        AlienBullet.class.getSimpleName(),
+                        new String[]{}
+                ),
+                new CollisionLayer(
+                        Asteroid.class.getSimpleName(),
+                        new String[]{}
+                ),
+                new CollisionLayer(
+                        Bullet.class.getSimpleName(),
+                        new String[] {
+                                LegacyObstacle.class.getSimpleName(),
+                                Alien.class.getSimpleName(),
+                                Asteroid.class.getSimpleName(),
+                        }
+                ),
+                new CollisionLayer(
+                        Coin.class.getSimpleName(),
+                        new String[]{}
+                ),
+                new CollisionLayer(
+                        LegacyObstacle.class.getSimpleName(),
+                        new String[]{}
+                ),
+                new CollisionLayer(
+                        Spaceship.class.getSimpleName(),
+                        new String[] {
+                                LegacyObstacle.class.getSimpleName(),
+                                Coin.class.getSimpleName(),
+                                Alien.class.getSimpleName(),
+                                AlienBullet.class.getSimpleName(),
+                                Asteroid.class.getSimpleName(),
+                        }
+                )
+        )));
+    }
+}
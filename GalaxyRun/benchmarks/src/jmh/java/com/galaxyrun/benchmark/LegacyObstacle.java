@@ -0,0 +1,68 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.CollisionLayers;
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.draw.DrawCommandBuffer;
+import com.galaxyrun.platform.IntRect;
+import com.galaxyrun.sprite.Sprite;
+import com.galaxyrun.sprite.SpriteState;
+import com.galaxyrun.util.ColorUtil;
+
+/**
+ * The Obstacle sprite as it was before obstacles became tiles in the Map's
+ * TileLayer: a gray rectangle, drawn and hit-tested using its hitbox. Kept
+ * so that the benchmarks still have obstacle sprites to fill the
+ * HitDetector with.
+ */
+class LegacyObstacle extends Sprite {
+
+    // Color
+    private static final int OBSTACLE_COLOR = ColorUtil.rgb(103, 103, 103);
+    // Amount of damage done
+    private static final int OBSTACLE_DAMAGE = 5;
+    // Reused to draw the hitbox
+    private final IntRect drawRect = new IntRect();
+
+    LegacyObstacle(GameContext gameContext, double x, double y, int width, int height) {
+        super(gameContext, x, y, width, height);
+        setHealth(OBSTACLE_DAMAGE);
+    }
+
+    @Override
+    public int getCollisionLayer() {
+        return CollisionLayers.OBSTACLE;
+    }
+
+    @Override
+    public void updateActions(UpdateContext updateContext) {
+        // terminate when hitBox is out of bounds to the left of the screen
+        if (getX() < -getWidth()) {
+            setCurrState(SpriteState.TERMINATED);
+        }
+    }
+
+    @Override
+    public void updateSpeeds(UpdateContext updateContext) {
+        // Set speed to game's scroll speed
+        setSpeedX(-updateContext.scrollSpeedPx);
+    }
+
+    @Override
+    public void updateAnimations(UpdateContext updateContext) {
+
+    }
+
+    @Override
+    public void handleCollision(Sprite s, int damage, UpdateContext updateContext) {
+
+    }
+
+    @Override
+    public void getDrawInstructions(DrawCommandBuffer drawBuffer) {
+        getHitbox().toRect(drawRect);
+        drawBuffer.fillRect(drawRect, OBSTACLE_COLOR);
+        // Draw red outline. Makes it a little more interesting.
+        drawBuffer.strokeRect(drawRect, ColorUtil.RED, 3f);
+    }
+}
@@ -0,0 +1,42 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.util.Pair;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * WeightedRandomChooser as it was before it used the alias method: items
+ * are added one at a time as boxed pairs, and `choose()` scans them in
+ * order. Kept so that ChunkTypeChooserBenchmark can compare the two.
+ */
+class LegacyWeightedRandomChooser<T> {
+    private final Random rand;
+    private double totalWeight;
+    private List<Pair<T, Double>> items = new ArrayList<>();
+
+    public LegacyWeightedRandomChooser(Random r) {
+        rand = r;
+    }
+
+    public void addItem(T item, double weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight cannot be negative");
+        }
+        items.add(new Pair<>(item, weight));
+        totalWeight += weight;
+    }
+
+    public T choose() {
+        double targetWeight = rand.nextDouble() * totalWeight;
+        double runningSum = 0.0;
+        for (Pair<T, Double> item : items) {
+            runningSum += item.second;
+            if (runningSum >= targetWeight) {
+                return item.first;
+            }
+        }
+        throw new RuntimeException("Should never happen");
+    }
+}
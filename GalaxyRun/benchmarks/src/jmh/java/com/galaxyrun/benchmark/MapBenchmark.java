@@ -0,0 +1,53 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.map.Map;
+import com.galaxyrun.sprite.Sprite;
+import com.galaxyrun.util.FastQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Map.update(). The Map doesn't look at live sprites, so this is only
+ * parameterised by difficulty.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MapBenchmark {
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    private BenchmarkWorld world;
+    private Map map;
+
+    @Setup
+    public void setUp() {
+        world = new BenchmarkWorld(0, difficulty);
+        map = new Map(world.gameContext, BenchmarkWorld.SEED);
+    }
+
+    // An average frame: usually scrolls, and every so often spawns a chunk.
+    @Benchmark
+    public FastQueue<Sprite> update() {
+        FastQueue<Sprite> createdSprites = new FastQueue<>();
+        map.update(world.nextGameTime(), createdSprites);
+        return createdSprites;
+    }
+
+    // A frame that spawns a chunk. The first update of a new Map always does.
+    @Benchmark
+    public FastQueue<Sprite> spawnChunk() {
+        FastQueue<Sprite> createdSprites = new FastQueue<>();
+        new Map(world.gameContext, BenchmarkWorld.SEED).update(world.nextGameTime(), createdSprites);
+        return createdSprites;
+    }
+}
@@ -0,0 +1,57 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.map.Chunk;
+import com.galaxyrun.engine.map.ChunkLibrary;
+import com.galaxyrun.engine.map.ChunkLibraryBuilder;
+import com.galaxyrun.engine.map.MapGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapGenerator.generateChunk(): choosing a chunk type, generating its
+ * tiles, finding a path and placing coins. With `useLibrary`, chunks are
+ * sampled from a ChunkLibrary instead of being generated.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MapGeneratorBenchmark {
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    @Param({"false", "true"})
+    public boolean useLibrary;
+
+    private MapGenerator mapGenerator;
+    private long nextChunkIndex;
+
+    @Setup
+    public void setUp() throws IOException {
+        ChunkLibrary library = null;
+        if (useLibrary) {
+            ChunkLibraryBuilder builder = new ChunkLibraryBuilder(BenchmarkWorld.SEED, 10, 256);
+            builder.build();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            builder.write(out);
+            library = ChunkLibrary.read(ByteBuffer.wrap(out.toByteArray()));
+        }
+        mapGenerator = new MapGenerator(BenchmarkWorld.SEED, library);
+    }
+
+    @Benchmark
+    public Chunk generateChunk() {
+        return mapGenerator.generateChunk(nextChunkIndex++, difficulty);
+    }
+}
@@ -0,0 +1,322 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.GameContext;
+import com.galaxyrun.engine.map.Chunk;
+import com.galaxyrun.engine.map.ChunkType;
+import com.galaxyrun.engine.map.Map;
+import com.galaxyrun.engine.map.MapGenerator;
+import com.galaxyrun.platform.headless.HeadlessPlatform;
+import com.galaxyrun.util.RandomStreams;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a large number of chunks with MapGenerator, the way a long
+ * series of games would, and reports how fast and how well it went. Meant
+ * for checking that a change to map generation doesn't cause hitches:
+ *
+ *   gradle :benchmarks:mapGeneratorHarness
+ *   gradle :benchmarks:mapGeneratorHarness -PnumChunks=100000 -PuseLibrary
+ *
+ * Each thread plays games one after another. A game follows the same
+ * difficulty curve as ChunkQueue: the difficulty of a chunk comes from
+ * Map.calcDifficulty() at the time it will be spawned, and the game
+ * advances by the time the chunk takes to scroll past. Every thread has its
+ * own MapGenerator with its own seed, so a run is reproducible for a given
+ * number of threads.
+ *
+ * Reports:
+ * - Chunks generated per second, over all threads.
+ * - Latency percentiles of generateChunk() for each ChunkType.
+ * - For each difficulty band: how often chunks were regenerated because
+ *   they were impassable, and how often generation gave up and fell back to
+ *   an empty chunk.
+ * - For each difficulty band: the average number of sprites (tiles other
+ *   than EMPTY and OBSTACLE) per column, and the most sprites spawned in a
+ *   single column and in any one second of play. Those spikes are what
+ *   causes frame hitches when the Map spawns them.
+ *
+ * Arguments: number of chunks, number of threads, and optionally a
+ * directory with a chunk library to sample from (the app's res/raw).
+ */
+public class MapGeneratorHarness {
+    private static final long SEED = BenchmarkWorld.SEED;
+    private static final int NUM_BANDS = 10;
+    // Games are restarted after this long. Difficulty is at its highest
+    // for the last third of a game.
+    private static final long GAME_LENGTH_MS = 150_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println(
+                    "Usage: MapGeneratorHarness <num chunks> [num threads] [chunk library dir]");
+            System.exit(1);
+        }
+        long numChunks = Long.parseLong(args[0]);
+        int numThreads = args.length > 1 ?
+                Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        HeadlessPlatform platform =
+                new HeadlessPlatform(args.length > 2 ? new File(args[2]) : null);
+        GameContext gameContext = platform.makeGameContext(
+                BenchmarkWorld.SCREEN_WIDTH_PX, BenchmarkWorld.SCREEN_HEIGHT_PX, SEED);
+        if (args.length > 2 && gameContext.chunkLibrary == null) {
+            throw new IllegalArgumentException("No chunk library in " + args[2]);
+        }
+
+        System.out.printf("Generating %d chunks on %d threads%s%n",
+                numChunks, numThreads,
+                gameContext.chunkLibrary == null ? "" : ", sampling from the chunk library");
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        List<Future<Results>> futures = new ArrayList<>();
+        long startNs = System.nanoTime();
+        for (int i = 0; i < numThreads; i++) {
+            long threadNumChunks = numChunks / numThreads + (i < numChunks % numThreads ? 1 : 0);
+            long threadSeed = RandomStreams.deriveSeed(SEED, i);
+            futures.add(executor.submit(() -> run(gameContext, threadSeed, threadNumChunks)));
+        }
+        Results results = new Results();
+        for (Future<Results> future : futures) {
+            results.add(future.get());
+        }
+        long elapsedNs = System.nanoTime() - startNs;
+        executor.shutdown();
+
+        results.print(elapsedNs);
+    }
+
+    /*
+    Generates `numChunks` chunks with a MapGenerator seeded with `seed`.
+     */
+    private static Results run(GameContext gameContext, long seed, long numChunks) {
+        MapGenerator generator = new MapGenerator(seed, gameContext.chunkLibrary);
+        Results results = new Results();
+        SpawnWindow window = new SpawnWindow();
+        double runTimeMs = GAME_LENGTH_MS;
+        for (long chunkIndex = 0; chunkIndex < numChunks; chunkIndex++) {
+            if (runTimeMs >= GAME_LENGTH_MS) {
+                runTimeMs = 0;
+                window.clear();
+            }
+            double difficulty = Map.calcDifficulty((long) runTimeMs);
+            int band = Math.min((int) (difficulty * NUM_BANDS), NUM_BANDS - 1);
+            BandResults bandResults = results.bands[band];
+
+            long numRegenerated = generator.getNumRegenerated();
+            long numFallbacks = generator.getNumFallbacks();
+            long startNs = System.nanoTime();
+            Chunk chunk = generator.generateChunk(chunkIndex, difficulty);
+            long latencyNs = System.nanoTime() - startNs;
+
+            results.latencies[generator.getLastChunkType().ordinal()].record(latencyNs);
+            bandResults.numChunks++;
+            bandResults.numRegenerated += generator.getNumRegenerated() - numRegenerated;
+            bandResults.numFallbacks += generator.getNumFallbacks() - numFallbacks;
+
+            // Spawn the chunk's columns at the times they'd reach the screen.
+            double scrollSpeedPx = Map.calcScrollSpeed(difficulty) * gameContext.gameWidthPx;
+            double msPerCol = gameContext.tileWidthPx / scrollSpeedPx * 1000;
+            for (int col = 0; col < chunk.getNumCols(); col++) {
+                int numSprites = Integer.bitCount(
+                        ~(chunk.getEmptyMask(col) | chunk.getObstacleMask(col)) & Chunk.ALL_ROWS_MASK);
+                bandResults.numCols++;
+                bandResults.numSprites += numSprites;
+                bandResults.maxSpritesPerCol = Math.max(bandResults.maxSpritesPerCol, numSprites);
+                int spritesPerSecond = window.add(runTimeMs + col * msPerCol, numSprites);
+                bandResults.maxSpritesPerSecond =
+                        Math.max(bandResults.maxSpritesPerSecond, spritesPerSecond);
+            }
+            runTimeMs += chunk.getNumCols() * msPerCol;
+        }
+        return results;
+    }
+
+    // Results of one or more threads.
+    private static class Results {
+        final LatencyHistogram[] latencies = new LatencyHistogram[ChunkType.values().length];
+        final BandResults[] bands = new BandResults[NUM_BANDS];
+
+        Results() {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i] = new LatencyHistogram();
+            }
+            for (int i = 0; i < bands.length; i++) {
+                bands[i] = new BandResults();
+            }
+        }
+
+        void add(Results other) {
+            for (int i = 0; i < latencies.length; i++) {
+                latencies[i].add(other.latencies[i]);
+            }
+            for (int i = 0; i < bands.length; i++) {
+                bands[i].add(other.bands[i]);
+            }
+        }
+
+        void print(long elapsedNs) {
+            long numChunks = 0;
+            for (BandResults band : bands) {
+                numChunks += band.numChunks;
+            }
+            System.out.printf("%nGenerated %d chunks in %.1f s: %.0f chunks/s%n",
+                    numChunks, elapsedNs / 1e9, numChunks / (elapsedNs / 1e9));
+
+            System.out.printf("%nLatency of generateChunk() (us)%n");
+            System.out.printf("%-15s %10s %8s %8s %8s %8s %8s%n",
+                    "ChunkType", "count", "p50", "p90", "p99", "p99.9", "max");
+            for (ChunkType chunkType : ChunkType.values()) {
+                LatencyHistogram latency = latencies[chunkType.ordinal()];
+                if (latency.getCount() == 0) {
+                    continue;
+                }
+                System.out.printf("%-15s %10d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                        chunkType, latency.getCount(),
+                        latency.getPercentile(0.5) / 1e3, latency.getPercentile(0.9) / 1e3,
+                        latency.getPercentile(0.99) / 1e3, latency.getPercentile(0.999) / 1e3,
+                        latency.getMax() / 1e3);
+            }
+
+            System.out.printf("%nBy difficulty band%n");
+            System.out.printf("%-9s %10s %12s %11s %13s %12s %12s%n",
+                    "band", "chunks", "regenerated", "fallbacks",
+                    "sprites/col", "max per col", "max per sec");
+            for (int i = 0; i < bands.length; i++) {
+                BandResults band = bands[i];
+                if (band.numChunks == 0) {
+                    continue;
+                }
+                System.out.printf("%.1f-%.1f   %10d %11.3f%% %10.3f%% %13.3f %12d %12d%n",
+                        i / (double) NUM_BANDS, (i + 1) / (double) NUM_BANDS,
+                        band.numChunks,
+                        100.0 * band.numRegenerated / band.numChunks,
+                        100.0 * band.numFallbacks / band.numChunks,
+                        band.numSprites / (double) band.numCols,
+                        band.maxSpritesPerCol, band.maxSpritesPerSecond);
+            }
+        }
+    }
+
+    private static class BandResults {
+        long numChunks;
+        long numRegenerated;
+        long numFallbacks;
+        long numCols;
+        long numSprites;
+        int maxSpritesPerCol;
+        int maxSpritesPerSecond;
+
+        void add(BandResults other) {
+            numChunks += other.numChunks;
+            numRegenerated += other.numRegenerated;
+            numFallbacks += other.numFallbacks;
+            numCols += other.numCols;
+            numSprites += other.numSprites;
+            maxSpritesPerCol = Math.max(maxSpritesPerCol, other.maxSpritesPerCol);
+            maxSpritesPerSecond = Math.max(maxSpritesPerSecond, other.maxSpritesPerSecond);
+        }
+    }
+
+    /*
+    Counts latencies in buckets that double in size, so that any number of
+    them can be recorded in constant space. Percentiles are accurate to
+    within a factor of two; the bucket's upper bound is reported.
+     */
+    private static class LatencyHistogram {
+        // Bucket i holds latencies in [2^(i-1), 2^i) ns.
+        private final long[] buckets = new long[64];
+        private long count;
+        private long max;
+
+        void record(long latencyNs) {
+            buckets[64 - Long.numberOfLeadingZeros(Math.max(latencyNs, 0))]++;
+            count++;
+            max = Math.max(max, latencyNs);
+        }
+
+        void add(LatencyHistogram other) {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+            count += other.count;
+            max = Math.max(max, other.max);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        long getMax() {
+            return max;
+        }
+
+        long getPercentile(double percentile) {
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    return Math.min(1L << i, max);
+                }
+            }
+            return max;
+        }
+    }
+
+    /*
+    The sprites spawned in the last second of play, column by column.
+     */
+    private static class SpawnWindow {
+        private static final double WINDOW_MS = 1000;
+        // Spawn times and numbers of sprites of recent columns, as a ring.
+        private double[] timesMs = new double[64];
+        private int[] numSprites = new int[64];
+        private int start;
+        private int size;
+        private int total;
+
+        /*
+        Adds a column of `count` sprites spawned at `timeMs`, which must not
+        be before the last column. Returns the number of sprites spawned in
+        the second up to and including it.
+         */
+        int add(double timeMs, int count) {
+            while (size > 0 && timesMs[start] <= timeMs - WINDOW_MS) {
+                total -= numSprites[start];
+                start = (start + 1) % timesMs.length;
+                size--;
+            }
+            if (size == timesMs.length) {
+                grow();
+            }
+            int end = (start + size) % timesMs.length;
+            timesMs[end] = timeMs;
+            numSprites[end] = count;
+            size++;
+            total += count;
+            return total;
+        }
+
+        void clear() {
+            start = 0;
+            size = 0;
+            total = 0;
+        }
+
+        private void grow() {
+            double[] newTimesMs = new double[timesMs.length * 2];
+            int[] newNumSprites = new int[timesMs.length * 2];
+            for (int i = 0; i < size; i++) {
+                newTimesMs[i] = timesMs[(start + i) % timesMs.length];
+                newNumSprites[i] = numSprites[(start + i) % timesMs.length];
+            }
+            timesMs = newTimesMs;
+            numSprites = newNumSprites;
+            start = 0;
+        }
+    }
+}
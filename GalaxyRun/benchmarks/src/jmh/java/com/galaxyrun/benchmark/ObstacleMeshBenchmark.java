@@ -0,0 +1,69 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.map.Chunk;
+import com.galaxyrun.engine.map.ChunkType;
+import com.galaxyrun.engine.map.ObstacleMesher;
+import com.galaxyrun.engine.map.TileGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ObstacleMesher.mesh() over chunks of the types that are made of
+ * obstacles. Setup also prints how many rectangles the obstacles of an
+ * average chunk are merged into. Each obstacle tile, or each rectangle, is
+ * drawn with two draw calls (a fill and an outline).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ObstacleMeshBenchmark {
+    // Number of different chunks to cycle through
+    private static final int NUM_CHUNKS = 64;
+
+    @Param({"OBSTACLE_FIELD", "TUNNEL"})
+    public ChunkType chunkType;
+
+    @Param({"0.3", "1.0"})
+    public double difficulty;
+
+    private final Chunk[] chunks = new Chunk[NUM_CHUNKS];
+    private int nextChunk;
+    private final ObstacleMesher mesher = new ObstacleMesher();
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(BenchmarkWorld.SEED);
+        int numTiles = 0;
+        int numRects = 0;
+        for (int i = 0; i < NUM_CHUNKS; i++) {
+            chunks[i] = TileGenerator.generateChunk(rand, chunkType, difficulty);
+            for (int col = 0; col < chunks[i].getNumCols(); col++) {
+                numTiles += Integer.bitCount(chunks[i].getObstacleMask(col));
+            }
+            numRects += mesher.mesh(chunks[i]);
+        }
+        System.out.printf(
+                "%n%s at difficulty %.1f, per chunk: %.1f obstacle tiles (%.1f draw calls)"
+                        + " -> %.1f rects (%.1f draw calls)%n",
+                chunkType, difficulty,
+                numTiles / (double) NUM_CHUNKS, 2.0 * numTiles / NUM_CHUNKS,
+                numRects / (double) NUM_CHUNKS, 2.0 * numRects / NUM_CHUNKS);
+    }
+
+    @Benchmark
+    public int mesh() {
+        Chunk chunk = chunks[nextChunk];
+        nextChunk = (nextChunk + 1) % NUM_CHUNKS;
+        return mesher.mesh(chunk);
+    }
+}
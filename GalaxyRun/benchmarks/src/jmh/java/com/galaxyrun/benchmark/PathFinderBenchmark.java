@@ -0,0 +1,65 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.map.Chunk;
+import com.galaxyrun.engine.map.ChunkProbabilities;
+import com.galaxyrun.engine.map.Path;
+import com.galaxyrun.engine.map.PathFinder;
+import com.galaxyrun.engine.map.TileGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PathFinder.findPath() over chunks generated the same way MapGenerator
+ * generates them, before coins are placed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PathFinderBenchmark {
+    // Number of different chunks to cycle through
+    private static final int NUM_CHUNKS = 64;
+    // Same as MapGenerator
+    private static final int LEADING_BUFFER_LENGTH = 3;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    private final Chunk[] chunks = new Chunk[NUM_CHUNKS];
+    private int nextChunk;
+    // Used to choose between possible paths
+    private final Random pathRand = new Random(BenchmarkWorld.SEED);
+    private final PathFinder pathFinder = new PathFinder();
+    private final Path path = new Path();
+
+    @Setup
+    public void setUp() {
+        Random rand = new Random(BenchmarkWorld.SEED);
+        for (int i = 0; i < NUM_CHUNKS; i++) {
+            chunks[i] = Chunk.concatenateChunks(
+                    TileGenerator.generateEmpty(LEADING_BUFFER_LENGTH),
+                    TileGenerator.generateChunk(
+                            rand,
+                            ChunkProbabilities.getChunkTypeChooser(difficulty).choose(rand),
+                            difficulty)
+            );
+        }
+    }
+
+    @Benchmark
+    public Path findPath() {
+        Chunk chunk = chunks[nextChunk];
+        nextChunk = (nextChunk + 1) % NUM_CHUNKS;
+        pathFinder.findPath(chunk, pathRand, path);
+        return path;
+    }
+}
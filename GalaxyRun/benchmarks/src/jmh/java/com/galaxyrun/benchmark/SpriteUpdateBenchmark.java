@@ -0,0 +1,62 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.EventID;
+import com.galaxyrun.engine.UpdateContext;
+import com.galaxyrun.engine.audio.SoundID;
+import com.galaxyrun.sprite.Sprite;
+import com.galaxyrun.util.FastQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame of the sprite loop in GameEngine.update(): speeds, movement,
+ * actions and animations for every live sprite.
+ *
+ * Sprites created during the frame (e.g. alien bullets) are dropped, so the
+ * population stays at `spriteCount`.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SpriteUpdateBenchmark {
+    @Param({"50", "500", "5000"})
+    public int spriteCount;
+
+    @Param({"0.1", "0.5", "1.0"})
+    public double difficulty;
+
+    private BenchmarkWorld world;
+
+    @Setup
+    public void setUp() {
+        world = new BenchmarkWorld(spriteCount, difficulty);
+    }
+
+    @Benchmark
+    public int updateSprites() {
+        // Allocated per frame, like GameEngine does.
+        FastQueue<Sprite> createdSprites = new FastQueue<>();
+        FastQueue<EventID> createdEvents = new FastQueue<>();
+        FastQueue<SoundID> createdSounds = new FastQueue<>();
+        UpdateContext updateContext = world.makeUpdateContext(
+                world.nextGameTime(), createdSprites, createdEvents, createdSounds);
+
+        for (Sprite sprite : world.sprites) {
+            world.wrapAround(sprite);
+            sprite.updateSpeeds(updateContext);
+            sprite.move(updateContext);
+            sprite.updateActions(updateContext);
+            sprite.updateAnimations(updateContext);
+        }
+        return createdSprites.getSize() + createdEvents.getSize() + createdSounds.getSize();
+    }
+}
@@ -0,0 +1,57 @@
+package com.galaxyrun.benchmark;
+
+import com.galaxyrun.engine.background.GalaxyDrawOptions;
+import com.galaxyrun.engine.background.StarRasterizer;
+import com.galaxyrun.util.ColorUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StarRasterizer.render() of a full-screen background panel, with the
+ * options BackgroundGenerator uses, split into different numbers of
+ * strips. The Canvas-based GalaxyDrawer can't run on a desktop JVM, so
+ * there is no baseline here to compare against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StarRasterizerBenchmark {
+    @Param({"1", "4"})
+    public int numStrips;
+
+    private final GalaxyDrawOptions options = new GalaxyDrawOptions(
+            ColorUtil.BLACK,
+            ColorUtil.rgb(97, 148, 194),
+            2,
+            ColorUtil.argb(200, 255, 255, 238),
+            2,
+            0.5f,
+            0.3f
+    );
+    private final int[] pixels =
+            new int[BenchmarkWorld.SCREEN_WIDTH_PX * BenchmarkWorld.SCREEN_HEIGHT_PX];
+    private final Random rand = new Random(BenchmarkWorld.SEED);
+    private StarRasterizer rasterizer;
+
+    @Setup
+    public void setUp() {
+        rasterizer = new StarRasterizer(numStrips);
+    }
+
+    @Benchmark
+    public int[] render() {
+        rasterizer.render(pixels, BenchmarkWorld.SCREEN_WIDTH_PX, BenchmarkWorld.SCREEN_HEIGHT_PX,
+                options, rand);
+        return pixels;
+    }
+}